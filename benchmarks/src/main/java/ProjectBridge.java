@@ -0,0 +1,179 @@
+import bench.CatalogGenerator;
+import bench.Project;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: ProjectBridge
+ *
+ * Description:
+ * Implements bench.Project with the project's own classes. It sits in the default package next to them,
+ * which is the only place they can be used from, see Project.
+ **/
+public class ProjectBridge implements Project {
+
+    private static final int FILL_BATCH = 50_000;
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    @Override
+    public int importCsv(Path file) {
+        VideoGameManager manager = new VideoGameManager();
+        // addGame2 prompts for the path; keep the prompt out of the benchmark output
+        PrintStream out = System.out;
+        System.setOut(DISCARD);
+        try {
+            manager.addGame2(new Scanner(file.toString() + "\n"));
+        } finally {
+            System.setOut(out);
+        }
+        return manager.videogames.size();
+    }
+
+    @Override
+    public Store newStore(CatalogGenerator catalog, int size) {
+        VideoGameManager manager = new VideoGameManager();
+        manager.videogames.ensureCapacity(size);
+        List<VideoGame> batch = new ArrayList<>(Math.min(size, FILL_BATCH));
+        for (int i = 0; i < size; i++) {
+            batch.add(game(catalog, i));
+            if (batch.size() == FILL_BATCH) {
+                manager.videogames.putAll(batch);
+                batch.clear();
+            }
+        }
+        manager.videogames.putAll(batch);
+        return new ManagerStore(manager.videogames);
+    }
+
+    @Override
+    public Dao openDao(Path file, CatalogGenerator catalog, int size) throws IOException {
+        String url = "jdbc:sqlite:" + file.toAbsolutePath();
+        try (Connection conn = DriverManager.getConnection(url); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)");
+        } catch (SQLException e) {
+            throw new IOException("could not create " + file, e);
+        }
+        VideoGameDAO dao = new VideoGameDAO();
+        if (!dao.connectToDatabase(file.toAbsolutePath().toString())) {
+            throw new IOException("could not connect to " + file);
+        }
+        List<VideoGame> batch = new ArrayList<>(Math.min(size, FILL_BATCH));
+        for (int i = 0; i < size; i++) {
+            batch.add(game(catalog, i));
+            if (batch.size() == FILL_BATCH || i == size - 1) {
+                dao.addGames(batch);
+                batch.clear();
+            }
+        }
+        return new DaoBridge(dao, catalog);
+    }
+
+    private static VideoGame game(CatalogGenerator catalog, int i) {
+        return new VideoGame(catalog.id(i), catalog.title(i), catalog.genre(i), catalog.year(i),
+                catalog.price(i), catalog.rating(i));
+    }
+
+    private static final class ManagerStore implements Store {
+        private final GameStore games;
+        private ColumnarGameStore columns;
+
+        ManagerStore(GameStore games) {
+            this.games = games;
+        }
+
+        @Override
+        public Object get(int id) {
+            return games.get(id);
+        }
+
+        @Override
+        public void put(Object game) {
+            VideoGame g = (VideoGame) game;
+            games.put(g.getGameID(), g);
+        }
+
+        @Override
+        public Object remove(int id) {
+            return games.remove(id);
+        }
+
+        @Override
+        public double averageRating() {
+            return games.aggregates().overall().getAverageRating();
+        }
+
+        @Override
+        public double averageRatingScan() {
+            double sum = 0;
+            for (VideoGame game : games.values()) {
+                sum += game.getRating();
+            }
+            return games.isEmpty() ? Double.NaN : sum / games.size();
+        }
+
+        @Override
+        public double averageRatingColumnar() {
+            if (columns == null) {
+                columns = ColumnarGameStore.copyOf(games.values());
+            }
+            return columns.averageRating();
+        }
+
+        @Override
+        public int size() {
+            return games.size();
+        }
+    }
+
+    private static final class DaoBridge implements Dao {
+        private final VideoGameDAO dao;
+        private final CatalogGenerator catalog;
+
+        DaoBridge(VideoGameDAO dao, CatalogGenerator catalog) {
+            this.dao = dao;
+            this.catalog = catalog;
+        }
+
+        @Override
+        public int insert(int i) {
+            return dao.insertGame(catalog.title(i), catalog.genre(i), catalog.year(i), catalog.price(i), catalog.rating(i));
+        }
+
+        @Override
+        public boolean update(int id, double price) {
+            return dao.updateGamePartial(id, null, null, null, price, null);
+        }
+
+        @Override
+        public Object select(int id) {
+            return dao.getGame(id);
+        }
+
+        @Override
+        public double average() {
+            return dao.calculateAverageRating();
+        }
+
+        @Override
+        public void close() {
+            dao.close();
+        }
+    }
+}
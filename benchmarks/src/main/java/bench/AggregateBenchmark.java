@@ -0,0 +1,64 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: AggregateBenchmark
+ *
+ * Description:
+ * The average rating three ways: read from the running aggregates (what calculateAverageRating does now),
+ * by visiting every game in the store, and by scanning the rating column of a ColumnarGameStore.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class AggregateBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Project.Store store;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        store = Project.load().newStore(new CatalogGenerator(), size);
+        store.averageRatingColumnar();
+    }
+
+    @Benchmark
+    public double averageRating() {
+        return store.averageRating();
+    }
+
+    @Benchmark
+    public double averageRatingScan() {
+        return store.averageRatingScan();
+    }
+
+    @Benchmark
+    public double averageRatingColumnar() {
+        return store.averageRatingColumnar();
+    }
+}
@@ -0,0 +1,149 @@
+package bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: CatalogGenerator
+ *
+ * Description:
+ * Makes a synthetic catalog of any size. Every field of game i is computed from i and the seed alone, so
+ * two runs, or two versions of the project, always see the same games, and any game can be made without
+ * making the ones before it. Game i has id i + 1. Titles repeat words the way real ones do and every 50th
+ * title contains a comma, so a written file also exercises quoted fields.
+ * Run it on its own to write a file: java -cp benchmarks.jar bench.CatalogGenerator 1000000 games.csv
+ **/
+public final class CatalogGenerator {
+
+    private static final String[] GENRES = {
+            "Action", "Adventure", "RPG", "Shooter", "Puzzle", "Racing", "Sports", "Strategy", "Simulation",
+            "Platformer", "Fighting", "Horror", "Stealth", "Survival", "Rhythm", "Sandbox", "MMO", "Roguelike",
+            "Visual Novel", "Party"};
+    private static final String[] FIRST = {
+            "Super", "Dark", "Final", "Legend of", "Shadow", "Crystal", "Iron", "Star", "Mega", "Lost",
+            "Eternal", "Galactic", "Hidden", "Neon", "Wild", "Ancient"};
+    private static final String[] SECOND = {
+            "Quest", "Souls", "Fantasy", "Kart", "Warriors", "Odyssey", "Tactics", "Frontier", "Kingdom",
+            "Drift", "Hunter", "Chronicles", "Arena", "Empire", "Voyage", "Legacy"};
+
+    private final long seed;
+
+    /**
+     * Constructor
+     * @param seed changes every generated field; the same seed always makes the same catalog
+     */
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Constructor with the seed the benchmarks use
+     */
+    public CatalogGenerator() {
+        this(42);
+    }
+
+    /**
+     * @param i game number, from 0; the same for every field
+     * @return id of game i
+     */
+    public int id(int i) {
+        return i + 1;
+    }
+
+    /**
+     * @return title of game i
+     */
+    public String title(int i) {
+        long h = mix(i, 1);
+        String title = FIRST[(int) (h & 15)] + " " + SECOND[(int) (h >>> 4 & 15)] + " " + (1 + (h >>> 8 & 0xFFFF) % 99);
+        return i % 50 == 49 ? title + ", Deluxe Edition" : title;
+    }
+
+    /**
+     * @return genre of game i, one of 20
+     */
+    public String genre(int i) {
+        return GENRES[(int) Long.remainderUnsigned(mix(i, 2), GENRES.length)];
+    }
+
+    /**
+     * @return release year, 1970 to 2025
+     */
+    public int year(int i) {
+        return 1970 + (int) Long.remainderUnsigned(mix(i, 3), 56);
+    }
+
+    /**
+     * @return price in whole cents, 0.00 to 69.99
+     */
+    public double price(int i) {
+        return Long.remainderUnsigned(mix(i, 4), 7000) / 100.0;
+    }
+
+    /**
+     * @return rating with one decimal place, 0.0 to 10.0
+     */
+    public double rating(int i) {
+        return Long.remainderUnsigned(mix(i, 5), 101) / 10.0;
+    }
+
+    /**
+     * writeCsv
+     * Purpose: Writes games 0 to count - 1 as id,title,genre,year,price,rating lines, titles with a comma quoted.
+     * @param file file to create or replace
+     * @param count number of games
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path file, int count) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(96);
+            for (int i = 0; i < count; i++) {
+                line.setLength(0);
+                String title = title(i);
+                line.append(id(i)).append(',');
+                if (title.indexOf(',') >= 0) {
+                    line.append('"').append(title).append('"');
+                } else {
+                    line.append(title);
+                }
+                line.append(',').append(genre(i)).append(',').append(year(i)).append(',')
+                        .append(price(i)).append(',').append(rating(i)).append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer over the game number, the field and the seed
+     */
+    private long mix(int i, int field) {
+        long z = seed + i * 0x9E3779B97F4A7C15L + field * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Writes a catalog file.
+     * @param args number of games and file path
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: java bench.CatalogGenerator <games> <file>");
+            return;
+        }
+        new CatalogGenerator().writeCsv(Paths.get(args[1]), Integer.parseInt(args[0]));
+    }
+}
@@ -0,0 +1,160 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: CompareResults
+ *
+ * Description:
+ * Compares two CSV result files written by RunBenchmarks, for example from before and after a change.
+ * Rows are matched by benchmark, mode and parameters. A change counts as faster or slower only when it is
+ * bigger than the threshold and than the two error margins added together; anything else is noise.
+ * Exits with status 2 when something got slower, so a script can stop on a regression.
+ * Usage: java -cp benchmarks.jar bench.CompareResults old.csv new.csv [threshold percent, default 5]
+ **/
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    /**
+     * Prints the comparison.
+     * @param args old file, new file and optional threshold
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java -cp benchmarks.jar bench.CompareResults old.csv new.csv [threshold %]");
+            return;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5;
+        Map<String, Row> before = read(args[0]);
+        Map<String, Row> after = read(args[1]);
+
+        int slower = 0;
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "old", "new", "change", "");
+        for (String key : new TreeSet<>(union(before, after))) {
+            Row old = before.get(key);
+            Row now = after.get(key);
+            if (old == null || now == null) {
+                System.out.printf("%-70s %14s %14s %9s  %s%n", key, old == null ? "-" : old.score(), now == null ? "-" : now.score(),
+                        "", old == null ? "new" : "gone");
+                continue;
+            }
+            double change = (now.score - old.score) / old.score * 100;
+            // lower is better for time per operation, higher for throughput
+            boolean better = now.higherIsBetter() ? now.score > old.score : now.score < old.score;
+            boolean real = Math.abs(change) > threshold && Math.abs(now.score - old.score) > old.error + now.error;
+            String verdict = !real ? "" : better ? "faster" : "SLOWER";
+            if (real && !better) {
+                slower++;
+            }
+            System.out.printf("%-70s %14s %14s %+8.1f%%  %s%n", key, old.score(), now.score(), change, verdict);
+        }
+        if (slower > 0) {
+            System.out.println(slower + " benchmark(s) got slower");
+            System.exit(2);
+        }
+    }
+
+    private static TreeSet<String> union(Map<String, Row> a, Map<String, Row> b) {
+        TreeSet<String> keys = new TreeSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+
+    private static Map<String, Row> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException(file + " is empty");
+        }
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        int error = -1;
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Score Error")) {
+                error = i;
+            }
+        }
+        if (benchmark < 0 || mode < 0 || score < 0 || unit < 0) {
+            throw new IOException(file + " is not a JMH CSV result file");
+        }
+
+        Map<String, Row> rows = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> cells = split(line);
+            StringBuilder key = new StringBuilder(cells.get(benchmark).replaceFirst("^bench\\.", ""));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && i < cells.size() && !cells.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(cells.get(i));
+                }
+            }
+            key.append(" (").append(cells.get(mode)).append(", ").append(cells.get(unit)).append(')');
+            double err = error < 0 ? 0 : Double.parseDouble(cells.get(error));
+            rows.put(key.toString(), new Row(cells.get(mode), Double.parseDouble(cells.get(score)), Double.isNaN(err) ? 0 : err));
+        }
+        return rows;
+    }
+
+    /**
+     * splits one CSV line; JMH quotes text cells and never puts a quote inside one
+     */
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static final class Row {
+        final String mode;
+        final double score;
+        final double error;
+
+        Row(String mode, double score, double error) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+        }
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+
+        String score() {
+            return String.format("%.3f", score);
+        }
+    }
+}
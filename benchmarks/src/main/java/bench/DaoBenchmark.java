@@ -0,0 +1,100 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: DaoBenchmark
+ *
+ * Description:
+ * VideoGameDAO against a temporary SQLite file holding the generated catalog: insert one game, update the
+ * price of a random game, select a random game by id and the AVG(rating) query. Each trial builds its own
+ * file, so inserts from one size never leak into the next. Filling 10M rows takes a few minutes.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    private static final int IDS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Path dir;
+    private Project.Dao dao;
+    private final int[] ids = new int[IDS];
+    private int next;
+    private int inserted;
+
+    @Setup(Level.Trial)
+    public void fill() throws IOException {
+        dir = Files.createTempDirectory("daobench");
+        dao = Project.load().openDao(dir.resolve("videogames.db"), new CatalogGenerator(), size);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        dao.close();
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private int nextId() {
+        return ids[next++ & (IDS - 1)];
+    }
+
+    @Benchmark
+    public int insert() {
+        return dao.insert(size + inserted++);
+    }
+
+    @Benchmark
+    public boolean update() {
+        return dao.update(nextId(), (next & 1023) / 10.0);
+    }
+
+    @Benchmark
+    public Object select() {
+        return dao.select(nextId());
+    }
+
+    @Benchmark
+    public double average() {
+        return dao.average();
+    }
+}
@@ -0,0 +1,123 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: Project
+ *
+ * Description:
+ * What the benchmarks call in the project. The project's classes are in the default package, which code in a
+ * package cannot import, and JMH only accepts benchmarks that are in a package. So this interface is
+ * implemented by ProjectBridge in the default package and loaded by name once per trial; every call after
+ * that is an ordinary interface call the JIT inlines.
+ **/
+public interface Project {
+
+    /**
+     * load
+     * @return the bridge to the project's classes
+     */
+    static Project load() {
+        try {
+            return (Project) Class.forName("ProjectBridge").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("ProjectBridge is missing from the class path", e);
+        }
+    }
+
+    /**
+     * importCsv
+     * Purpose: Imports a file into a new VideoGameManager through addGame2, exactly as the menu does.
+     * @param file id,title,genre,year,price,rating file
+     * @return number of games in the manager afterwards
+     */
+    int importCsv(Path file);
+
+    /**
+     * newStore
+     * @param catalog where the games come from
+     * @param size number of games, with ids 1 to size
+     * @return a VideoGameManager filled with the games
+     */
+    Store newStore(CatalogGenerator catalog, int size);
+
+    /**
+     * openDao
+     * Purpose: Creates a SQLite file with the videogames table and inserts the games with batched writes.
+     * @param file database file to create
+     * @param catalog where the games come from
+     * @param size number of games, with ids 1 to size
+     * @return a connected VideoGameDAO
+     * @throws IOException if the file cannot be set up
+     */
+    Dao openDao(Path file, CatalogGenerator catalog, int size) throws IOException;
+
+    /**
+     * The in-memory catalog of a VideoGameManager.
+     */
+    interface Store {
+        /**
+         * @return the game with that id, or null
+         */
+        Object get(int id);
+
+        /**
+         * stores a game returned by get or remove under its id
+         */
+        void put(Object game);
+
+        /**
+         * @return the removed game, or null
+         */
+        Object remove(int id);
+
+        /**
+         * @return average rating from the running aggregates, what calculateAverageRating reads
+         */
+        double averageRating();
+
+        /**
+         * @return average rating by visiting every game, what calculateAverageRating used to do
+         */
+        double averageRatingScan();
+
+        /**
+         * @return average rating from a ColumnarGameStore copy, made on the first call
+         */
+        double averageRatingColumnar();
+
+        int size();
+    }
+
+    /**
+     * A VideoGameDAO connected to its own database file.
+     */
+    interface Dao extends AutoCloseable {
+        /**
+         * @return id of the new row, game i of the catalog
+         */
+        int insert(int i);
+
+        boolean update(int id, double price);
+
+        /**
+         * @return the game with that id, or null
+         */
+        Object select(int id);
+
+        /**
+         * @return average rating computed by SQLite
+         */
+        double average();
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: RunBenchmarks
+ *
+ * Description:
+ * Main class of benchmarks.jar. Takes the usual JMH command line (benchmark name patterns, -p size=..., -f,
+ * -wi, -i, -l, -h and so on) and, unless -rf or -rff is given, writes the results as CSV to
+ * results/jmh-&lt;date&gt;-&lt;time&gt;.csv so two runs can be compared with CompareResults.
+ **/
+public final class RunBenchmarks {
+
+    private RunBenchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     * @param args JMH command line options
+     * @throws RunnerException if a benchmark fails
+     * @throws IOException if the results folder cannot be made
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        Runner listing = new Runner(cmd);
+        if (cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            if (cmd.shouldList() || cmd.shouldListWithParams()) {
+                listing.list();
+            }
+            if (cmd.shouldListProfilers()) {
+                cmd.listProfilers();
+            }
+            if (cmd.shouldListResultFormats()) {
+                cmd.listResultFormats();
+            }
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue() && !cmd.getResult().hasValue()) {
+            Path results = Paths.get("results");
+            Files.createDirectories(results);
+            String name = "jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv";
+            options.resultFormat(ResultFormatType.CSV).result(results.resolve(name).toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
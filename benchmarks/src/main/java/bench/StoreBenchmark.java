@@ -0,0 +1,77 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: StoreBenchmark
+ *
+ * Description:
+ * Single operations on the manager's in-memory store at different catalog sizes: get, put over an existing
+ * game (which also updates the aggregates) and remove followed by putting the game back, so the size stays
+ * the same. Ids are picked at random from a fixed list, so large catalogs pay their cache misses.
+ **/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class StoreBenchmark {
+
+    private static final int IDS = 1 << 16;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Project.Store store;
+    private final int[] ids = new int[IDS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        store = Project.load().newStore(new CatalogGenerator(), size);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = 1 + random.nextInt(size);
+        }
+    }
+
+    private int nextId() {
+        return ids[next++ & (IDS - 1)];
+    }
+
+    @Benchmark
+    public Object get() {
+        return store.get(nextId());
+    }
+
+    @Benchmark
+    public void putReplace() {
+        store.put(store.get(nextId()));
+    }
+
+    @Benchmark
+    public void removeAndPut() {
+        store.put(store.remove(nextId()));
+    }
+}
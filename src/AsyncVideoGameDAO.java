@@ -0,0 +1,209 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: AsyncVideoGameDAO
+ *
+ * Description:
+ * Runs VideoGameDAO calls on worker threads and returns CompletableFutures, so the JavaFX application
+ * thread never waits on JDBC. Read calls that are asked for again while the first call is still running
+ * share the first call's future instead of running the query twice, so rapid repeated clicks are coalesced.
+ * Results complete on a worker thread; GUI code must hop back with Platform.runLater before touching nodes.
+ **/
+public class AsyncVideoGameDAO implements AutoCloseable {
+
+    private final VideoGameDAO dao;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor that wraps a DAO, which may or may not be connected yet
+     * @param dao the DAO doing the actual work
+     */
+    public AsyncVideoGameDAO(VideoGameDAO dao) {
+        this.dao = dao;
+        this.executor = WorkerThreads.newExecutor("vgm-db", 4);
+    }
+
+    /**
+     * call
+     * Purpose: Runs any work on a worker thread. If key is not null and a call with the same key is
+     * still running, its future is returned instead of starting the work again.
+     * @param key name for coalescing repeated calls, or null to always run
+     * @param work the blocking work
+     * @return future holding the work's result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> call(String key, Supplier<T> work) {
+        if (key == null) {
+            return CompletableFuture.supplyAsync(work, executor);
+        }
+        CompletableFuture<?>[] started = new CompletableFuture<?>[1];
+        CompletableFuture<T> future = (CompletableFuture<T>) inFlight.computeIfAbsent(key, k -> {
+            started[0] = new CompletableFuture<T>();
+            return started[0];
+        });
+        if (started[0] == future) {
+            // this caller won the race, so it starts the work and clears the key when done
+            CompletableFuture.supplyAsync(work, executor).whenComplete((result, error) -> {
+                inFlight.remove(key, future);
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * connectToDatabase
+     * @param dbPath file path of the database
+     * @return future of true if connection successful
+     */
+    public CompletableFuture<Boolean> connectToDatabase(String dbPath) {
+        return call(null, () -> dao.connectToDatabase(dbPath));
+    }
+
+    /**
+     * getAllGames, coalesced
+     * @return future of every game in the table
+     */
+    public CompletableFuture<List<VideoGame>> getAllGames() {
+        return call("getAllGames", dao::getAllGames);
+    }
+
+    /**
+     * countGames, coalesced
+     * @return future of the row count, -1 on failure
+     */
+    public CompletableFuture<Integer> countGames() {
+        return call("countGames", dao::countGames);
+    }
+
+    /**
+     * getGame, coalesced, so it may return a read that started before a write; use
+     * updateGamePartialAndGet to read a row back after changing it
+     * @param id gameid to look up
+     * @return future of the game, or null if there is none
+     */
+    public CompletableFuture<VideoGame> getGame(int id) {
+        return call("getGame:" + id, () -> dao.getGame(id));
+    }
+
+    /**
+     * searchTitles, coalesced per text
+     * @param text part of a title
+     * @param limit most rows to return
+     * @return future of the matching rows
+     */
+    public CompletableFuture<List<VideoGame>> searchTitles(String text, int limit) {
+        return call("searchTitles:" + limit + ":" + text, () -> dao.searchTitles(text, limit));
+    }
+
+    /**
+     * getGamesPage
+     * Purpose: Reads a page of games in the given order that starts a number of rows after a known row.
+     * With skip 0 this is one keyset page; otherwise the row before the page is found first, on the same
+     * worker thread.
+     * @param column column to sort by
+     * @param ascending sort direction
+     * @param after a row to count from, or null for the start of the table
+     * @param skip rows between after and the first row of the page
+     * @param limit most rows to return
+     * @return future of the rows of the page, empty past the end of the table or if a query failed
+     */
+    public CompletableFuture<List<VideoGame>> getGamesPage(GameColumn column, boolean ascending, VideoGame after,
+                                                           int skip, int limit) {
+        return call(null, () -> {
+            VideoGame start = after;
+            if (skip > 0) {
+                start = dao.getGameAt(column, ascending, after, skip - 1);
+                if (start == null) {
+                    return new ArrayList<VideoGame>();
+                }
+            }
+            return dao.getGamesPage(column, ascending, start, limit);
+        });
+    }
+
+    /**
+     * insertGame
+     * @return future of the new gameid, -1 on failure
+     */
+    public CompletableFuture<Integer> insertGame(String title, String genre, int year, double price, double rating) {
+        return call(null, () -> dao.insertGame(title, genre, year, price, rating));
+    }
+
+    /**
+     * updateGamePartial
+     * @return future of true if the update succeeded
+     */
+    public CompletableFuture<Boolean> updateGamePartial(int id, String title, String genre,
+                                                       Integer year, Double price, Double rating) {
+        return call(null, () -> dao.updateGamePartial(id, title, genre, year, price, rating));
+    }
+
+    /**
+     * updateGamePartialAndGet
+     * Purpose: Updates a game and reads it back on the same worker thread. The read is never shared with a
+     * getGame that started before the update, so it cannot return the old row.
+     * @return future of the updated game, or null if the update failed
+     */
+    public CompletableFuture<VideoGame> updateGamePartialAndGet(int id, String title, String genre,
+                                                               Integer year, Double price, Double rating) {
+        return call(null, () -> dao.updateGamePartial(id, title, genre, year, price, rating) ? dao.getGame(id) : null);
+    }
+
+    /**
+     * deleteGame
+     * @param id gameid to delete
+     * @return future of true if the delete succeeded
+     */
+    public CompletableFuture<Boolean> deleteGame(int id) {
+        return call(null, () -> dao.deleteGame(id));
+    }
+
+    /**
+     * calculateAverageRating, coalesced
+     * @return future of the average rating, -1 on failure
+     */
+    public CompletableFuture<Double> calculateAverageRating() {
+        return call("calculateAverageRating", dao::calculateAverageRating);
+    }
+
+    /**
+     *
+     * @return number of coalesced reads still running
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * close
+     * Purpose: Stops accepting work, gives running calls a moment to finish and closes the DAO.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dao.close();
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: BulkResult
+ *
+ * Description:
+ * The outcome of one bulk write in VideoGameDAO (addGames, updateGames or deleteGames).
+ * Rows are numbered by their position in the collection that was passed in. Rows that failed are listed
+ * with the reason so the caller can fix or retry them, while every other row is still written.
+ **/
+public class BulkResult {
+
+    /**
+     * One row that could not be written.
+     */
+    public static class Failure {
+        private final int index;
+        private final String message;
+
+        Failure(int index, String message) {
+            this.index = index;
+            this.message = message;
+        }
+
+        /**
+         *
+         * @return position of the row in the collection passed to the bulk method
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         *
+         * @return why the row failed
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Row " + index + ": " + message;
+        }
+    }
+
+    private final int[] generatedIds;
+    private final List<Failure> failures = new ArrayList<>();
+    private int succeeded;
+
+    /**
+     * Constructor for a bulk write of the given number of rows
+     * @param rows how many rows were passed in
+     * @param inserts true if generated ids should be tracked
+     */
+    BulkResult(int rows, boolean inserts) {
+        generatedIds = inserts ? new int[rows] : new int[0];
+        Arrays.fill(generatedIds, -1);
+    }
+
+    void success() {
+        succeeded++;
+    }
+
+    void success(int index, int generatedId) {
+        succeeded++;
+        generatedIds[index] = generatedId;
+    }
+
+    void fail(int index, String message) {
+        failures.add(new Failure(index, message));
+    }
+
+    /**
+     * marks every row as failed, used when the whole transaction is lost
+     */
+    void failAll(int rows, String message) {
+        failures.clear();
+        succeeded = 0;
+        Arrays.fill(generatedIds, -1);
+        for (int i = 0; i < rows; i++) {
+            failures.add(new Failure(i, message));
+        }
+    }
+
+    /**
+     *
+     * @return number of rows written
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     *
+     * @return the rows that were not written, in input order
+     */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /**
+     *
+     * @return true if every row was written
+     */
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * For addGames only.
+     * @return the new gameid of each input row in input order, -1 for rows that failed
+     */
+    public int[] getGeneratedIds() {
+        return generatedIds.clone();
+    }
+
+    @Override
+    public String toString() {
+        return succeeded + " row(s) written, " + failures.size() + " failed";
+    }
+}
@@ -0,0 +1,502 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: CachingVideoGameDAO
+ *
+ * Description:
+ * A VideoGameDAO that remembers what it read, so repeated reads such as every GUI refresh do not go back
+ * to SQLite. Rows read by getGame are kept in an LRU cache by gameid; the results of the other reads
+ * (all games, pages, counts, the average rating, queries, title searches, top-k) are kept in a second LRU
+ * cache bounded by the number of rows they hold.
+ * Every write through this DAO drops the cached row it touched and all cached results, since any of them
+ * may include the row. Other connections and processes writing to the same file are noticed through
+ * VideoGameDAO.dataVersion, which changes when someone else commits but not for this DAO's own writes and
+ * is read without waiting for a write in progress, so cache hits keep coming during a long bulk write. It
+ * is checked at most once per version check interval, so a read within that interval of an outside write
+ * can still be answered from the cache. Then everything is dropped.
+ * Failed reads (-1, null or an empty list) are never cached. The games handed out are shared with the
+ * cache and must not be changed; the lists are copies.
+ **/
+public class CachingVideoGameDAO extends VideoGameDAO {
+
+    private static final int NOT_CACHED = -1;
+
+    private final Object lock = new Object();
+    private final Lru<Integer, VideoGame> rows;
+    private final Lru<String, Object> results;
+    // bumped by every invalidation; a read only caches what it loaded if no invalidation happened meanwhile
+    private long generation;
+    private long dataVersion = -1;
+    private long lastVersionCheck;
+    private long invalidations;
+    private long externalChanges;
+    private volatile long versionCheckNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Constructor with room for 10,000 rows and 200,000 rows of results
+     */
+    public CachingVideoGameDAO() {
+        this(10_000, 200_000);
+    }
+
+    /**
+     * Constructor for choosing the cache sizes
+     * @param maxRows most rows kept for getGame
+     * @param maxResultRows most rows kept over all cached results; a result larger than this is not cached
+     */
+    public CachingVideoGameDAO(int maxRows, int maxResultRows) {
+        if (maxRows < 1 || maxResultRows < 1) {
+            throw new IllegalArgumentException("Cache sizes must be at least 1");
+        }
+        rows = new Lru<>(maxRows);
+        results = new Lru<>(maxResultRows);
+    }
+
+    /**
+     * setVersionCheckMillis
+     * Purpose: Sets how often reads check whether another connection changed the database.
+     * @param millis 0 checks on every read, which costs a few microseconds per read
+     */
+    public void setVersionCheckMillis(int millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Version check interval cannot be negative");
+        }
+        versionCheckNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public boolean connectToDatabase(String dbPath, DatabaseConfig config) {
+        boolean connected = super.connectToDatabase(dbPath, config);
+        clear();
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        clear();
+    }
+
+    @Override
+    public VideoGame getGame(int id) {
+        long started = startRead();
+        synchronized (lock) {
+            VideoGame game = rows.get(id);
+            if (game != null) {
+                return game;
+            }
+        }
+        VideoGame game = super.getGame(id);
+        if (game != null) {
+            synchronized (lock) {
+                if (started == generation) {
+                    rows.put(id, game, 1);
+                }
+            }
+        }
+        return game;
+    }
+
+    @Override
+    public ObservableList<VideoGame> getAllGames() {
+        return FXCollections.observableArrayList(cached("getAllGames", super::getAllGames, CachingVideoGameDAO::listWeight));
+    }
+
+    @Override
+    public int countGames() {
+        return cached("countGames", super::countGames, count -> count < 0 ? NOT_CACHED : 1);
+    }
+
+    @Override
+    public double calculateAverageRating() {
+        return cached("calculateAverageRating", super::calculateAverageRating, avg -> avg == -1 ? NOT_CACHED : 1);
+    }
+
+    @Override
+    public List<VideoGame> getGamesPage(GameColumn column, boolean ascending, VideoGame after, int limit) {
+        String key = "getGamesPage:" + column + ":" + ascending + ":" + limit + ":" + after;
+        return new ArrayList<>(cached(key, () -> super.getGamesPage(column, ascending, after, limit),
+                CachingVideoGameDAO::listWeight));
+    }
+
+    @Override
+    public VideoGame getGameAt(GameColumn column, boolean ascending, VideoGame after, int offset) {
+        String key = "getGameAt:" + column + ":" + ascending + ":" + offset + ":" + after;
+        return cached(key, () -> super.getGameAt(column, ascending, after, offset), game -> game == null ? NOT_CACHED : 1);
+    }
+
+    @Override
+    public List<VideoGame> query(GameQuery query) {
+        return new ArrayList<>(cached("query:" + query, () -> super.query(query), CachingVideoGameDAO::listWeight));
+    }
+
+    @Override
+    public int count(GameQuery query) {
+        return cached("count:" + query, () -> super.count(query), count -> count < 0 ? NOT_CACHED : 1);
+    }
+
+    @Override
+    public Map<Object, List<VideoGame>> topKPerGroup(GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        String key = "topKPerGroup:" + groupBy + ":" + orderBy + ":" + ascending + ":" + k;
+        Map<Object, List<VideoGame>> groups = cached(key, () -> super.topKPerGroup(groupBy, orderBy, ascending, k),
+                map -> map.isEmpty() ? NOT_CACHED : map.values().stream().mapToInt(List::size).sum());
+        Map<Object, List<VideoGame>> copy = new LinkedHashMap<>();
+        groups.forEach((group, games) -> copy.put(group, new ArrayList<>(games)));
+        return copy;
+    }
+
+    @Override
+    public List<VideoGame> searchTitles(String text, int limit) {
+        String key = "searchTitles:" + limit + ":" + text;
+        return new ArrayList<>(cached(key, () -> super.searchTitles(text, limit), CachingVideoGameDAO::listWeight));
+    }
+
+    /**
+     * insertGame, also used by addGame
+     */
+    @Override
+    public int insertGame(String title, String genre, int year, double price, double rating) {
+        try {
+            return super.insertGame(title, genre, year, price, rating);
+        } finally {
+            invalidate(null);
+        }
+    }
+
+    @Override
+    public boolean updateGame(int id, String title, String genre, int year, double price, double rating) {
+        try {
+            return super.updateGame(id, title, genre, year, price, rating);
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public boolean updateGamePartial(int id, String title, String genre, Integer year, Double price, Double rating) {
+        try {
+            return super.updateGamePartial(id, title, genre, year, price, rating);
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public boolean deleteGame(int id) {
+        try {
+            return super.deleteGame(id);
+        } finally {
+            invalidate(List.of(id));
+        }
+    }
+
+    @Override
+    public BulkResult addGames(Collection<VideoGame> games) {
+        try {
+            return super.addGames(games);
+        } finally {
+            invalidate(null);
+        }
+    }
+
+    @Override
+    public BulkResult updateGames(Collection<VideoGame> games) {
+        try {
+            return super.updateGames(games);
+        } finally {
+            List<Integer> ids = new ArrayList<>(games.size());
+            for (VideoGame game : games) {
+                ids.add(game.getGameID());
+            }
+            invalidate(ids);
+        }
+    }
+
+    @Override
+    public BulkResult deleteGames(Collection<Integer> ids) {
+        try {
+            return super.deleteGames(ids);
+        } finally {
+            invalidate(ids);
+        }
+    }
+
+    /**
+     * reads a result through the cache
+     * @param weight rows the result holds, or NOT_CACHED for results that may be a failure
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> load, ToIntFunction<T> weight) {
+        long started = startRead();
+        synchronized (lock) {
+            Object hit = results.get(key);
+            if (hit != null) {
+                return (T) hit;
+            }
+        }
+        T value = load.get();
+        int rowsHeld = weight.applyAsInt(value);
+        if (rowsHeld != NOT_CACHED) {
+            synchronized (lock) {
+                if (started == generation) {
+                    results.put(key, value, rowsHeld);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static int listWeight(List<VideoGame> list) {
+        return list.isEmpty() ? NOT_CACHED : list.size();
+    }
+
+    /**
+     * checks for outside writes when the interval has passed
+     * @return the generation the read starts in
+     */
+    private long startRead() {
+        long now = System.nanoTime();
+        boolean check;
+        synchronized (lock) {
+            check = dataVersion == -1 || now - lastVersionCheck >= versionCheckNanos;
+            if (check) {
+                lastVersionCheck = now;
+            }
+        }
+        if (check) {
+            try {
+                long version = dataVersion();
+                synchronized (lock) {
+                    if (version != dataVersion) {
+                        if (dataVersion != -1) {
+                            externalChanges++;
+                        }
+                        dropAll();
+                        dataVersion = version;
+                    }
+                }
+            } catch (SQLException e) {
+                // not connected, the read itself will fail and nothing gets cached
+            }
+        }
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * drops the cached rows of the ids, or no rows if ids is null, and every cached result
+     */
+    private void invalidate(Collection<Integer> ids) {
+        synchronized (lock) {
+            generation++;
+            invalidations++;
+            if (ids != null) {
+                for (Integer id : ids) {
+                    rows.remove(id);
+                }
+            }
+            results.clear();
+        }
+    }
+
+    private void clear() {
+        synchronized (lock) {
+            dropAll();
+            dataVersion = -1;
+        }
+    }
+
+    private void dropAll() {
+        generation++;
+        rows.clear();
+        results.clear();
+    }
+
+    /**
+     *
+     * @return getGame calls answered from the cache
+     */
+    public long getRowHits() {
+        synchronized (lock) {
+            return rows.hits;
+        }
+    }
+
+    /**
+     *
+     * @return getGame calls that went to the database
+     */
+    public long getRowMisses() {
+        synchronized (lock) {
+            return rows.misses;
+        }
+    }
+
+    /**
+     *
+     * @return rows dropped to make room for others
+     */
+    public long getRowEvictions() {
+        synchronized (lock) {
+            return rows.evictions;
+        }
+    }
+
+    /**
+     *
+     * @return result reads answered from the cache
+     */
+    public long getResultHits() {
+        synchronized (lock) {
+            return results.hits;
+        }
+    }
+
+    /**
+     *
+     * @return result reads that went to the database
+     */
+    public long getResultMisses() {
+        synchronized (lock) {
+            return results.misses;
+        }
+    }
+
+    /**
+     *
+     * @return results dropped to make room for others
+     */
+    public long getResultEvictions() {
+        synchronized (lock) {
+            return results.evictions;
+        }
+    }
+
+    /**
+     *
+     * @return share of all cached reads answered from the cache, 0 before the first read
+     */
+    public double getHitRatio() {
+        synchronized (lock) {
+            long hits = rows.hits + results.hits;
+            long total = hits + rows.misses + results.misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    /**
+     *
+     * @return number of writes through this DAO that dropped cached data
+     */
+    public long getInvalidations() {
+        synchronized (lock) {
+            return invalidations;
+        }
+    }
+
+    /**
+     *
+     * @return number of times an outside write was noticed and the whole cache dropped
+     */
+    public long getExternalChanges() {
+        synchronized (lock) {
+            return externalChanges;
+        }
+    }
+
+    /**
+     *
+     * @return hit ratio, evictions and sizes, for the status bar or logs
+     */
+    @Override
+    public String toString() {
+        synchronized (lock) {
+            return String.format("cache hit ratio %.1f%%, rows %d (%d evicted), results %d (%d evicted), %d outside changes",
+                    getHitRatio() * 100, rows.map.size(), rows.evictions, results.map.size(), results.evictions,
+                    externalChanges);
+        }
+    }
+
+    /**
+     * Least recently used entries go first once the total weight passes the capacity. Guarded by lock.
+     */
+    private static final class Lru<K, V> {
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(64, 0.75f, true);
+        private final long capacity;
+        private long weight;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        Lru(long capacity) {
+            this.capacity = capacity;
+        }
+
+        V get(K key) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.value;
+        }
+
+        void put(K key, V value, int entryWeight) {
+            if (entryWeight > capacity) {
+                return;
+            }
+            Entry<V> old = map.put(key, new Entry<>(value, entryWeight));
+            if (old != null) {
+                weight -= old.weight;
+            }
+            weight += entryWeight;
+            Iterator<Entry<V>> eldest = map.values().iterator();
+            while (weight > capacity) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evictions++;
+            }
+        }
+
+        void remove(K key) {
+            Entry<V> old = map.remove(key);
+            if (old != null) {
+                weight -= old.weight;
+            }
+        }
+
+        void clear() {
+            map.clear();
+            weight = 0;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
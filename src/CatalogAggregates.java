@@ -0,0 +1,186 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: CatalogAggregates
+ *
+ * Description:
+ * Keeps GameStats for the whole catalog, for each genre and for each release year, updated one game at a time
+ * by GameStore. Genres are grouped case-insensitively and without surrounding spaces, so "RPG" and " rpg "
+ * count as one genre; the group keeps the spelling it was first seen with.
+ * verify() recomputes everything with a full scan and compares, for tests and debugging.
+ **/
+public class CatalogAggregates implements GameStore.Listener {
+
+    private GameStats all = new GameStats("All games");
+    private final HashMap<String, GameStats> byGenre = new HashMap<>();
+    private final HashMap<Integer, GameStats> byYear = new HashMap<>();
+
+    /**
+     * normalizeGenre
+     * Purpose: The key genres are grouped by.
+     * @param genre genre as typed
+     * @return trimmed, lower case genre
+     */
+    public static String normalizeGenre(String genre) {
+        return genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void added(VideoGame game) {
+        add(game, genreStats(game.getGenre()));
+    }
+
+    /**
+     * the games of a batch share a few genre strings, so each one is normalized and looked up once
+     */
+    @Override
+    public void addedAll(Collection<VideoGame> games) {
+        Map<String, GameStats> batchGenres = new HashMap<>();
+        for (VideoGame game : games) {
+            add(game, batchGenres.computeIfAbsent(game.getGenre(), this::genreStats));
+        }
+    }
+
+    private GameStats genreStats(String genre) {
+        String key = normalizeGenre(genre);
+        GameStats stats = byGenre.get(key);
+        if (stats == null) {
+            stats = new GameStats(genre.trim());
+            byGenre.put(key, stats);
+        }
+        return stats;
+    }
+
+    private void add(VideoGame game, GameStats genreStats) {
+        all.add(game);
+        genreStats.add(game);
+        GameStats stats = byYear.get(game.getReleaseYear());
+        if (stats == null) {
+            stats = new GameStats(String.valueOf(game.getReleaseYear()));
+            byYear.put(game.getReleaseYear(), stats);
+        }
+        stats.add(game);
+    }
+
+    @Override
+    public void removed(VideoGame game) {
+        all.remove(game);
+        String genre = normalizeGenre(game.getGenre());
+        GameStats stats = byGenre.get(genre);
+        stats.remove(game);
+        if (stats.getCount() == 0) {
+            byGenre.remove(genre);
+        }
+        stats = byYear.get(game.getReleaseYear());
+        stats.remove(game);
+        if (stats.getCount() == 0) {
+            byYear.remove(game.getReleaseYear());
+        }
+    }
+
+    @Override
+    public void cleared() {
+        all = new GameStats("All games");
+        byGenre.clear();
+        byYear.clear();
+    }
+
+    /**
+     *
+     * @return stats of every game
+     */
+    public GameStats overall() {
+        return all;
+    }
+
+    /**
+     * genre
+     * @param genre genre in any case
+     * @return stats of the genre, or null if no game has it
+     */
+    public GameStats genre(String genre) {
+        return byGenre.get(normalizeGenre(genre));
+    }
+
+    /**
+     * year
+     * @param year release year
+     * @return stats of the year, or null if no game came out that year
+     */
+    public GameStats year(int year) {
+        return byYear.get(year);
+    }
+
+    /**
+     *
+     * @return read-only view of the stats of every genre, keyed by normalized genre
+     */
+    public Map<String, GameStats> genres() {
+        return Collections.unmodifiableMap(byGenre);
+    }
+
+    /**
+     *
+     * @return read-only copy of the stats of every release year, oldest first
+     */
+    public Map<Integer, GameStats> years() {
+        return Collections.unmodifiableMap(new TreeMap<>(byYear));
+    }
+
+    /**
+     * verify
+     * Purpose: Rebuilds the aggregates from the games with a full scan and compares them with the running ones.
+     * @param games every game in the store
+     * @exception IllegalStateException naming the first group that does not match
+     */
+    public void verify(Collection<VideoGame> games) {
+        CatalogAggregates fresh = new CatalogAggregates();
+        for (VideoGame game : games) {
+            fresh.added(game);
+        }
+        compare("all games", fresh.all, all);
+        if (!fresh.byGenre.keySet().equals(byGenre.keySet())) {
+            throw new IllegalStateException("Genres differ: expected " + fresh.byGenre.keySet() + " but have " + byGenre.keySet());
+        }
+        if (!fresh.byYear.keySet().equals(byYear.keySet())) {
+            throw new IllegalStateException("Years differ: expected " + fresh.byYear.keySet() + " but have " + byYear.keySet());
+        }
+        for (Map.Entry<String, GameStats> e : fresh.byGenre.entrySet()) {
+            compare("genre " + e.getKey(), e.getValue(), byGenre.get(e.getKey()));
+        }
+        for (Map.Entry<Integer, GameStats> e : fresh.byYear.entrySet()) {
+            compare("year " + e.getKey(), e.getValue(), byYear.get(e.getKey()));
+        }
+    }
+
+    private static void compare(String group, GameStats expected, GameStats actual) {
+        if (expected.getCount() != actual.getCount()
+                || !close(expected.getRatingSum(), actual.getRatingSum())
+                || !close(expected.getPriceSum(), actual.getPriceSum())
+                || Double.compare(expected.getMinRating(), actual.getMinRating()) != 0
+                || Double.compare(expected.getMaxRating(), actual.getMaxRating()) != 0
+                || Double.compare(expected.getMinPrice(), actual.getMinPrice()) != 0
+                || Double.compare(expected.getMaxPrice(), actual.getMaxPrice()) != 0) {
+            throw new IllegalStateException("Aggregates of " + group + " are out of date: expected "
+                    + expected + " but have " + actual);
+        }
+    }
+
+    /**
+     * sums are kept by adding and subtracting, so allow for rounding
+     */
+    private static boolean close(double expected, double actual) {
+        return Math.abs(expected - actual) <= 1e-9 * Math.max(1, Math.abs(expected));
+    }
+}
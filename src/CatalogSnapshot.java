@@ -0,0 +1,268 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: CatalogSnapshot
+ *
+ * Description:
+ * Saves the whole catalog to a versioned binary file and loads it back, much faster than importing a text
+ * file because nothing is parsed: the numbers are stored as they are in memory and are copied out in bulk.
+ * Layout, all little-endian:
+ *   header (32 bytes): magic "VGMS", version, game count n, genre count, body length (long),
+ *                      CRC32C of the body followed by the first 24 header bytes, reserved
+ *   body: prices double[n], ratings double[n], ids int[n], release years int[n], genre codes int[n],
+ *         the genre dictionary, then the titles
+ * Genres and titles are length-prefixed UTF-8 strings, length -1 for null; a game stores the position of
+ * its genre in the dictionary (-1 for null), so each genre is written once and loaded games share it.
+ * Games are written in id order. The doubles come first so every column is aligned to its own size.
+ * read() memory-maps the file and checks the length and checksum before building any game, so a
+ * truncated or damaged snapshot is rejected with an IOException instead of loading wrong data.
+ * On Windows a mapped file cannot be replaced until the mapping is garbage collected, so saving over a
+ * snapshot right after loading it can fail; save again or choose another file.
+ **/
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x534D4756; // "VGMS" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * write
+     * Purpose: Saves every game in the store to a snapshot file. The file is written next to the target
+     * under a temporary name and moved into place at the end, so an old snapshot is never left half written.
+     * The directory is synced after the move, so once this returns the new snapshot survives a crash and
+     * anything it replaces, such as a journal, can be dropped.
+     * @param path snapshot file to create or replace
+     * @param store games to save
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, GameStore store) throws IOException {
+        int[] ids = store.keys();
+        Arrays.sort(ids);
+        VideoGame[] games = new VideoGame[ids.length];
+        Map<String, Integer> genres = new LinkedHashMap<>();
+        int[] genreCodes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            games[i] = store.get(ids[i]);
+            String genre = games[i].getGenre();
+            genreCodes[i] = genre == null ? -1 : genres.computeIfAbsent(genre, g -> genres.size());
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            for (VideoGame game : games) out.putDouble(game.getPrice());
+            for (VideoGame game : games) out.putDouble(game.getRating());
+            for (int id : ids) out.putInt(id);
+            for (VideoGame game : games) out.putInt(game.getReleaseYear());
+            for (int code : genreCodes) out.putInt(code);
+            for (String genre : genres.keySet()) out.putString(genre);
+            for (VideoGame game : games) out.putString(game.getTitle());
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(games.length).putInt(genres.size()).putLong(out.bodyLength);
+            out.crc.update(header.array(), 0, header.position());
+            header.putInt((int) out.crc.getValue()).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(path.toAbsolutePath().getParent());
+    }
+
+    /**
+     * a rename is an entry in the directory, and on Linux it is only on disk once the directory itself is
+     * synced; Windows cannot open a directory as a channel and does not need it
+     */
+    private static void syncDirectory(Path dir) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * read
+     * Purpose: Loads the games of a snapshot file. The file is memory-mapped, the columns are copied out with
+     * bulk gets and the titles are decoded straight from the mapping.
+     * @param path snapshot file
+     * @return the games in id order
+     * @throws IOException if the file cannot be read, is not a snapshot, or is truncated or damaged
+     */
+    public static List<VideoGame> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a catalog snapshot, the file is too short: " + path);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map (" + size + " bytes): " + path);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            return decode(map, path);
+        }
+    }
+
+    private static List<VideoGame> decode(ByteBuffer map, Path path) throws IOException {
+        if (map.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + path);
+        }
+        int version = map.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        int count = map.getInt(8);
+        int genreCount = map.getInt(12);
+        long bodyLength = map.getLong(16);
+        if (HEADER_SIZE + bodyLength != map.capacity()) {
+            throw new IOException("Snapshot is truncated or has extra bytes: " + path);
+        }
+        // every game needs at least its five columns and a title length
+        if (count < 0 || genreCount < 0 || (long) count * 32 + (long) genreCount * 4 > bodyLength) {
+            throw new IOException("Snapshot header is damaged: " + path);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(map.duplicate().position(HEADER_SIZE));
+        crc.update(map.duplicate().position(0).limit(24));
+        if ((int) crc.getValue() != map.getInt(24)) {
+            throw new IOException("Snapshot checksum does not match, the file is damaged: " + path);
+        }
+
+        try {
+            map.position(HEADER_SIZE);
+            double[] prices = new double[count];
+            double[] ratings = new double[count];
+            int[] ids = new int[count];
+            int[] years = new int[count];
+            int[] genreCodes = new int[count];
+            map.asDoubleBuffer().get(prices).get(ratings);
+            map.position(HEADER_SIZE + count * 16);
+            map.asIntBuffer().get(ids).get(years).get(genreCodes);
+            map.position(HEADER_SIZE + count * 28);
+
+            byte[] scratch = new byte[256];
+            String[] genres = new String[genreCount];
+            for (int i = 0; i < genreCount; i++) {
+                genres[i] = getString(map, scratch);
+            }
+            VideoGame[] games = new VideoGame[count];
+            for (int i = 0; i < count; i++) {
+                int code = genreCodes[i];
+                if (code < -1 || code >= genreCount) {
+                    throw new IOException("Snapshot has an unknown genre code " + code + ": " + path);
+                }
+                String title = getString(map, scratch);
+                games[i] = new VideoGame(ids[i], title, code < 0 ? null : genres[code], years[i], prices[i], ratings[i]);
+            }
+            if (map.hasRemaining()) {
+                throw new IOException("Snapshot has bytes after the last title: " + path);
+            }
+            return Arrays.asList(games);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot is damaged: " + path, e);
+        }
+    }
+
+    private static String getString(ByteBuffer map, byte[] scratch) {
+        int length = map.getInt();
+        if (length < 0) {
+            if (length != -1) {
+                throw new IllegalArgumentException("negative string length " + length);
+            }
+            return null;
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        map.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Buffers the body on its way to the channel and keeps its length and checksum.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long bodyLength;
+
+        Output(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) flush();
+            buffer.putInt(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            if (buffer.remaining() < Double.BYTES) flush();
+            buffer.putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int n = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, n);
+                written += n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            bodyLength += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
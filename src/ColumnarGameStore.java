@@ -0,0 +1,511 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: ColumnarGameStore
+ *
+ * Description:
+ * An in-memory catalog that keeps each attribute of the games in its own primitive array (ids, years, prices,
+ * ratings) instead of one VideoGame object per game. Titles and genres are dictionary encoded: each distinct
+ * String is stored once and the rows hold an int code. Scans such as averages, min/max and counts then run as
+ * tight loops over contiguous arrays instead of following a pointer to every object.
+ * Removing a game only marks its row dead (a tombstone); rows are packed again by compact(), which runs on its
+ * own once a quarter of the rows are dead. compact() also drops titles and genres that no live game uses any
+ * more, since removes and updates leave them behind in the dictionaries.
+ * VideoGame objects are only created when a single game is read back with get.
+ **/
+public class ColumnarGameStore {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] ids;
+    private int[] years;
+    private double[] prices;
+    private double[] ratings;
+    private int[] titleCodes;
+    private int[] genreCodes;
+    private long[] dead;
+
+    private int rows;      // rows used, live or dead
+    private int deadRows;  // rows removed but not compacted yet
+    private boolean unusedCodes;  // a remove or update may have left a title or genre no row uses
+
+    private final StringDictionary titles = new StringDictionary();
+    private final StringDictionary genres = new StringDictionary();
+    private final RowIndex rowOf = new RowIndex();
+
+    /**
+     * Constructor for an empty store
+     */
+    public ColumnarGameStore() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructor for a store that holds the expected number of games without growing
+     * @param expected number of games
+     */
+    public ColumnarGameStore(int expected) {
+        allocate(Math.max(expected, MIN_CAPACITY));
+    }
+
+    /**
+     * copyOf
+     * Purpose: Builds a columnar copy of any collection of games, for example manager.videogames.values().
+     * @param games games to copy, later duplicates of an id are skipped
+     * @return the new store
+     */
+    public static ColumnarGameStore copyOf(Iterable<VideoGame> games) {
+        ColumnarGameStore store = new ColumnarGameStore();
+        for (VideoGame g : games) {
+            store.add(g);
+        }
+        return store;
+    }
+
+    /**
+     *
+     * @return number of live games
+     */
+    public int size() {
+        return rows - deadRows;
+    }
+
+    /**
+     * add
+     * Purpose: Appends a game as a new row.
+     * @param game game to add
+     * @return false if a game with that id is already stored
+     */
+    public boolean add(VideoGame game) {
+        int id = game.getGameID();
+        if (rowOf.get(id) >= 0) {
+            return false;
+        }
+        if (rows == ids.length) {
+            grow(ids.length * 2);
+        }
+        int row = rows++;
+        ids[row] = id;
+        years[row] = game.getReleaseYear();
+        prices[row] = game.getPrice();
+        ratings[row] = game.getRating();
+        titleCodes[row] = titles.encode(game.getTitle());
+        genreCodes[row] = genres.encode(game.getGenre());
+        rowOf.put(id, row);
+        return true;
+    }
+
+    /**
+     * contains
+     * @param id game id
+     * @return true if a live game has that id
+     */
+    public boolean contains(int id) {
+        return rowOf.get(id) >= 0;
+    }
+
+    /**
+     * get
+     * Purpose: Reads one game back as a VideoGame. The object is a copy: changing it does not change the store.
+     * @param id game id
+     * @return the game, or null if there is none
+     */
+    public VideoGame get(int id) {
+        int row = rowOf.get(id);
+        if (row < 0) {
+            return null;
+        }
+        return new VideoGame(ids[row], titles.decode(titleCodes[row]), genres.decode(genreCodes[row]),
+                years[row], prices[row], ratings[row]);
+    }
+
+    /**
+     * update
+     * Purpose: Changes the fields that are given and leaves the null ones alone, like updateGamePartial.
+     * @return false if there is no game with that id
+     */
+    public boolean update(int id, String title, String genre, Integer year, Double price, Double rating) {
+        int row = rowOf.get(id);
+        if (row < 0) {
+            return false;
+        }
+        if (title != null) titleCodes[row] = titles.encode(title);
+        if (genre != null) genreCodes[row] = genres.encode(genre);
+        unusedCodes |= title != null || genre != null;
+        if (year != null) years[row] = year;
+        if (price != null) prices[row] = price;
+        if (rating != null) ratings[row] = rating;
+        return true;
+    }
+
+    /**
+     * remove
+     * Purpose: Marks the game's row dead. Compacts the store once a quarter of the rows are dead.
+     * @param id game id
+     * @return false if there is no game with that id
+     */
+    public boolean remove(int id) {
+        int row = rowOf.remove(id);
+        if (row < 0) {
+            return false;
+        }
+        dead[row >>> 6] |= 1L << row;
+        deadRows++;
+        unusedCodes = true;
+        if (deadRows > MIN_CAPACITY && deadRows * 4 > rows) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * compact
+     * Purpose: Moves live rows down over the dead ones, keeping their order, and rebuilds the id index.
+     * Then encodes the titles and genres again so the dictionaries only keep the values live rows use.
+     */
+    public void compact() {
+        if (!unusedCodes) {
+            return;
+        }
+        int out = 0;
+        for (int row = 0; row < rows; row++) {
+            if (isDead(row)) {
+                continue;
+            }
+            if (out != row) {
+                ids[out] = ids[row];
+                years[out] = years[row];
+                prices[out] = prices[row];
+                ratings[out] = ratings[row];
+                titleCodes[out] = titleCodes[row];
+                genreCodes[out] = genreCodes[row];
+                rowOf.put(ids[out], out);
+            }
+            out++;
+        }
+        rows = out;
+        deadRows = 0;
+        Arrays.fill(dead, 0L);
+        titles.reencode(titleCodes, rows);
+        genres.reencode(genreCodes, rows);
+        unusedCodes = false;
+    }
+
+    /**
+     * averageRating
+     * @return average rating of all live games, or NaN if there are none
+     */
+    public double averageRating() {
+        double total = 0;
+        if (deadRows == 0) {
+            for (int row = 0; row < rows; row++) {
+                total += ratings[row];
+            }
+        } else {
+            for (int row = 0; row < rows; row++) {
+                if (!isDead(row)) total += ratings[row];
+            }
+        }
+        return size() == 0 ? Double.NaN : total / size();
+    }
+
+    /**
+     * averagePrice
+     * @return average price of all live games, or NaN if there are none
+     */
+    public double averagePrice() {
+        double total = 0;
+        for (int row = 0; row < rows; row++) {
+            if (deadRows == 0 || !isDead(row)) total += prices[row];
+        }
+        return size() == 0 ? Double.NaN : total / size();
+    }
+
+    /**
+     * minRating
+     * @return lowest rating, or NaN if there are no games
+     */
+    public double minRating() {
+        return extreme(ratings, true);
+    }
+
+    /**
+     * maxRating
+     * @return highest rating, or NaN if there are no games
+     */
+    public double maxRating() {
+        return extreme(ratings, false);
+    }
+
+    /**
+     * minPrice
+     * @return lowest price, or NaN if there are no games
+     */
+    public double minPrice() {
+        return extreme(prices, true);
+    }
+
+    /**
+     * maxPrice
+     * @return highest price, or NaN if there are no games
+     */
+    public double maxPrice() {
+        return extreme(prices, false);
+    }
+
+    private double extreme(double[] column, boolean min) {
+        double best = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        boolean any = false;
+        for (int row = 0; row < rows; row++) {
+            if (deadRows != 0 && isDead(row)) continue;
+            double v = column[row];
+            best = min ? Math.min(best, v) : Math.max(best, v);
+            any = true;
+        }
+        return any ? best : Double.NaN;
+    }
+
+    /**
+     * countGenre
+     * Purpose: Counts games of one genre by comparing int codes, the genre String is looked up only once.
+     * @param genre exact genre text
+     * @return number of live games with that genre
+     */
+    public int countGenre(String genre) {
+        int code = genres.find(genre);
+        if (code < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (genreCodes[row] == code && (deadRows == 0 || !isDead(row))) count++;
+        }
+        return count;
+    }
+
+    /**
+     * countWhere
+     * Purpose: Counts games inside all of the given ranges, bounds are inclusive.
+     * @param genre exact genre text, or null for any genre
+     * @return number of live games that match
+     */
+    public int countWhere(String genre, int minYear, int maxYear, double minPrice, double maxPrice,
+                          double minRating, double maxRating) {
+        int code = -1;
+        if (genre != null) {
+            code = genres.find(genre);
+            if (code < 0) return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            if ((code < 0 || genreCodes[row] == code)
+                    && years[row] >= minYear && years[row] <= maxYear
+                    && prices[row] >= minPrice && prices[row] <= maxPrice
+                    && ratings[row] >= minRating && ratings[row] <= maxRating
+                    && (deadRows == 0 || !isDead(row))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     *
+     * @return every distinct genre stored, including ones only removed games had until the next compact()
+     */
+    public List<String> genres() {
+        return genres.values();
+    }
+
+    /**
+     *
+     * @return number of distinct titles stored, including ones only removed games had until the next compact()
+     */
+    public int distinctTitles() {
+        return titles.size();
+    }
+
+    private boolean isDead(int row) {
+        return (dead[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        years = new int[capacity];
+        prices = new double[capacity];
+        ratings = new double[capacity];
+        titleCodes = new int[capacity];
+        genreCodes = new int[capacity];
+        dead = new long[(capacity + 63) >>> 6];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        years = Arrays.copyOf(years, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        genreCodes = Arrays.copyOf(genreCodes, capacity);
+        dead = Arrays.copyOf(dead, (capacity + 63) >>> 6);
+    }
+
+    /**
+     * Gives every distinct String an int code, starting at 0, and turns codes back into Strings.
+     */
+    private static final class StringDictionary {
+        private HashMap<String, Integer> codes = new HashMap<>();
+        private ArrayList<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        List<String> values() {
+            return new ArrayList<>(values);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        /**
+         * keeps only the values the given rows use, numbered again in order of first use, and rewrites the
+         * rows' codes to match; the old map and list are replaced so their spare capacity is freed as well
+         */
+        void reencode(int[] rowCodes, int rows) {
+            int[] remap = new int[values.size()];
+            Arrays.fill(remap, -1);
+            HashMap<String, Integer> keptCodes = new HashMap<>();
+            ArrayList<String> kept = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                int old = rowCodes[row];
+                int code = remap[old];
+                if (code < 0) {
+                    code = kept.size();
+                    remap[old] = code;
+                    String value = values.get(old);
+                    keptCodes.put(value, code);
+                    kept.add(value);
+                }
+                rowCodes[row] = code;
+            }
+            codes = keptCodes;
+            values = kept;
+        }
+    }
+
+    /**
+     * Open addressing map from game id to row number, same layout as IntGameMap but with int values.
+     * A value of -1 marks an empty slot.
+     */
+    private static final class RowIndex {
+        private int[] keys = new int[MIN_CAPACITY];
+        private int[] values = filled(MIN_CAPACITY);
+        private int size;
+
+        int get(int id) {
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (values[slot] >= 0) {
+                if (keys[slot] == id) return values[slot];
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(int id, int row) {
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (values[slot] >= 0) {
+                if (keys[slot] == id) {
+                    values[slot] = row;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = row;
+            if (++size > keys.length * 7 / 10) {
+                rehash();
+            }
+        }
+
+        int remove(int id) {
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (values[slot] >= 0) {
+                if (keys[slot] == id) {
+                    int row = values[slot];
+                    // backward shift, see IntGameMap.shiftBack
+                    int gap = slot;
+                    while (true) {
+                        slot = (slot + 1) & mask;
+                        if (values[slot] < 0) break;
+                        int home = hash(keys[slot]) & mask;
+                        if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                            keys[gap] = keys[slot];
+                            values[gap] = values[slot];
+                            gap = slot;
+                        }
+                    }
+                    values[gap] = -1;
+                    size--;
+                    return row;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = filled(oldKeys.length * 2);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] >= 0) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (values[slot] >= 0) slot = (slot + 1) & mask;
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int[] filled(int length) {
+            int[] a = new int[length];
+            Arrays.fill(a, -1);
+            return a;
+        }
+
+        private static int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
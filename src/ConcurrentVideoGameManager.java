@@ -0,0 +1,492 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: ConcurrentVideoGameManager
+ *
+ * Description:
+ * A thread-safe catalog that several operator sessions and a background importer can share.
+ * Games are copy-on-write: a game is never changed after it is stored. updateGame() changes a copy and
+ * stores that in its place, so a game a reader holds is always a consistent snapshot and reads never lock.
+ * Lookups by id go straight to a ConcurrentHashMap of the stored games.
+ * Every write also updates catalog-wide aggregates and indexes in a GameStore, so writes take the write
+ * lock of one StampedLock. Each write holds it for about a microsecond.
+ * Aggregate reads are optimistic: they read without locking and take the read lock only when a write got
+ * in the way. Searches hold the read lock, so they run side by side.
+ * Games handed out are shared: treat them as read-only and change them only through updateGame().
+ **/
+public class ConcurrentVideoGameManager {
+    // games an import adds per write lock, so sessions are not held up for a whole file
+    private static final int IMPORT_BATCH = 1000;
+
+    private final GameStore store;
+    private final ConcurrentHashMap<Integer, VideoGame> games = new ConcurrentHashMap<>();
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean indexesBuilt;
+    private volatile boolean titlesBuilt;
+    private final LongAdder optimisticReads = new LongAdder();
+    private final LongAdder optimisticRetries = new LongAdder();
+
+    /**
+     * Constructor for an empty catalog
+     */
+    public ConcurrentVideoGameManager() {
+        this(new GameStore());
+    }
+
+    /**
+     * Constructor that takes over a loaded store, for example the one a MutationJournal replayed into.
+     * From now on the store must only be changed through this manager.
+     * @param store the games to share
+     */
+    public ConcurrentVideoGameManager(GameStore store) {
+        this.store = store;
+        for (VideoGame game : store.values()) {
+            games.put(game.getGameID(), game);
+        }
+    }
+
+    /**
+     * getGame
+     * Purpose: Looks up a game without locking.
+     * @param id game id
+     * @return the game, or null
+     */
+    public VideoGame getGame(int id) {
+        return games.get(id);
+    }
+
+    /**
+     *
+     * @return number of games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * addGame
+     * Purpose: Adds the game only if its id is free, as one atomic step, so two sessions adding the same id
+     * cannot both succeed. The manager keeps the game itself; do not change it afterwards.
+     * @param game the game, not null
+     * @return true if it was added, false if the id was already taken
+     */
+    public boolean addGame(VideoGame game) {
+        long stamp = lock.writeLock();
+        try {
+            if (store.putIfAbsent(game.getGameID(), game) != null) {
+                return false;
+            }
+            games.put(game.getGameID(), game);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * updateGame
+     * Purpose: Applies a change to a copy of the game and stores the copy, as one atomic step. Changes
+     * computed from the current values, such as raising the price by one, are never lost to another
+     * session changing the same game.
+     * @param id game id
+     * @param change calls the setters of the copy
+     * @return the changed game, or null if there is no game with that id
+     */
+    public VideoGame updateGame(int id, Consumer<VideoGame> change) {
+        long stamp = lock.writeLock();
+        try {
+            VideoGame current = store.get(id);
+            if (current == null) {
+                return null;
+            }
+            VideoGame changed = new VideoGame(id, current.getTitle(), current.getGenre(),
+                    current.getReleaseYear(), current.getPrice(), current.getRating());
+            change.accept(changed);
+            store.put(id, changed);
+            games.put(id, changed);
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * removeGame
+     * @param id game id
+     * @return true if a game was removed
+     */
+    public boolean removeGame(int id) {
+        long stamp = lock.writeLock();
+        try {
+            if (store.remove(id) == null) {
+                return false;
+            }
+            games.remove(id);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * importGames
+     * Purpose: Adds the games whose ids are free, for a background importer. The write lock is taken once
+     * per batch of games, so sessions keep working while a large file goes in.
+     * @param batch games to add, not changed afterwards
+     * @return number of games added
+     */
+    public int importGames(Collection<VideoGame> batch) {
+        List<VideoGame> all = new ArrayList<>(batch);
+        int added = 0;
+        for (int from = 0; from < all.size(); from += IMPORT_BATCH) {
+            List<VideoGame> part = all.subList(from, Math.min(all.size(), from + IMPORT_BATCH));
+            long stamp = lock.writeLock();
+            try {
+                added += store.putAll(part);
+                for (VideoGame game : part) {
+                    if (store.get(game.getGameID()) == game) {
+                        games.put(game.getGameID(), game);
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * overall
+     * Purpose: Totals of the whole catalog, read optimistically.
+     * @return totals of every game
+     */
+    public Totals overall() {
+        return readTotals(CatalogAggregates::overall);
+    }
+
+    /**
+     * genre
+     * @param genre genre in any case
+     * @return totals of the genre, with a count of zero if no game has it
+     */
+    public Totals genre(String genre) {
+        return readTotals(aggregates -> aggregates.genre(genre));
+    }
+
+    /**
+     * year
+     * @param year release year
+     * @return totals of the year, with a count of zero if no game came out that year
+     */
+    public Totals year(int year) {
+        return readTotals(aggregates -> aggregates.year(year));
+    }
+
+    /**
+     * calculateAverageRating
+     * @return average rating of every game, or NaN if there are none
+     */
+    public double calculateAverageRating() {
+        return overall().getAverageRating();
+    }
+
+    /**
+     * reads the totals without locking and checks that no write started meanwhile; a write can leave the
+     * stats half updated or even make the read fail, so both send the read round again under the read lock
+     */
+    private Totals readTotals(Function<CatalogAggregates, GameStats> group) {
+        optimisticReads.increment();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Totals totals = new Totals(group.apply(store.aggregates()));
+                if (lock.validate(stamp)) {
+                    return totals;
+                }
+            } catch (RuntimeException e) {
+                // a concurrent write moved something under us, validate() would fail too
+            }
+        }
+        optimisticRetries.increment();
+        stamp = lock.readLock();
+        try {
+            return new Totals(group.apply(store.aggregates()));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * findGames
+     * @param criteria what to look for
+     * @return matching games ordered by id
+     */
+    public List<VideoGame> findGames(GameCriteria criteria) {
+        buildIndexes();
+        long stamp = lock.readLock();
+        try {
+            return store.find(criteria);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * query
+     * @param query what to look for, in what order and how many
+     * @return matching games in the query's order
+     */
+    public List<VideoGame> query(GameQuery query) {
+        buildIndexes();
+        long stamp = lock.readLock();
+        try {
+            return store.query(query);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * count
+     * @param query conditions to meet
+     * @return number of games that meet every condition
+     */
+    public int count(GameQuery query) {
+        buildIndexes();
+        long stamp = lock.readLock();
+        try {
+            return store.count(query);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * searchTitles
+     * @param text start or any part of the title, any case
+     * @param limit most games to return
+     * @return matching games, prefix matches first
+     */
+    public List<VideoGame> searchTitles(String text, int limit) {
+        if (!titlesBuilt) {
+            long stamp = lock.writeLock();
+            try {
+                store.titleIndex();
+                titlesBuilt = true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return store.titleIndex().search(text, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * topK
+     * Purpose: The best k games of every group. Takes the write lock, because a tracker rebuilds groups
+     * that ran short when it is read.
+     * @param groupBy column whose values form the groups
+     * @param orderBy column to rank by
+     * @param ascending true to rank the smallest values first
+     * @param k how many games per group
+     * @return copy of the top games of each group
+     */
+    public Map<Object, List<VideoGame>> topK(GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        long stamp = lock.writeLock();
+        try {
+            Map<Object, List<VideoGame>> top = new LinkedHashMap<>();
+            for (Map.Entry<Object, List<VideoGame>> e : store.trackTopK(groupBy, orderBy, ascending, k).all().entrySet()) {
+                top.put(e.getKey(), new ArrayList<>(e.getValue()));
+            }
+            return top;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *
+     * @return every game, in no particular order
+     */
+    public List<VideoGame> allGames() {
+        return new ArrayList<>(games.values());
+    }
+
+    /**
+     * verify
+     * Purpose: Checks the aggregates and indexes against a full scan and that the id map holds the same
+     * games as the store, for tests.
+     */
+    public void verify() {
+        long stamp = lock.readLock();
+        try {
+            store.aggregates().verify(store.values());
+            if (games.size() != store.size()) {
+                throw new IllegalStateException("id map has " + games.size() + " games, store " + store.size());
+            }
+            for (VideoGame game : store.values()) {
+                if (games.get(game.getGameID()) != game) {
+                    throw new IllegalStateException("id map is out of step for game " + game.getGameID());
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     *
+     * @return number of aggregate reads
+     */
+    public long getOptimisticReads() {
+        return optimisticReads.sum();
+    }
+
+    /**
+     *
+     * @return number of aggregate reads that had to go again under the read lock
+     */
+    public long getOptimisticRetries() {
+        return optimisticRetries.sum();
+    }
+
+    private void buildIndexes() {
+        if (!indexesBuilt) {
+            long stamp = lock.writeLock();
+            try {
+                store.indexes();
+                indexesBuilt = true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Class Name: Totals
+     *
+     * Description:
+     * A copy of one GameStats taken at a single moment, safe to keep and share.
+     */
+    public static final class Totals {
+        private final String name;
+        private final int count;
+        private final double ratingSum;
+        private final double priceSum;
+        private final double minRating;
+        private final double maxRating;
+        private final double minPrice;
+        private final double maxPrice;
+
+        Totals(GameStats stats) {
+            boolean empty = stats == null || stats.getCount() == 0;
+            name = stats == null ? "" : stats.getName();
+            count = empty ? 0 : stats.getCount();
+            ratingSum = empty ? 0 : stats.getRatingSum();
+            priceSum = empty ? 0 : stats.getPriceSum();
+            minRating = empty ? Double.NaN : stats.getMinRating();
+            maxRating = empty ? Double.NaN : stats.getMaxRating();
+            minPrice = empty ? Double.NaN : stats.getMinPrice();
+            maxPrice = empty ? Double.NaN : stats.getMaxPrice();
+        }
+
+        /**
+         *
+         * @return name of the group
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         *
+         * @return number of games
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         *
+         * @return sum of the ratings
+         */
+        public double getRatingSum() {
+            return ratingSum;
+        }
+
+        /**
+         *
+         * @return sum of the prices
+         */
+        public double getPriceSum() {
+            return priceSum;
+        }
+
+        /**
+         *
+         * @return average rating, or NaN if there are no games
+         */
+        public double getAverageRating() {
+            return count == 0 ? Double.NaN : ratingSum / count;
+        }
+
+        /**
+         *
+         * @return average price, or NaN if there are no games
+         */
+        public double getAveragePrice() {
+            return count == 0 ? Double.NaN : priceSum / count;
+        }
+
+        /**
+         *
+         * @return lowest rating, or NaN if there are no games
+         */
+        public double getMinRating() {
+            return minRating;
+        }
+
+        /**
+         *
+         * @return highest rating, or NaN if there are no games
+         */
+        public double getMaxRating() {
+            return maxRating;
+        }
+
+        /**
+         *
+         * @return lowest price, or NaN if there are no games
+         */
+        public double getMinPrice() {
+            return minPrice;
+        }
+
+        /**
+         *
+         * @return highest price, or NaN if there are no games
+         */
+        public double getMaxPrice() {
+            return maxPrice;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: DatabaseConfig
+ *
+ * Description:
+ * Settings used by VideoGameDAO when it opens a database: how many read-only connections to keep
+ * for queries, how long to wait on a locked database, and the SQLite synchronous level of the writer.
+ * The database is always opened in WAL mode so readers never wait on the writer.
+ * SQL tracing (see SqlTracer) is off unless a trace capacity is set; both tracing settings start from the
+ * vgm.sqlTrace and vgm.slowQueryMillis system properties, so the GUI can be traced with -Dvgm.sqlTrace=1000.
+ **/
+public class DatabaseConfig {
+
+    private int readPoolSize = 4;
+    private int busyTimeoutMillis = 5000;
+    private String synchronous = "NORMAL";
+    private int traceCapacity = Integer.getInteger("vgm.sqlTrace", 0);
+    private long slowQueryMillis = Long.getLong("vgm.slowQueryMillis", 100);
+
+    /**
+     * initialize or change the param
+     * @param readPoolSize number of read-only connections, 0 sends reads through the writer connection
+     */
+    public void setReadPoolSize(int readPoolSize) {
+        if (readPoolSize < 0) {
+            throw new IllegalArgumentException("Read pool size cannot be negative");
+        }
+        this.readPoolSize = readPoolSize;
+    }
+
+    /**
+     * initialize or change the param
+     * @param busyTimeoutMillis how long a statement waits for a lock before failing
+     */
+    public void setBusyTimeoutMillis(int busyTimeoutMillis) {
+        if (busyTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Busy timeout cannot be negative");
+        }
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * initialize or change the param
+     * @param synchronous OFF, NORMAL, FULL or EXTRA
+     */
+    public void setSynchronous(String synchronous) {
+        String level = synchronous.trim().toUpperCase();
+        if (!level.equals("OFF") && !level.equals("NORMAL") && !level.equals("FULL") && !level.equals("EXTRA")) {
+            throw new IllegalArgumentException("Synchronous must be OFF, NORMAL, FULL or EXTRA");
+        }
+        this.synchronous = level;
+    }
+
+    /**
+     * initialize or change the param
+     * @param traceCapacity number of recent statements to keep for SqlTracer.dump, 0 turns tracing off
+     */
+    public void setTraceCapacity(int traceCapacity) {
+        if (traceCapacity < 0) {
+            throw new IllegalArgumentException("Trace capacity cannot be negative");
+        }
+        this.traceCapacity = traceCapacity;
+    }
+
+    /**
+     * initialize or change the param
+     * @param slowQueryMillis traced statements taking at least this long go to the slow-query log
+     */
+    public void setSlowQueryMillis(long slowQueryMillis) {
+        if (slowQueryMillis < 0) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative");
+        }
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    /**
+     *
+     * @return number of read-only connections
+     */
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    /**
+     *
+     * @return busy timeout in milliseconds
+     */
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    /**
+     *
+     * @return synchronous level of the writer connection
+     */
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    /**
+     *
+     * @return recent statements kept by the tracer, 0 when tracing is off
+     */
+    public int getTraceCapacity() {
+        return traceCapacity;
+    }
+
+    /**
+     *
+     * @return slow-query threshold in milliseconds
+     */
+    public long getSlowQueryMillis() {
+        return slowQueryMillis;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameColumn
+ *
+ * Description:
+ * The columns of the videogames table. Each one knows its SQL column name so queries can be built
+ * from a column value instead of pasting user text into SQL.
+ **/
+public enum GameColumn {
+    ID("gameid"),
+    TITLE("title"),
+    GENRE("genre"),
+    RELEASE_YEAR("releaseyear"),
+    PRICE("price"),
+    RATING("rating");
+
+    private final String sqlName;
+
+    GameColumn(String sqlName) {
+        this.sqlName = sqlName;
+    }
+
+    /**
+     *
+     * @return the column name in the videogames table
+     */
+    public String getSqlName() {
+        return sqlName;
+    }
+
+    /**
+     * reads this column's value from a game
+     * @param game the game to read
+     * @return the value, boxed
+     */
+    public Object valueOf(VideoGame game) {
+        switch (this) {
+            case ID:
+                return game.getGameID();
+            case TITLE:
+                return game.getTitle();
+            case GENRE:
+                return game.getGenre();
+            case RELEASE_YEAR:
+                return game.getReleaseYear();
+            case PRICE:
+                return game.getPrice();
+            default:
+                return game.getRating();
+        }
+    }
+
+    /**
+     *
+     * @return true for the text columns, title and genre
+     */
+    public boolean isText() {
+        return this == TITLE || this == GENRE;
+    }
+
+    /**
+     * converts a value given for this column to the type the column holds, so an int can be
+     * compared with a price and 59.0 with a year
+     * @param value the value, not null
+     * @return Integer for id and year, Double for price and rating, String for title and genre
+     * @exception IllegalArgumentException if the value cannot be held by this column
+     */
+    public Object convert(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException(this + " cannot be compared with null");
+        }
+        if (isText()) {
+            if (!(value instanceof String)) {
+                throw new IllegalArgumentException(this + " needs text, not " + value);
+            }
+            return value;
+        }
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException(this + " needs a number, not " + value);
+        }
+        Number number = (Number) value;
+        if (this == PRICE || this == RATING) {
+            return number.doubleValue();
+        }
+        if (number.doubleValue() != number.intValue()) {
+            throw new IllegalArgumentException(this + " needs a whole number, not " + value);
+        }
+        return number.intValue();
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameCriteria
+ *
+ * Description:
+ * What VideoGameManager.findGames looks for: an optional genre plus optional inclusive ranges of release year,
+ * price and rating. Every part left unset matches all games. The setters return this so a query reads as one
+ * line, for example new GameCriteria().genre("RPG").priceBetween(0, 20).
+ **/
+public class GameCriteria {
+
+    private String genre;
+    private String normalizedGenre;
+    private int minYear = Integer.MIN_VALUE;
+    private int maxYear = Integer.MAX_VALUE;
+    private double minPrice = Double.NEGATIVE_INFINITY;
+    private double maxPrice = Double.POSITIVE_INFINITY;
+    private double minRating = Double.NEGATIVE_INFINITY;
+    private double maxRating = Double.POSITIVE_INFINITY;
+
+    /**
+     * genre
+     * @param genre genre to match, case and surrounding spaces are ignored
+     * @return this criteria
+     */
+    public GameCriteria genre(String genre) {
+        if (genre == null || genre.isBlank()) {
+            throw new IllegalArgumentException("Genre cannot be blank");
+        }
+        this.genre = genre;
+        this.normalizedGenre = CatalogAggregates.normalizeGenre(genre);
+        return this;
+    }
+
+    /**
+     * yearBetween
+     * @return this criteria
+     */
+    public GameCriteria yearBetween(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Year range is empty: " + min + " to " + max);
+        }
+        this.minYear = min;
+        this.maxYear = max;
+        return this;
+    }
+
+    /**
+     * priceBetween
+     * @return this criteria
+     */
+    public GameCriteria priceBetween(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Price range is empty: " + min + " to " + max);
+        }
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+
+    /**
+     * ratingBetween
+     * @return this criteria
+     */
+    public GameCriteria ratingBetween(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Rating range is empty: " + min + " to " + max);
+        }
+        this.minRating = min;
+        this.maxRating = max;
+        return this;
+    }
+
+    /**
+     * matches
+     * Purpose: Checks one game against every part of the criteria.
+     * @param game game to check
+     * @return true if the game matches
+     */
+    public boolean matches(VideoGame game) {
+        return (genre == null || CatalogAggregates.normalizeGenre(game.getGenre()).equals(normalizedGenre))
+                && matchesRanges(game);
+    }
+
+    /**
+     * matchesRanges
+     * Purpose: Checks only the year, price and rating ranges, for games already known to have the genre.
+     * @param game game to check
+     * @return true if the game is inside every range
+     */
+    public boolean matchesRanges(VideoGame game) {
+        return game.getReleaseYear() >= minYear && game.getReleaseYear() <= maxYear
+                && game.getPrice() >= minPrice && game.getPrice() <= maxPrice
+                && game.getRating() >= minRating && game.getRating() <= maxRating;
+    }
+
+    /**
+     *
+     * @return the genre as given, or null if any genre matches
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     *
+     * @return the genre in the form the genre index uses, or null
+     */
+    public String getNormalizedGenre() {
+        return normalizedGenre;
+    }
+
+    /**
+     *
+     * @return true if a year range was set
+     */
+    public boolean hasYearRange() {
+        return minYear != Integer.MIN_VALUE || maxYear != Integer.MAX_VALUE;
+    }
+
+    /**
+     *
+     * @return true if a price range was set
+     */
+    public boolean hasPriceRange() {
+        return minPrice != Double.NEGATIVE_INFINITY || maxPrice != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     *
+     * @return true if a rating range was set
+     */
+    public boolean hasRatingRange() {
+        return minRating != Double.NEGATIVE_INFINITY || maxRating != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     *
+     * @return lowest release year
+     */
+    public int getMinYear() {
+        return minYear;
+    }
+
+    /**
+     *
+     * @return highest release year
+     */
+    public int getMaxYear() {
+        return maxYear;
+    }
+
+    /**
+     *
+     * @return lowest price
+     */
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     *
+     * @return highest price
+     */
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     *
+     * @return lowest rating
+     */
+    public double getMinRating() {
+        return minRating;
+    }
+
+    /**
+     *
+     * @return highest rating
+     */
+    public double getMaxRating() {
+        return maxRating;
+    }
+}
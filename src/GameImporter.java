@@ -0,0 +1,668 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameImporter
+ *
+ * Description:
+ * This class imports video games from text files in the id,title,genre,year,price,rating format.
+ * It reads the file through an NIO channel into one reusable byte buffer and parses each line
+ * in place, so numbers are parsed straight from the bytes without creating Strings for them.
+ * Fields may be wrapped in double quotes so a title can contain commas ("" is an escaped quote).
+ * A quoted field cannot span more than one line.
+ * Bad lines and duplicate ids are collected in the ImportResult instead of being printed one by one.
+ * Large files can also be imported in parallel, see importFileParallel.
+ **/
+public class GameImporter {
+
+    /**
+     * Receives each parsed game. Returns false if the game was not added because its id already exists.
+     */
+    public interface GameSink {
+        boolean accept(VideoGame game);
+    }
+
+    static final int FIELDS = 6;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int CHUNK_BUFFER_SIZE = 1 << 20;
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int DEFAULT_MAX_ERRORS = 100;
+
+    private final int bufferSize;
+    private final int maxErrors;
+
+    /**
+     * Constructor with a 64 KB read buffer and an error report of 100 lines
+     */
+    public GameImporter() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_ERRORS);
+    }
+
+    /**
+     * Constructor for choosing the buffer size and error report size
+     * @param bufferSize bytes read from the channel at a time, grows if a single line is longer
+     * @param maxErrors how many error messages to keep in the result
+     */
+    public GameImporter(int bufferSize, int maxErrors) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes");
+        }
+        this.bufferSize = bufferSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * imports every line of a file into the sink
+     * @param path file to read
+     * @param sink where parsed games go
+     * @return statistics and error report of the import
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFile(Path path, GameSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return importChannel(channel, sink);
+        }
+    }
+
+    /**
+     * imports every line of a channel into the sink
+     * @param channel source of the text, read until end of stream
+     * @param sink where parsed games go
+     * @return statistics and error report of the import
+     * @throws IOException if the channel cannot be read
+     */
+    public ImportResult importChannel(ReadableByteChannel channel, GameSink sink) throws IOException {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult(maxErrors);
+        readLines(channel, bufferSize, true, result, (game, lineNumber) -> {
+            if (sink.accept(game)) {
+                result.added++;
+            } else {
+                result.duplicate(lineNumber, game.getGameID());
+            }
+        });
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * imports a file by splitting it into line-aligned byte ranges that are parsed at the same time
+     * on a ForkJoinPool. The parsed chunks are handed to the sink in file order, so when an id shows up
+     * twice the line closer to the top of the file wins, exactly like the sequential import.
+     * @param path file to read
+     * @param parallelism number of threads used for parsing
+     * @param sink where parsed games go, only called from the calling thread
+     * @return statistics and error report of the import
+     * @throws IOException if the file cannot be read
+     */
+    public ImportResult importFileParallel(Path path, int parallelism, GameSink sink) throws IOException {
+        return importFileParallel(path, parallelism, MIN_CHUNK_SIZE, sink);
+    }
+
+    /**
+     * importFileParallel with a chosen smallest chunk, so a small file can be split into many chunks
+     * @param minChunkSize fewest bytes per chunk; files under twice this are imported sequentially
+     */
+    ImportResult importFileParallel(Path path, int parallelism, long minChunkSize, GameSink sink) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (parallelism <= 1 || size < minChunkSize * 2) {
+                return importChannel(channel, sink);
+            }
+
+            long[] bounds = chunkBounds(channel, size, parallelism, minChunkSize);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(bounds.length - 1);
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    long from = bounds[i];
+                    long to = bounds[i + 1];
+                    boolean first = i == 0;
+                    tasks.add(pool.submit(() -> parseChunk(channel, from, to, first)));
+                }
+
+                // merge in file order while later chunks are still being parsed
+                ImportResult result = new ImportResult(maxErrors);
+                long lineOffset = 0;
+                for (ForkJoinTask<Chunk> task : tasks) {
+                    Chunk chunk = join(task);
+                    result.merge(chunk.result, lineOffset);
+                    for (int i = 0; i < chunk.games.size(); i++) {
+                        VideoGame game = chunk.games.get(i);
+                        if (sink.accept(game)) {
+                            result.added++;
+                        } else {
+                            result.duplicate(lineOffset + chunk.lineNumbers[i], game.getGameID());
+                        }
+                    }
+                    lineOffset += chunk.lineCount;
+                }
+                result.elapsedNanos = System.nanoTime() - start;
+                return result;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * picks chunk boundaries so that every chunk starts right after a newline
+     * @return sorted offsets, the first is 0 and the last is the file size
+     */
+    private static long[] chunkBounds(FileChannel channel, long size, int parallelism, long minChunkSize) throws IOException {
+        // a few chunks per thread so a slow chunk does not leave the other threads idle
+        int chunks = (int) Math.max(1, Math.min((long) parallelism * 4, size / minChunkSize));
+        long step = size / chunks;
+        long[] bounds = new long[chunks + 1];
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        int count = 1;
+        for (int i = 1; i < chunks; i++) {
+            long pos = Math.max(i * step, bounds[count - 1]);
+            long next = nextLineStart(channel, pos, size, probe);
+            if (next > bounds[count - 1] && next < size) {
+                bounds[count++] = next;
+            }
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long nextLineStart(FileChannel channel, long pos, long size, ByteBuffer probe) throws IOException {
+        while (pos < size) {
+            probe.clear();
+            int n = channel.read(probe, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /**
+     * parses bytes [from, to) of the file on a pool thread without touching the sink
+     */
+    private Chunk parseChunk(FileChannel channel, long from, long to, boolean first) throws IOException {
+        Chunk chunk = new Chunk(maxErrors);
+        chunk.lineCount = readLines(new RangeChannel(channel, from, to), CHUNK_BUFFER_SIZE, first, chunk.result, chunk::add);
+        return chunk;
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Import failed", e.getCause());
+        }
+    }
+
+    /**
+     * Called for every line that parsed into a game.
+     */
+    private interface ParsedLine {
+        void accept(VideoGame game, long lineNumber);
+    }
+
+    /**
+     * reads the channel into a reused buffer and parses every complete line in place
+     * @return number of lines seen, including blank and rejected lines
+     */
+    private static long readLines(ReadableByteChannel channel, int bufferSize, boolean checkBom,
+                                  ImportResult result, ParsedLine handler) throws IOException {
+        LineParser parser = new LineParser();
+        byte[] data = new byte[bufferSize];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int filled = 0;
+        long lineNumber = 0;
+
+        while (true) {
+            if (filled == data.length) {
+                // a single line is bigger than the buffer, so grow it
+                byte[] bigger = new byte[data.length * 2];
+                System.arraycopy(data, 0, bigger, 0, filled);
+                data = bigger;
+                buffer = ByteBuffer.wrap(data);
+            }
+            buffer.limit(data.length).position(filled);
+            int n = channel.read(buffer);
+            if (n < 0) {
+                break;
+            }
+            filled += n;
+            result.bytesRead += n;
+
+            int from = 0;
+            if (checkBom) {
+                from = skipBom(data, filled);
+                checkBom = false;
+            }
+
+            int consumed = from;
+            for (int i = from; i < filled; i++) {
+                if (data[i] == '\n') {
+                    lineNumber++;
+                    VideoGame game = parser.parseLine(data, consumed, i, lineNumber, result);
+                    if (game != null) {
+                        handler.accept(game, lineNumber);
+                    }
+                    consumed = i + 1;
+                }
+            }
+            System.arraycopy(data, consumed, data, 0, filled - consumed);
+            filled -= consumed;
+        }
+
+        if (filled > 0) {
+            // last line without a trailing newline
+            lineNumber++;
+            VideoGame game = parser.parseLine(data, 0, filled, lineNumber, result);
+            if (game != null) {
+                handler.accept(game, lineNumber);
+            }
+        }
+        return lineNumber;
+    }
+
+    private static int skipBom(byte[] data, int length) {
+        if (length >= 3 && data[0] == (byte) 0xEF && data[1] == (byte) 0xBB && data[2] == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * Splits one line into its six fields and builds the VideoGame.
+     * All field positions are kept in reused arrays so the only objects created per line
+     * are the title String and the VideoGame itself.
+     */
+    static final class LineParser {
+        private final int[] starts = new int[FIELDS];
+        private final int[] ends = new int[FIELDS];
+        private final boolean[] escaped = new boolean[FIELDS];
+        private final GenreCache genres = new GenreCache();
+        private byte[] scratch = new byte[64];
+        private String error;
+
+        /**
+         * parses bytes [from, to) of data as one line without adding it anywhere
+         * @return the parsed game, or null if the line was blank or rejected
+         */
+        VideoGame parseLine(byte[] data, int from, int to, long lineNumber, ImportResult result) {
+            if (to > from && data[to - 1] == '\r') {
+                to--;
+            }
+            if (isBlank(data, from, to)) {
+                return null;
+            }
+            result.linesRead++;
+
+            int fields = split(data, from, to);
+            if (fields != FIELDS) {
+                reject(result, lineNumber, fields < 0 ? error : "Invalid line format", data, from, to);
+                return null;
+            }
+
+            error = null;
+            int id = parseInt(data, starts[0], ends[0]);
+            int year = parseInt(data, starts[3], ends[3]);
+            double price = parseDouble(data, starts[4], ends[4]);
+            double rating = parseDouble(data, starts[5], ends[5]);
+            if (error != null) {
+                reject(result, lineNumber, "Invalid data type in line", data, from, to);
+                return null;
+            }
+
+            String title = field(data, 1);
+            String genre = escaped[2] ? field(data, 2) : genres.get(data, starts[2], ends[2]);
+            return new VideoGame(id, title, genre, year, price, rating);
+        }
+
+        /**
+         * finds the field boundaries of a line, trimming spaces around each field and removing quotes
+         * @return number of fields found, or -1 if the line is malformed
+         */
+        private int split(byte[] data, int from, int to) {
+            int count = 0;
+            int i = from;
+            while (true) {
+                while (i < to && isSpace(data[i])) i++;
+
+                int start;
+                int end;
+                boolean hasEscape = false;
+                if (i < to && data[i] == '"') {
+                    start = ++i;
+                    while (true) {
+                        if (i >= to) {
+                            error = "Unterminated quote";
+                            return -1;
+                        }
+                        if (data[i] == '"') {
+                            if (i + 1 < to && data[i + 1] == '"') {
+                                hasEscape = true;
+                                i += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        i++;
+                    }
+                    end = i++;
+                    while (i < to && isSpace(data[i])) i++;
+                    if (i < to && data[i] != ',') {
+                        error = "Unexpected text after quote";
+                        return -1;
+                    }
+                } else {
+                    start = i;
+                    while (i < to && data[i] != ',') i++;
+                    end = i;
+                    while (end > start && isSpace(data[end - 1])) end--;
+                }
+
+                if (count == FIELDS) {
+                    return FIELDS + 1;
+                }
+                starts[count] = start;
+                ends[count] = end;
+                escaped[count] = hasEscape;
+                count++;
+
+                if (i >= to) {
+                    return count;
+                }
+                i++; // skip the comma
+            }
+        }
+
+        private String field(byte[] data, int index) {
+            int start = starts[index];
+            int end = ends[index];
+            if (!escaped[index]) {
+                return new String(data, start, end - start, StandardCharsets.UTF_8);
+            }
+            if (scratch.length < end - start) {
+                scratch = new byte[end - start];
+            }
+            int n = 0;
+            for (int i = start; i < end; i++) {
+                scratch[n++] = data[i];
+                if (data[i] == '"') {
+                    i++; // "" becomes "
+                }
+            }
+            return new String(scratch, 0, n, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * parses a decimal int from the bytes, sets error on bad input or overflow
+         */
+        private int parseInt(byte[] data, int start, int end) {
+            if (start >= end) {
+                error = "empty";
+                return 0;
+            }
+            boolean negative = false;
+            int i = start;
+            if (data[i] == '-' || data[i] == '+') {
+                negative = data[i] == '-';
+                if (++i == end) {
+                    error = "sign only";
+                    return 0;
+                }
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    error = "not a digit";
+                    return 0;
+                }
+                value = value * 10 + digit;
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    error = "overflow";
+                    return 0;
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                error = "overflow";
+                return 0;
+            }
+            return (int) value;
+        }
+
+        /**
+         * parses a decimal number from the bytes. Numbers with at most 15 significant digits and a
+         * small exponent are exact as long / power of ten; anything else falls back to Double.parseDouble.
+         */
+        private double parseDouble(byte[] data, int start, int end) {
+            if (start >= end) {
+                error = "empty";
+                return 0;
+            }
+            int i = start;
+            boolean negative = false;
+            if (data[i] == '-' || data[i] == '+') {
+                negative = data[i] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int scale = 0;
+            boolean seenDot = false;
+            boolean seenDigit = false;
+            for (; i < end; i++) {
+                byte b = data[i];
+                if (b >= '0' && b <= '9') {
+                    seenDigit = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) digits++;
+                        if (seenDot) scale++;
+                    } else if (!seenDot) {
+                        scale--;
+                    }
+                } else if (b == '.' && !seenDot) {
+                    seenDot = true;
+                } else {
+                    break;
+                }
+            }
+            if (!seenDigit) {
+                error = "not a number";
+                return 0;
+            }
+            if (i < end) {
+                if (data[i] != 'e' && data[i] != 'E') {
+                    error = "not a number";
+                    return 0;
+                }
+                return slowDouble(data, start, end);
+            }
+            if (digits > 15 || scale > 22 || scale < -22) {
+                return slowDouble(data, start, end);
+            }
+            double value = scale >= 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa * POWERS_OF_TEN[-scale];
+            return negative ? -value : value;
+        }
+
+        private double slowDouble(byte[] data, int start, int end) {
+            try {
+                return Double.parseDouble(new String(data, start, end - start, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                error = "not a number";
+                return 0;
+            }
+        }
+
+        private static boolean isBlank(byte[] data, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!isSpace(data[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private static String text(byte[] data, int from, int to) {
+            return new String(data, from, to - from, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * rejects the line, copying its text into the message only if the bounded error report keeps it;
+         * a file of millions of bad lines then costs no more than counting them
+         */
+        private static void reject(ImportResult result, long lineNumber, String reason, byte[] data, int from, int to) {
+            if (result.keeps(lineNumber)) {
+                result.reject(lineNumber, reason + ", skipping: " + text(data, from, to));
+            } else {
+                result.reject(lineNumber, null);
+            }
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Small direct-mapped cache of genre Strings. Catalogs only have a handful of genres,
+     * so almost every line reuses a String already made instead of decoding a new one.
+     */
+    static final class GenreCache {
+        private static final int SLOTS = 256;
+        private final byte[][] keys = new byte[SLOTS][];
+        private final String[] values = new String[SLOTS];
+
+        String get(byte[] data, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + data[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+            byte[] key = keys[slot];
+            if (key != null && key.length == end - start) {
+                boolean same = true;
+                for (int i = 0; i < key.length; i++) {
+                    if (key[i] != data[start + i]) {
+                        same = false;
+                        break;
+                    }
+                }
+                if (same) {
+                    return values[slot];
+                }
+            }
+            byte[] copy = new byte[end - start];
+            System.arraycopy(data, start, copy, 0, copy.length);
+            String value = new String(copy, StandardCharsets.UTF_8);
+            keys[slot] = copy;
+            values[slot] = value;
+            return value;
+        }
+    }
+
+    /**
+     * Games parsed from one byte range, kept with their line numbers until they are merged.
+     */
+    private static final class Chunk {
+        private final ImportResult result;
+        private final List<VideoGame> games = new ArrayList<>();
+        private long[] lineNumbers = new long[1024];
+        private long lineCount;
+
+        Chunk(int maxErrors) {
+            result = new ImportResult(maxErrors);
+        }
+
+        void add(VideoGame game, long lineNumber) {
+            if (games.size() == lineNumbers.length) {
+                lineNumbers = Arrays.copyOf(lineNumbers, lineNumbers.length * 2);
+            }
+            lineNumbers[games.size()] = lineNumber;
+            games.add(game);
+        }
+    }
+
+    /**
+     * Read-only view of a byte range of a file. Uses positional reads so many threads can
+     * share one FileChannel.
+     */
+    private static final class RangeChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        RangeChannel(FileChannel channel, long from, long to) {
+            this.channel = channel;
+            this.position = from;
+            this.end = to;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int oldLimit = dst.limit();
+            if (dst.remaining() > end - position) {
+                dst.limit(dst.position() + (int) (end - position));
+            }
+            int n = channel.read(dst, position);
+            dst.limit(oldLimit);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,256 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameIndexes
+ *
+ * Description:
+ * Secondary indexes over the games of a GameStore, kept up to date as a GameStore.Listener:
+ * a hash index from normalized genre to game ids, and sorted indexes (TreeMaps) from release year, price
+ * and rating to game ids. plan() estimates how many games each usable index would return for a
+ * GameCriteria and picks the smallest, so GameStore.find only looks at those games.
+ * verify() rebuilds the indexes with a full scan and compares, for tests and debugging.
+ **/
+public class GameIndexes implements GameStore.Listener {
+
+    /**
+     * Which index a query reads and about how many ids it will return.
+     */
+    public static final class Plan {
+        private final String index;
+        private final int estimate;
+
+        Plan(String index, int estimate) {
+            this.index = index;
+            this.estimate = estimate;
+        }
+
+        /**
+         *
+         * @return "genre", "releaseYear", "price", "rating", or "scan" when no index helps
+         */
+        public String getIndex() {
+            return index;
+        }
+
+        /**
+         *
+         * @return number of ids the index returns, before the other criteria are checked
+         */
+        public int getEstimate() {
+            return estimate;
+        }
+
+        /**
+         *
+         * @return index and estimate, for printing
+         */
+        @Override
+        public String toString() {
+            return index + " (" + estimate + " candidates)";
+        }
+    }
+
+    private final HashMap<String, IntSet> byGenre = new HashMap<>();
+    private final TreeMap<Integer, IntSet> byYear = new TreeMap<>();
+    private final TreeMap<Double, IntSet> byPrice = new TreeMap<>();
+    private final TreeMap<Double, IntSet> byRating = new TreeMap<>();
+
+    @Override
+    public void added(VideoGame game) {
+        int id = game.getGameID();
+        byGenre.computeIfAbsent(CatalogAggregates.normalizeGenre(game.getGenre()), k -> new IntSet()).add(id);
+        byYear.computeIfAbsent(game.getReleaseYear(), k -> new IntSet()).add(id);
+        byPrice.computeIfAbsent(game.getPrice(), k -> new IntSet()).add(id);
+        byRating.computeIfAbsent(game.getRating(), k -> new IntSet()).add(id);
+    }
+
+    /**
+     * groups a batch through hash maps first and merges each group into the sorted indexes once, instead of
+     * descending a TreeMap for every game
+     */
+    @Override
+    public void addedAll(Collection<VideoGame> games) {
+        Map<String, IntSet> genres = new HashMap<>();
+        Map<Integer, IntSet> years = new HashMap<>();
+        Map<Double, IntSet> prices = new HashMap<>();
+        Map<Double, IntSet> ratings = new HashMap<>();
+        for (VideoGame game : games) {
+            int id = game.getGameID();
+            genres.computeIfAbsent(CatalogAggregates.normalizeGenre(game.getGenre()), k -> new IntSet()).add(id);
+            years.computeIfAbsent(game.getReleaseYear(), k -> new IntSet()).add(id);
+            prices.computeIfAbsent(game.getPrice(), k -> new IntSet()).add(id);
+            ratings.computeIfAbsent(game.getRating(), k -> new IntSet()).add(id);
+        }
+        merge(byGenre, genres);
+        merge(byYear, years);
+        merge(byPrice, prices);
+        merge(byRating, ratings);
+    }
+
+    private static <K> void merge(Map<K, IntSet> index, Map<K, IntSet> batch) {
+        batch.forEach((key, ids) -> {
+            IntSet existing = index.putIfAbsent(key, ids);
+            if (existing != null) {
+                ids.forEach(existing::add);
+            }
+        });
+    }
+
+    @Override
+    public void removed(VideoGame game) {
+        int id = game.getGameID();
+        removeFrom(byGenre, CatalogAggregates.normalizeGenre(game.getGenre()), id);
+        removeFrom(byYear, game.getReleaseYear(), id);
+        removeFrom(byPrice, game.getPrice(), id);
+        removeFrom(byRating, game.getRating(), id);
+    }
+
+    @Override
+    public void cleared() {
+        byGenre.clear();
+        byYear.clear();
+        byPrice.clear();
+        byRating.clear();
+    }
+
+    private static <K> void removeFrom(Map<K, IntSet> index, K key, int id) {
+        IntSet ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * genre
+     * @param genre genre in any case
+     * @return ids of the games with that genre, or null if there are none. Do not change the set
+     */
+    public IntSet genre(String genre) {
+        return byGenre.get(CatalogAggregates.normalizeGenre(genre));
+    }
+
+    /**
+     * plan
+     * Purpose: Picks the index that returns the fewest ids for the criteria. Range estimates add up the
+     * sizes of the matching index entries and stop as soon as they pass the best estimate so far.
+     * @param criteria what is looked for
+     * @param storeSize number of games in the store, the cost of a scan
+     * @return the chosen plan
+     */
+    public Plan plan(GameCriteria criteria, int storeSize) {
+        Plan best = new Plan("scan", storeSize);
+        if (criteria.getGenre() != null) {
+            IntSet ids = byGenre.get(criteria.getNormalizedGenre());
+            best = new Plan("genre", ids == null ? 0 : ids.size());
+        }
+        if (criteria.hasYearRange()) {
+            best = cheaper(best, "releaseYear", years(criteria));
+        }
+        if (criteria.hasPriceRange()) {
+            best = cheaper(best, "price", prices(criteria));
+        }
+        if (criteria.hasRatingRange()) {
+            best = cheaper(best, "rating", ratings(criteria));
+        }
+        return best;
+    }
+
+    private static Plan cheaper(Plan best, String index, NavigableMap<?, IntSet> range) {
+        int total = 0;
+        for (IntSet ids : range.values()) {
+            total += ids.size();
+            if (total >= best.getEstimate()) {
+                return best;
+            }
+        }
+        return new Plan(index, total);
+    }
+
+    /**
+     * forEachCandidate
+     * Purpose: Calls the action with every id the planned index returns for the criteria. The ids still have
+     * to be checked against the rest of the criteria.
+     * @param plan plan from plan(), not a scan
+     * @param criteria the same criteria the plan was made for
+     * @param action called once per id
+     */
+    public void forEachCandidate(Plan plan, GameCriteria criteria, IntConsumer action) {
+        switch (plan.getIndex()) {
+            case "genre":
+                IntSet ids = byGenre.get(criteria.getNormalizedGenre());
+                if (ids != null) {
+                    ids.forEach(action);
+                }
+                break;
+            case "releaseYear":
+                years(criteria).values().forEach(set -> set.forEach(action));
+                break;
+            case "price":
+                prices(criteria).values().forEach(set -> set.forEach(action));
+                break;
+            case "rating":
+                ratings(criteria).values().forEach(set -> set.forEach(action));
+                break;
+            default:
+                throw new IllegalArgumentException("Plan does not use an index: " + plan);
+        }
+    }
+
+    private NavigableMap<Integer, IntSet> years(GameCriteria c) {
+        return byYear.subMap(c.getMinYear(), true, c.getMaxYear(), true);
+    }
+
+    private NavigableMap<Double, IntSet> prices(GameCriteria c) {
+        return byPrice.subMap(c.getMinPrice(), true, c.getMaxPrice(), true);
+    }
+
+    private NavigableMap<Double, IntSet> ratings(GameCriteria c) {
+        return byRating.subMap(c.getMinRating(), true, c.getMaxRating(), true);
+    }
+
+    /**
+     * verify
+     * Purpose: Rebuilds the indexes from the games with a full scan and compares them with the running ones.
+     * @param games every game in the store
+     * @exception IllegalStateException naming the first index that does not match
+     */
+    public void verify(Collection<VideoGame> games) {
+        GameIndexes fresh = new GameIndexes();
+        for (VideoGame game : games) {
+            fresh.added(game);
+        }
+        compare("genre", fresh.byGenre, byGenre);
+        compare("releaseYear", fresh.byYear, byYear);
+        compare("price", fresh.byPrice, byPrice);
+        compare("rating", fresh.byRating, byRating);
+    }
+
+    private static <K> void compare(String index, Map<K, IntSet> expected, Map<K, IntSet> actual) {
+        if (!expected.keySet().equals(actual.keySet())) {
+            throw new IllegalStateException("Keys of the " + index + " index differ: expected "
+                    + expected.keySet() + " but have " + actual.keySet());
+        }
+        for (Map.Entry<K, IntSet> e : expected.entrySet()) {
+            int[] want = e.getValue().toArray();
+            int[] have = actual.get(e.getKey()).toArray();
+            Arrays.sort(want);
+            Arrays.sort(have);
+            if (!Arrays.equals(want, have)) {
+                throw new IllegalStateException("Index " + index + " is out of date for " + e.getKey()
+                        + ": expected " + e.getValue() + " but have " + actual.get(e.getKey()));
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameQuery
+ *
+ * Description:
+ * A query over the games that can run in two places: VideoGameDAO.query compiles it to one parameterized
+ * SELECT so SQLite does the filtering, sorting and limiting and only the wanted rows and columns are read;
+ * VideoGameManager.query runs the same object against the in-memory catalog, using its indexes.
+ * Predicates are joined with AND. Text comparisons are case sensitive except contains(), which ignores the
+ * case of ASCII letters only, because that is what SQLite's LIKE does.
+ * Example: new GameQuery().where(GameColumn.GENRE, GameQuery.Op.EQ, "RPG").orderBy(GameColumn.RATING, false).limit(10)
+ **/
+public class GameQuery {
+
+    /**
+     * Comparison operators, each with its SQL form.
+     */
+    public enum Op {
+        EQ("="), NE("<>"), LT("<"), LE("<="), GT(">"), GE(">="), CONTAINS("LIKE");
+
+        private final String sql;
+
+        Op(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         *
+         * @return the operator in SQL
+         */
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    /**
+     * One column compared with one value.
+     */
+    public static final class Predicate {
+        private final GameColumn column;
+        private final Op op;
+        private final Object value;
+
+        Predicate(GameColumn column, Op op, Object value) {
+            this.column = column;
+            this.op = op;
+            this.value = value;
+        }
+
+        /**
+         *
+         * @return the column compared
+         */
+        public GameColumn getColumn() {
+            return column;
+        }
+
+        /**
+         *
+         * @return the operator
+         */
+        public Op getOp() {
+            return op;
+        }
+
+        /**
+         *
+         * @return the value, already converted to the column's type
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        boolean matches(VideoGame game) {
+            Object actual = column.valueOf(game);
+            if (op == Op.CONTAINS) {
+                return asciiLower((String) actual).contains(asciiLower((String) value));
+            }
+            int c = ((Comparable) actual).compareTo(value);
+            switch (op) {
+                case EQ: return c == 0;
+                case NE: return c != 0;
+                case LT: return c < 0;
+                case LE: return c <= 0;
+                case GT: return c > 0;
+                default: return c >= 0;
+            }
+        }
+    }
+
+    private final List<Predicate> predicates = new ArrayList<>();
+    private final List<GameColumn> orderColumns = new ArrayList<>();
+    private final List<Boolean> orderAscending = new ArrayList<>();
+    private EnumSet<GameColumn> columns = EnumSet.allOf(GameColumn.class);
+    private int limit = -1;
+    private int offset;
+
+    /**
+     * where
+     * Purpose: Adds a condition every returned game must meet.
+     * @param column column to compare
+     * @param op how to compare
+     * @param value value to compare with, converted to the column's type
+     * @return this query
+     * @exception IllegalArgumentException if the value does not fit the column or contains is used on a number
+     */
+    public GameQuery where(GameColumn column, Op op, Object value) {
+        if (op == Op.CONTAINS && !column.isText()) {
+            throw new IllegalArgumentException("contains only works on title and genre, not " + column);
+        }
+        predicates.add(new Predicate(column, op, column.convert(value)));
+        return this;
+    }
+
+    /**
+     * between
+     * Purpose: Shortcut for low &lt;= column &lt;= high.
+     * @return this query
+     */
+    public GameQuery between(GameColumn column, Object low, Object high) {
+        return where(column, Op.GE, low).where(column, Op.LE, high);
+    }
+
+    /**
+     * contains
+     * Purpose: Shortcut for a case-insensitive (ASCII) substring match on title or genre.
+     * @return this query
+     */
+    public GameQuery contains(GameColumn column, String text) {
+        return where(column, Op.CONTAINS, text);
+    }
+
+    /**
+     * orderBy
+     * Purpose: Adds a sort key. Later keys break ties of earlier ones, and gameid always breaks the last tie
+     * so both places return the same order.
+     * @return this query
+     */
+    public GameQuery orderBy(GameColumn column, boolean ascending) {
+        orderColumns.add(column);
+        orderAscending.add(ascending);
+        return this;
+    }
+
+    /**
+     * limit
+     * @param limit most games to return, -1 for all
+     * @return this query
+     */
+    public GameQuery limit(int limit) {
+        if (limit < -1) {
+            throw new IllegalArgumentException("Limit must be -1 or more: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * offset
+     * @param offset number of matching games to skip first
+     * @return this query
+     */
+    public GameQuery offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * select
+     * Purpose: Reads only these columns from the database. The id is always read. Fields that were not
+     * read are left at 0 or null in the returned games.
+     * @return this query
+     */
+    public GameQuery select(GameColumn... selected) {
+        EnumSet<GameColumn> set = EnumSet.of(GameColumn.ID);
+        Collections.addAll(set, selected);
+        this.columns = set;
+        return this;
+    }
+
+    /**
+     *
+     * @return the conditions, read-only
+     */
+    public List<Predicate> getPredicates() {
+        return Collections.unmodifiableList(predicates);
+    }
+
+    /**
+     *
+     * @return the columns read from the database, read-only
+     */
+    public Set<GameColumn> getColumns() {
+        return Collections.unmodifiableSet(columns);
+    }
+
+    /**
+     *
+     * @return most games to return, -1 for all
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     *
+     * @return matching games skipped first
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * matches
+     * @param game game to check
+     * @return true if the game meets every condition
+     */
+    public boolean matches(VideoGame game) {
+        for (Predicate p : predicates) {
+            if (!p.matches(game)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * @return the sort order as a comparator, ending with gameid
+     */
+    public Comparator<VideoGame> comparator() {
+        Comparator<VideoGame> order = null;
+        for (int i = 0; i < orderColumns.size(); i++) {
+            GameColumn column = orderColumns.get(i);
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Comparator<VideoGame> key = (a, b) -> ((Comparable) column.valueOf(a)).compareTo(column.valueOf(b));
+            if (!orderAscending.get(i)) {
+                key = key.reversed();
+            }
+            order = order == null ? key : order.thenComparing(key);
+        }
+        Comparator<VideoGame> byId = Comparator.comparingInt(VideoGame::getGameID);
+        if (order == null) {
+            return byId;
+        }
+        // ties go by id in the direction of the last key, as in VideoGameDAO.orderBy
+        return order.thenComparing(orderAscending.get(orderAscending.size() - 1) ? byId : byId.reversed());
+    }
+
+    /**
+     * toSql
+     * Purpose: The SELECT for this query, with one ? per value in getParameters() order.
+     * @return parameterized SQL
+     */
+    public String toSql() {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        String separator = "";
+        for (GameColumn column : columns) {
+            sql.append(separator).append(column.getSqlName());
+            separator = ", ";
+        }
+        sql.append(" FROM videogames").append(whereSql());
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < orderColumns.size(); i++) {
+            sql.append(orderColumns.get(i).getSqlName()).append(orderAscending.get(i) ? "" : " DESC").append(", ");
+        }
+        boolean lastAscending = orderAscending.isEmpty() || orderAscending.get(orderAscending.size() - 1);
+        sql.append("gameid").append(lastAscending ? "" : " DESC");
+        sql.append(" LIMIT ? OFFSET ?");
+        return sql.toString();
+    }
+
+    /**
+     * toCountSql
+     * Purpose: SELECT COUNT(*) of the games matching the conditions. Order, limit and offset are ignored,
+     * so this is the total to page through.
+     * @return parameterized SQL
+     */
+    public String toCountSql() {
+        return "SELECT COUNT(*) FROM videogames" + whereSql();
+    }
+
+    private String whereSql() {
+        if (predicates.isEmpty()) {
+            return "";
+        }
+        StringBuilder sql = new StringBuilder(" WHERE ");
+        for (int i = 0; i < predicates.size(); i++) {
+            Predicate p = predicates.get(i);
+            if (i > 0) {
+                sql.append(" AND ");
+            }
+            sql.append(p.column.getSqlName()).append(' ').append(p.op.getSql()).append(" ?");
+            if (p.op == Op.CONTAINS) {
+                sql.append(" ESCAPE '\\'");
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * getParameters
+     * @param withPaging true to add the limit and offset after the condition values, as toSql needs
+     * @return the values for the ? of toSql or toCountSql, in order
+     */
+    public List<Object> getParameters(boolean withPaging) {
+        List<Object> values = new ArrayList<>();
+        for (Predicate p : predicates) {
+            if (p.op == Op.CONTAINS) {
+                String text = (String) p.value;
+                values.add("%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+            } else {
+                values.add(p.value);
+            }
+        }
+        if (withPaging) {
+            values.add(limit);
+            values.add(offset);
+        }
+        return values;
+    }
+
+    /**
+     * lower case for ASCII letters only, like SQLite's LIKE
+     */
+    private static String asciiLower(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                if (sb == null) {
+                    sb = new StringBuilder(s);
+                }
+                sb.setCharAt(i, (char) (c + 32));
+            }
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    /**
+     *
+     * @return the SQL, for debugging
+     */
+    @Override
+    public String toString() {
+        return toSql() + " " + getParameters(true);
+    }
+}
@@ -0,0 +1,290 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameStats
+ *
+ * Description:
+ * Running count, sum, minimum and maximum of rating and price for one group of games (the whole catalog,
+ * one genre or one release year). Adding or removing a game updates the numbers, so reading them never
+ * scans the games.
+ * Minimum and maximum survive removals because every distinct value is also counted; ratings and prices
+ * repeat a lot, so the counts stay far smaller than the group.
+ **/
+public class GameStats {
+
+    private final String name;
+    private int count;
+    // games with a rating and with a price; only rows read from the database can lack either
+    private int ratingCount;
+    private int priceCount;
+    private double ratingSum;
+    private double priceSum;
+    private final ValueCounts ratings = new ValueCounts();
+    private final ValueCounts prices = new ValueCounts();
+
+    /**
+     * Constructor for an empty group
+     * @param name what the group is, for example a genre as first typed or a year
+     */
+    GameStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Constructor for numbers read back whole, such as a row of a summary table in the database;
+     * add and remove are not used on it
+     */
+    GameStats(String name, int count, int ratingCount, double ratingSum, double minRating, double maxRating,
+              int priceCount, double priceSum, double minPrice, double maxPrice) {
+        this(name);
+        this.count = count;
+        this.ratingCount = ratingCount;
+        this.priceCount = priceCount;
+        this.ratingSum = ratingSum;
+        this.priceSum = priceSum;
+        ratings.min = minRating;
+        ratings.max = maxRating;
+        prices.min = minPrice;
+        prices.max = maxPrice;
+    }
+
+    void add(VideoGame game) {
+        count++;
+        ratingCount++;
+        priceCount++;
+        ratingSum += game.getRating();
+        priceSum += game.getPrice();
+        ratings.add(game.getRating());
+        prices.add(game.getPrice());
+    }
+
+    void remove(VideoGame game) {
+        count--;
+        ratingCount--;
+        priceCount--;
+        if (count == 0) {
+            // start again from exact zeros instead of keeping rounding leftovers
+            ratingSum = 0;
+            priceSum = 0;
+        } else {
+            ratingSum -= game.getRating();
+            priceSum -= game.getPrice();
+        }
+        ratings.remove(game.getRating());
+        prices.remove(game.getPrice());
+    }
+
+    /**
+     *
+     * @return name of the group
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     *
+     * @return number of games in the group
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     *
+     * @return sum of the ratings
+     */
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    /**
+     *
+     * @return sum of the prices
+     */
+    public double getPriceSum() {
+        return priceSum;
+    }
+
+    /**
+     *
+     * @return average of the ratings given, NaN if the group has none
+     */
+    public double getAverageRating() {
+        return ratingCount == 0 ? Double.NaN : ratingSum / ratingCount;
+    }
+
+    /**
+     *
+     * @return average of the prices given, NaN if the group has none
+     */
+    public double getAveragePrice() {
+        return priceCount == 0 ? Double.NaN : priceSum / priceCount;
+    }
+
+    /**
+     *
+     * @return lowest rating, NaN if the group is empty
+     */
+    public double getMinRating() {
+        return ratings.min;
+    }
+
+    /**
+     *
+     * @return highest rating, NaN if the group is empty
+     */
+    public double getMaxRating() {
+        return ratings.max;
+    }
+
+    /**
+     *
+     * @return lowest price, NaN if the group is empty
+     */
+    public double getMinPrice() {
+        return prices.min;
+    }
+
+    /**
+     *
+     * @return highest price, NaN if the group is empty
+     */
+    public double getMaxPrice() {
+        return prices.max;
+    }
+
+    /**
+     *
+     * @return one line summary of the group
+     */
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return String.format("%s: no games", name);
+        }
+        return String.format("%s: %d game(s) | Rating avg %.2f (%.1f-%.1f) | Price avg $%.2f ($%.2f-$%.2f)",
+                name, count, getAverageRating(), getMinRating(), getMaxRating(),
+                getAveragePrice(), getMinPrice(), getMaxPrice());
+    }
+
+    /**
+     * How many times each value occurs, with the smallest and largest kept ready to read.
+     * Values are counted in an open addressing table of raw double bits, one probe in most cases;
+     * the distinct values are only searched again when the last copy of the current smallest or
+     * largest value is removed.
+     */
+    private static final class ValueCounts {
+        private long[] bits = new long[16];
+        private int[] counts = new int[16];   // 0 marks an empty slot
+        private int distinct;
+        private double min = Double.NaN;
+        private double max = Double.NaN;
+
+        void add(double value) {
+            long key = Double.doubleToLongBits(value);
+            int mask = bits.length - 1;
+            int slot = hash(key) & mask;
+            while (counts[slot] != 0) {
+                if (bits[slot] == key) {
+                    counts[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            bits[slot] = key;
+            counts[slot] = 1;
+            if (!(value >= min)) min = value;
+            if (!(value <= max)) max = value;
+            if (++distinct > bits.length * 7 / 10) {
+                resize();
+            }
+        }
+
+        void remove(double value) {
+            long key = Double.doubleToLongBits(value);
+            int mask = bits.length - 1;
+            int slot = hash(key) & mask;
+            while (counts[slot] != 0) {
+                if (bits[slot] == key) {
+                    if (--counts[slot] == 0) {
+                        shiftBack(slot);
+                        distinct--;
+                        if (value == min || value == max) {
+                            findExtremes();
+                        }
+                    }
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            throw new IllegalStateException("Removed a value that was never added: " + value);
+        }
+
+        /**
+         * fills the emptied slot from later entries of the same probe run, as in IntGameMap
+         */
+        private void shiftBack(int gap) {
+            int mask = bits.length - 1;
+            int slot = gap;
+            while (true) {
+                slot = (slot + 1) & mask;
+                if (counts[slot] == 0) {
+                    break;
+                }
+                int home = hash(bits[slot]) & mask;
+                if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                    bits[gap] = bits[slot];
+                    counts[gap] = counts[slot];
+                    gap = slot;
+                }
+            }
+            counts[gap] = 0;
+        }
+
+        private void findExtremes() {
+            min = Double.NaN;
+            max = Double.NaN;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    double value = Double.longBitsToDouble(bits[i]);
+                    if (!(value >= min)) min = value;
+                    if (!(value <= max)) max = value;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldBits = bits;
+            int[] oldCounts = counts;
+            bits = new long[oldBits.length * 2];
+            counts = new int[oldBits.length * 2];
+            int mask = bits.length - 1;
+            for (int i = 0; i < oldBits.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = hash(oldBits[i]) & mask;
+                    while (counts[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    bits[slot] = oldBits[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        /**
+         * round numbers like 5.0 have only zero low bits, so every bit is mixed in (murmur3 finalizer)
+         */
+        private static int hash(long key) {
+            long h = key ^ (key >>> 33);
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return (int) (h ^ (h >>> 33));
+        }
+    }
+}
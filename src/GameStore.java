@@ -0,0 +1,508 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: GameStore
+ *
+ * Description:
+ * The in-memory catalog of VideoGameManager: an IntGameMap of the games plus listeners that are told about
+ * every game added or removed, so running aggregates (CatalogAggregates) and secondary indexes (GameIndexes)
+ * never need a full scan.
+ * A game that is already stored must be changed through update(), which takes it out of the listeners,
+ * applies the change and puts it back; calling its setters directly would leave the aggregates out of date.
+ * With verify turned on, every change is followed by a full scan that checks the aggregates and indexes,
+ * for tests only.
+ **/
+public class GameStore {
+
+    /** most top-k rankings kept current at once, every tracker does work on each change */
+    private static final int MAX_TOP_K_TRACKERS = 8;
+
+    /**
+     * Told about every game that enters or leaves the store.
+     */
+    public interface Listener {
+        void added(VideoGame game);
+
+        /**
+         * Told about many games at once, by putAll and when the listener is registered. Listeners that can
+         * build faster from a whole batch override it.
+         */
+        default void addedAll(Collection<VideoGame> games) {
+            for (VideoGame game : games) {
+                added(game);
+            }
+        }
+
+        void removed(VideoGame game);
+
+        void cleared();
+    }
+
+    private final IntGameMap games = new IntGameMap();
+    private final CatalogAggregates aggregates = new CatalogAggregates();
+    private GameIndexes indexes; // built on the first find or query
+    private TitleIndex titles; // built on the first title search
+    private final Map<String, TopKTracker> topK = new LinkedHashMap<>(16, 0.75f, true); // least recently used first
+    private final List<Listener> listeners = new ArrayList<>();
+    private boolean verify;
+
+    /**
+     * Constructor for an empty store with aggregates
+     */
+    public GameStore() {
+        listeners.add(aggregates);
+    }
+
+    /**
+     * addListener
+     * Purpose: Registers another listener. Games already stored are replayed to it as added.
+     * @param listener listener to add
+     */
+    public void addListener(Listener listener) {
+        listener.addedAll(games.values());
+        listeners.add(listener);
+    }
+
+    /**
+     * removeListener
+     * Purpose: Stops telling a listener about changes.
+     * @param listener listener to remove
+     * @return false if it was not registered
+     */
+    public boolean removeListener(Listener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     *
+     * @return number of games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     *
+     * @return true if there are no games
+     */
+    public boolean isEmpty() {
+        return games.isEmpty();
+    }
+
+    /**
+     * get
+     * @param id game id
+     * @return the game, or null. Change it only through update()
+     */
+    public VideoGame get(int id) {
+        return games.get(id);
+    }
+
+    /**
+     * containsKey
+     * @param id game id
+     * @return true if a game has that id
+     */
+    public boolean containsKey(int id) {
+        return games.containsKey(id);
+    }
+
+    /**
+     * put
+     * Purpose: Adds or replaces the game stored under an id.
+     * @param id game id
+     * @param game the game, not null
+     * @return the game that was replaced, or null
+     */
+    public VideoGame put(int id, VideoGame game) {
+        VideoGame old = games.put(id, game);
+        if (old != null) {
+            fireRemoved(old);
+        }
+        fireAdded(game);
+        check();
+        return old;
+    }
+
+    /**
+     * putIfAbsent
+     * Purpose: Adds the game only if the id is free.
+     * @return the game already stored under the id, or null if the new game was added
+     */
+    public VideoGame putIfAbsent(int id, VideoGame game) {
+        VideoGame existing = games.putIfAbsent(id, game);
+        if (existing == null) {
+            fireAdded(game);
+            check();
+        }
+        return existing;
+    }
+
+    /**
+     * putAll
+     * Purpose: Adds a batch of games whose ids are free, such as a loaded snapshot. The table is grown once
+     * and the listeners are told about the whole batch together, which is much faster than one put per game.
+     * @param batch games to add, not null
+     * @return number of games added; the others had an id that was already taken
+     */
+    public int putAll(Collection<VideoGame> batch) {
+        games.ensureCapacity(games.size() + batch.size());
+        List<VideoGame> added = new ArrayList<>(batch.size());
+        for (VideoGame game : batch) {
+            if (games.putIfAbsent(game.getGameID(), game) == null) {
+                added.add(game);
+            }
+        }
+        for (Listener listener : listeners) {
+            listener.addedAll(added);
+        }
+        check();
+        return added.size();
+    }
+
+    /**
+     * update
+     * Purpose: Changes a stored game and keeps the listeners in step, including when the change moves the game
+     * to another genre or year.
+     * @param id game id
+     * @param change calls the game's setters
+     * @return false if there is no game with that id
+     */
+    public boolean update(int id, Consumer<VideoGame> change) {
+        VideoGame game = games.get(id);
+        if (game == null) {
+            return false;
+        }
+        fireRemoved(game);
+        try {
+            change.accept(game);
+        } finally {
+            fireAdded(game);
+        }
+        check();
+        return true;
+    }
+
+    /**
+     * remove
+     * @param id game id
+     * @return the removed game, or null if there was none
+     */
+    public VideoGame remove(int id) {
+        VideoGame game = games.remove(id);
+        if (game != null) {
+            fireRemoved(game);
+            check();
+        }
+        return game;
+    }
+
+    /**
+     * clear
+     * Purpose: Removes every game.
+     */
+    public void clear() {
+        games.clear();
+        for (Listener listener : listeners) {
+            listener.cleared();
+        }
+    }
+
+    /**
+     * ensureCapacity
+     * @param expected number of games the store will hold
+     */
+    public void ensureCapacity(int expected) {
+        games.ensureCapacity(expected);
+    }
+
+    /**
+     * values
+     * @return read-only live view of the games
+     */
+    public Collection<VideoGame> values() {
+        return Collections.unmodifiableCollection(games.values());
+    }
+
+    /**
+     * forEach
+     * @param action what to do with each id and game
+     */
+    public void forEach(IntGameMap.EntryConsumer action) {
+        games.forEach(action);
+    }
+
+    /**
+     *
+     * @return every id, in table order
+     */
+    public int[] keys() {
+        return games.keys();
+    }
+
+    /**
+     *
+     * @return running aggregates of the games, read in O(1)
+     */
+    public CatalogAggregates aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * indexes
+     * Purpose: The secondary indexes on genre, release year, price and rating. Like the title index they are
+     * built from the stored games the first time they are needed and kept up to date from then on, so loading
+     * a large catalog does not pay for indexes that are never queried.
+     * @return the secondary indexes
+     */
+    public GameIndexes indexes() {
+        if (indexes == null) {
+            GameIndexes built = new GameIndexes();
+            addListener(built);
+            indexes = built;
+        }
+        return indexes;
+    }
+
+    /**
+     * titleIndex
+     * Purpose: The title search index. It is built from the stored games the first time it is asked for
+     * and kept up to date from then on, so stores that are never searched do not pay for it.
+     * @return the title index
+     */
+    public TitleIndex titleIndex() {
+        if (titles == null) {
+            TitleIndex index = new TitleIndex();
+            addListener(index);
+            titles = index;
+        }
+        return titles;
+    }
+
+    /**
+     * trackTopK
+     * Purpose: Returns a TopKTracker that keeps the best k games of each group current from now on. Asking
+     * again for the same grouping, order and k returns the same tracker. At most MAX_TOP_K_TRACKERS are kept;
+     * past that the one asked for least recently is dropped and stops following changes, so callers should
+     * ask again rather than hold on to a tracker.
+     * @param groupBy column whose values form the groups
+     * @param orderBy column to rank by
+     * @param ascending true to rank the smallest values first
+     * @param k how many games per group
+     * @return the tracker
+     */
+    public TopKTracker trackTopK(GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        String key = groupBy + "/" + orderBy + "/" + ascending + "/" + k;
+        TopKTracker tracker = topK.get(key);
+        if (tracker == null) {
+            tracker = new TopKTracker(this, groupBy, orderBy, ascending, k);
+            addListener(tracker);
+            topK.put(key, tracker);
+            if (topK.size() > MAX_TOP_K_TRACKERS) {
+                Iterator<TopKTracker> eldest = topK.values().iterator();
+                removeListener(eldest.next());
+                eldest.remove();
+            }
+        }
+        return tracker;
+    }
+
+    /**
+     * find
+     * Purpose: Returns the games that match the criteria. Only the games the most selective index returns are
+     * looked at; a genre that is not the chosen index is still checked against its index instead of the game.
+     * @param criteria what to look for
+     * @return matching games ordered by id
+     */
+    public List<VideoGame> find(GameCriteria criteria) {
+        List<VideoGame> found = collect(criteria);
+        found.sort(Comparator.comparingInt(VideoGame::getGameID));
+        return found;
+    }
+
+    /**
+     * the games matching the criteria in no particular order, for callers that sort them their own way
+     */
+    private List<VideoGame> collect(GameCriteria criteria) {
+        List<VideoGame> found = new ArrayList<>();
+        GameIndexes index = indexes();
+        GameIndexes.Plan plan = index.plan(criteria, games.size());
+        if (plan.getIndex().equals("scan")) {
+            for (VideoGame game : games.values()) {
+                if (criteria.matches(game)) {
+                    found.add(game);
+                }
+            }
+        } else if (plan.getEstimate() > 0) {
+            IntSet genreIds = criteria.getGenre() == null ? null : index.genre(criteria.getGenre());
+            index.forEachCandidate(plan, criteria, id -> {
+                if (genreIds == null || genreIds.contains(id)) {
+                    VideoGame game = games.get(id);
+                    if (criteria.matchesRanges(game)) {
+                        found.add(game);
+                    }
+                }
+            });
+        }
+        return found;
+    }
+
+    /**
+     * query
+     * Purpose: Runs a GameQuery against the stored games. Conditions on genre, year, price and rating narrow
+     * the games through the indexes as in find, and an id equal to a value is a single lookup; every
+     * condition is then checked exactly. The column selection of the query is ignored because the games are
+     * already in memory: the stored games themselves are returned. A small page out of many matches is picked
+     * with a bounded heap instead of sorting every match.
+     * @param query what to look for, in what order and how many
+     * @return matching games in the query's order
+     */
+    public List<VideoGame> query(GameQuery query) {
+        List<VideoGame> found = new ArrayList<>();
+        for (VideoGame game : candidates(query)) {
+            if (query.matches(game)) {
+                found.add(game);
+            }
+        }
+        Comparator<VideoGame> order = query.comparator();
+        long wanted = query.getLimit() < 0 ? found.size() : Math.min(found.size(), (long) query.getOffset() + query.getLimit());
+        if (wanted < found.size() / 4) {
+            // a page out of many matches: keep only the first offset + limit in a heap whose head is the worst
+            PriorityQueue<VideoGame> heap = new PriorityQueue<>((int) wanted + 1, order.reversed());
+            for (VideoGame game : found) {
+                if (heap.size() < wanted) {
+                    heap.add(game);
+                } else if (wanted > 0 && order.compare(game, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(game);
+                }
+            }
+            found = new ArrayList<>(heap);
+        }
+        found.sort(order);
+        int from = Math.min(query.getOffset(), found.size());
+        int to = (int) Math.min(found.size(), wanted);
+        return new ArrayList<>(found.subList(from, to));
+    }
+
+    /**
+     * count
+     * @param query conditions to meet; order, limit and offset are ignored
+     * @return number of stored games that meet every condition
+     */
+    public int count(GameQuery query) {
+        int count = 0;
+        for (VideoGame game : candidates(query)) {
+            if (query.matches(game)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * turns the query's conditions into looser GameCriteria the indexes can answer; genre equality becomes
+     * the case-insensitive genre match and strict bounds become inclusive ones, so nothing is missed
+     */
+    private Collection<VideoGame> candidates(GameQuery query) {
+        int minYear = Integer.MIN_VALUE, maxYear = Integer.MAX_VALUE;
+        double minPrice = Double.NEGATIVE_INFINITY, maxPrice = Double.POSITIVE_INFINITY;
+        double minRating = Double.NEGATIVE_INFINITY, maxRating = Double.POSITIVE_INFINITY;
+        GameCriteria criteria = new GameCriteria();
+        for (GameQuery.Predicate p : query.getPredicates()) {
+            GameQuery.Op op = p.getOp();
+            boolean lower = op == GameQuery.Op.EQ || op == GameQuery.Op.GE || op == GameQuery.Op.GT;
+            boolean upper = op == GameQuery.Op.EQ || op == GameQuery.Op.LE || op == GameQuery.Op.LT;
+            switch (p.getColumn()) {
+                case ID:
+                    if (op == GameQuery.Op.EQ) {
+                        VideoGame game = games.get((Integer) p.getValue());
+                        return game == null ? Collections.emptyList() : List.of(game);
+                    }
+                    break;
+                case GENRE:
+                    if (op == GameQuery.Op.EQ && !((String) p.getValue()).isBlank()) {
+                        criteria.genre((String) p.getValue());
+                    }
+                    break;
+                case RELEASE_YEAR:
+                    int year = (Integer) p.getValue();
+                    if (lower) minYear = Math.max(minYear, year);
+                    if (upper) maxYear = Math.min(maxYear, year);
+                    break;
+                case PRICE:
+                    double price = (Double) p.getValue();
+                    if (lower) minPrice = Math.max(minPrice, price);
+                    if (upper) maxPrice = Math.min(maxPrice, price);
+                    break;
+                case RATING:
+                    double rating = (Double) p.getValue();
+                    if (lower) minRating = Math.max(minRating, rating);
+                    if (upper) maxRating = Math.min(maxRating, rating);
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (minYear > maxYear || !(minPrice <= maxPrice) || !(minRating <= maxRating)) {
+            return Collections.emptyList();
+        }
+        if (minYear != Integer.MIN_VALUE || maxYear != Integer.MAX_VALUE) criteria.yearBetween(minYear, maxYear);
+        if (minPrice != Double.NEGATIVE_INFINITY || maxPrice != Double.POSITIVE_INFINITY) criteria.priceBetween(minPrice, maxPrice);
+        if (minRating != Double.NEGATIVE_INFINITY || maxRating != Double.POSITIVE_INFINITY) criteria.ratingBetween(minRating, maxRating);
+        return collect(criteria);
+    }
+
+    /**
+     * setVerify
+     * Purpose: Turns the full scan check of aggregates and indexes after every change on or off.
+     * Very slow, for tests only.
+     * @param verify true to check
+     */
+    public void setVerify(boolean verify) {
+        this.verify = verify;
+        check();
+    }
+
+    private void fireAdded(VideoGame game) {
+        for (Listener listener : listeners) {
+            listener.added(game);
+        }
+    }
+
+    private void fireRemoved(VideoGame game) {
+        for (Listener listener : listeners) {
+            listener.removed(game);
+        }
+    }
+
+    private void check() {
+        if (verify) {
+            aggregates.verify(games.values());
+            if (indexes != null) {
+                indexes.verify(games.values());
+            }
+            if (titles != null) {
+                titles.verify(games.values());
+            }
+            for (TopKTracker tracker : topK.values()) {
+                tracker.verify(games.values());
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: ImportResult
+ *
+ * Description:
+ * Holds the statistics of one file import run by GameImporter: how many lines were read, how many games
+ * were added, how many lines were rejected or skipped as duplicates, and how long it took.
+ * Rejected lines are kept in a bounded error report so a bad file cannot flood the console or the heap.
+ **/
+public class ImportResult {
+
+    private final int maxErrors;
+    private final List<ErrorLine> errors = new ArrayList<>();
+    private long errorsDropped;
+
+    long linesRead;
+    long added;
+    long rejected;
+    long duplicates;
+    long bytesRead;
+    long elapsedNanos;
+
+    /**
+     * Constructor for an empty result
+     * @param maxErrors how many error messages to keep before only counting them
+     */
+    ImportResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * keeps
+     * Purpose: Tells whether an error on this line would make it into the report, so the caller only
+     * builds the message when it is kept. The report keeps the errors with the lowest line numbers.
+     * @param lineNumber line number in the file, starting at 1
+     * @return true if an error reported for the line now would be kept
+     */
+    boolean keeps(long lineNumber) {
+        int size = errors.size();
+        return size < maxErrors || (size > 0 && lineNumber < errors.get(size - 1).lineNumber);
+    }
+
+    /**
+     * records a rejected line in the error report
+     * @param lineNumber line number in the file, starting at 1
+     * @param reason why the line was rejected; may be null when keeps(lineNumber) is false, it is only counted then
+     */
+    void reject(long lineNumber, String reason) {
+        rejected++;
+        report(lineNumber, reason);
+    }
+
+    /**
+     * records a duplicate id in the error report
+     * @param lineNumber line number in the file, starting at 1
+     * @param id the game id that already exists
+     */
+    void duplicate(long lineNumber, int id) {
+        duplicates++;
+        report(lineNumber, keeps(lineNumber) ? "Duplicate ID found, skipping: " + id : null);
+    }
+
+    /**
+     * keeps the errors with the lowest line numbers, whatever order they are reported in
+     */
+    private void report(long lineNumber, String reason) {
+        int size = errors.size();
+        if (!keeps(lineNumber)) {
+            errorsDropped++;
+            return;
+        }
+        int at = size;
+        while (at > 0 && errors.get(at - 1).lineNumber > lineNumber) {
+            at--;
+        }
+        errors.add(at, new ErrorLine(lineNumber, reason));
+        if (errors.size() > maxErrors) {
+            errors.remove(errors.size() - 1);
+            errorsDropped++;
+        }
+    }
+
+    /**
+     * adds the counts and errors of another result to this one, used when merging parallel chunks
+     * @param other result to merge in
+     * @param lineOffset number of lines in the file before the other result's first line
+     */
+    void merge(ImportResult other, long lineOffset) {
+        linesRead += other.linesRead;
+        added += other.added;
+        rejected += other.rejected;
+        duplicates += other.duplicates;
+        bytesRead += other.bytesRead;
+        for (ErrorLine e : other.errors) {
+            report(e.lineNumber + lineOffset, e.reason);
+        }
+        errorsDropped += other.errorsDropped;
+    }
+
+    /**
+     *
+     * @return number of non-blank lines read
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     *
+     * @return number of games added
+     */
+    public long getAdded() {
+        return added;
+    }
+
+    /**
+     *
+     * @return number of lines rejected for bad format or bad data
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     *
+     * @return number of lines skipped because the id already existed
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     *
+     * @return number of bytes read from the file
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     *
+     * @return how long the import took in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     *
+     * @return lines read per second of import time
+     */
+    public double getRowsPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return linesRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     *
+     * @return the kept error messages in line order, at most maxErrors of them
+     */
+    public List<String> getErrors() {
+        List<String> messages = new ArrayList<>(errors.size());
+        for (ErrorLine e : errors) {
+            messages.add("Line " + e.lineNumber + ": " + e.reason);
+        }
+        return messages;
+    }
+
+    /**
+     *
+     * @return how many error messages did not fit in the report
+     */
+    public long getErrorsDropped() {
+        return errorsDropped;
+    }
+
+    /**
+     *
+     * @return one line summary of the import
+     */
+    @Override
+    public String toString() {
+        return String.format("Read %d line(s): %d added, %d rejected, %d duplicate(s) in %.1f ms (%.0f rows/sec)",
+                linesRead, added, rejected, duplicates, elapsedNanos / 1_000_000.0, getRowsPerSecond());
+    }
+
+    /**
+     * One entry of the error report. The message is only formatted when asked for,
+     * so chunks of a parallel import can shift their line numbers when merged.
+     */
+    private static final class ErrorLine {
+        private final long lineNumber;
+        private final String reason;
+
+        ErrorLine(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+    }
+}
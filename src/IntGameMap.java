@@ -0,0 +1,349 @@
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: IntGameMap
+ *
+ * Description:
+ * A hash map from int game ids to VideoGame objects, used as the in-memory store of VideoGameManager.
+ * Unlike HashMap&lt;Integer, VideoGame&gt; it never boxes the id and has no entry objects: keys and values live in
+ * two parallel arrays and collisions are resolved by linear probing. Removal shifts the following entries back
+ * instead of leaving tombstones, so lookups never slow down after many deletes.
+ * The table doubles when it is 70% full, so the memory used is predictable from the number of games.
+ * Null values are not allowed because an empty slot is marked by a null value.
+ **/
+public class IntGameMap {
+
+    /**
+     * Receives one id and game at a time during forEach, without boxing the id.
+     */
+    public interface EntryConsumer {
+        void accept(int id, VideoGame game);
+    }
+
+    private static final float MAX_LOAD = 0.7f;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private VideoGame[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+    private int modCount;
+
+    /**
+     * Constructor for an empty map
+     */
+    public IntGameMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructor for a map that holds the expected number of games without resizing
+     * @param expected number of games the map will hold
+     */
+    public IntGameMap(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    /**
+     *
+     * @return number of games in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return true if the map has no games
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * get
+     * @param id game id
+     * @return the game with that id, or null
+     */
+    public VideoGame get(int id) {
+        int slot = hash(id) & mask;
+        VideoGame value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == id) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * containsKey
+     * @param id game id
+     * @return true if a game has that id
+     */
+    public boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * put
+     * Purpose: Adds or replaces the game stored under an id.
+     * @param id game id
+     * @param game the game, not null
+     * @return the game that was stored under the id before, or null
+     */
+    public VideoGame put(int id, VideoGame game) {
+        return insert(id, game, true);
+    }
+
+    /**
+     * putIfAbsent
+     * Purpose: Adds the game only if the id is free, in a single probe.
+     * @param id game id
+     * @param game the game, not null
+     * @return the game already stored under the id, or null if the new game was added
+     */
+    public VideoGame putIfAbsent(int id, VideoGame game) {
+        return insert(id, game, false);
+    }
+
+    private VideoGame insert(int id, VideoGame game, boolean replace) {
+        if (game == null) {
+            throw new NullPointerException("IntGameMap does not allow null games");
+        }
+        int slot = hash(id) & mask;
+        VideoGame existing;
+        while ((existing = values[slot]) != null) {
+            if (keys[slot] == id) {
+                if (replace) {
+                    values[slot] = game;
+                }
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = game;
+        modCount++;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * remove
+     * Purpose: Removes the game stored under an id, then shifts later entries of the same probe run back
+     * into the freed slot so no tombstone is left behind.
+     * @param id game id
+     * @return the removed game, or null if there was none
+     */
+    public VideoGame remove(int id) {
+        int slot = hash(id) & mask;
+        VideoGame value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == id) {
+                shiftBack(slot);
+                size--;
+                modCount++;
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            VideoGame value = values[slot];
+            if (value == null) {
+                break;
+            }
+            int home = hash(keys[slot]) & mask;
+            // move the entry if the gap lies between its home slot and where it sits now
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = value;
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    /**
+     * clear
+     * Purpose: Removes every game but keeps the table size.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * ensureCapacity
+     * Purpose: Grows the table once so the expected number of games fit without further resizing,
+     * useful before a large import.
+     * @param expected number of games the map will hold
+     */
+    public void ensureCapacity(int expected) {
+        int needed = tableSizeFor(expected);
+        if (needed > keys.length) {
+            rehash(needed);
+        }
+    }
+
+    /**
+     * forEach
+     * Purpose: Calls the action for every id and game, in table order, without boxing or iterator objects.
+     * @param action what to do with each entry
+     */
+    public void forEach(EntryConsumer action) {
+        int expected = modCount;
+        int[] k = keys;
+        VideoGame[] v = values;
+        for (int i = 0; i < v.length; i++) {
+            if (v[i] != null) {
+                action.accept(k[i], v[i]);
+            }
+        }
+        if (expected != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     *
+     * @return every id in the map, in table order
+     */
+    public int[] keys() {
+        int[] out = new int[size];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                out[n++] = keys[i];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * values
+     * @return a live view of the games for use in for-each loops
+     */
+    public Collection<VideoGame> values() {
+        return new AbstractCollection<VideoGame>() {
+            @Override
+            public Iterator<VideoGame> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     *
+     * @return approximate bytes used by the two arrays, not counting the games themselves
+     */
+    public long tableBytes() {
+        // int per key plus one reference per value (compressed oops), plus two array headers
+        return (long) keys.length * 4 + (long) values.length * 4 + 32;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        VideoGame[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            VideoGame value = oldValues[i];
+            if (value != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = value;
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new VideoGame[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * MAX_LOAD);
+    }
+
+    private static int tableSizeFor(int expected) {
+        long needed = (long) Math.ceil(Math.max(expected, 1) / (double) MAX_LOAD) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            if (capacity >= 1 << 30) {
+                throw new IllegalArgumentException("Too many games for one map: " + expected);
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * spreads sequential ids over the table so runs of ids do not form long probe chains
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Walks the value array, skipping empty slots.
+     */
+    private final class ValueIterator implements Iterator<VideoGame> {
+        private final int expected = modCount;
+        private int next = advance(0);
+
+        private int advance(int from) {
+            while (from < values.length && values[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public VideoGame next() {
+            if (expected != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= values.length) {
+                throw new NoSuchElementException();
+            }
+            VideoGame value = values[next];
+            next = advance(next + 1);
+            return value;
+        }
+    }
+}
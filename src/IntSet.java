@@ -0,0 +1,217 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: IntSet
+ *
+ * Description:
+ * A set of int game ids without boxing, used by the secondary indexes. Same layout as IntGameMap: one int
+ * array probed linearly, with removal shifting later entries back instead of leaving tombstones.
+ * Id 0 is stored in a separate flag because 0 marks an empty slot.
+ **/
+public class IntSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] slots = new int[MIN_CAPACITY];
+    private int size;
+    private boolean hasZero;
+
+    /**
+     *
+     * @return number of ids in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return true if the set has no ids
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * contains
+     * @param id game id
+     * @return true if the id is in the set
+     */
+    public boolean contains(int id) {
+        if (id == 0) {
+            return hasZero;
+        }
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        int value;
+        while ((value = slots[slot]) != 0) {
+            if (value == id) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * add
+     * @param id game id
+     * @return false if the id was already in the set
+     */
+    public boolean add(int id) {
+        if (id == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        int value;
+        while ((value = slots[slot]) != 0) {
+            if (value == id) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id;
+        if (++size > slots.length * 7 / 10) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * remove
+     * @param id game id
+     * @return false if the id was not in the set
+     */
+    public boolean remove(int id) {
+        if (id == 0) {
+            if (!hasZero) return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int slot = hash(id) & mask;
+        int value;
+        while ((value = slots[slot]) != 0) {
+            if (value == id) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private void shiftBack(int gap) {
+        int mask = slots.length - 1;
+        int slot = gap;
+        int value;
+        while ((value = slots[(slot = (slot + 1) & mask)]) != 0) {
+            int home = hash(value) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[gap] = value;
+                gap = slot;
+            }
+        }
+        slots[gap] = 0;
+    }
+
+    /**
+     * forEach
+     * @param action called with every id, in no particular order
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int value : slots) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * forEachWhile
+     * Purpose: Like forEach but stops as soon as the action returns false.
+     * @param action called with ids, in no particular order, until it returns false
+     * @return false if the action stopped the walk
+     */
+    public boolean forEachWhile(IntPredicate action) {
+        if (hasZero && !action.test(0)) {
+            return false;
+        }
+        for (int value : slots) {
+            if (value != 0 && !action.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * @return the ids as a new array, in no particular order
+     */
+    public int[] toArray() {
+        int[] out = new int[size];
+        int n = 0;
+        if (hasZero) {
+            out[n++] = 0;
+        }
+        for (int value : slots) {
+            if (value != 0) {
+                out[n++] = value;
+            }
+        }
+        return out;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value != 0) {
+                int slot = hash(value) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the ids in ascending order, for debugging
+     */
+    @Override
+    public String toString() {
+        int[] ids = toArray();
+        Arrays.sort(ids);
+        return Arrays.toString(ids);
+    }
+
+    /**
+     * ids in the same block of 16 get neighbouring slots and the blocks are spread over the table, so ids
+     * added in order, as imports do, touch one cache line per block instead of one per id
+     */
+    private static int hash(int id) {
+        int h = (id >>> 4) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) << 4) | (id & 15);
+    }
+}
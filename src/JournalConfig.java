@@ -0,0 +1,78 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: JournalConfig
+ *
+ * Description:
+ * Settings used by MutationJournal: the group commit window (how long and how many bytes of changes may wait
+ * before they are written and synced to disk together) and how large the journal may grow before it is
+ * rolled into a snapshot by a checkpoint.
+ * A crash can lose at most the changes of one commit window; a longer window means fewer disk syncs.
+ **/
+public class JournalConfig {
+
+    private int commitIntervalMillis = 10;
+    private int commitBytes = 256 << 10;
+    private long checkpointBytes = 64L << 20;
+
+    /**
+     * initialize or change the param
+     * @param commitIntervalMillis longest time a change waits before it is synced, 0 syncs as soon as possible
+     */
+    public void setCommitIntervalMillis(int commitIntervalMillis) {
+        if (commitIntervalMillis < 0) {
+            throw new IllegalArgumentException("Commit interval cannot be negative");
+        }
+        this.commitIntervalMillis = commitIntervalMillis;
+    }
+
+    /**
+     * initialize or change the param
+     * @param commitBytes bytes of waiting changes that start a commit before the interval is over
+     */
+    public void setCommitBytes(int commitBytes) {
+        if (commitBytes < 1024) {
+            throw new IllegalArgumentException("Commit size must be at least 1024 bytes");
+        }
+        this.commitBytes = commitBytes;
+    }
+
+    /**
+     * initialize or change the param
+     * @param checkpointBytes journal size at which a checkpoint is due
+     */
+    public void setCheckpointBytes(long checkpointBytes) {
+        if (checkpointBytes < 1) {
+            throw new IllegalArgumentException("Checkpoint size must be positive");
+        }
+        this.checkpointBytes = checkpointBytes;
+    }
+
+    /**
+     *
+     * @return longest time in milliseconds a change waits before it is synced
+     */
+    public int getCommitIntervalMillis() {
+        return commitIntervalMillis;
+    }
+
+    /**
+     *
+     * @return bytes of waiting changes that start a commit early
+     */
+    public int getCommitBytes() {
+        return commitBytes;
+    }
+
+    /**
+     *
+     * @return journal size in bytes at which a checkpoint is due
+     */
+    public long getCheckpointBytes() {
+        return checkpointBytes;
+    }
+}
@@ -0,0 +1,382 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: JsonWriter
+ *
+ * Description:
+ * Writes JSON as UTF-8 straight into one growable byte array that is reused from response to response.
+ * Numbers are written digit by digit and strings are escaped and encoded a char at a time, so writing a
+ * field creates no objects. Doubles take the shortest decimal with up to six places that reads back as
+ * the same double; prices and ratings always have one, other doubles fall back to Double.toString.
+ * Commas between values and members are added automatically.
+ * Example: writer.beginObject().name("count").value(3).endObject()
+ **/
+public class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long[] SCALES = {10, 100, 1000, 10_000, 100_000, 1_000_000};
+    private static final int MAX_DEPTH = 32;
+
+    private byte[] buf;
+    private int size;
+    private int depth;
+    // first[d] is true until the container at depth d has its first value
+    private final boolean[] first = new boolean[MAX_DEPTH + 1];
+    private boolean afterName;
+
+    /**
+     * Constructor with a 1 KB buffer
+     */
+    public JsonWriter() {
+        this(1024);
+    }
+
+    /**
+     * Constructor for choosing the starting buffer size
+     * @param capacity starting size in bytes, grows as needed
+     */
+    public JsonWriter(int capacity) {
+        buf = new byte[Math.max(16, capacity)];
+        first[0] = true;
+    }
+
+    /**
+     * reset
+     * Purpose: Empties the writer so it can be used for the next document; the buffer is kept.
+     * @return this writer
+     */
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        first[0] = true;
+        afterName = false;
+        return this;
+    }
+
+    /**
+     *
+     * @return this writer, inside a new object
+     */
+    public JsonWriter beginObject() {
+        return open('{');
+    }
+
+    /**
+     *
+     * @return this writer, after the object
+     */
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    /**
+     *
+     * @return this writer, inside a new array
+     */
+    public JsonWriter beginArray() {
+        return open('[');
+    }
+
+    /**
+     *
+     * @return this writer, after the array
+     */
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    /**
+     * name
+     * @param name member name of the object being written
+     * @return this writer
+     */
+    public JsonWriter name(String name) {
+        separate();
+        string(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * value
+     * @param text string value, or null
+     * @return this writer
+     */
+    public JsonWriter value(String text) {
+        if (text == null) {
+            return nullValue();
+        }
+        separate();
+        string(text);
+        return this;
+    }
+
+    /**
+     * value
+     * @param number whole number value
+     * @return this writer
+     */
+    public JsonWriter value(long number) {
+        separate();
+        digits(number);
+        return this;
+    }
+
+    /**
+     * value
+     * @param number number value; NaN and infinities have no JSON form and are written as null
+     * @return this writer
+     */
+    public JsonWriter value(double number) {
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            return nullValue();
+        }
+        separate();
+        if (number == (long) number && Math.abs(number) < 1e15) {
+            digits((long) number);
+            return this;
+        }
+        if (Math.abs(number) < 1e12) {
+            for (int places = 0; places < SCALES.length; places++) {
+                long scaled = Math.round(number * SCALES[places]);
+                if (scaled / (double) SCALES[places] == number) {
+                    fixed(scaled, places + 1);
+                    return this;
+                }
+            }
+        }
+        ascii(Double.toString(number));
+        return this;
+    }
+
+    /**
+     * value
+     * @param flag boolean value
+     * @return this writer
+     */
+    public JsonWriter value(boolean flag) {
+        separate();
+        ascii(flag ? "true" : "false");
+        return this;
+    }
+
+    /**
+     *
+     * @return this writer
+     */
+    public JsonWriter nullValue() {
+        separate();
+        ascii("null");
+        return this;
+    }
+
+    /**
+     * game
+     * Purpose: Writes a game as an object with the field names the REST API uses.
+     * @param game the game
+     * @return this writer
+     */
+    public JsonWriter game(VideoGame game) {
+        return beginObject()
+                .name("gameID").value(game.getGameID())
+                .name("title").value(game.getTitle())
+                .name("genre").value(game.getGenre())
+                .name("releaseYear").value(game.getReleaseYear())
+                .name("price").value(game.getPrice())
+                .name("rating").value(game.getRating())
+                .endObject();
+    }
+
+    /**
+     *
+     * @return number of bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return bytes the buffer can hold before it grows again
+     */
+    public int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * writeTo
+     * @param out where the bytes written so far go
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, size);
+    }
+
+    /**
+     *
+     * @return copy of the bytes written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private JsonWriter open(char bracket) {
+        separate();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested deeper than " + MAX_DEPTH);
+        }
+        put((byte) bracket);
+        first[++depth] = true;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("nothing to close");
+        }
+        put((byte) bracket);
+        depth--;
+        return this;
+    }
+
+    /**
+     * a comma before every value or member but the first of its container; the value right after a name
+     * has its separator already
+     */
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+        } else if (first[depth]) {
+            first[depth] = false;
+        } else {
+            put((byte) ',');
+        }
+    }
+
+    private void string(String text) {
+        ensure(text.length() * 3 + 2);
+        put((byte) '"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                ensure(2 + (text.length() - i) * 3);
+                buf[size++] = '\\';
+                buf[size++] = (byte) c;
+            } else if (c < 0x20) {
+                ensure(6 + (text.length() - i) * 3);
+                buf[size++] = '\\';
+                buf[size++] = 'u';
+                buf[size++] = '0';
+                buf[size++] = '0';
+                buf[size++] = HEX[c >> 4];
+                buf[size++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buf[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[size++] = (byte) (0xC0 | c >> 6);
+                buf[size++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                buf[size++] = (byte) (0xF0 | cp >> 18);
+                buf[size++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buf[size++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buf[size++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buf[size++] = '?';
+            } else {
+                buf[size++] = (byte) (0xE0 | c >> 12);
+                buf[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buf[size++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void digits(long number) {
+        ensure(20);
+        if (number == Long.MIN_VALUE) {
+            ascii("-9223372036854775808");
+            return;
+        }
+        if (number < 0) {
+            buf[size++] = '-';
+            number = -number;
+        }
+        int start = size;
+        do {
+            buf[size++] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+        reverse(start, size - 1);
+    }
+
+    /**
+     * scaled / 10^places, written with exactly enough places and the trailing zeros dropped
+     */
+    private void fixed(long scaled, int places) {
+        ensure(24);
+        if (scaled < 0) {
+            buf[size++] = '-';
+            scaled = -scaled;
+        }
+        while (places > 0 && scaled % 10 == 0) {
+            scaled /= 10;
+            places--;
+        }
+        int start = size;
+        for (int i = 0; i < places; i++) {
+            buf[size++] = (byte) ('0' + scaled % 10);
+            scaled /= 10;
+        }
+        if (places > 0) {
+            buf[size++] = '.';
+        }
+        do {
+            buf[size++] = (byte) ('0' + scaled % 10);
+            scaled /= 10;
+        } while (scaled != 0);
+        reverse(start, size - 1);
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            byte b = buf[from];
+            buf[from++] = buf[to];
+            buf[to--] = b;
+        }
+    }
+
+    private void ascii(String text) {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buf[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buf[size++] = b;
+    }
+
+    private void ensure(int more) {
+        if (size + more > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + more));
+        }
+    }
+}
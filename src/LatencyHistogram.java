@@ -0,0 +1,132 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: LatencyHistogram
+ *
+ * Description:
+ * Counts durations in nanoseconds in log-linear buckets, the way HdrHistogram does: every power of two is
+ * split into 16 equal buckets, so a percentile read back is never more than about 6% above the true value
+ * whether it is 2 microseconds or 2 seconds. Durations from 0 up to about 36 minutes fit in 608 counters.
+ * Recording is one bucket increment and a compare with the largest value so far, with no lock and no
+ * allocation, so it can stay on for every call. Reads taken while other threads record see each count as
+ * it was at some moment, which is close enough for monitoring.
+ **/
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    // the top octave starts at 2^40 ns; durations of 2^41 ns and more land in its last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * record
+     * Purpose: Counts one duration.
+     * @param nanos duration; negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * getCount
+     * @return number of durations recorded
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * getMax
+     * @return largest duration recorded, exactly, or 0 if none
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * percentile
+     * Purpose: Finds the duration that the given fraction of recorded durations are at or below. The answer
+     * is the top of the bucket holding it, but never more than the largest duration recorded.
+     * @param fraction from 0 to 1, for example 0.99 for p99
+     * @return the duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        }
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * reset
+     * Purpose: Forgets every recorded duration. Durations recorded while resetting may be kept or lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        max.set(0);
+    }
+
+    /**
+     * values below 32 get a bucket each; above that, the top 5 bits pick the bucket
+     */
+    static int bucket(long nanos) {
+        if (nanos < 2 * SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(nanos));
+        int shift = exponent - SUB_BITS;
+        long top = exponent == MAX_EXPONENT && nanos >>> shift >= 2 * SUB_BUCKETS ? 2 * SUB_BUCKETS - 1 : nanos >>> shift;
+        return (shift + 1) * SUB_BUCKETS + (int) (top - SUB_BUCKETS);
+    }
+
+    /**
+     * the largest value that lands in a bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
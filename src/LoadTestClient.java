@@ -0,0 +1,273 @@
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: LoadTestClient
+ *
+ * Description:
+ * Load test for VideoGameServer. Each thread keeps one HTTP/1.1 connection open and sends requests back
+ * to back: by default 80% look up a random game by id, 10% read the average rating and 10% query ten games
+ * of a genre. A genre query looks at every game of the genre, so it costs far more than the other two.
+ * Requests are written and responses read by hand on the socket, so the client costs little next to the
+ * server it measures. Prints requests per second and latency percentiles at the end.
+ *
+ * Usage: java LoadTestClient [http://host:port | --local] [threads] [seconds] [games] [query percent]
+ * With --local (the default) a server with that many generated games is started in this JVM first. Against
+ * a remote server, games &gt; 0 imports games 1..games before the test starts.
+ **/
+public class LoadTestClient {
+
+    private static final int GENRES = 20;
+    // latency histogram: 10 microsecond buckets up to 100 ms, then one overflow bucket
+    private static final int BUCKET_MICROS = 10;
+    private static final int BUCKETS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final int games;
+    private final int queryPercent;
+
+    private LoadTestClient(String host, int port, int games, int queryPercent) {
+        this.host = host;
+        this.port = port;
+        this.games = games;
+        this.queryPercent = queryPercent;
+    }
+
+    /**
+     * Runs the load test, see the class description for the arguments.
+     * @param args target, threads, seconds and games
+     * @throws Exception if the local server cannot start or seeding fails
+     */
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "--local";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+        int queryPercent = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        VideoGameServer local = null;
+        LoadTestClient client;
+        if (target.equals("--local")) {
+            ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+            List<VideoGame> generated = new ArrayList<>(games);
+            for (int id = 1; id <= games; id++) {
+                generated.add(generate(id));
+            }
+            manager.importGames(generated);
+            local = new VideoGameServer(manager, 0);
+            local.start();
+            client = new LoadTestClient("localhost", local.getPort(), games, queryPercent);
+        } else {
+            URI uri = URI.create(target);
+            client = new LoadTestClient(uri.getHost(), uri.getPort() < 0 ? 80 : uri.getPort(), games, queryPercent);
+            if (games > 0) {
+                client.seed();
+            }
+        }
+
+        System.out.println("Warming up...");
+        client.run(threads, Math.min(5, seconds));
+        System.out.println(threads + " connection(s) for " + seconds + " s");
+        System.out.println(client.run(threads, seconds));
+        if (local != null) {
+            local.stop();
+        }
+    }
+
+    private static VideoGame generate(int id) {
+        return new VideoGame(id, "Game " + id, "Genre " + id % GENRES, 1980 + id % 45, (id % 6000) / 100.0, id % 101 / 10.0);
+    }
+
+    /**
+     * imports the generated games through the server's bulk import
+     */
+    private void seed() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) URI.create("http://" + host + ":" + port + "/games/import").toURL().openConnection();
+        conn.setRequestMethod("POST");
+        conn.setDoOutput(true);
+        conn.setChunkedStreamingMode(1 << 16);
+        try (OutputStream out = conn.getOutputStream()) {
+            StringBuilder lines = new StringBuilder();
+            for (int id = 1; id <= games; id++) {
+                VideoGame g = generate(id);
+                lines.append(id).append(',').append(g.getTitle()).append(',').append(g.getGenre()).append(',')
+                        .append(g.getReleaseYear()).append(',').append(g.getPrice()).append(',').append(g.getRating()).append('\n');
+                if (lines.length() > 1 << 16) {
+                    out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    lines.setLength(0);
+                }
+            }
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try (InputStream in = conn.getInputStream()) {
+            System.out.println("Seeded: " + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private Report run(int threads, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Worker> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(deadline);
+            worker.thread.start();
+            workers.add(worker);
+        }
+        Report report = new Report(seconds);
+        for (Worker worker : workers) {
+            worker.thread.join();
+            report.add(worker);
+        }
+        return report;
+    }
+
+    private final class Worker implements Runnable {
+        final Thread thread = new Thread(this, "load");
+        final long deadline;
+        final long[] histogram = new long[BUCKETS + 1];
+        long requests;
+        long errors;
+        long maxNanos;
+        IOException failure;
+
+        Worker(long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            byte[] buf = new byte[1 << 16];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try (Socket socket = new Socket()) {
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress(host, port));
+                OutputStream out = socket.getOutputStream();
+                InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+                String hostHeader = "Host: " + host + ":" + port + "\r\n\r\n";
+                long now;
+                while ((now = System.nanoTime()) < deadline) {
+                    int pick = random.nextInt(100);
+                    String path;
+                    if (pick < queryPercent) {
+                        path = "/games?genre=Genre%20" + random.nextInt(GENRES) + "&limit=10";
+                    } else if (pick < queryPercent + 10) {
+                        path = "/average-rating";
+                    } else {
+                        path = "/games/" + (1 + random.nextInt(Math.max(1, games)));
+                    }
+                    out.write(("GET " + path + " HTTP/1.1\r\n" + hostHeader).getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                    int status = readResponse(in, buf);
+                    long took = System.nanoTime() - now;
+                    requests++;
+                    if (status != 200) {
+                        errors++;
+                    }
+                    histogram[(int) Math.min(BUCKETS, took / 1000 / BUCKET_MICROS)]++;
+                    maxNanos = Math.max(maxNanos, took);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * reads the status line, the headers and a Content-Length body
+     * @return the status code
+     */
+    private static int readResponse(InputStream in, byte[] buf) throws IOException {
+        String status = readLine(in, buf);
+        long length = 0;
+        String line;
+        while (!(line = readLine(in, buf)).isEmpty()) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Long.parseLong(line.substring(15).trim());
+            }
+        }
+        while (length > 0) {
+            int n = in.read(buf, 0, (int) Math.min(buf.length, length));
+            if (n < 0) {
+                throw new IOException("connection closed in the middle of a response");
+            }
+            length -= n;
+        }
+        return Integer.parseInt(status.substring(9, 12));
+    }
+
+    private static String readLine(InputStream in, byte[] buf) throws IOException {
+        int n = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("connection closed");
+            }
+            if (b != '\r' && n < buf.length) {
+                buf[n++] = (byte) b;
+            }
+        }
+        return new String(buf, 0, n, StandardCharsets.US_ASCII);
+    }
+
+    private static final class Report {
+        final int seconds;
+        final long[] histogram = new long[BUCKETS + 1];
+        long requests;
+        long errors;
+        long maxNanos;
+        int failedConnections;
+
+        Report(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void add(Worker worker) {
+            for (int i = 0; i <= BUCKETS; i++) {
+                histogram[i] += worker.histogram[i];
+            }
+            requests += worker.requests;
+            errors += worker.errors;
+            maxNanos = Math.max(maxNanos, worker.maxNanos);
+            if (worker.failure != null) {
+                failedConnections++;
+            }
+        }
+
+        /** upper bound of the bucket holding the given fraction of requests, in milliseconds */
+        double percentile(double fraction) {
+            long wanted = (long) Math.ceil(requests * fraction);
+            long seen = 0;
+            for (int i = 0; i <= BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= wanted) {
+                    return i == BUCKETS ? maxNanos / 1e6 : (i + 1) * BUCKET_MICROS / 1000.0;
+                }
+            }
+            return maxNanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests, %,.0f requests/s, %d error(s), %d failed connection(s)%n"
+                            + "latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f",
+                    requests, requests / (double) seconds, errors, failedConnections,
+                    percentile(0.5), percentile(0.9), percentile(0.99), percentile(0.999), maxNanos / 1e6);
+        }
+    }
+}
@@ -1,4 +1,8 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
 /*
@@ -33,6 +37,12 @@ import java.util.Scanner;
 * Version 2.0:
 * -SQLite database connectivity
 * -more comments
+*
+* Run with --serve [port] [catalog file...] for the headless REST API (VideoGameServer)
+* Run with --check-db <database file> [--repair] to compare the genre and year summary tables with the games,
+* and with --repair to rebuild them (SummaryTables)
+* Run with -Dvgm.metricsSeconds=<n> to print operation latencies to standard error every n seconds;
+* the same numbers are always available over JMX (MetricsRegistry)
 * */
 
 /**
@@ -46,11 +56,48 @@ public class Main {
      * @exception InputMismatchException if the user does not put in the right type of value
      */
     public static void main(String[] args) {
+        // -Dvgm.metricsSeconds=<n> prints the operation metrics every n seconds, away from the menu on stderr
+        String metricsSeconds = System.getProperty("vgm.metricsSeconds");
+        if (metricsSeconds != null) {
+            try {
+                MetricsRegistry.shared().startDump(Long.parseLong(metricsSeconds), System.err);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Error: vgm.metricsSeconds must be a whole number of seconds, at least 1.");
+            }
+        }
+
+        // --serve [port] [catalog file...] runs the REST API instead of the menu
+        if (args.length > 0 && args[0].equals("--serve")) {
+            try {
+                VideoGameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Error: Could not start the server. " + e.getMessage());
+            }
+            return;
+        }
+
+        // --check-db <database file> [--repair] checks the summary tables instead of showing the menu
+        if (args.length > 0 && args[0].equals("--check-db")) {
+            checkDatabase(args);
+            return;
+        }
+
         Scanner scn = new Scanner(System.in);
         VideoGameManager manager = new VideoGameManager();
 
         System.out.println("**************** Welcome to the VideoGame Management System ****************");
 
+        // -Dvgm.dataDir=<folder> keeps the games in that folder and journals every change
+        String dataDir = System.getProperty("vgm.dataDir");
+        if (dataDir != null) {
+            try {
+                int restored = manager.openDataDir(Paths.get(dataDir), new JournalConfig());
+                System.out.println(restored + " game(s) restored from " + dataDir + "\n");
+            } catch (IOException e) {
+                System.out.println("Error: Could not open the data directory. " + e.getMessage() + "\n");
+            }
+        }
+
         int choice;
 
         do{
@@ -62,6 +109,8 @@ public class Main {
                 System.out.println("3. Update video game entry");
                 System.out.println("4. Delete video game entry");
                 System.out.println("5. View full list of video game entries");
+                System.out.println("7. Save all entries to a snapshot file");
+                System.out.println("8. Load entries from a snapshot file");
                 System.out.println("0. Exit");
                 System.out.print("Enter your choice: ");
 
@@ -103,6 +152,19 @@ public class Main {
                         System.out.println("Calculate the average of all game entries\n");
                         result6 = manager.calculateAverageRating();
                         System.out.println(result6);
+                        break;
+                    case 7:
+                        String result7;
+                        System.out.println("\nSave all entries to a snapshot file\n");
+                        result7 = manager.saveSnapshot(scn);
+                        System.out.println(result7);
+                        break;
+                    case 8:
+                        String result8;
+                        System.out.println("\nLoad entries from a snapshot file\n");
+                        result8 = manager.loadSnapshot(scn);
+                        System.out.println(result8);
+                        break;
                     case 0:
                         System.out.println("\nEnding Program...\n");
                         break;
@@ -110,8 +172,12 @@ public class Main {
                         System.out.println("\nInvalid choice");
                         break;
                 }
+                String warning = manager.maintainJournal();
+                if (warning != null) {
+                    System.out.println(warning);
+                }
             }catch (InputMismatchException e){
-                System.out.println("\nInvalid choice, enter a number from 0-5\n");
+                System.out.println("\nInvalid choice, enter a number from 0-8\n");
                 scn.nextLine();
                 choice = -1;
             }
@@ -121,6 +187,47 @@ public class Main {
 
         }while(choice != 0);
 
+        try {
+            manager.closeDataDir();
+        } catch (IOException e) {
+            System.out.println("Error: Could not save the data directory. " + e.getMessage());
+        }
         scn.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * checkDatabase
+     * Purpose: Prints every genre and year whose summary row differs from the games, and rebuilds the summary
+     * tables when --repair is given.
+     * @param args --check-db, the database file and optionally --repair
+     */
+    private static void checkDatabase(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: --check-db <database file> [--repair]");
+            return;
+        }
+        boolean repair = args.length > 2 && args[2].equals("--repair");
+        VideoGameDAO dao = new VideoGameDAO();
+        if (!dao.connectToDatabase(args[1])) {
+            System.out.println("Error: Could not open " + args[1] + ".");
+            return;
+        }
+        try {
+            List<String> problems = dao.verifySummaries();
+            for (String problem : problems) {
+                System.out.println(problem);
+            }
+            if (problems.isEmpty()) {
+                System.out.println("The summary tables match the games.");
+            } else if (!repair) {
+                System.out.println(problems.size() + " problem(s) found. Run again with --repair to rebuild the summary tables.");
+            } else if (dao.rebuildSummaries()) {
+                System.out.println("Summary tables rebuilt.");
+            } else {
+                System.out.println("Error: Could not rebuild the summary tables.");
+            }
+        } finally {
+            dao.close();
+        }
+    }
+}
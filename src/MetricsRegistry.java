@@ -0,0 +1,168 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: MetricsRegistry
+ *
+ * Description:
+ * Holds the OperationMetrics of every instrumented operation by name. The shared registry, used by
+ * VideoGameDAO and VideoGameManager unless they are given another one, publishes each operation as an MXBean
+ * in the platform MBean server the first time it is used, so JConsole shows them without any setup.
+ * dump() formats every operation as a table, and startDump prints that table every few seconds.
+ * Registries made with the plain constructor are not published, which keeps tests apart from each other.
+ **/
+public class MetricsRegistry {
+
+    /** JMX domain of the shared registry */
+    public static final String JMX_DOMAIN = "VideoGameManagementSystem";
+
+    private static final MetricsRegistry SHARED = new MetricsRegistry(JMX_DOMAIN);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String jmxDomain;
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumper;
+
+    /**
+     * Constructor for a registry that is not published over JMX
+     */
+    public MetricsRegistry() {
+        this(null);
+    }
+
+    /**
+     * Constructor
+     * @param jmxDomain domain to publish the operations under, or null to not publish them
+     */
+    public MetricsRegistry(String jmxDomain) {
+        this.jmxDomain = jmxDomain;
+    }
+
+    /**
+     * shared
+     * @return the registry the application records into and publishes over JMX
+     */
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * operation
+     * Purpose: Returns the metrics of an operation, creating and publishing them on first use. Callers look
+     * them up once and keep them in a field, so the hot path never touches the map.
+     * @param name operation name, for example dao.add
+     * @return the operation's metrics
+     */
+    public OperationMetrics operation(String name) {
+        OperationMetrics existing = operations.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        OperationMetrics created = new OperationMetrics(name);
+        existing = operations.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        publish(created);
+        return created;
+    }
+
+    /**
+     * operations
+     * @return every operation, sorted by name
+     */
+    public List<OperationMetrics> operations() {
+        List<OperationMetrics> list = new ArrayList<>(operations.values());
+        list.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return list;
+    }
+
+    /**
+     * reset
+     * Purpose: Sets every operation's counters back to zero.
+     */
+    public void reset() {
+        for (OperationMetrics metrics : operations.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * dump
+     * @return a table with one line per operation that has been called; times in microseconds
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- Operation metrics at ").append(LocalDateTime.now().format(TIME)).append(" (times in us) ---\n");
+        sb.append(String.format("%-22s %9s %6s %10s %10s %10s %10s %10s %12s %12s%n",
+                "operation", "calls", "errors", "mean", "p50", "p99", "p99.9", "max", "rows scanned", "rows returned"));
+        for (OperationMetrics metrics : operations()) {
+            if (metrics.getCount() > 0) {
+                sb.append(metrics).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * startDump
+     * Purpose: Prints dump() to the stream every period on a daemon thread, replacing an earlier schedule.
+     * @param periodSeconds seconds between dumps, at least 1
+     * @param out where to print, for example System.err so the menu is not interrupted
+     */
+    public synchronized void startDump(long periodSeconds, PrintStream out) {
+        if (periodSeconds < 1) {
+            throw new IllegalArgumentException("Dump period must be at least 1 second");
+        }
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(WorkerThreads.daemonFactory("metrics-dump"));
+        dumper.scheduleAtFixedRate(() -> out.print(dump()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * stopDump
+     * Purpose: Stops the periodic dump, if one is running.
+     */
+    public synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    /**
+     * registers the operation's MXBean; monitoring is optional, so a failure only means it is not visible
+     */
+    private void publish(OperationMetrics metrics) {
+        if (jmxDomain == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(jmxDomain + ":type=Operation,name=" + metrics.getName());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException | SecurityException e) {
+            // not visible over JMX, still counted and dumped
+        }
+    }
+}
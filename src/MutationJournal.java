@@ -0,0 +1,526 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: MutationJournal
+ *
+ * Description:
+ * An append-only write-ahead journal that makes an in-memory GameStore survive a crash. It lives in a data
+ * directory next to a CatalogSnapshot (catalog.vgms) and is told about every change as a GameStore.Listener:
+ * a game added or changed is written as a PUT record holding the whole game, a removed game as a REMOVE
+ * record and clear() as a CLEAR record.
+ * Records are little-endian: payload length (int), CRC32C of the payload (int), then the payload, a type
+ * byte followed by id, release year, price, rating, genre and title for PUT, or just the id for REMOVE.
+ * Strings are length-prefixed UTF-8, length -1 for null.
+ * Group commit: changes are only copied into a buffer by the thread making them. A background thread writes
+ * and syncs the buffer once the commit interval has passed since its first change or it holds commit bytes,
+ * so many changes share one disk sync and a crash loses at most one commit window. sync() waits until
+ * everything so far is on disk.
+ * open() loads the snapshot and replays the journal. Replay stops at the first record that is cut short
+ * or fails its checksum, the torn tail of a write the crash interrupted, and cuts it off the file.
+ * checkpoint() saves a new snapshot and empties the journal. A crash in between only means the old journal
+ * is replayed onto the new snapshot, which changes nothing because every record carries the full game.
+ * The store must only be changed by one thread at a time, and not during a checkpoint.
+ **/
+public class MutationJournal implements GameStore.Listener, AutoCloseable {
+
+    static final String SNAPSHOT_FILE = "catalog.vgms";
+    static final String JOURNAL_FILE = "journal.log";
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final byte CLEAR = 3;
+    private static final int MAX_RECORD = 1 << 24;
+    private static final int RECORD_HEADER = 8;
+
+    private final Path snapshotFile;
+    private final GameStore store;
+    private final JournalConfig config;
+    private final FileChannel channel;
+    private final Thread flusher;
+    private final CRC32C crc = new CRC32C();
+    private final Object lock = new Object();
+    private final int replayed;
+    private final long discardedBytes;
+
+    // guarded by lock
+    private ByteBuffer filling;
+    private long firstPendingNanos;
+    private long appended;
+    private long durable;
+    private long size;
+    private boolean urgent;
+    private boolean closed;
+    private IOException failure;
+
+    // only touched by the flusher thread
+    private ByteBuffer writing;
+
+    // only touched by the thread changing the store
+    private int unlogged;
+
+    private MutationJournal(Path dir, GameStore store, JournalConfig config, FileChannel channel,
+                            int replayed, long discardedBytes) throws IOException {
+        this.snapshotFile = dir.resolve(SNAPSHOT_FILE);
+        this.store = store;
+        this.config = config;
+        this.channel = channel;
+        this.replayed = replayed;
+        this.discardedBytes = discardedBytes;
+        this.size = channel.size();
+        this.filling = newBuffer(config.getCommitBytes() * 2);
+        this.writing = newBuffer(config.getCommitBytes() * 2);
+        this.flusher = WorkerThreads.daemonFactory("journal").newThread(this::runFlusher);
+    }
+
+    /**
+     * open
+     * Purpose: Fills an empty store from a data directory, the snapshot first and then every complete record
+     * of the journal, and starts journaling the store's changes. The directory is created if needed.
+     * @param dir data directory
+     * @param store empty store to fill and journal
+     * @param config group commit and checkpoint settings
+     * @return the journal, which must be closed
+     * @throws IOException if the snapshot or the journal cannot be read, or a complete record is invalid
+     */
+    public static MutationJournal open(Path dir, GameStore store, JournalConfig config) throws IOException {
+        if (!store.isEmpty()) {
+            throw new IllegalStateException("The store must be empty when a data directory is opened");
+        }
+        Files.createDirectories(dir);
+        Path snapshot = dir.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            store.putAll(CatalogSnapshot.read(snapshot));
+        }
+
+        FileChannel channel = FileChannel.open(dir.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MutationJournal journal;
+        try {
+            long fileSize = channel.size();
+            int[] count = new int[1];
+            long end = replay(channel, store, count);
+            if (end < fileSize) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            journal = new MutationJournal(dir, store, config, channel, count[0], fileSize - end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        journal.unlogged(() -> store.addListener(journal));
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * applies every complete record to the store
+     * @return file position after the last complete record
+     */
+    private static long replay(FileChannel channel, GameStore store, int[] count) throws IOException {
+        ByteBuffer buffer = newBuffer(1 << 16).flip();
+        long end = 0;
+        while (true) {
+            buffer = fill(channel, buffer, RECORD_HEADER);
+            if (buffer.remaining() < RECORD_HEADER) {
+                return end;
+            }
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < 1 || length > MAX_RECORD) {
+                return end;
+            }
+            buffer = fill(channel, buffer, RECORD_HEADER + length);
+            start = buffer.position();
+            if (buffer.remaining() < RECORD_HEADER + length) {
+                return end;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.array(), start + RECORD_HEADER, length);
+            if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+                return end;
+            }
+            try {
+                apply(buffer.slice(start + RECORD_HEADER, length).order(ByteOrder.LITTLE_ENDIAN), store);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Journal record at byte " + end + " is invalid", e);
+            }
+            buffer.position(start + RECORD_HEADER + length);
+            end += RECORD_HEADER + length;
+            count[0]++;
+        }
+    }
+
+    /**
+     * makes at least the wanted number of bytes readable, growing the buffer for long records
+     * @return the buffer, with fewer bytes readable only at the end of the file
+     */
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int wanted) throws IOException {
+        if (buffer.remaining() >= wanted) {
+            return buffer;
+        }
+        if (buffer.capacity() < wanted) {
+            buffer = newBuffer(Math.max(wanted, buffer.capacity() * 2)).put(buffer);
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < wanted && channel.read(buffer) > 0) {
+            // keep reading
+        }
+        return buffer.flip();
+    }
+
+    private static void apply(ByteBuffer record, GameStore store) {
+        byte type = record.get();
+        switch (type) {
+            case PUT:
+                int id = record.getInt();
+                int year = record.getInt();
+                double price = record.getDouble();
+                double rating = record.getDouble();
+                String genre = getString(record);
+                String title = getString(record);
+                store.put(id, new VideoGame(id, title, genre, year, price, rating));
+                break;
+            case REMOVE:
+                store.remove(record.getInt());
+                break;
+            case CLEAR:
+                store.clear();
+                break;
+            default:
+                throw new IllegalArgumentException("unknown record type " + type);
+        }
+        if (record.hasRemaining()) {
+            throw new IllegalArgumentException("record has " + record.remaining() + " extra bytes");
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > record.remaining()) {
+            throw new IllegalArgumentException("bad string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void added(VideoGame game) {
+        if (unlogged == 0) {
+            append(PUT, game, game.getGameID());
+        }
+    }
+
+    @Override
+    public void removed(VideoGame game) {
+        if (unlogged == 0) {
+            append(REMOVE, null, game.getGameID());
+        }
+    }
+
+    @Override
+    public void cleared() {
+        if (unlogged == 0) {
+            append(CLEAR, null, 0);
+        }
+    }
+
+    /**
+     * unlogged
+     * Purpose: Makes changes without journaling them, for changes that are saved another way, such as
+     * loading a whole catalog that is followed by a checkpoint.
+     * @param change changes to make
+     */
+    public void unlogged(Runnable change) {
+        unlogged++;
+        try {
+            change.run();
+        } finally {
+            unlogged--;
+        }
+    }
+
+    private void append(byte type, VideoGame game, int id) {
+        byte[] genre = null;
+        byte[] title = null;
+        int length = 1;
+        if (type == PUT) {
+            genre = bytes(game.getGenre());
+            title = bytes(game.getTitle());
+            length += 4 + 4 + 8 + 8 + 4 + (genre == null ? 0 : genre.length) + 4 + (title == null ? 0 : title.length);
+        } else if (type == REMOVE) {
+            length += 4;
+        }
+        if (length > MAX_RECORD) {
+            throw new IllegalArgumentException("Game " + id + " is too large to journal");
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The journal is closed");
+            }
+            if (!reserve(RECORD_HEADER + length)) {
+                return; // the journal already failed, sync() and close() report it
+            }
+            ByteBuffer out = filling;
+            int start = out.position();
+            out.position(start + RECORD_HEADER);
+            out.put(type);
+            if (type == PUT) {
+                out.putInt(id).putInt(game.getReleaseYear()).putDouble(game.getPrice()).putDouble(game.getRating());
+                putString(out, genre);
+                putString(out, title);
+            } else if (type == REMOVE) {
+                out.putInt(id);
+            }
+            crc.reset();
+            crc.update(out.array(), start + RECORD_HEADER, length);
+            out.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+
+            appended++;
+            size += RECORD_HEADER + length;
+            if (start == 0) {
+                firstPendingNanos = System.nanoTime();
+                lock.notifyAll();
+            } else if (out.position() >= config.getCommitBytes()) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * waits, holding the lock, until the filling buffer has room for a record
+     * @return false if the journal failed and nothing more can be written
+     */
+    private boolean reserve(int needed) {
+        boolean interrupted = false;
+        try {
+            while (failure == null && filling.remaining() < needed) {
+                if (filling.position() == 0) {
+                    filling = newBuffer(needed);
+                    break;
+                }
+                urgent = true;
+                lock.notifyAll();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return failure == null;
+    }
+
+    private void runFlusher() {
+        while (true) {
+            long batchEnd;
+            synchronized (lock) {
+                try {
+                    while (!closed && filling.position() == 0) {
+                        lock.wait();
+                    }
+                    long deadline = firstPendingNanos + TimeUnit.MILLISECONDS.toNanos(config.getCommitIntervalMillis());
+                    long wait;
+                    while (!closed && !urgent && filling.position() < config.getCommitBytes()
+                            && (wait = deadline - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(lock, wait);
+                    }
+                } catch (InterruptedException e) {
+                    failure = new InterruptedIOException("Journal writer was interrupted");
+                    lock.notifyAll();
+                    return;
+                }
+                if (filling.position() == 0) {
+                    return; // closed with nothing left to write
+                }
+                ByteBuffer full = filling;
+                filling = writing;
+                writing = full;
+                filling.clear();
+                batchEnd = appended;
+                urgent = false;
+                lock.notifyAll();
+            }
+            try {
+                writing.flip();
+                while (writing.hasRemaining()) {
+                    channel.write(writing);
+                }
+                writing.clear();
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            synchronized (lock) {
+                durable = batchEnd;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * sync
+     * Purpose: Waits until every change made so far is written and synced, without waiting for the rest of
+     * the commit window.
+     * @throws IOException if the journal could not be written
+     */
+    public void sync() throws IOException {
+        synchronized (lock) {
+            long target = appended;
+            urgent = true;
+            lock.notifyAll();
+            try {
+                while (durable < target && failure == null) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the journal");
+            }
+            if (failure != null) {
+                throw new IOException("The journal could not be written, later changes are not saved", failure);
+            }
+        }
+    }
+
+    /**
+     * throwIfFailed
+     * @throws IOException if writing the journal has failed, so later changes are not saved
+     */
+    public void throwIfFailed() throws IOException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IOException("The journal could not be written, later changes are not saved", failure);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return true once the journal has grown to the checkpoint size of the config
+     */
+    public boolean isCheckpointDue() {
+        synchronized (lock) {
+            return size >= config.getCheckpointBytes();
+        }
+    }
+
+    /**
+     * checkpoint
+     * Purpose: Rolls the journal into a new snapshot of the store and empties the journal. The journal is
+     * only emptied once the snapshot and its directory entry are on disk; if writing the snapshot fails the
+     * journal is left as it was.
+     * @throws IOException if the journal or the snapshot could not be written
+     */
+    public void checkpoint() throws IOException {
+        sync();
+        CatalogSnapshot.write(snapshotFile, store);
+        synchronized (lock) {
+            // sync() has returned and nothing is changing the store, so the writer thread is idle
+            channel.truncate(0);
+            channel.force(true);
+            size = 0;
+        }
+    }
+
+    /**
+     * close
+     * Purpose: Writes and syncs the remaining changes and stops the writer thread. Changes after close
+     * throw IllegalStateException.
+     * @throws IOException if the journal could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IOException("The journal could not be written, later changes are not saved", failure);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return number of records applied from the journal when it was opened
+     */
+    public int getReplayed() {
+        return replayed;
+    }
+
+    /**
+     *
+     * @return bytes of torn tail cut off the journal when it was opened, 0 after a clean shutdown
+     */
+    public long getDiscardedBytes() {
+        return discardedBytes;
+    }
+
+    /**
+     *
+     * @return bytes in the journal, including changes not synced yet
+     */
+    public long size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: OperationMetrics
+ *
+ * Description:
+ * Calls, failures, rows and a latency histogram for one kind of operation, such as dao.add or manager.query.
+ * Callers take a start time with start() and hand it back to success or failure when the call ends:
+ *
+ *     long start = metrics.start();
+ *     ... do the work ...
+ *     metrics.success(start, rowsScanned, rowsReturned);
+ *
+ * Counters are LongAdders, so threads recording at the same time do not fight over one cache line, and
+ * recording costs two nanoTime reads and a few increments. Instances come from MetricsRegistry.
+ **/
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final String name;
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rowsScanned = new LongAdder();
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile String lastError = "";
+
+    /**
+     * Constructor
+     * @param name operation name, shown in the dump and in JMX
+     */
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * start
+     * @return the start time to pass to success or failure
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * success
+     * Purpose: Records a call that worked.
+     * @param start value returned by start()
+     * @param scanned rows visited to answer the call, 0 if not known
+     * @param returned rows returned, or changed by a write
+     */
+    public void success(long start, long scanned, long returned) {
+        long took = System.nanoTime() - start;
+        latency.record(took);
+        totalNanos.add(took);
+        if (scanned != 0) {
+            rowsScanned.add(scanned);
+        }
+        if (returned != 0) {
+            rowsReturned.add(returned);
+        }
+    }
+
+    /**
+     * failure
+     * Purpose: Records a call that failed. Its time still counts in the histogram.
+     * @param start value returned by start()
+     * @param error why it failed
+     */
+    public void failure(long start, Exception error) {
+        long took = System.nanoTime() - start;
+        latency.record(took);
+        totalNanos.add(took);
+        errors.increment();
+        lastError = String.valueOf(error.getMessage());
+    }
+
+    /**
+     *
+     * @return the latency histogram in nanoseconds
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public long getRowsScanned() {
+        return rowsScanned.sum();
+    }
+
+    @Override
+    public long getRowsReturned() {
+        return rowsReturned.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / NANOS_PER_MICRO / count;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.percentile(0.5) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.percentile(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.percentile(0.999) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rowsScanned.reset();
+        rowsReturned.reset();
+        totalNanos.reset();
+        lastError = "";
+    }
+
+    /**
+     *
+     * @return one line of the text dump
+     */
+    @Override
+    public String toString() {
+        return String.format("%-22s %9d %6d %10.1f %10.1f %10.1f %10.1f %10.1f %12d %12d",
+                name, getCount(), getErrors(), getMeanMicros(), getP50Micros(), getP99Micros(), getP999Micros(),
+                getMaxMicros(), getRowsScanned(), getRowsReturned());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: OperationMetricsMXBean
+ *
+ * Description:
+ * What JConsole, VisualVM or any other JMX client sees for one operation, under
+ * VideoGameManagementSystem:type=Operation,name=&lt;operation&gt;. Times are in microseconds.
+ **/
+public interface OperationMetricsMXBean {
+
+    /**
+     *
+     * @return operation name, for example dao.getAllGames
+     */
+    String getName();
+
+    /**
+     *
+     * @return calls finished, including failed ones
+     */
+    long getCount();
+
+    /**
+     *
+     * @return calls that failed, for example with an SQLException the DAO turned into false or -1
+     */
+    long getErrors();
+
+    /**
+     *
+     * @return message of the last failure, or an empty string
+     */
+    String getLastError();
+
+    /**
+     *
+     * @return rows the database or the store visited for these calls, where known
+     */
+    long getRowsScanned();
+
+    /**
+     *
+     * @return rows handed back to callers, or changed by writes
+     */
+    long getRowsReturned();
+
+    /**
+     *
+     * @return average time per call
+     */
+    double getMeanMicros();
+
+    /**
+     *
+     * @return half of the calls took this long or less
+     */
+    double getP50Micros();
+
+    /**
+     *
+     * @return 99% of the calls took this long or less
+     */
+    double getP99Micros();
+
+    /**
+     *
+     * @return 99.9% of the calls took this long or less
+     */
+    double getP999Micros();
+
+    /**
+     *
+     * @return slowest call
+     */
+    double getMaxMicros();
+
+    /**
+     * reset
+     * Purpose: Sets every counter back to zero, for example before a load test.
+     */
+    void reset();
+}
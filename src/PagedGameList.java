@@ -0,0 +1,224 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: PagedGameList
+ *
+ * Description:
+ * A read-only list over the videogames table that only loads the pages that are looked at.
+ * The TableView asks for the rows on screen, so for a large catalog only a few pages are ever in memory.
+ * get() never touches the database: a row whose page is not loaded yet comes back as null, which the table
+ * shows as a blank placeholder row, and the page is read on a worker thread of AsyncVideoGameDAO. When it
+ * arrives it is handed over on the GUI thread and onPageLoaded runs, so the table can refresh the rows.
+ * Pages are read with keyset pagination (VideoGameDAO.getGamesPage) in the current sort order, and pages
+ * far from the last one used are dropped once more than maxPages are held.
+ * To find where a page starts, the list remembers the last row of every page it has seen, so scrolling
+ * reads each page with one index seek and never re-reads earlier rows. A jump to a page whose previous page
+ * has not been seen seeks to the nearest page end known before it and steps over the rows in between with
+ * OFFSET, so it costs one index entry per skipped row: dragging the scroll bar to the middle of a table of
+ * a million rows steps over about half a million entries the first time, and any jump near a page already
+ * seen is cheap. Every sort column has an index from schema version 4 on, so no page sorts the table.
+ * The list is not thread-safe; use it only on the thread the deliver executor runs tasks on.
+ **/
+public class PagedGameList extends AbstractList<VideoGame> {
+
+    private final AsyncVideoGameDAO async;
+    private final int pageSize;
+    private final int maxPages;
+    private final Executor deliver;
+    private final Runnable onPageLoaded;
+
+    private GameColumn orderColumn = GameColumn.ID;
+    private boolean ascending = true;
+    private int size;
+    // bumped when the order or the row count changes; pages read before that are thrown away
+    private long generation;
+
+    // access ordered so the newest page is last
+    private final LinkedHashMap<Integer, List<VideoGame>> pages = new LinkedHashMap<>(16, 0.75f, true);
+    // last row of each page seen so far, where the next page starts
+    private final TreeMap<Integer, VideoGame> pageEnds = new TreeMap<>();
+    // pages being read right now, so scrolling over them does not ask twice
+    private final Set<Integer> loading = new HashSet<>();
+    private long pageLoads;
+
+    /**
+     * Constructor for a lazy view of the whole table
+     * @param async DAO to read pages through, off the GUI thread
+     * @param count number of rows in the table, counted beforehand
+     * @param pageSize rows per page
+     * @param maxPages most pages kept in memory
+     * @param deliver runs work on the GUI thread, Platform::runLater for JavaFX
+     * @param onPageLoaded called on the GUI thread after a page arrives, for example table::refresh
+     */
+    public PagedGameList(AsyncVideoGameDAO async, int count, int pageSize, int maxPages, Executor deliver,
+                         Runnable onPageLoaded) {
+        if (pageSize < 1 || maxPages < 1) {
+            throw new IllegalArgumentException("Page size and max pages must be at least 1");
+        }
+        this.async = async;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.deliver = deliver;
+        this.onPageLoaded = onPageLoaded;
+        reload(count);
+    }
+
+    /**
+     * returns the row at the index if its page is loaded, and starts loading the page if not
+     * @param index row position in the current order
+     * @return the game at that row, or null while its page is being read
+     */
+    @Override
+    public VideoGame get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        int page = index / pageSize;
+        List<VideoGame> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        int offset = index % pageSize;
+        // the table shrank since it was counted, show a blank row instead of failing
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    /**
+     *
+     * @return number of rows in the table when it was last counted
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * setOrder
+     * Purpose: Changes the sort order. The database does the sorting, nothing is loaded until rows are asked for.
+     * @param column column to sort by
+     * @param ascending sort direction
+     */
+    public void setOrder(GameColumn column, boolean ascending) {
+        this.orderColumn = column;
+        this.ascending = ascending;
+        clearPages();
+    }
+
+    /**
+     * reload
+     * Purpose: Drops every loaded page after the table changed. The count is read beforehand on a worker
+     * thread, so only this cheap part runs on the GUI thread.
+     * @param count number of rows in the table
+     */
+    public void reload(int count) {
+        size = Math.max(count, 0);
+        clearPages();
+    }
+
+    /**
+     *
+     * @return number of pages held in memory right now
+     */
+    public int loadedPages() {
+        return pages.size();
+    }
+
+    /**
+     *
+     * @return number of pages being read right now
+     */
+    public int loadingPages() {
+        return loading.size();
+    }
+
+    /**
+     *
+     * @return number of page reads finished since the list was made
+     */
+    public long getPageLoads() {
+        return pageLoads;
+    }
+
+    private void clearPages() {
+        generation++;
+        pages.clear();
+        pageEnds.clear();
+        loading.clear();
+    }
+
+    /**
+     * starts reading a page on a worker thread, from the end of the nearest page before it that is known
+     */
+    private void load(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+        Map.Entry<Integer, VideoGame> known = page == 0 ? null : pageEnds.lowerEntry(page);
+        VideoGame from = known == null ? null : known.getValue();
+        int firstUnknown = known == null ? 0 : known.getKey() + 1;
+        long started = generation;
+        async.getGamesPage(orderColumn, ascending, from, (page - firstUnknown) * pageSize, pageSize)
+                .whenComplete((rows, error) -> deliver.execute(() -> {
+                    if (started != generation) {
+                        return;
+                    }
+                    loading.remove(page);
+                    pageLoads++;
+                    // a failed read leaves blank rows until the next reload instead of retrying on every repaint
+                    remember(page, error == null ? rows : new ArrayList<>());
+                    onPageLoaded.run();
+                }));
+    }
+
+    private void remember(int page, List<VideoGame> rows) {
+        if (!rows.isEmpty()) {
+            pageEnds.put(page, rows.get(rows.size() - 1));
+        }
+        pages.put(page, rows);
+        evictFarFrom(page);
+    }
+
+    /**
+     * drops the pages furthest from the page just used until no more than maxPages are left
+     */
+    private void evictFarFrom(int page) {
+        while (pages.size() > maxPages) {
+            int farthest = -1;
+            int distance = -1;
+            for (int p : pages.keySet()) {
+                int d = Math.abs(p - page);
+                if (d > distance) {
+                    distance = d;
+                    farthest = p;
+                }
+            }
+            pages.remove(farthest);
+        }
+        // keep the start of pages bounded too, one row per page is plenty
+        if (pageEnds.size() > maxPages * 64) {
+            Iterator<Integer> it = pageEnds.keySet().iterator();
+            while (pageEnds.size() > maxPages * 32 && it.hasNext()) {
+                int p = it.next();
+                if (Math.abs(p - page) > maxPages) {
+                    it.remove();
+                }
+            }
+        }
+    }
+}
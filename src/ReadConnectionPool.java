@@ -0,0 +1,155 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: ReadConnectionPool
+ *
+ * Description:
+ * A fixed set of read-only SQLite connections for VideoGameDAO queries. Each connection comes with its own
+ * StatementCache, and a thread borrows a whole cache at a time so statements are never shared between threads.
+ * With the database in WAL mode these readers keep working while the writer connection is inside a transaction.
+ * A thread waiting for a connection notices within CLOSE_CHECK_MILLIS that the pool was closed and gets an
+ * SQLException instead of waiting forever. Closing the pool only closes the idle connections; one that is
+ * borrowed keeps working until the read on it is done and is closed when it is released, since a
+ * StatementCache must not be touched by two threads at once.
+ **/
+public class ReadConnectionPool implements AutoCloseable {
+
+    // how often a waiting borrow checks whether the pool was closed
+    private static final long CLOSE_CHECK_MILLIS = 100;
+
+    private final BlockingQueue<StatementCache> idle;
+    // filled by the constructor and never changed after, so it can be read from any thread
+    private final List<StatementCache> all = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Constructor that opens every connection up front
+     * @param url JDBC url of the database
+     * @param config pool size and busy timeout
+     * @param cacheSize statements cached per connection
+     * @throws SQLException if a connection cannot be opened, any opened ones are closed again
+     */
+    public ReadConnectionPool(String url, DatabaseConfig config, int cacheSize) throws SQLException {
+        idle = new ArrayBlockingQueue<>(config.getReadPoolSize());
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setReadOnly(true);
+        sqlite.setBusyTimeout(config.getBusyTimeoutMillis());
+        try {
+            for (int i = 0; i < config.getReadPoolSize(); i++) {
+                Connection conn = DriverManager.getConnection(url, sqlite.toProperties());
+                StatementCache cache = new StatementCache(conn, cacheSize);
+                all.add(cache);
+                idle.add(cache);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * borrow
+     * Purpose: Takes a free connection, waiting if every connection is in use.
+     * @return statement cache of the borrowed connection, give it back with release
+     * @throws SQLException if the pool is closed, or the thread is interrupted while waiting
+     */
+    public StatementCache borrow() throws SQLException {
+        try {
+            while (!closed) {
+                StatementCache cache = idle.poll(CLOSE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (cache != null) {
+                    return cache;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        throw new SQLException("The read connections are closed");
+    }
+
+    /**
+     * release
+     * Purpose: Returns a borrowed connection to the pool, or closes it if the pool was closed meanwhile.
+     * @param cache what borrow returned
+     */
+    public synchronized void release(StatementCache cache) {
+        if (closed) {
+            closeConnection(cache);
+        } else {
+            idle.offer(cache);
+        }
+    }
+
+    /**
+     *
+     * @return number of connections in the pool
+     */
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * getStatementCacheHits
+     * @return statements reused from the caches of every connection in the pool
+     */
+    public long getStatementCacheHits() {
+        long hits = 0;
+        for (StatementCache cache : all) {
+            hits += cache.getHits();
+        }
+        return hits;
+    }
+
+    /**
+     * getStatementCacheMisses
+     * @return statements prepared on every connection in the pool
+     */
+    public long getStatementCacheMisses() {
+        long misses = 0;
+        for (StatementCache cache : all) {
+            misses += cache.getMisses();
+        }
+        return misses;
+    }
+
+    /**
+     * close
+     * Purpose: Closes the statements and connections that are idle; borrowed ones are closed when they are
+     * released. Threads waiting in borrow give up. Safe to call more than once.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        StatementCache cache;
+        while ((cache = idle.poll()) != null) {
+            closeConnection(cache);
+        }
+    }
+
+    private static void closeConnection(StatementCache cache) {
+        cache.close();
+        try {
+            cache.getConnection().close();
+        } catch (SQLException ignored) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: SchemaManager
+ *
+ * Description:
+ * Brings a database up to the schema this version of the program expects. The schema version is kept in
+ * SQLite's PRAGMA user_version, which is 0 for a new file and for files made before migrations existed.
+ * Every migration whose version is above the file's runs in order, each in its own transaction that also
+ * sets user_version, so a failed migration leaves the file at the last good version. Migrations only ever
+ * get added to the end of the list; an old one is never changed once released.
+ * After any migration ANALYZE runs, so the query planner knows how selective each index is.
+ **/
+public final class SchemaManager {
+
+    /**
+     * One step of the schema history.
+     */
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+
+    // every index also holds the rowid, which is gameid, so an index on (a, b) covers queries that only
+    // read a, b and gameid, such as counts, ranges, the keyset pages and the topKPerGroup window
+    private static final Migration[] MIGRATIONS = {
+            new Migration(1, "videogames table",
+                    "CREATE TABLE IF NOT EXISTS videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, "
+                            + "title TEXT NOT NULL, genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)"),
+            new Migration(2, "indexes for filtering and sorting by genre, year, price and rating",
+                    // genre filters, best rated per genre, and the lowest and highest rating the genre_summary
+                    // triggers look up again when a game leaves its genre
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_genre_rating ON videogames(genre, rating)",
+                    // year ranges, cheapest per year
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_year_price ON videogames(releaseyear, price)",
+                    // rating ranges and order
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_rating ON videogames(rating)",
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_price ON videogames(price)"),
+            new Migration(3, "genre and year summary tables kept up to date by triggers",
+                    SummaryTables.createStatements()),
+            // the table view sorts by any column and pages with (column, gameid) keys; an index on the column
+            // alone holds exactly that order, so a page or a jump is a seek and a short walk
+            new Migration(4, "indexes for sorting by title, genre and release year",
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_title ON videogames(title)",
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_genre ON videogames(genre)",
+                    "CREATE INDEX IF NOT EXISTS idx_videogames_year ON videogames(releaseyear)"),
+    };
+
+    // rows ANALYZE samples per index; keeps it to milliseconds on a table of millions of rows
+    private static final int ANALYSIS_LIMIT = 1000;
+
+    private SchemaManager() {
+    }
+
+    /**
+     * getLatestVersion
+     * @return the schema version this program creates
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS[MIGRATIONS.length - 1].version;
+    }
+
+    /**
+     * getVersion
+     * @param conn connection to the database
+     * @return the database's schema version, 0 if it was never migrated
+     * @throws SQLException if the version cannot be read
+     */
+    public static int getVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * migrate
+     * Purpose: Runs every migration the database has not had yet, then ANALYZE if any ran. Each migration
+     * takes the write lock before reading the version again, so two programs opening the same file at once
+     * do not both run it.
+     * @param conn writer connection in auto-commit mode
+     * @return number of migrations run, 0 if the database was already up to date
+     * @throws SQLException if a migration fails, or the file was made by a newer version of the program
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        int version = getVersion(conn);
+        if (version > getLatestVersion()) {
+            throw new SQLException("Database schema version " + version + " is newer than this program's "
+                    + getLatestVersion());
+        }
+        int applied = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= version) {
+                    continue;
+                }
+                stmt.execute("BEGIN IMMEDIATE");
+                try {
+                    // another connection may have migrated while this one waited for the lock
+                    if (getVersion(conn) < migration.version) {
+                        for (String sql : migration.statements) {
+                            stmt.execute(sql);
+                        }
+                        stmt.execute("PRAGMA user_version = " + migration.version);
+                        applied++;
+                    }
+                    stmt.execute("COMMIT");
+                } catch (SQLException e) {
+                    stmt.execute("ROLLBACK");
+                    throw new SQLException("Migration " + migration.version + " (" + migration.description
+                            + ") failed: " + e.getMessage(), e);
+                }
+                version = migration.version;
+            }
+        }
+        if (applied > 0) {
+            analyze(conn);
+        }
+        return applied;
+    }
+
+    /**
+     * analyze
+     * Purpose: Refreshes the statistics the query planner uses to choose between indexes, from a sample of
+     * each index. Worth calling again after a large import changes how values are spread.
+     * @param conn writer connection
+     * @throws SQLException if the statistics cannot be written
+     */
+    public static void analyze(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA analysis_limit = " + ANALYSIS_LIMIT);
+            stmt.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,279 @@
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: SqlTracer
+ *
+ * Description:
+ * Remembers the last N statements VideoGameDAO ran: the SQL with its ? placeholders, how many parameters
+ * were bound, how long it took including reading the rows, and how many rows it returned or changed.
+ * dump() prints them oldest first, for example right after the GUI stalled.
+ * A statement slower than the threshold is also written to the slow-query log together with SQLite's
+ * EXPLAIN QUERY PLAN for it, taken on the same connection so it sees the same schema and indexes.
+ * Recording a fast statement is one counter increment and one small object written into the ring, with no
+ * lock and no formatting. The SQL string is kept by reference, never copied.
+ **/
+public class SqlTracer {
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final LongAdder slowCount = new LongAdder();
+    private final long slowNanos;
+    private final PrintStream slowLog;
+
+    /**
+     * One traced statement.
+     */
+    public static final class Entry {
+        private final long timeMillis;
+        private final String sql;
+        private final int executions;
+        private final long nanos;
+        private final long rows;
+        private final List<String> plan;
+
+        Entry(long timeMillis, String sql, int executions, long nanos, long rows, List<String> plan) {
+            this.timeMillis = timeMillis;
+            this.sql = sql;
+            this.executions = executions;
+            this.nanos = nanos;
+            this.rows = rows;
+            this.plan = plan;
+        }
+
+        /**
+         *
+         * @return the SQL with ? where the parameters go
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         *
+         * @return parameters bound for one execution
+         */
+        public int getParameters() {
+            return countParameters(sql);
+        }
+
+        /**
+         *
+         * @return 1, or the number of rows sent in a JDBC batch
+         */
+        public int getExecutions() {
+            return executions;
+        }
+
+        /**
+         *
+         * @return time taken, including reading the rows
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         *
+         * @return rows returned by a query, or changed by a write
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         *
+         * @return EXPLAIN QUERY PLAN lines for a slow statement, empty for a fast one
+         */
+        public List<String> getPlan() {
+            return plan;
+        }
+
+        /**
+         *
+         * @return true if the statement went over the slow-query threshold
+         */
+        public boolean isSlow() {
+            return !plan.isEmpty();
+        }
+
+        /**
+         *
+         * @return time, duration, rows and SQL on one line, then the plan lines of a slow statement
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(TIME.format(Instant.ofEpochMilli(timeMillis)))
+                    .append(isSlow() ? " SLOW " : " ")
+                    .append(String.format("%.3f ms, %d row(s), %d param(s)", nanos / 1e6, rows, getParameters()));
+            if (executions > 1) {
+                sb.append(", batch of ").append(executions);
+            }
+            sb.append(": ").append(sql);
+            for (String line : plan) {
+                sb.append("\n    plan: ").append(line);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Constructor that writes the slow-query log to standard error
+     * @param capacity statements kept for dump(), rounded up to a power of two
+     * @param slowMillis statements taking at least this long go to the slow-query log
+     */
+    public SqlTracer(int capacity, long slowMillis) {
+        this(capacity, slowMillis, System.err);
+    }
+
+    /**
+     * Constructor
+     * @param capacity statements kept for dump(), rounded up to a power of two
+     * @param slowMillis statements taking at least this long go to the slow-query log
+     * @param slowLog where slow statements are written
+     */
+    public SqlTracer(int capacity, long slowMillis, PrintStream slowLog) {
+        if (capacity < 1 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Trace capacity must be between 1 and 1048576");
+        }
+        if (slowMillis < 0) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative");
+        }
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.slowLog = slowLog;
+    }
+
+    /**
+     * record
+     * Purpose: Adds a finished statement to the ring. If it was slow, its query plan is read on the
+     * connection it ran on and it is written to the slow-query log.
+     * @param conn connection the statement ran on, still held by the caller
+     * @param sql statement text with ? placeholders
+     * @param executions 1, or the number of rows in a JDBC batch
+     * @param nanos time taken
+     * @param rows rows returned or changed
+     */
+    public void record(Connection conn, String sql, int executions, long nanos, long rows) {
+        List<String> plan = List.of();
+        if (nanos >= slowNanos) {
+            plan = explain(conn, sql);
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), sql, executions, nanos, rows, plan);
+        ring.lazySet((int) (next.getAndIncrement() & mask), entry);
+        if (!plan.isEmpty()) {
+            slowCount.increment();
+            slowLog.println(entry);
+        }
+    }
+
+    /**
+     * recent
+     * @return the statements still in the ring, oldest first
+     */
+    public List<Entry> recent() {
+        long end = next.get();
+        long start = Math.max(0, end - ring.length());
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            Entry entry = ring.get((int) (i & mask));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * dump
+     * @return the statements still in the ring, one per line, oldest first
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- Last ").append(Math.min(next.get(), ring.length())).append(" of ").append(next.get())
+                .append(" SQL statement(s), ").append(slowCount.sum()).append(" slow ---\n");
+        for (Entry entry : recent()) {
+            sb.append(entry).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     *
+     * @return statements recorded since the tracer was made
+     */
+    public long getStatementCount() {
+        return next.get();
+    }
+
+    /**
+     *
+     * @return statements that went over the threshold
+     */
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    /**
+     * the ? placeholders outside quoted text, counted when an entry is read rather than on the hot path
+     */
+    static int countParameters(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * EXPLAIN QUERY PLAN of the statement; unbound parameters are NULL, which does not change the plan
+     */
+    private static List<String> explain(Connection conn, String sql) {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        } catch (SQLException e) {
+            plan.add("(no plan: " + e.getMessage() + ")");
+        }
+        if (plan.isEmpty()) {
+            // statements such as a plain INSERT have no plan steps; still mark the entry as slow
+            plan.add("(no plan steps)");
+        }
+        return plan;
+    }
+}
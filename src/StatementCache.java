@@ -0,0 +1,134 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: StatementCache
+ *
+ * Description:
+ * Keeps the prepared statements of one connection so the same SQL is only parsed and planned once.
+ * Statements are keyed by their SQL text and the least recently used one is closed when the cache is full.
+ * Statements handed out stay owned by the cache: callers must not close them, only their ResultSets.
+ * Like the connection itself, a cache should only be used by one thread at a time.
+ **/
+public class StatementCache implements AutoCloseable {
+
+    private final Connection conn;
+    private final int capacity;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    // read by other threads for monitoring, written only by the thread using the cache
+    private volatile long hits;
+    private volatile long misses;
+    private long evictions;
+
+    /**
+     * Constructor for a cache on one connection
+     * @param conn connection the statements are prepared on
+     * @param capacity most statements kept open at once
+     */
+    public StatementCache(Connection conn, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.conn = conn;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+    }
+
+    /**
+     * prepare
+     * Purpose: Returns the cached statement for this SQL, preparing it on a miss.
+     * Parameters and batches left from the last use are cleared.
+     * @param sql statement text with ? placeholders
+     * @return a ready to use statement, do not close it
+     * @throws SQLException if the SQL cannot be prepared
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            hits++;
+            stmt.clearParameters();
+            stmt.clearBatch();
+            return stmt;
+        }
+        misses++;
+        stmt = conn.prepareStatement(sql);
+        statements.put(sql, stmt);
+        if (statements.size() > capacity) {
+            Iterator<Map.Entry<String, PreparedStatement>> eldest = statements.entrySet().iterator();
+            closeQuietly(eldest.next().getValue());
+            eldest.remove();
+            evictions++;
+        }
+        return stmt;
+    }
+
+    /**
+     *
+     * @return the connection the statements belong to
+     */
+    public Connection getConnection() {
+        return conn;
+    }
+
+    /**
+     *
+     * @return number of prepare calls served from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     *
+     * @return number of prepare calls that had to prepare new SQL
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     *
+     * @return number of statements closed to make room
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     *
+     * @return number of statements open right now
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * close
+     * Purpose: Closes every cached statement. The connection itself is left open.
+     */
+    @Override
+    public void close() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // nothing left to release
+        }
+    }
+}
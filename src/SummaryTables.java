@@ -0,0 +1,218 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: SummaryTables
+ *
+ * Description:
+ * The genre_summary and year_summary tables hold, per genre and per release year, the number of games and
+ * the count, sum, minimum and maximum of their ratings and prices. Triggers on videogames keep them up to date in
+ * the same transaction as every insert, update and delete, so the DAO reads averages and totals from a few
+ * rows instead of aggregating the whole table, and other programs writing the file keep them right too.
+ * Sums are adjusted on every change. A minimum or maximum is only looked up again when the row that held it
+ * leaves the group; for ratings per genre and prices per year that is one index seek.
+ * Genres are grouped exactly as stored, like the DAO's genre filter; games without a genre or a release
+ * year are left out of that table. A missing rating or price adds nothing to the sum and is not counted in
+ * rating_count or price_count, so sum / count is the same average AVG() gives.
+ * rebuild() recomputes both tables from videogames and verify() reports any group that drifted, for example
+ * after rows were loaded while the triggers were missing.
+ **/
+public final class SummaryTables {
+
+    private static final String[][] GROUPS = {
+            // table, key column, key type
+            {"genre_summary", "genre", "TEXT"},
+            {"year_summary", "releaseyear", "INTEGER"},
+    };
+
+    // relative difference allowed between a summary sum and the recomputed one; sums adjusted over many
+    // changes collect rounding error
+    private static final double SUM_TOLERANCE = 1e-9;
+
+    private SummaryTables() {
+    }
+
+    /**
+     * createStatements
+     * @return the statements that create both tables and their triggers and fill the tables, in order
+     */
+    static String[] createStatements() {
+        List<String> sql = new ArrayList<>();
+        for (String[] group : GROUPS) {
+            String table = group[0];
+            String key = group[1];
+            sql.add("CREATE TABLE IF NOT EXISTS " + table + " (" + key + " " + group[2] + " NOT NULL PRIMARY KEY, "
+                    + "game_count INTEGER NOT NULL, rating_count INTEGER NOT NULL, rating_sum REAL NOT NULL, "
+                    + "rating_min REAL, rating_max REAL, price_count INTEGER NOT NULL, price_sum REAL NOT NULL, "
+                    + "price_min REAL, price_max REAL)");
+            sql.add(fillSql(table, key));
+
+            // a table made before migrations may allow a NULL genre; such rows stay out like aggregateSql leaves them
+            String newRow = " WHEN NEW." + key + " IS NOT NULL";
+            String oldRow = " WHEN OLD." + key + " IS NOT NULL";
+            sql.add("CREATE TRIGGER IF NOT EXISTS " + table + "_insert AFTER INSERT ON videogames" + newRow
+                    + " BEGIN " + addSql(table, key) + "; END");
+            sql.add("CREATE TRIGGER IF NOT EXISTS " + table + "_delete AFTER DELETE ON videogames" + oldRow
+                    + " BEGIN " + String.join("; ", removeSql(table, key)) + "; END");
+            // an update is a removal from the old group and an addition to the new one; the two triggers do
+            // not depend on which runs first because extremes are looked up in the already updated table
+            String changed = " AFTER UPDATE OF " + key + ", price, rating ON videogames";
+            sql.add("CREATE TRIGGER IF NOT EXISTS " + table + "_update_old" + changed + oldRow
+                    + " BEGIN " + String.join("; ", removeSql(table, key)) + "; END");
+            sql.add("CREATE TRIGGER IF NOT EXISTS " + table + "_update_new" + changed + newRow
+                    + " BEGIN " + addSql(table, key) + "; END");
+        }
+        return sql.toArray(new String[0]);
+    }
+
+    /**
+     * rebuild
+     * Purpose: Recomputes both summary tables from videogames in one transaction.
+     * @param conn writer connection in auto-commit mode
+     * @throws SQLException if the tables cannot be rewritten; nothing is changed then
+     */
+    public static void rebuild(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("BEGIN IMMEDIATE");
+            try {
+                for (String[] group : GROUPS) {
+                    stmt.execute("DELETE FROM " + group[0]);
+                    stmt.execute(fillSql(group[0], group[1]));
+                }
+                stmt.execute("COMMIT");
+            } catch (SQLException e) {
+                stmt.execute("ROLLBACK");
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * verify
+     * Purpose: Recomputes every group from videogames, which scans the table, and compares it with the
+     * summary tables. Both are read in one transaction so they see the same rows.
+     * @param conn any connection to the database
+     * @return one line per group that is missing, extra or different; empty if the summaries are right
+     * @throws SQLException if the tables cannot be read
+     */
+    public static List<String> verify(Connection conn) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String[] group : GROUPS) {
+                String table = group[0];
+                String key = group[1];
+                Map<String, double[]> stored = readGroups(stmt, "SELECT " + key + ", game_count, rating_count, "
+                        + "rating_sum, rating_min, rating_max, price_count, price_sum, price_min, price_max FROM " + table);
+                Map<String, double[]> actual = readGroups(stmt, aggregateSql(key));
+                for (Map.Entry<String, double[]> entry : actual.entrySet()) {
+                    double[] summary = stored.remove(entry.getKey());
+                    if (summary == null) {
+                        problems.add(table + " " + entry.getKey() + ": missing");
+                    } else if (!matches(summary, entry.getValue())) {
+                        problems.add(table + " " + entry.getKey() + ": " + text(summary) + " should be "
+                                + text(entry.getValue()));
+                    }
+                }
+                for (String extra : stored.keySet()) {
+                    problems.add(table + " " + extra + ": no such games");
+                }
+            }
+        } finally {
+            conn.rollback();
+            conn.setAutoCommit(autoCommit);
+        }
+        return problems;
+    }
+
+    private static String aggregateSql(String key) {
+        return "SELECT " + key + ", COUNT(*), COUNT(rating), TOTAL(rating), MIN(rating), MAX(rating), COUNT(price), "
+                + "TOTAL(price), MIN(price), MAX(price) FROM videogames WHERE " + key + " IS NOT NULL GROUP BY " + key;
+    }
+
+    private static String fillSql(String table, String key) {
+        return "INSERT INTO " + table + " " + aggregateSql(key);
+    }
+
+    /**
+     * adds NEW to its group; min(a, b) is NULL when either is, so coalesce keeps whichever is set
+     */
+    private static String addSql(String table, String key) {
+        return "INSERT INTO " + table + " VALUES (NEW." + key + ", 1, NEW.rating IS NOT NULL, coalesce(NEW.rating, 0), "
+                + "NEW.rating, NEW.rating, NEW.price IS NOT NULL, coalesce(NEW.price, 0), NEW.price, NEW.price) "
+                + "ON CONFLICT(" + key + ") DO UPDATE SET "
+                + "game_count = game_count + 1, "
+                + "rating_count = rating_count + excluded.rating_count, "
+                + "rating_sum = rating_sum + excluded.rating_sum, "
+                + "rating_min = coalesce(min(rating_min, excluded.rating_min), rating_min, excluded.rating_min), "
+                + "rating_max = coalesce(max(rating_max, excluded.rating_max), rating_max, excluded.rating_max), "
+                + "price_count = price_count + excluded.price_count, "
+                + "price_sum = price_sum + excluded.price_sum, "
+                + "price_min = coalesce(min(price_min, excluded.price_min), price_min, excluded.price_min), "
+                + "price_max = coalesce(max(price_max, excluded.price_max), price_max, excluded.price_max)";
+    }
+
+    /**
+     * takes OLD out of its group, drops the group when it empties and looks up an extreme OLD held
+     */
+    private static String[] removeSql(String table, String key) {
+        String group = " WHERE " + key + " = OLD." + key;
+        String games = " FROM videogames" + group;
+        return new String[] {
+                "UPDATE " + table + " SET game_count = game_count - 1, rating_count = rating_count - (OLD.rating IS NOT NULL), "
+                        + "rating_sum = rating_sum - coalesce(OLD.rating, 0), price_count = price_count - (OLD.price IS NOT NULL), "
+                        + "price_sum = price_sum - coalesce(OLD.price, 0)" + group,
+                "DELETE FROM " + table + group + " AND game_count = 0",
+                "UPDATE " + table + " SET rating_min = (SELECT MIN(rating)" + games + "), "
+                        + "rating_max = (SELECT MAX(rating)" + games + ")" + group
+                        + " AND (OLD.rating <= rating_min OR OLD.rating >= rating_max)",
+                "UPDATE " + table + " SET price_min = (SELECT MIN(price)" + games + "), "
+                        + "price_max = (SELECT MAX(price)" + games + ")" + group
+                        + " AND (OLD.price <= price_min OR OLD.price >= price_max)",
+        };
+    }
+
+    private static Map<String, double[]> readGroups(Statement stmt, String sql) throws SQLException {
+        Map<String, double[]> groups = new TreeMap<>();
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                double[] values = new double[9];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 2) == null ? Double.NaN : rs.getDouble(i + 2);
+                }
+                groups.put(rs.getString(1), values);
+            }
+        }
+        return groups;
+    }
+
+    private static boolean matches(double[] summary, double[] actual) {
+        for (int i = 0; i < summary.length; i++) {
+            boolean sum = i == 2 || i == 6;
+            double allowed = sum ? SUM_TOLERANCE * Math.max(1, Math.abs(actual[i])) : 0;
+            if (!(Math.abs(summary[i] - actual[i]) <= allowed) && !Objects.equals(summary[i], actual[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String text(double[] values) {
+        return String.format("%.0f games, %.0f rated, rating sum %s (%s-%s), %.0f priced, price sum %s (%s-%s)",
+                values[0], values[1], values[2], values[3], values[4], values[5], values[6], values[7], values[8]);
+    }
+}
@@ -0,0 +1,270 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: TitleIndex
+ *
+ * Description:
+ * Finds games by part of their title as the user types. Titles are case folded (see fold) and indexed twice:
+ * a sorted map from folded title to ids answers prefix searches with one seek, and a trigram index (every
+ * three letter piece of every title) answers substring searches by intersecting the ids of the query's
+ * trigrams, so only titles that contain every piece are ever looked at.
+ * It is a GameStore.Listener, so it follows adds, removes and title changes made through GameStore.update;
+ * the GUI also uses one on its own over the rows it has loaded.
+ **/
+public class TitleIndex implements GameStore.Listener {
+
+    private final IntGameMap games = new IntGameMap();
+    private final TreeMap<String, IntSet> byTitle = new TreeMap<>();
+    private final HashMap<Long, IntSet> byTrigram = new HashMap<>();
+
+    /**
+     * of
+     * Purpose: Builds an index over a list of games, for example the rows of the GUI table.
+     * @param games games to index
+     * @return the new index
+     */
+    public static TitleIndex of(Collection<VideoGame> games) {
+        TitleIndex index = new TitleIndex();
+        for (VideoGame game : games) {
+            index.added(game);
+        }
+        return index;
+    }
+
+    /**
+     * fold
+     * Purpose: The form titles and queries are compared in. Compatibility characters are normalized (NFKC)
+     * and the text is upper cased then lower cased, so for example "Straße", "STRASSE" and "strasse" match.
+     * @param text title or query
+     * @return folded text
+     */
+    public static String fold(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        return normalized.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void added(VideoGame game) {
+        int id = game.getGameID();
+        VideoGame old = games.put(id, game);
+        if (old != null) {
+            unindex(id, old.getTitle());
+        }
+        String title = fold(game.getTitle());
+        byTitle.computeIfAbsent(title, k -> new IntSet()).add(id);
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            byTrigram.computeIfAbsent(trigram(title, i), k -> new IntSet()).add(id);
+        }
+    }
+
+    @Override
+    public void removed(VideoGame game) {
+        if (games.remove(game.getGameID()) != null) {
+            unindex(game.getGameID(), game.getTitle());
+        }
+    }
+
+    @Override
+    public void cleared() {
+        games.clear();
+        byTitle.clear();
+        byTrigram.clear();
+    }
+
+    private void unindex(int id, String rawTitle) {
+        String title = fold(rawTitle);
+        removeFrom(byTitle, title, id);
+        for (int i = 0; i + 3 <= title.length(); i++) {
+            removeFrom(byTrigram, trigram(title, i), id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, IntSet> index, K key, int id) {
+        IntSet ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     *
+     * @return number of games indexed
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * search
+     * Purpose: Titles that start with the query first, then titles that contain it elsewhere, each part in
+     * folded title order.
+     * @param query text typed by the user, any case
+     * @param limit most games to return
+     * @return matching games, empty for a blank query
+     */
+    public List<VideoGame> search(String query, int limit) {
+        String q = fold(query.trim());
+        List<VideoGame> found = new ArrayList<>();
+        if (q.isEmpty() || limit <= 0) {
+            return found;
+        }
+        IntSet seen = new IntSet();
+        addPrefixMatches(q, limit, found, seen);
+        if (found.size() < limit) {
+            addSubstringMatches(q, limit, found, seen);
+        }
+        return found;
+    }
+
+    /**
+     * searchPrefix
+     * @param prefix start of the title, any case
+     * @param limit most games to return
+     * @return games whose title starts with the prefix, in title order
+     */
+    public List<VideoGame> searchPrefix(String prefix, int limit) {
+        List<VideoGame> found = new ArrayList<>();
+        String q = fold(prefix.trim());
+        if (!q.isEmpty()) {
+            addPrefixMatches(q, limit, found, new IntSet());
+        }
+        return found;
+    }
+
+    /**
+     * searchSubstring
+     * @param text any part of the title, any case
+     * @param limit most games to return
+     * @return games whose title contains the text, in title order
+     */
+    public List<VideoGame> searchSubstring(String text, int limit) {
+        List<VideoGame> found = new ArrayList<>();
+        String q = fold(text.trim());
+        if (!q.isEmpty()) {
+            addSubstringMatches(q, limit, found, new IntSet());
+        }
+        return found;
+    }
+
+    private void addPrefixMatches(String q, int limit, List<VideoGame> found, IntSet seen) {
+        for (Map.Entry<String, IntSet> e : byTitle.tailMap(q, true).entrySet()) {
+            if (!e.getKey().startsWith(q)) {
+                break;
+            }
+            if (!addAll(e.getValue(), limit, found, seen)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * adds the titles containing q in folded title order, ties in id order, the same order as the prefix part.
+     * Shorter queries than a trigram walk the distinct titles, which are already in that order. Longer ones
+     * collect every match of the trigrams first, since the ids come out of the sets in hash order and the
+     * first matches found are not the first titles.
+     */
+    private void addSubstringMatches(String q, int limit, List<VideoGame> found, IntSet seen) {
+        if (q.length() < 3) {
+            for (Map.Entry<String, IntSet> e : byTitle.entrySet()) {
+                if (e.getKey().contains(q) && !addAll(e.getValue(), limit, found, seen)) {
+                    break;
+                }
+            }
+            return;
+        }
+        IntSet[] sets = new IntSet[q.length() - 2];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = byTrigram.get(trigram(q, i));
+            if (sets[i] == null) {
+                return;
+            }
+        }
+        // drive from the rarest trigram, the others only answer contains
+        Arrays.sort(sets, Comparator.comparingInt(IntSet::size));
+        TreeMap<String, IntSet> matches = new TreeMap<>();
+        sets[0].forEachWhile(id -> {
+            if (!seen.contains(id) && inAll(sets, id)) {
+                String title = fold(games.get(id).getTitle());
+                // every trigram is there, but not necessarily next to each other
+                if (title.contains(q)) {
+                    matches.computeIfAbsent(title, k -> new IntSet()).add(id);
+                }
+            }
+            return true;
+        });
+        for (IntSet ids : matches.values()) {
+            if (!addAll(ids, limit, found, seen)) {
+                break;
+            }
+        }
+    }
+
+    private static boolean inAll(IntSet[] sets, int id) {
+        for (int i = 1; i < sets.length; i++) {
+            if (!sets[i].contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * adds the games of one title in id order, false once the limit is reached
+     */
+    private boolean addAll(IntSet ids, int limit, List<VideoGame> found, IntSet seen) {
+        int[] sorted = ids.toArray();
+        Arrays.sort(sorted);
+        for (int id : sorted) {
+            if (found.size() >= limit) {
+                return false;
+            }
+            if (seen.add(id)) {
+                found.add(games.get(id));
+            }
+        }
+        return found.size() < limit;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * verify
+     * Purpose: Rebuilds the index from the games with a full scan and compares, for tests and debugging.
+     * @param expected every game that should be indexed
+     * @exception IllegalStateException if a title or trigram entry does not match
+     */
+    public void verify(Collection<VideoGame> expected) {
+        TitleIndex fresh = of(expected);
+        if (!fresh.byTitle.keySet().equals(byTitle.keySet())
+                || !fresh.byTrigram.keySet().equals(byTrigram.keySet())) {
+            throw new IllegalStateException("Title index keys are out of date");
+        }
+        for (Map.Entry<String, IntSet> e : fresh.byTitle.entrySet()) {
+            if (!e.getValue().toString().equals(byTitle.get(e.getKey()).toString())) {
+                throw new IllegalStateException("Title index is out of date for \"" + e.getKey() + "\"");
+            }
+        }
+        for (Map.Entry<Long, IntSet> e : fresh.byTrigram.entrySet()) {
+            if (!e.getValue().toString().equals(byTrigram.get(e.getKey()).toString())) {
+                throw new IllegalStateException("Trigram index is out of date");
+            }
+        }
+    }
+}
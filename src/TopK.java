@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: TopK
+ *
+ * Description:
+ * Finds the best k games overall or in each group (for example the 10 highest rated per genre, or the
+ * cheapest per release year) in one pass, without sorting everything. Each group keeps a heap of at most
+ * k games whose head is the worst of them, so a game that is not better than the head is dropped at once.
+ * Games that tie on the order column are ranked by id, lowest first, the same as VideoGameDAO.topKPerGroup.
+ **/
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * order
+     * @param orderBy column to rank by
+     * @param ascending true to rank the smallest values first, for example cheapest
+     * @return comparator that puts better games first, ties by lowest id
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Comparator<VideoGame> order(GameColumn orderBy, boolean ascending) {
+        Comparator<VideoGame> byValue = (a, b) -> ((Comparable) orderBy.valueOf(a)).compareTo(orderBy.valueOf(b));
+        if (!ascending) {
+            byValue = byValue.reversed();
+        }
+        return byValue.thenComparingInt(VideoGame::getGameID);
+    }
+
+    /**
+     * overall
+     * @param games games to rank
+     * @param orderBy column to rank by
+     * @param ascending true to rank the smallest values first
+     * @param k how many to keep
+     * @return the best k games, best first
+     */
+    public static List<VideoGame> overall(Iterable<VideoGame> games, GameColumn orderBy, boolean ascending, int k) {
+        checkK(k);
+        Comparator<VideoGame> order = order(orderBy, ascending);
+        PriorityQueue<VideoGame> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (VideoGame game : games) {
+            offer(heap, game, order, k);
+        }
+        return drain(heap, order);
+    }
+
+    /**
+     * perGroup
+     * @param games games to rank
+     * @param groupBy column whose values form the groups, for example GENRE or RELEASE_YEAR
+     * @param orderBy column to rank by
+     * @param ascending true to rank the smallest values first
+     * @param k how many to keep per group
+     * @return the best k games of every group, best first, groups in order of their value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Map<Object, List<VideoGame>> perGroup(Iterable<VideoGame> games, GameColumn groupBy,
+                                                        GameColumn orderBy, boolean ascending, int k) {
+        checkK(k);
+        Comparator<VideoGame> order = order(orderBy, ascending);
+        HashMap<Object, PriorityQueue<VideoGame>> heaps = new HashMap<>();
+        for (VideoGame game : games) {
+            PriorityQueue<VideoGame> heap = heaps.get(groupBy.valueOf(game));
+            if (heap == null) {
+                heap = new PriorityQueue<>(Math.min(k + 1, 64), order.reversed());
+                heaps.put(groupBy.valueOf(game), heap);
+            }
+            offer(heap, game, order, k);
+        }
+        TreeMap<Object, List<VideoGame>> result = new TreeMap<>((a, b) -> ((Comparable) a).compareTo(b));
+        for (Map.Entry<Object, PriorityQueue<VideoGame>> e : heaps.entrySet()) {
+            result.put(e.getKey(), drain(e.getValue(), order));
+        }
+        return result;
+    }
+
+    private static void offer(PriorityQueue<VideoGame> heap, VideoGame game, Comparator<VideoGame> order, int k) {
+        if (heap.size() < k) {
+            heap.add(game);
+        } else if (order.compare(game, heap.peek()) < 0) {
+            // better than the worst kept game, which makes room
+            heap.poll();
+            heap.add(game);
+        }
+    }
+
+    private static List<VideoGame> drain(PriorityQueue<VideoGame> heap, Comparator<VideoGame> order) {
+        List<VideoGame> best = new ArrayList<>(heap);
+        best.sort(order);
+        return best;
+    }
+
+    static void checkK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: TopKTracker
+ *
+ * Description:
+ * Keeps the best k games of every group up to date as games are added, changed and removed, so repeated
+ * top-k reads do not rescan the catalog. It is a GameStore.Listener made by GameStore.trackTopK.
+ * Each group holds a sorted set of its best 2k games; the spare k absorb removals from the top. Once a
+ * game has been left out, the set is always the group's best n games for some n, so a new game that ranks
+ * below all of them stays out even when there is room. Only when
+ * removals leave fewer than k games in a group that had more is that group rebuilt from the store, on the
+ * next read.
+ **/
+public class TopKTracker implements GameStore.Listener {
+
+    private final GameStore store;
+    private final GameColumn groupBy;
+    private final GameColumn orderBy;
+    private final boolean ascending;
+    private final Comparator<VideoGame> order;
+    private final int k;
+    private final int capacity;
+    private final HashMap<Object, Group> groups = new HashMap<>();
+    private long rebuilds;
+
+    /**
+     * the best games of one group, and whether any game of the group was left out
+     */
+    private final class Group {
+        final TreeSet<VideoGame> best = new TreeSet<>(order);
+        boolean partial;
+        boolean stale;
+
+        void offer(VideoGame game) {
+            if (partial && !best.isEmpty() && order.compare(game, best.last()) > 0) {
+                // games left out earlier may rank above this one, so it cannot join the set
+                return;
+            }
+            if (best.size() < capacity) {
+                best.add(game);
+            } else if (order.compare(game, best.last()) < 0) {
+                best.pollLast();
+                best.add(game);
+                partial = true;
+            } else {
+                partial = true;
+            }
+        }
+    }
+
+    TopKTracker(GameStore store, GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        TopK.checkK(k);
+        this.store = store;
+        this.groupBy = groupBy;
+        this.orderBy = orderBy;
+        this.ascending = ascending;
+        this.order = TopK.order(orderBy, ascending);
+        this.k = k;
+        this.capacity = 2 * k;
+    }
+
+    @Override
+    public void added(VideoGame game) {
+        Object key = groupBy.valueOf(game);
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group();
+            groups.put(key, group);
+        }
+        group.offer(game);
+    }
+
+    @Override
+    public void removed(VideoGame game) {
+        Object key = groupBy.valueOf(game);
+        Group group = groups.get(key);
+        if (group == null || !group.best.remove(game)) {
+            return;
+        }
+        if (group.best.size() < k && group.partial) {
+            // games left out earlier may now belong in the top k
+            group.stale = true;
+        } else if (group.best.isEmpty()) {
+            groups.remove(key);
+        }
+    }
+
+    @Override
+    public void cleared() {
+        groups.clear();
+    }
+
+    /**
+     * top
+     * @param groupValue value of the group column, for example "RPG" or 2001
+     * @return the best k games of the group, best first, empty if the group has no games
+     */
+    public List<VideoGame> top(Object groupValue) {
+        Group group = groups.get(groupBy.convert(groupValue));
+        if (group == null) {
+            return new ArrayList<>();
+        }
+        if (group.stale) {
+            rebuild();
+        }
+        return firstK(group);
+    }
+
+    /**
+     * all
+     * @return the best k games of every group, best first, groups in order of their value
+     */
+    public Map<Object, List<VideoGame>> all() {
+        for (Group group : groups.values()) {
+            if (group.stale) {
+                rebuild();
+                break;
+            }
+        }
+        List<Object> keys = new ArrayList<>(groups.keySet());
+        keys.sort(null);
+        Map<Object, List<VideoGame>> result = new LinkedHashMap<>();
+        for (Object key : keys) {
+            result.put(key, firstK(groups.get(key)));
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return number of times groups had to be rebuilt from the store
+     */
+    public long getRebuilds() {
+        return rebuilds;
+    }
+
+    private List<VideoGame> firstK(Group group) {
+        List<VideoGame> best = new ArrayList<>(k);
+        for (VideoGame game : group.best) {
+            if (best.size() == k) {
+                break;
+            }
+            best.add(game);
+        }
+        return best;
+    }
+
+    /**
+     * refills every stale group with one pass over the store
+     */
+    private void rebuild() {
+        rebuilds++;
+        Map<Object, Group> stale = new HashMap<>();
+        for (Map.Entry<Object, Group> e : groups.entrySet()) {
+            if (e.getValue().stale) {
+                stale.put(e.getKey(), new Group());
+            }
+        }
+        for (VideoGame game : store.values()) {
+            Group group = stale.get(groupBy.valueOf(game));
+            if (group != null) {
+                group.offer(game);
+            }
+        }
+        for (Map.Entry<Object, Group> e : stale.entrySet()) {
+            if (e.getValue().best.isEmpty()) {
+                groups.remove(e.getKey());
+            } else {
+                groups.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * verify
+     * Purpose: Compares every group with a fresh one-pass TopK, for tests and debugging.
+     * @param games every game in the store
+     * @exception IllegalStateException if a group differs
+     */
+    void verify(Collection<VideoGame> games) {
+        Map<Object, List<VideoGame>> expected = TopK.perGroup(games, groupBy, orderBy, ascending, k);
+        Map<Object, List<VideoGame>> actual = all();
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Top-k is out of date: expected " + expected + " but have " + actual);
+        }
+    }
+}
@@ -137,9 +137,9 @@ public class VideoGame {
 
     /**
      *
-     * @return
+     * @return the game's id as a primitive so map lookups never box it
      */
-    public Integer getGameID() {
+    public int getGameID() {
         return gameID;
     }
 }
@@ -1,6 +1,13 @@
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import org.sqlite.SQLiteConfig;
 
 /**
 *
@@ -14,27 +21,263 @@ import javafx.collections.ObservableList;
 * the data access logic from the business logic in the system, to help keep in line with the MVC architecture.
 * Taking the place and job of VideoGameManager when working with databases instead of hashmaps.
 *
+* The DAO is safe to share between threads: writes are serialized on the single writer connection and
+* queries run on a pool of read-only connections (see DatabaseConfig).
+*
+* Every call to the database is timed and counted in a MetricsRegistry as dao.connect, dao.getAllGames,
+* dao.get, dao.add, dao.update, dao.updatePartial, dao.delete, dao.average, dao.query, dao.count and dao.summary,
+* including the SQLExceptions that are turned into false, -1 or an empty result.
+* Connecting creates the videogames table if it is missing and brings its indexes up to date, see
+* SchemaManager, along with the genre and year summary tables its triggers keep; the average rating and the
+* get...Summary methods read those instead of every row (see SummaryTables).
+* With a trace capacity in DatabaseConfig, every statement is also recorded by an SqlTracer and slow ones
+* are logged with their query plan.
+*
 * */
 
 public class VideoGameDAO {
 
+    private static final String INSERT_SQL = "INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE videogames SET title=?, genre=?, releaseyear=?, price=?, rating=? WHERE gameid=?";
+    private static final String DELETE_SQL = "DELETE FROM videogames WHERE gameid=?";
+    private static final String SELECT_ALL_SQL = "SELECT * FROM videogames";
+    private static final String SELECT_BY_ID_SQL = "SELECT * FROM videogames WHERE gameid=?";
+    private static final String LAST_ID_SQL = "SELECT last_insert_rowid()";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM videogames";
+    // reads the per-genre totals the triggers keep (see SummaryTables), a few rows however big the table is;
+    // the count is only used for the rows scanned metric
+    // games without a rating are left out of the average like AVG(rating) leaves them out
+    private static final String AVERAGE_SQL = "SELECT TOTAL(rating_sum) / SUM(rating_count) AS avg, COUNT(*) AS n FROM genre_summary";
+    private static final String SUMMARY_COLUMNS = "game_count, rating_count, rating_sum, rating_min, rating_max, "
+            + "price_count, price_sum, price_min, price_max";
+    private static final String OVERALL_SUMMARY_SQL = "SELECT 'All games', SUM(game_count), SUM(rating_count), TOTAL(rating_sum), "
+            + "MIN(rating_min), MAX(rating_max), SUM(price_count), TOTAL(price_sum), MIN(price_min), MAX(price_max) FROM genre_summary";
+    private static final String GENRE_SUMMARY_SQL = "SELECT genre, " + SUMMARY_COLUMNS + " FROM genre_summary WHERE genre = ?";
+    private static final String YEAR_SUMMARY_SQL = "SELECT releaseyear, " + SUMMARY_COLUMNS + " FROM year_summary WHERE releaseyear = ?";
+    private static final String GENRE_SUMMARIES_SQL = "SELECT genre, " + SUMMARY_COLUMNS + " FROM genre_summary ORDER BY genre";
+    private static final String YEAR_SUMMARIES_SQL = "SELECT releaseyear, " + SUMMARY_COLUMNS + " FROM year_summary ORDER BY releaseyear";
+    private static final String DATA_VERSION_SQL = "PRAGMA data_version";
+    private static final String SEARCH_TITLE_SQL = "SELECT * FROM videogames WHERE title LIKE ? ESCAPE '\\'"
+            + " ORDER BY CASE WHEN title LIKE ? ESCAPE '\\' THEN 0 ELSE 1 END, title, gameid LIMIT ?";
+
+    // room for every statement shape, including the 32 column combinations of updateGamePartial
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // the writer connection, only used while holding this object's lock
     private Connection conn;
+    private volatile StatementCache statements;
+    // read-only connections for queries, null when reads go through the writer
+    private volatile ReadConnectionPool readers;
+    private int batchSize = 500;
+    // null unless tracing is on; every statement checks it once
+    private volatile SqlTracer tracer;
+
+    // a read-only connection that only answers dataVersion, so a cache checking for outside writes never
+    // waits for a write in progress; null for an in-memory database, which nothing else can change
+    private final Object versionLock = new Object();
+    private Connection versionConn;
+    private PreparedStatement versionStmt;
+    // the version connection's data_version right after this DAO's last write, -1 if unknown
+    private long ownWriteVersion = -1;
+    // data_version of the writer after its last write; it only moves for other connections' commits
+    private long writerVersion = -1;
+    private long lastVersion = -1;
+    private long outsideCommits;
+
+    private final OperationMetrics connectMetrics;
+    private final OperationMetrics getAllMetrics;
+    private final OperationMetrics getMetrics;
+    private final OperationMetrics addMetrics;
+    private final OperationMetrics updateMetrics;
+    private final OperationMetrics updatePartialMetrics;
+    private final OperationMetrics deleteMetrics;
+    private final OperationMetrics averageMetrics;
+    private final OperationMetrics queryMetrics;
+    private final OperationMetrics countMetrics;
+    private final OperationMetrics summaryMetrics;
+
+    /**
+     * Constructor that records into the shared, JMX-published metrics
+     */
+    public VideoGameDAO() {
+        this(MetricsRegistry.shared());
+    }
+
+    /**
+     * Constructor
+     * @param metrics where to record call counts, errors, rows and latencies
+     */
+    public VideoGameDAO(MetricsRegistry metrics) {
+        connectMetrics = metrics.operation("dao.connect");
+        getAllMetrics = metrics.operation("dao.getAllGames");
+        getMetrics = metrics.operation("dao.get");
+        addMetrics = metrics.operation("dao.add");
+        updateMetrics = metrics.operation("dao.update");
+        updatePartialMetrics = metrics.operation("dao.updatePartial");
+        deleteMetrics = metrics.operation("dao.delete");
+        averageMetrics = metrics.operation("dao.average");
+        queryMetrics = metrics.operation("dao.query");
+        countMetrics = metrics.operation("dao.count");
+        summaryMetrics = metrics.operation("dao.summary");
+    }
 
     /**
      * connectToDatabase
-     * Purpose: Connects to the SQLite database using the user-provided file path.
+     * Purpose: Connects to the SQLite database using the user-provided file path and default settings.
      * @param dbPath - File path entered by the user.
      * @return true if connection successful, false otherwise.
      */
     public boolean connectToDatabase(String dbPath) {
+        return connectToDatabase(dbPath, new DatabaseConfig());
+    }
+
+    /**
+     * connectToDatabase
+     * Purpose: Opens the database in WAL mode with one writer connection and a pool of read-only
+     * connections, so queries from several threads run in parallel and keep going during a write.
+     * Migrates the schema first, so the read connections only ever see the current one.
+     * @param dbPath - File path entered by the user.
+     * @param config - read pool size, busy timeout and synchronous level.
+     * @return true if connection successful, false otherwise.
+     */
+    public synchronized boolean connectToDatabase(String dbPath, DatabaseConfig config) {
+        close();
+        String url = "jdbc:sqlite:" + dbPath;
+        long start = connectMetrics.start();
         try {
-            conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+            SQLiteConfig sqlite = new SQLiteConfig();
+            sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+            sqlite.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(config.getSynchronous()));
+            sqlite.setBusyTimeout(config.getBusyTimeoutMillis());
+            conn = DriverManager.getConnection(url, sqlite.toProperties());
+            SchemaManager.migrate(conn);
+            statements = new StatementCache(conn, STATEMENT_CACHE_SIZE);
+            // the history of the previous file would be mixed in with this one's, so tracing starts over
+            tracer = config.getTraceCapacity() > 0
+                    ? new SqlTracer(config.getTraceCapacity(), config.getSlowQueryMillis()) : null;
+
+            // an in-memory database only exists on the connection that created it
+            boolean inMemory = dbPath.isBlank() || dbPath.startsWith(":memory:") || dbPath.contains("mode=memory");
+            if (config.getReadPoolSize() > 0 && !inMemory) {
+                readers = new ReadConnectionPool(url, config, STATEMENT_CACHE_SIZE);
+            }
+            if (!inMemory) {
+                openVersionConnection(url, config);
+            }
+            connectMetrics.success(start, 0, 0);
             return true;
         } catch (SQLException e) {
+            connectMetrics.failure(start, e);
+            close();
             return false;
         }
     }
 
+    /**
+     * close
+     * Purpose: Closes every cached statement and then the connections. Safe to call more than once.
+     */
+    public synchronized void close() {
+        synchronized (versionLock) {
+            if (versionConn != null) {
+                try {
+                    versionConn.close();
+                } catch (SQLException ignored) {
+                    // already closed
+                }
+                versionConn = null;
+                versionStmt = null;
+            }
+            ownWriteVersion = -1;
+            writerVersion = -1;
+            lastVersion = -1;
+        }
+        if (readers != null) {
+            readers.close();
+            readers = null;
+        }
+        if (statements != null) {
+            statements.close();
+            statements = null;
+        }
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // already closed
+            }
+            conn = null;
+        }
+    }
+
+    /**
+     * getStatementCacheHits
+     * @return number of statements reused from the cache since connecting, on the writer and every read
+     * connection
+     */
+    public long getStatementCacheHits() {
+        StatementCache writer = statements;
+        ReadConnectionPool pool = readers;
+        return (writer == null ? 0 : writer.getHits()) + (pool == null ? 0 : pool.getStatementCacheHits());
+    }
+
+    /**
+     * getStatementCacheMisses
+     * @return number of statements that had to be prepared since connecting, on the writer and every read
+     * connection
+     */
+    public long getStatementCacheMisses() {
+        StatementCache writer = statements;
+        ReadConnectionPool pool = readers;
+        return (writer == null ? 0 : writer.getMisses()) + (pool == null ? 0 : pool.getStatementCacheMisses());
+    }
+
+    /**
+     * analyze
+     * Purpose: Refreshes the query planner's statistics, for example after a large import.
+     * @return true if the statistics were written
+     */
+    public synchronized boolean analyze() {
+        if (conn == null) {
+            return false;
+        }
+        try {
+            SchemaManager.analyze(conn);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        } finally {
+            noteOwnWrite();
+        }
+    }
+
+    /**
+     * setTracer
+     * Purpose: Starts or stops SQL tracing while connected, for example from a debug menu. Connecting again
+     * replaces it with the tracer DatabaseConfig asks for, or none.
+     * @param tracer tracer to record every statement in, or null to stop tracing
+     */
+    public void setTracer(SqlTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * getTracer
+     * @return the tracer recording statements, or null when tracing is off
+     */
+    public SqlTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * dumpSqlTrace
+     * @return the most recent statements with their times and row counts, oldest first
+     */
+    public String dumpSqlTrace() {
+        SqlTracer current = tracer;
+        return current == null ? "SQL tracing is off\n" : current.dump();
+    }
+
     /**
      * getAllGames
      * Purpose: Returns all game records from the database.
@@ -42,29 +285,369 @@ public class VideoGameDAO {
      */
     public ObservableList<VideoGame> getAllGames() {
         ObservableList<VideoGame> list = FXCollections.observableArrayList();
-        String sql = "SELECT * FROM videogames";
-
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                list.add(new VideoGame(
-                        rs.getInt("gameid"),
-                        rs.getString("title"),
-                        rs.getString("genre"),
-                        rs.getInt("releaseyear"),
-                        rs.getDouble("price"),
-                        rs.getDouble("rating")
-                ));
-            }
 
+        long start = getAllMetrics.start();
+        try {
+            read(cache -> {
+                long traced = traceStart();
+                try (ResultSet rs = cache.prepare(SELECT_ALL_SQL).executeQuery()) {
+                    while (rs.next()) {
+                        list.add(readGame(rs));
+                    }
+                }
+                trace(cache, SELECT_ALL_SQL, traced, list.size());
+                return list;
+            });
+            getAllMetrics.success(start, list.size(), list.size());
         } catch (SQLException e) {
+            getAllMetrics.failure(start, e);
             e.printStackTrace();
         }
 
         return list;
     }
 
+    /**
+     * countGames
+     * Purpose: Counts the rows in the videogames table.
+     * @return number of games, or -1 if the query failed
+     */
+    public int countGames() {
+        try {
+            return read(cache -> {
+                long traced = traceStart();
+                try (ResultSet rs = cache.prepare(COUNT_SQL).executeQuery()) {
+                    int count = rs.getInt(1);
+                    trace(cache, COUNT_SQL, traced, 1);
+                    return count;
+                }
+            });
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * getGamesPage
+     * Purpose: Reads one page of games in the given order using keyset pagination: the page starts right
+     * after the row passed in, so the database seeks to it instead of skipping every row before it.
+     * Ties on the order column are broken by gameid so every row has exactly one place in the order.
+     * Rows with no value in the column come first when ascending and last when descending, as SQLite sorts them.
+     * @param column column to sort by
+     * @param ascending sort direction
+     * @param after last row of the previous page, or null for the first page
+     * @param limit most rows to return
+     * @return the rows of the page, empty if the query failed
+     */
+    public List<VideoGame> getGamesPage(GameColumn column, boolean ascending, VideoGame after, int limit) {
+        try {
+            return read(cache -> readAfter(cache, column, ascending, after, 0, limit));
+        } catch (SQLException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * getGameAt
+     * Purpose: Reads the row a number of rows after a known row of the given order. The database seeks to
+     * the known row and then steps over the rows in between, so the cost grows with offset, not with how
+     * far into the table the known row is. Used to find where a page starts when the user jumps ahead.
+     * @param column column to sort by
+     * @param ascending sort direction
+     * @param after a row to count from, or null to count from the start of the table
+     * @param offset rows to skip after it, 0 for the very next row
+     * @return the row, or null if there is none or the query failed
+     */
+    public VideoGame getGameAt(GameColumn column, boolean ascending, VideoGame after, int offset) {
+        try {
+            return read(cache -> {
+                List<VideoGame> rows = readAfter(cache, column, ascending, after, offset, 1);
+                return rows.isEmpty() ? null : rows.get(0);
+            });
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * query
+     * Purpose: Runs a GameQuery as one parameterized SELECT, so filtering, sorting, limit and offset happen in
+     * SQLite and only the selected columns of the wanted rows are read. Queries of the same shape share a
+     * cached prepared statement.
+     * @param query the query
+     * @return matching rows, fields that were not selected are 0 or null; empty if the query failed
+     */
+    public List<VideoGame> query(GameQuery query) {
+        String sql = query.toSql();
+        Set<GameColumn> columns = query.getColumns();
+        long start = queryMetrics.start();
+        try {
+            List<VideoGame> found = read(cache -> {
+                PreparedStatement stmt = cache.prepare(sql);
+                bind(stmt, query.getParameters(true));
+                long traced = traceStart();
+                List<VideoGame> rows = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(readSelected(rs, columns));
+                    }
+                }
+                trace(cache, sql, traced, rows.size());
+                return rows;
+            });
+            queryMetrics.success(start, 0, found.size());
+            return found;
+        } catch (SQLException e) {
+            queryMetrics.failure(start, e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * count
+     * Purpose: Counts the rows that meet a GameQuery's conditions; its order, limit and offset are ignored.
+     * @param query the query
+     * @return number of matching rows, -1 if the query failed
+     */
+    public int count(GameQuery query) {
+        String sql = query.toCountSql();
+        long start = countMetrics.start();
+        try {
+            int count = read(cache -> {
+                PreparedStatement stmt = cache.prepare(sql);
+                bind(stmt, query.getParameters(false));
+                long traced = traceStart();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    int matching = rs.next() ? rs.getInt(1) : 0;
+                    trace(cache, sql, traced, 1);
+                    return matching;
+                }
+            });
+            countMetrics.success(start, 0, 1);
+            return count;
+        } catch (SQLException e) {
+            countMetrics.failure(start, e);
+            return -1;
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            stmt.setObject(i + 1, values.get(i));
+        }
+    }
+
+    /**
+     * readSelected
+     * Purpose: Builds a VideoGame from a row that may hold only some of the columns.
+     * @param rs result set positioned on a row
+     * @param columns the columns the row holds, always including the id
+     * @return the game, with 0 or null for the columns that are not there
+     * @throws SQLException if a selected column is missing
+     */
+    private static VideoGame readSelected(ResultSet rs, Set<GameColumn> columns) throws SQLException {
+        return new VideoGame(
+                rs.getInt("gameid"),
+                columns.contains(GameColumn.TITLE) ? rs.getString("title") : null,
+                columns.contains(GameColumn.GENRE) ? rs.getString("genre") : null,
+                columns.contains(GameColumn.RELEASE_YEAR) ? rs.getInt("releaseyear") : 0,
+                columns.contains(GameColumn.PRICE) ? rs.getDouble("price") : 0,
+                columns.contains(GameColumn.RATING) ? rs.getDouble("rating") : 0
+        );
+    }
+
+    /**
+     * topKPerGroup
+     * Purpose: Reads the best k rows of every group with one window-function query, so only those rows leave
+     * the database: ROW_NUMBER() numbers the rows of each group in rank order and the outer query keeps
+     * numbers up to k. Ties are ranked by lowest gameid, as in TopK.
+     * The window only reads gameid and the two columns, and the winners are joined back for their other
+     * columns, so an index on (group, order, gameid) lets SQLite rank from the index alone.
+     * @param groupBy column whose values form the groups
+     * @param orderBy column to rank by
+     * @param ascending true for the smallest values first
+     * @param k how many rows per group
+     * @return best rows per group, best first, groups in order of their value; empty if the query failed
+     */
+    public Map<Object, List<VideoGame>> topKPerGroup(GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        String group = groupBy.getSqlName();
+        String sql = "SELECT v.* FROM (SELECT gameid, " + group + " AS grp, ROW_NUMBER() OVER (PARTITION BY " + group
+                + " ORDER BY " + orderBy.getSqlName() + (ascending ? "" : " DESC") + ", gameid) AS rank"
+                + " FROM videogames) r JOIN videogames v ON v.gameid = r.gameid"
+                + " WHERE r.rank <= ? ORDER BY r.grp, r.rank";
+        try {
+            return read(cache -> {
+                PreparedStatement stmt = cache.prepare(sql);
+                stmt.setInt(1, k);
+                long traced = traceStart();
+                int rows = 0;
+                Map<Object, List<VideoGame>> groups = new LinkedHashMap<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        VideoGame game = readGame(rs);
+                        groups.computeIfAbsent(groupBy.valueOf(game), g -> new ArrayList<>()).add(game);
+                        rows++;
+                    }
+                }
+                trace(cache, sql, traced, rows);
+                return groups;
+            });
+        } catch (SQLException e) {
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * searchTitles
+     * Purpose: Finds games whose title contains the text, titles that start with it first. Used by the GUI for
+     * tables too large to index in memory; SQLite's LIKE only ignores case for ASCII letters.
+     * @param text part of a title, % and _ are matched literally
+     * @param limit most rows to return
+     * @return matching rows, empty if the query failed
+     */
+    public List<VideoGame> searchTitles(String text, int limit) {
+        String escaped = text.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        try {
+            return read(cache -> {
+                PreparedStatement stmt = cache.prepare(SEARCH_TITLE_SQL);
+                stmt.setString(1, "%" + escaped + "%");
+                stmt.setString(2, escaped + "%");
+                stmt.setInt(3, limit);
+                long traced = traceStart();
+                List<VideoGame> rows = readGames(stmt);
+                trace(cache, SEARCH_TITLE_SQL, traced, rows.size());
+                return rows;
+            });
+        } catch (SQLException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * readAfter
+     * Purpose: Reads the rows of an order that come after a known row, skipping offset of them. A row value
+     * comparison such as (price, gameid) > (?, ?) is NULL for a row without a price, so the rows with NULL
+     * in the column, which SQLite sorts first when ascending and last when descending, are read with their
+     * own IS NULL condition. A read that runs from one part of the order into the other takes two queries,
+     * each a seek on the column's index.
+     * @param after a row to count from, or null for the start of the table
+     * @return up to limit rows, in order
+     */
+    private List<VideoGame> readAfter(StatementCache cache, GameColumn column, boolean ascending, VideoGame after,
+                                      int offset, int limit) throws SQLException {
+        String col = column.getSqlName();
+        String op = ascending ? " > " : " < ";
+        String where;
+        Object[] params;
+        String rest = null;
+        if (after == null) {
+            where = "";
+            params = new Object[0];
+        } else if (column == GameColumn.ID) {
+            where = " WHERE gameid" + op + "?";
+            params = new Object[] {after.getGameID()};
+        } else if (isNull(cache, column, after)) {
+            where = " WHERE " + col + " IS NULL AND gameid" + op + "?";
+            params = new Object[] {after.getGameID()};
+            rest = ascending ? " WHERE " + col + " IS NOT NULL" : null;
+        } else {
+            where = " WHERE (" + col + ", gameid)" + op + "(?, ?)";
+            params = new Object[] {column.valueOf(after), after.getGameID()};
+            rest = ascending ? null : " WHERE " + col + " IS NULL";
+        }
+
+        List<VideoGame> rows = readPart(cache, where + orderBy(column, ascending), params, offset, limit);
+        if (rest != null && rows.size() < limit) {
+            // rows found means the offset ended inside the first part; otherwise skip what is left of it
+            int skip = rows.isEmpty() && offset > 0 ? offset - countPart(cache, where, params) : 0;
+            rows.addAll(readPart(cache, rest + orderBy(column, ascending), new Object[0], skip, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    /**
+     * a NULL number reads back as 0, so a row whose value is 0 is looked up to tell the two apart
+     */
+    private boolean isNull(StatementCache cache, GameColumn column, VideoGame game) throws SQLException {
+        Object value = column.valueOf(game);
+        if (value == null) {
+            return true;
+        }
+        if (column.isText() || ((Number) value).doubleValue() != 0) {
+            return false;
+        }
+        PreparedStatement stmt = cache.prepare("SELECT " + column.getSqlName() + " IS NULL FROM videogames WHERE gameid = ?");
+        stmt.setInt(1, game.getGameID());
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private List<VideoGame> readPart(StatementCache cache, String whereAndOrder, Object[] params, int offset,
+                                     int limit) throws SQLException {
+        String sql = "SELECT * FROM videogames" + whereAndOrder + " LIMIT ? OFFSET ?";
+        PreparedStatement stmt = cache.prepare(sql);
+        int index = 1;
+        for (Object param : params) {
+            stmt.setObject(index++, param);
+        }
+        stmt.setInt(index++, limit);
+        stmt.setInt(index, offset);
+        long traced = traceStart();
+        List<VideoGame> rows = readGames(stmt);
+        trace(cache, sql, traced, rows.size());
+        return rows;
+    }
+
+    private int countPart(StatementCache cache, String where, Object[] params) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM videogames" + where;
+        PreparedStatement stmt = cache.prepare(sql);
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+        long traced = traceStart();
+        try (ResultSet rs = stmt.executeQuery()) {
+            trace(cache, sql, traced, 1);
+            return rs.getInt(1);
+        }
+    }
+
+    private static String orderBy(GameColumn column, boolean ascending) {
+        String dir = ascending ? "" : " DESC";
+        if (column == GameColumn.ID) {
+            return " ORDER BY gameid" + dir;
+        }
+        return " ORDER BY " + column.getSqlName() + dir + ", gameid" + dir;
+    }
+
+    private static List<VideoGame> readGames(PreparedStatement stmt) throws SQLException {
+        List<VideoGame> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(readGame(rs));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * readGame
+     * Purpose: Builds a VideoGame from the current row of a result set.
+     * @param rs result set positioned on a row of the videogames table
+     * @return the game in that row
+     * @throws SQLException if a column is missing
+     */
+    private static VideoGame readGame(ResultSet rs) throws SQLException {
+        return new VideoGame(
+                rs.getInt("gameid"),
+                rs.getString("title"),
+                rs.getString("genre"),
+                rs.getInt("releaseyear"),
+                rs.getDouble("price"),
+                rs.getDouble("rating")
+        );
+    }
+
     /**
      * addGame
      * Inserts a new video game into the database.
@@ -77,18 +660,71 @@ public class VideoGameDAO {
      * @return true or false
      */
     public boolean addGame(String title, String genre, int year, double price, double rating) {
-        String sql = "INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES (?, ?, ?, ?, ?)";
+        return insertGame(title, genre, year, price, rating) > 0;
+    }
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * insertGame
+     * Purpose: Inserts a new video game and returns the gameid the database gave it,
+     * so callers can show the new row without reloading the table.
+     * @param title
+     * @param genre
+     * @param year
+     * @param price
+     * @param rating
+     * @return the new gameid, or -1 if the insert failed
+     */
+    public synchronized int insertGame(String title, String genre, int year, double price, double rating) {
+        long start = addMetrics.start();
+        try {
+            PreparedStatement stmt = statements.prepare(INSERT_SQL);
             stmt.setString(1, title);
             stmt.setString(2, genre);
             stmt.setInt(3, year);
             stmt.setDouble(4, price);
             stmt.setDouble(5, rating);
-            stmt.executeUpdate();
-            return true;
+            long traced = traceStart();
+            int count = stmt.executeUpdate();
+            trace(statements, INSERT_SQL, traced, count);
+            int id;
+            try (ResultSet rs = statements.prepare(LAST_ID_SQL).executeQuery()) {
+                id = rs.getInt(1);
+            }
+            addMetrics.success(start, 0, count);
+            return id;
         } catch (SQLException e) {
-            return false;
+            addMetrics.failure(start, e);
+            return -1;
+        } finally {
+            noteOwnWrite();
+        }
+    }
+
+    /**
+     * getGame
+     * Purpose: Reads one game by its id.
+     * @param id gameid to look up
+     * @return the game, or null if there is no such id or the query failed
+     */
+    public VideoGame getGame(int id) {
+        long start = getMetrics.start();
+        try {
+            VideoGame game = read(cache -> {
+                PreparedStatement stmt = cache.prepare(SELECT_BY_ID_SQL);
+                stmt.setInt(1, id);
+                long traced = traceStart();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    VideoGame row = rs.next() ? readGame(rs) : null;
+                    trace(cache, SELECT_BY_ID_SQL, traced, row == null ? 0 : 1);
+                    return row;
+                }
+            });
+            int rows = game == null ? 0 : 1;
+            getMetrics.success(start, rows, rows);
+            return game;
+        } catch (SQLException e) {
+            getMetrics.failure(start, e);
+            return null;
         }
     }
 
@@ -102,10 +738,10 @@ public class VideoGameDAO {
      * @param rating
      * @return true or false
      */
-    public boolean updateGame(int id, String title, String genre, int year, double price, double rating) {
-        String sql = "UPDATE videogames SET title=?, genre=?, releaseyear=?, price=?, rating=? WHERE gameid=?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+    public synchronized boolean updateGame(int id, String title, String genre, int year, double price, double rating) {
+        long start = updateMetrics.start();
+        try {
+            PreparedStatement stmt = statements.prepare(UPDATE_SQL);
 
             stmt.setString(1, title);
             stmt.setString(2, genre);
@@ -113,11 +749,17 @@ public class VideoGameDAO {
             stmt.setDouble(4, price);
             stmt.setDouble(5, rating);
             stmt.setInt(6, id);
-            stmt.executeUpdate();
+            long traced = traceStart();
+            int count = stmt.executeUpdate();
+            trace(statements, UPDATE_SQL, traced, count);
+            updateMetrics.success(start, count, count);
             return true;
 
         } catch (SQLException e) {
+            updateMetrics.failure(start, e);
             return false;
+        } finally {
+            noteOwnWrite();
         }
     }
 
@@ -132,9 +774,10 @@ public class VideoGameDAO {
      * @param rating - new rating OR negative to skip
      * @return true if update successful, false otherwise
      */
-    public boolean updateGamePartial(int id, String title, String genre,
+    public synchronized boolean updateGamePartial(int id, String title, String genre,
                                      Integer year, Double price, Double rating) {
 
+        long start = updatePartialMetrics.start();
         try {
             // Build SQL dynamically based on which fields are valid
             StringBuilder sql = new StringBuilder("UPDATE videogames SET ");
@@ -166,7 +809,8 @@ public class VideoGameDAO {
 
             sql.append(" WHERE gameid=?");
 
-            PreparedStatement stmt = conn.prepareStatement(sql.toString());
+            String text = sql.toString();
+            PreparedStatement stmt = statements.prepare(text);
 
             // Fill in parameters in correct order
             int index = 1;
@@ -179,11 +823,17 @@ public class VideoGameDAO {
 
             stmt.setInt(index, id);
 
-            stmt.executeUpdate();
+            long traced = traceStart();
+            int count = stmt.executeUpdate();
+            trace(statements, text, traced, count);
+            updatePartialMetrics.success(start, count, count);
             return true;
 
         } catch (SQLException e) {
+            updatePartialMetrics.failure(start, e);
             return false;
+        } finally {
+            noteOwnWrite();
         }
     }
 
@@ -192,33 +842,493 @@ public class VideoGameDAO {
      * @param id
      * @return true or false
      */
-    public boolean deleteGame(int id) {
-        String sql = "DELETE FROM videogames WHERE gameid=?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+    public synchronized boolean deleteGame(int id) {
+        long start = deleteMetrics.start();
+        try {
+            PreparedStatement stmt = statements.prepare(DELETE_SQL);
             stmt.setInt(1, id);
-            stmt.executeUpdate();
+            long traced = traceStart();
+            int count = stmt.executeUpdate();
+            trace(statements, DELETE_SQL, traced, count);
+            deleteMetrics.success(start, count, count);
             return true;
         } catch (SQLException e) {
+            deleteMetrics.failure(start, e);
             return false;
+        } finally {
+            noteOwnWrite();
+        }
+    }
+
+    /**
+     * setBatchSize
+     * Purpose: Sets how many rows the bulk methods send to SQLite in one JDBC batch.
+     * @param batchSize rows per batch, at least 1
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * getBatchSize
+     * @return rows per JDBC batch used by the bulk methods
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * addGames
+     * Purpose: Inserts many games in one transaction using JDBC batches. The gameID of each
+     * game is ignored and assigned by the database like in addGame.
+     * @param games games to insert
+     * @return generated ids in input order plus any rows that failed
+     */
+    public BulkResult addGames(Collection<VideoGame> games) {
+        return runBulk(INSERT_SQL, new ArrayList<>(games), true, null, (stmt, g) -> {
+            stmt.setString(1, g.getTitle());
+            stmt.setString(2, g.getGenre());
+            stmt.setInt(3, g.getReleaseYear());
+            stmt.setDouble(4, g.getPrice());
+            stmt.setDouble(5, g.getRating());
+        });
+    }
+
+    /**
+     * updateGames
+     * Purpose: Updates many games by their gameID in one transaction using JDBC batches.
+     * @param games games holding the new values
+     * @return rows written plus any rows that failed or had no matching id
+     */
+    public BulkResult updateGames(Collection<VideoGame> games) {
+        return runBulk(UPDATE_SQL, new ArrayList<>(games), false, "No game with that ID", (stmt, g) -> {
+            stmt.setString(1, g.getTitle());
+            stmt.setString(2, g.getGenre());
+            stmt.setInt(3, g.getReleaseYear());
+            stmt.setDouble(4, g.getPrice());
+            stmt.setDouble(5, g.getRating());
+            stmt.setInt(6, g.getGameID());
+        });
+    }
+
+    /**
+     * deleteGames
+     * Purpose: Deletes many games by id in one transaction using JDBC batches.
+     * @param ids ids of the games to delete
+     * @return rows deleted plus any ids that failed or did not exist
+     */
+    public BulkResult deleteGames(Collection<Integer> ids) {
+        return runBulk(DELETE_SQL, new ArrayList<>(ids), false, "No game with that ID",
+                (stmt, id) -> stmt.setInt(1, id));
+    }
+
+    /**
+     * Sets the parameters of the statement for one row.
+     */
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /**
+     * runBulk
+     * Purpose: Runs one statement for every row inside a single transaction, batchSize rows at a time.
+     * Each batch runs inside a savepoint. If a batch fails it is rolled back to the savepoint and
+     * replayed one row at a time so only the bad rows are reported and the rest are still written.
+     * @param missingMessage failure message for rows that changed nothing, or null to accept them
+     */
+    private synchronized <T> BulkResult runBulk(String sql, List<T> rows, boolean inserts, String missingMessage, RowBinder<T> binder) {
+        BulkResult result = new BulkResult(rows.size(), inserts);
+        if (rows.isEmpty()) {
+            return result;
+        }
+
+        try {
+            conn.setAutoCommit(false);
+            PreparedStatement stmt = statements.prepare(sql);
+            try (Statement control = conn.createStatement()) {
+
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    int to = Math.min(rows.size(), from + batchSize);
+                    control.execute("SAVEPOINT bulk_batch");
+                    try {
+                        for (int i = from; i < to; i++) {
+                            binder.bind(stmt, rows.get(i));
+                            stmt.addBatch();
+                        }
+                        long traced = traceStart();
+                        int[] counts = stmt.executeBatch();
+                        trace(statements, sql, to - from, traced, changed(counts));
+                        // rowids of inserts in one transaction on one connection are consecutive
+                        int lastId = inserts ? lastInsertId(control) : 0;
+                        control.execute("RELEASE bulk_batch");
+                        for (int i = from; i < to; i++) {
+                            record(result, i, counts[i - from], lastId - (to - 1 - i), inserts, missingMessage);
+                        }
+                    } catch (SQLException batchError) {
+                        stmt.clearBatch();
+                        control.execute("ROLLBACK TO bulk_batch");
+                        control.execute("RELEASE bulk_batch");
+                        for (int i = from; i < to; i++) {
+                            try {
+                                binder.bind(stmt, rows.get(i));
+                                long traced = traceStart();
+                                int count = stmt.executeUpdate();
+                                trace(statements, sql, traced, count);
+                                record(result, i, count, inserts ? lastInsertId(control) : 0, inserts, missingMessage);
+                            } catch (SQLException rowError) {
+                                result.fail(i, rowError.getMessage());
+                            }
+                        }
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            try {
+                conn.rollback();
+            } catch (SQLException ignored) {
+                // the transaction is already gone
+            }
+            result.failAll(rows.size(), e.getMessage());
+        } finally {
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // connection is closed
+            }
+            noteOwnWrite();
+        }
+        return result;
+    }
+
+    private static void record(BulkResult result, int index, int count, int id, boolean inserts, String missingMessage) {
+        if (count == 0 && missingMessage != null) {
+            result.fail(index, missingMessage);
+        } else if (inserts) {
+            result.success(index, id);
+        } else {
+            result.success();
+        }
+    }
+
+    private static long changed(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            // SUCCESS_NO_INFO is negative and means an unknown count
+            total += Math.max(0, count);
+        }
+        return total;
+    }
+
+    /**
+     * traceStart
+     * @return the time a traced statement starts, or 0 when tracing is off so untraced calls skip the clock
+     */
+    private long traceStart() {
+        return tracer == null ? 0 : System.nanoTime();
+    }
+
+    private void trace(StatementCache cache, String sql, long start, long rows) {
+        trace(cache, sql, 1, start, rows);
+    }
+
+    /**
+     * trace
+     * Purpose: Hands a finished statement to the tracer, if tracing was on when it started.
+     * @param cache statement cache of the connection the statement ran on
+     * @param sql statement text
+     * @param executions 1, or the rows of a JDBC batch
+     * @param start value from traceStart
+     * @param rows rows returned or changed
+     */
+    private void trace(StatementCache cache, String sql, int executions, long start, long rows) {
+        SqlTracer current = tracer;
+        if (current != null && start != 0) {
+            current.record(cache.getConnection(), sql, executions, System.nanoTime() - start, rows);
+        }
+    }
+
+    private static int lastInsertId(Statement control) throws SQLException {
+        try (ResultSet rs = control.executeQuery(LAST_ID_SQL)) {
+            return rs.getInt(1);
         }
     }
 
     /**
      * calculateAverageRating
-     * performs caluclations for average in the database
+     * performs caluclations for average in the database, from the genre totals instead of every row
      * @return a decimal point value
      */
     public double calculateAverageRating() {
-        String sql = "SELECT AVG(rating) AS avg FROM videogames";
+        long start = averageMetrics.start();
+        try {
+            return read(cache -> {
+                long traced = traceStart();
+                try (ResultSet rs = cache.prepare(AVERAGE_SQL).executeQuery()) {
+                    double average = rs.getDouble("avg");
+                    trace(cache, AVERAGE_SQL, traced, 1);
+                    averageMetrics.success(start, rs.getLong("n"), 1);
+                    return average;
+                }
+            });
+        } catch (SQLException e) {
+            averageMetrics.failure(start, e);
+            return -1;
+        }
+    }
 
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    /**
+     * getOverallSummary
+     * Purpose: Count, averages and ranges of rating and price over every game, added up from the genre
+     * summary rows.
+     * @return the stats, with a count of 0 when there are no games; null if the query failed
+     */
+    public GameStats getOverallSummary() {
+        List<GameStats> rows = readSummaries(OVERALL_SUMMARY_SQL, null);
+        return rows == null ? null : rows.get(0);
+    }
 
-            return rs.getDouble("avg");
+    /**
+     * getGenreSummary
+     * Purpose: Reads one row of genre_summary, a single primary key lookup.
+     * @param genre genre exactly as stored
+     * @return the genre's stats, or null if no game has it or the query failed
+     */
+    public GameStats getGenreSummary(String genre) {
+        List<GameStats> rows = readSummaries(GENRE_SUMMARY_SQL, genre);
+        return rows == null || rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * getYearSummary
+     * Purpose: Reads one row of year_summary, a single primary key lookup.
+     * @param year release year
+     * @return the year's stats, or null if no game came out that year or the query failed
+     */
+    public GameStats getYearSummary(int year) {
+        List<GameStats> rows = readSummaries(YEAR_SUMMARY_SQL, year);
+        return rows == null || rows.isEmpty() ? null : rows.get(0);
+    }
 
+    /**
+     * getGenreSummaries
+     * @return stats of every genre in genre order, empty if the query failed
+     */
+    public Map<String, GameStats> getGenreSummaries() {
+        Map<String, GameStats> genres = new LinkedHashMap<>();
+        List<GameStats> rows = readSummaries(GENRE_SUMMARIES_SQL, null);
+        if (rows != null) {
+            for (GameStats stats : rows) {
+                genres.put(stats.getName(), stats);
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * getYearSummaries
+     * @return stats of every release year, oldest first, empty if the query failed
+     */
+    public Map<Integer, GameStats> getYearSummaries() {
+        Map<Integer, GameStats> years = new LinkedHashMap<>();
+        List<GameStats> rows = readSummaries(YEAR_SUMMARIES_SQL, null);
+        if (rows != null) {
+            for (GameStats stats : rows) {
+                years.put(Integer.valueOf(stats.getName()), stats);
+            }
+        }
+        return years;
+    }
+
+    /**
+     * rebuildSummaries
+     * Purpose: Recomputes genre_summary and year_summary from every row, for example after rows were
+     * loaded by a tool that bypassed the triggers. Writes wait until it is done.
+     * @return true if the tables were rebuilt
+     */
+    public synchronized boolean rebuildSummaries() {
+        if (conn == null) {
+            return false;
+        }
+        try {
+            SummaryTables.rebuild(conn);
+            return true;
         } catch (SQLException e) {
-            return -1;
+            return false;
+        } finally {
+            noteOwnWrite();
+        }
+    }
+
+    /**
+     * verifySummaries
+     * Purpose: Compares the summary tables with totals computed from every row. This scans the table, so it
+     * is meant for a maintenance command, not for every read.
+     * @return one line per group that differs; empty if the summaries are right, or the reason the check failed
+     */
+    public List<String> verifySummaries() {
+        try {
+            return read(cache -> SummaryTables.verify(cache.getConnection()));
+        } catch (SQLException e) {
+            List<String> failed = new ArrayList<>();
+            failed.add("Could not verify the summary tables: " + e.getMessage());
+            return failed;
+        }
+    }
+
+    /**
+     * readSummaries
+     * Purpose: Runs a query over a summary table and turns each row into GameStats named by its first column.
+     * @param key value for the one ? of the query, or null if it has none
+     * @return the rows, or null if the query failed
+     */
+    private List<GameStats> readSummaries(String sql, Object key) {
+        long start = summaryMetrics.start();
+        try {
+            List<GameStats> rows = read(cache -> {
+                PreparedStatement stmt = cache.prepare(sql);
+                if (key != null) {
+                    stmt.setObject(1, key);
+                }
+                long traced = traceStart();
+                List<GameStats> found = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(new GameStats(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getDouble(4), number(rs, 5),
+                                number(rs, 6), rs.getInt(7), rs.getDouble(8), number(rs, 9), number(rs, 10)));
+                    }
+                }
+                trace(cache, sql, traced, found.size());
+                return found;
+            });
+            summaryMetrics.success(start, rows.size(), rows.size());
+            return rows;
+        } catch (SQLException e) {
+            summaryMetrics.failure(start, e);
+            return null;
+        }
+    }
+
+    /**
+     * a REAL column as a double, NaN when it is NULL like the min and max of an empty group
+     */
+    private static double number(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    /**
+     * dataVersion
+     * Purpose: A number that changes whenever another connection or process commits to the file, but not
+     * for this DAO's own writes, so a cache can tell when rows changed behind its back. It is read on a
+     * connection of its own and never waits for a write in progress. An outside commit may now and then be
+     * counted twice, which only makes a cache drop its contents once more than needed.
+     * @return the current data version
+     * @throws SQLException if the DAO is not connected
+     */
+    long dataVersion() throws SQLException {
+        synchronized (versionLock) {
+            if (versionStmt == null) {
+                if (statements == null) {
+                    throw new SQLException("Not connected to a database");
+                }
+                return outsideCommits;
+            }
+            long version = queryVersion(versionStmt);
+            if (version != lastVersion) {
+                // the version connection also sees this DAO's commits; only a state past the last own
+                // write is someone else's
+                if (lastVersion != -1 && version != ownWriteVersion) {
+                    outsideCommits++;
+                }
+                lastVersion = version;
+            }
+            return outsideCommits;
+        }
+    }
+
+    private void openVersionConnection(String url, DatabaseConfig config) throws SQLException {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setReadOnly(true);
+        sqlite.setBusyTimeout(config.getBusyTimeoutMillis());
+        synchronized (versionLock) {
+            versionConn = DriverManager.getConnection(url, sqlite.toProperties());
+            versionStmt = versionConn.prepareStatement(DATA_VERSION_SQL);
+            try (ResultSet rs = statements.prepare(DATA_VERSION_SQL).executeQuery()) {
+                writerVersion = rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * noteOwnWrite
+     * Purpose: Called at the end of every write while holding the writer lock. Remembers where the write
+     * left the version connection, so dataVersion does not report it, and counts outside commits the
+     * writer noticed since its previous write, which that position would otherwise hide.
+     */
+    private void noteOwnWrite() {
+        synchronized (versionLock) {
+            if (versionStmt == null || statements == null) {
+                return;
+            }
+            try {
+                // version connection first: a commit between the two reads is then seen by one of them
+                long own = queryVersion(versionStmt);
+                long writer;
+                try (ResultSet rs = statements.prepare(DATA_VERSION_SQL).executeQuery()) {
+                    writer = rs.getLong(1);
+                }
+                if (writer != writerVersion) {
+                    outsideCommits++;
+                    writerVersion = writer;
+                }
+                ownWriteVersion = own;
+            } catch (SQLException e) {
+                // unknown, so the next change counts as an outside one
+                ownWriteVersion = -1;
+            }
+        }
+    }
+
+    private static long queryVersion(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * A query run on one borrowed connection.
+     */
+    private interface Query<T> {
+        T run(StatementCache cache) throws SQLException;
+    }
+
+    /**
+     * read
+     * Purpose: Runs a query on a pooled read-only connection, or on the writer connection
+     * when there is no pool.
+     * @param query work to do with the borrowed connection's statement cache
+     * @return what the query returned
+     * @throws SQLException if the query fails or the DAO is not connected
+     */
+    private <T> T read(Query<T> query) throws SQLException {
+        ReadConnectionPool pool = readers;
+        if (pool == null) {
+            synchronized (this) {
+                if (statements == null) {
+                    throw new SQLException("Not connected to a database");
+                }
+                return query.run(statements);
+            }
+        }
+        StatementCache cache = pool.borrow();
+        try {
+            return query.run(cache);
+        } finally {
+            pool.release(cache);
         }
     }
 }
@@ -1,9 +1,14 @@
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * Marvin Philippe
@@ -18,10 +23,51 @@ import java.util.Scanner;
  * This class manages the collection of VideoGame objects in memory for the project.
  * It implements all CRUD operations (Create, Read, Update, Delete) and one custom feature:
  * calculating the average rating of all games. It also handles file reading and
+ * times the store work of every operation, never the prompts, in a MetricsRegistry as manager.add,
+ * manager.remove, manager.update, manager.import, manager.average, manager.find, manager.query,
+ * manager.count, manager.topK and manager.search
 * */
 
 public class VideoGameManager {
-    Map<Integer, VideoGame> videogames = new HashMap<>();
+    // files at least this big are parsed on all cores by addGame2
+    private static final long PARALLEL_IMPORT_THRESHOLD = 32L << 20;
+
+    GameStore videogames = new GameStore();
+    MutationJournal journal; // null unless a data directory is open
+
+    private final OperationMetrics addMetrics;
+    private final OperationMetrics removeMetrics;
+    private final OperationMetrics updateMetrics;
+    private final OperationMetrics importMetrics;
+    private final OperationMetrics averageMetrics;
+    private final OperationMetrics findMetrics;
+    private final OperationMetrics queryMetrics;
+    private final OperationMetrics countMetrics;
+    private final OperationMetrics topKMetrics;
+    private final OperationMetrics searchMetrics;
+
+    /**
+     * records into the shared, JMX-published metrics
+     */
+    public VideoGameManager() {
+        this(MetricsRegistry.shared());
+    }
+
+    /**
+     * @param metrics where to record call counts, rows and latencies
+     */
+    public VideoGameManager(MetricsRegistry metrics) {
+        addMetrics = metrics.operation("manager.add");
+        removeMetrics = metrics.operation("manager.remove");
+        updateMetrics = metrics.operation("manager.update");
+        importMetrics = metrics.operation("manager.import");
+        averageMetrics = metrics.operation("manager.average");
+        findMetrics = metrics.operation("manager.find");
+        queryMetrics = metrics.operation("manager.query");
+        countMetrics = metrics.operation("manager.count");
+        topKMetrics = metrics.operation("manager.topK");
+        searchMetrics = metrics.operation("manager.search");
+    }
 
 
     /**
@@ -92,7 +138,9 @@ public class VideoGameManager {
 
 
                 VideoGame entry = new VideoGame(gameID, gameName, gameGenre, gameReleaseYear, gamePrice, gameRating);
+                long start = addMetrics.start();
                 videogames.put(gameID, entry);
+                addMetrics.success(start, 0, 1);
 
                 return "Game added successfully\n";
 
@@ -138,7 +186,9 @@ public class VideoGameManager {
                 String confirm = scn.nextLine().trim().toLowerCase();
 
                 if (confirm.equals("yes")) {
+                    long start = removeMetrics.start();
                     videogames.remove(gameID);
+                    removeMetrics.success(start, 0, 1);
                     return "Game removed successfully\n";
                 }else{
                     return "Deletion cancelled.\n";
@@ -197,7 +247,7 @@ public class VideoGameManager {
                         System.out.print("Enter new Title: ");
                         String newTitle = scn.nextLine().trim();
                         if (!newTitle.isBlank()) {
-                            game.setTitle(newTitle);
+                            update(gameID, g -> g.setTitle(newTitle));
                         } else {
                             System.out.println("Title cannot be blank.");
                         }
@@ -207,7 +257,7 @@ public class VideoGameManager {
                         System.out.print("Enter new Genre: ");
                         String newGenre = scn.nextLine().trim();
                         if (!newGenre.isBlank()) {
-                            game.setGenre(newGenre);
+                            update(gameID, g -> g.setGenre(newGenre));
                         } else {
                             System.out.println("Genre cannot be blank.");
                         }
@@ -218,7 +268,7 @@ public class VideoGameManager {
                         int newYear = scn.nextInt();
                         scn.nextLine();
                         if (newYear >= 1970 && newYear <= 2025) {
-                            game.setReleaseYear(newYear);
+                            update(gameID, g -> g.setReleaseYear(newYear));
                         } else {
                             System.out.println("Invalid year. Must be 1970–2025.");
                         }
@@ -229,7 +279,7 @@ public class VideoGameManager {
                         double newPrice = scn.nextDouble();
                         scn.nextLine();
                         if (newPrice >= 0) {
-                            game.setPrice(newPrice);
+                            update(gameID, g -> g.setPrice(newPrice));
                         } else {
                             System.out.println("Price cannot be negative.");
                         }
@@ -240,7 +290,7 @@ public class VideoGameManager {
                         double newRating = scn.nextDouble();
                         scn.nextLine();
                         if (newRating >= 0 && newRating <= 10) {
-                            game.setRating(newRating);
+                            update(gameID, g -> g.setRating(newRating));
                         } else {
                             System.out.println("Rating must be between 0 and 10.");
                         }
@@ -268,7 +318,7 @@ public class VideoGameManager {
      }
 
     /**
-     *display all games
+     *display all games, sorted by id since the store keeps them in hash order
      * @return prints all games to screen
      */
     public String viewAllGames() {
@@ -276,9 +326,11 @@ public class VideoGameManager {
             return "No games available to display.\n";
         }
 
+        int[] ids = videogames.keys();
+        Arrays.sort(ids);
         System.out.println("\n--- List of Video Games ---");
-        for (VideoGame g : videogames.values()) {
-            System.out.println(g);
+        for (int id : ids) {
+            System.out.println(videogames.get(id));
         }
         System.out.println("----------------------------\n");
         return "Displayed all games.\n";
@@ -304,46 +356,188 @@ public class VideoGameManager {
              return "File not found. Please check the file name and try again.\n";
          }
 
-         int count = 0;
-         try (Scanner fileScanner = new Scanner(file)) {
-             while (fileScanner.hasNextLine()) {
-                 String line = fileScanner.nextLine();
-                 if (line.isBlank()) continue;
-
-                 String[] parts = line.split(",");
-                 if (parts.length != 6) {
-                     System.out.println("Invalid line format, skipping: " + line);
-                     continue;
-                 }
-
-                 try {
-                     int id = Integer.parseInt(parts[0].trim());
-                     String title = parts[1].trim();
-                     String genre = parts[2].trim();
-                     int year = Integer.parseInt(parts[3].trim());
-                     double price = Double.parseDouble(parts[4].trim());
-                     double rating = Double.parseDouble(parts[5].trim());
-
-                     if (videogames.containsKey(id)) {
-                         System.out.println("Duplicate ID found, skipping: " + id);
-                         continue;
-                     }
-
-                     VideoGame vg = new VideoGame(id, title, genre, year, price, rating);
-                     videogames.put(id, vg);
-                     count++;
-
-                 } catch (NumberFormatException ex) {
-                     System.out.println("Invalid data type in line, skipping: " + line);
-                 }
+         ImportResult result;
+         long start = importMetrics.start();
+         try {
+             GameImporter importer = new GameImporter();
+             if (file.length() >= PARALLEL_IMPORT_THRESHOLD) {
+                 result = importer.importFileParallel(file.toPath(), Runtime.getRuntime().availableProcessors(), this::addImported);
+             } else {
+                 result = importer.importFile(file.toPath(), this::addImported);
              }
-         } catch (FileNotFoundException e) {
+         } catch (IOException e) {
+             importMetrics.failure(start, e);
              return "Error: Could not open the file.\n";
          }
+         importMetrics.success(start, result.getLinesRead(), result.getAdded());
 
+         printImportErrors(result);
+         long count = result.getAdded();
          return count + " game(s) added successfully from file.\n";
      }
 
+    /**
+     * save the whole catalog to a binary snapshot file, see CatalogSnapshot
+     * @param scn
+     * @return string indicating if the catalog was saved
+     */
+    public String saveSnapshot(Scanner scn) {
+        System.out.print("Enter the snapshot file path: ");
+        String filePath = scn.nextLine().trim();
+        if (filePath.isBlank()) {
+            return "File path cannot be blank.\n";
+        }
+
+        try {
+            writeSnapshot(Paths.get(filePath));
+        } catch (IOException e) {
+            return "Error: Could not save the snapshot. " + e.getMessage() + "\n";
+        }
+        return videogames.size() + " game(s) saved to snapshot.\n";
+    }
+
+    /**
+     * replace the catalog with the games of a snapshot file. Much faster than adding the same games from a
+     * text file because nothing is parsed
+     * @param scn
+     * @return string indicating how many games were loaded
+     */
+    public String loadSnapshot(Scanner scn) {
+        System.out.print("Enter the snapshot file path: ");
+        String filePath = scn.nextLine().trim();
+        if (filePath.isBlank()) {
+            return "File path cannot be blank.\n";
+        }
+        if (!new File(filePath).exists()) {
+            return "File not found. Please check the file name and try again.\n";
+        }
+
+        try {
+            return readSnapshot(Paths.get(filePath)) + " game(s) loaded from snapshot.\n";
+        } catch (IOException e) {
+            return "Error: Could not load the snapshot. " + e.getMessage() + "\n";
+        }
+    }
+
+    /**
+     * write every game to a snapshot file
+     * @param path file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public void writeSnapshot(Path path) throws IOException {
+        CatalogSnapshot.write(path, videogames);
+    }
+
+    /**
+     * replace the catalog with the games of a snapshot file. The current games are kept if the file cannot be
+     * read or is damaged
+     * @param path snapshot file
+     * @return number of games loaded
+     * @throws IOException if the file cannot be read, or is not a valid snapshot
+     */
+    public int readSnapshot(Path path) throws IOException {
+        List<VideoGame> games = CatalogSnapshot.read(path);
+        if (journal == null) {
+            videogames.clear();
+            return videogames.putAll(games);
+        }
+        // a whole catalog is cheaper to checkpoint than to journal one game at a time
+        int[] added = new int[1];
+        journal.unlogged(() -> {
+            videogames.clear();
+            added[0] = videogames.putAll(games);
+        });
+        journal.checkpoint();
+        return added[0];
+    }
+
+    /**
+     * keep the catalog in a data directory: load the snapshot and journal found there, then journal every
+     * add, update and remove so a crash loses at most one commit window of changes, see MutationJournal
+     * @param dir data directory, created if missing
+     * @param config group commit and checkpoint settings
+     * @return number of games restored
+     * @throws IOException if the directory cannot be read
+     */
+    public int openDataDir(Path dir, JournalConfig config) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("A data directory is already open");
+        }
+        journal = MutationJournal.open(dir, videogames, config);
+        return videogames.size();
+    }
+
+    /**
+     * roll the journal into a new snapshot once it has grown past the checkpoint size. Main calls it after
+     * every menu choice
+     * @return null, or a warning if changes could not be saved
+     */
+    public String maintainJournal() {
+        if (journal == null) {
+            return null;
+        }
+        try {
+            if (journal.isCheckpointDue()) {
+                journal.checkpoint();
+            } else {
+                journal.throwIfFailed();
+            }
+            return null;
+        } catch (IOException e) {
+            return "Warning: changes are not being saved. " + e.getMessage() + "\n";
+        }
+    }
+
+    /**
+     * write a last checkpoint and close the data directory
+     * @throws IOException if the checkpoint or the journal could not be written
+     */
+    public void closeDataDir() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.checkpoint();
+        } finally {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * adds one game read from a file unless its id is already taken
+     * @param game the parsed game
+     * @return true if added, false if it was a duplicate
+     */
+    private boolean addImported(VideoGame game) {
+        return videogames.putIfAbsent(game.getGameID(), game) == null;
+    }
+
+    /**
+     * applies a change to one stored game and times it
+     * @param id id of the game
+     * @param change what to set
+     */
+    private void update(int id, Consumer<VideoGame> change) {
+        long start = updateMetrics.start();
+        boolean found = videogames.update(id, change);
+        updateMetrics.success(start, 0, found ? 1 : 0);
+    }
+
+    /**
+     * prints the bounded error report of an import, one line per rejected or duplicate line
+     * @param result the finished import
+     */
+    private void printImportErrors(ImportResult result) {
+        for (String error : result.getErrors()) {
+            System.out.println(error);
+        }
+        if (result.getErrorsDropped() > 0) {
+            System.out.println("... and " + result.getErrorsDropped() + " more line(s) skipped");
+        }
+        System.out.println(result);
+    }
+
     /**
      * get the averages of all the games' ratings
      * @return string with averages of ratings
@@ -353,12 +547,104 @@ public class VideoGameManager {
             return "No games available to calculate average rating.\n";
         }
 
-        double total = 0;
-        for (VideoGame vg : videogames.values()) {
-            total += vg.getRating();
+        // kept up to date on every add, update and remove, so no scan is needed
+        long start = averageMetrics.start();
+        double avg = videogames.aggregates().overall().getAverageRating();
+        averageMetrics.success(start, 0, 1);
+        return String.format("Average Rating of All Games: %.2f\n", avg);
+    }
+
+    /**
+     * find the games that match a genre and year, price and rating ranges, using the most selective index
+     * @param criteria what to look for
+     * @return matching games ordered by id
+     */
+    public List<VideoGame> findGames(GameCriteria criteria) {
+        long start = findMetrics.start();
+        List<VideoGame> found = videogames.find(criteria);
+        findMetrics.success(start, 0, found.size());
+        return found;
+    }
+
+    /**
+     * run a GameQuery against the games in memory, the same query object VideoGameDAO.query runs in SQLite
+     * @param query conditions, order, limit and offset
+     * @return matching games
+     */
+    public List<VideoGame> query(GameQuery query) {
+        long start = queryMetrics.start();
+        List<VideoGame> found = videogames.query(query);
+        queryMetrics.success(start, 0, found.size());
+        return found;
+    }
+
+    /**
+     * count the games in memory that meet a GameQuery's conditions
+     * @param query conditions to meet
+     * @return number of matching games
+     */
+    public int count(GameQuery query) {
+        long start = countMetrics.start();
+        int count = videogames.count(query);
+        countMetrics.success(start, 0, 1);
+        return count;
+    }
+
+    /**
+     * the best k games of each group, for example the 10 highest rated per genre or the cheapest per year.
+     * The first call for a grouping ranks every game once; after that the result is kept up to date as games
+     * change, so repeated calls do not rescan. Ties are ranked by lowest id
+     * @param groupBy column whose values form the groups
+     * @param orderBy column to rank by
+     * @param ascending true for the smallest values first, for example cheapest
+     * @param k how many games per group
+     * @return best games per group, groups in order of their value
+     */
+    public Map<Object, List<VideoGame>> topK(GameColumn groupBy, GameColumn orderBy, boolean ascending, int k) {
+        long start = topKMetrics.start();
+        Map<Object, List<VideoGame>> best = videogames.trackTopK(groupBy, orderBy, ascending, k).all();
+        int games = 0;
+        for (List<VideoGame> group : best.values()) {
+            games += group.size();
+        }
+        topKMetrics.success(start, 0, games);
+        return best;
+    }
+
+    /**
+     * find games by title as the user types: titles starting with the text first, then titles containing it.
+     * Case does not matter
+     * @param text part of a title
+     * @param limit most games to return
+     * @return matching games
+     */
+    public List<VideoGame> searchTitles(String text, int limit) {
+        long start = searchMetrics.start();
+        List<VideoGame> found = videogames.titleIndex().search(text, limit);
+        searchMetrics.success(start, 0, found.size());
+        return found;
+    }
+
+    /**
+     * rating and price statistics of the whole catalog, of each genre and of each release year
+     * @return string with one line per group
+     */
+    public String viewStatistics() {
+        if (videogames.isEmpty()) {
+            return "No games available to calculate statistics.\n";
         }
 
-        double avg = total / videogames.size();
-        return String.format("Average Rating of All Games: %.2f\n", avg);
+        CatalogAggregates aggregates = videogames.aggregates();
+        StringBuilder sb = new StringBuilder();
+        sb.append(aggregates.overall()).append('\n');
+        sb.append("\n--- By Genre ---\n");
+        for (GameStats stats : new TreeMap<>(aggregates.genres()).values()) {
+            sb.append(stats).append('\n');
+        }
+        sb.append("\n--- By Release Year ---\n");
+        for (GameStats stats : aggregates.years().values()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
     }
 }
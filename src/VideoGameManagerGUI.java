@@ -8,7 +8,9 @@
 * This class provides a graphical user interface (GUI) for the Video Game Management System.
 * */
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -16,27 +18,52 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
 * The code for the GUI and the main method where the program starts if using the GUI.
 * */
 public class VideoGameManagerGUI extends Application {
 
-    private VideoGameDAO db = new VideoGameDAO(); // DAO
+    // tables bigger than this are shown through a PagedGameList instead of being loaded whole
+    private static final int PAGED_THRESHOLD = 50_000;
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 20;
+    // the search runs once typing pauses this long, and shows at most SEARCH_LIMIT rows
+    private static final int SEARCH_DELAY_MILLIS = 250;
+    private static final int SEARCH_LIMIT = 500;
+
+    private VideoGameDAO db = new CachingVideoGameDAO(); // DAO, caches repeated reads between refreshes
+    private AsyncVideoGameDAO async = new AsyncVideoGameDAO(db); // runs the DAO off the JavaFX thread
     private ObservableList<VideoGame> data = FXCollections.observableArrayList();
+    private PagedGameList pagedData; // null when the whole table is in data
+    private TitleIndex titleIndex = new TitleIndex(); // titles of the rows in data
+    private TextField searchField = new TextField();
     private TableView<VideoGame> table = new TableView<>();
     private Label statusLabel = new Label("Ready.");
+    private ProgressIndicator progress = new ProgressIndicator();
+    private List<Button> editButtons = new ArrayList<>();
+    private int tasksRunning;
+    private int editsRunning;
 
 
     /**
      * Method Name: start
      * Purpose: Initializes and displays the main GUI window. Prompts the user to select a database
-     * and sets up the UI components including panels, table, and control buttons.
+     * and sets up the UI components including panels, table, and control buttons. The database is opened
+     * on a worker thread once the window is up, since connecting may migrate an old file and fill the
+     * summary tables, which takes a while on a large table.
      * @param primaryStage The main window for the JavaFX application.
      */
     @Override
@@ -47,26 +74,48 @@ public class VideoGameManagerGUI extends Application {
         chooser.setTitle("Select SQLite Database (.db)");
         File dbFile = chooser.showOpenDialog(primaryStage);
 
-        if (dbFile == null || !db.connectToDatabase(dbFile.getAbsolutePath())) {
-            showAlert("Error", "Failed to connect to database. Program will close.");
+        if (dbFile == null) {
+            showAlert("Error", "No database selected. Program will close.");
             return;
         }
 
-        // Load DB data
-        data.setAll(db.getAllGames());
-
         // UI Layout
         BorderPane root = new BorderPane();
         root.setTop(makeTitle());
-        root.setCenter(makeTable());
+        VBox center = new VBox(8, makeSearchBox(), makeTable());
+        VBox.setVgrow(table, Priority.ALWAYS);
+        root.setCenter(center);
         root.setLeft(makeControlPanel());
-        root.setBottom(statusLabel);
+        progress.setPrefSize(16, 16);
+        progress.setVisible(false);
+        HBox statusBar = new HBox(8, progress, statusLabel);
+        statusBar.setPadding(new Insets(4, 10, 4, 10));
+        root.setBottom(statusBar);
         BorderPane.setMargin(root.getLeft(), new Insets(10));
 
         Scene scene = new Scene(root, 900, 600);
         primaryStage.setScene(scene);
         primaryStage.setTitle("Video Game Manager");
         primaryStage.show();
+
+        // Connect and load DB data once the window is up; the edit buttons stay disabled until then
+        runDb("Opening database...", true, async.connectToDatabase(dbFile.getAbsolutePath()), connected -> {
+            if (connected) {
+                refreshTable();
+            } else {
+                showAlert("Error", "Failed to connect to database. Program will close.");
+                primaryStage.close();
+            }
+        });
+    }
+
+    /**
+     * Method Name: stop
+     * Purpose: Stops the database worker threads and closes the connection when the window closes.
+     */
+    @Override
+    public void stop() {
+        async.close();
     }
 
     /**
@@ -104,11 +153,49 @@ public class VideoGameManagerGUI extends Application {
         TableColumn<VideoGame, Double> ratingCol = new TableColumn<>("Rating");
         ratingCol.setCellValueFactory(new PropertyValueFactory<>("rating"));
 
+        idCol.setUserData(GameColumn.ID);
+        titleCol.setUserData(GameColumn.TITLE);
+        genreCol.setUserData(GameColumn.GENRE);
+        yearCol.setUserData(GameColumn.RELEASE_YEAR);
+        priceCol.setUserData(GameColumn.PRICE);
+        ratingCol.setUserData(GameColumn.RATING);
+
+        // large tables are sorted by the database with ORDER BY, small ones and search results in memory
+        table.setSortPolicy(t -> {
+            if (pagedData == null || searching()) {
+                return TableView.DEFAULT_SORT_POLICY.call(t);
+            }
+            GameColumn column = GameColumn.ID;
+            boolean ascending = true;
+            if (!t.getSortOrder().isEmpty()) {
+                TableColumn<VideoGame, ?> first = t.getSortOrder().get(0);
+                column = (GameColumn) first.getUserData();
+                ascending = first.getSortType() == TableColumn.SortType.ASCENDING;
+            }
+            pagedData.setOrder(column, ascending);
+            table.refresh();
+            return true;
+        });
+
         table.getColumns().setAll(idCol, titleCol, genreCol, yearCol, priceCol, ratingCol);
-        table.setItems(data);
+        showItems();
         return table;
     }
 
+    /**
+     * Method Name: makeSearchBox
+     * Purpose: Creates the title search box above the table. The search runs once the user stops typing
+     * for a moment instead of on every key press.
+     * @return the search TextField
+     */
+    private TextField makeSearchBox() {
+        searchField.setPromptText("Search titles");
+        PauseTransition pause = new PauseTransition(Duration.millis(SEARCH_DELAY_MILLIS));
+        pause.setOnFinished(e -> showItems());
+        searchField.textProperty().addListener((obs, oldText, newText) -> pause.playFromStart());
+        return searchField;
+    }
+
     /**
      * Method Name: makeControlPanel
      * Purpose: Creates and returns the left-side control panel containing input fields and
@@ -137,6 +224,8 @@ public class VideoGameManagerGUI extends Application {
         Button deleteBtn = new Button("Delete");
         Button showAllBtn = new Button("Show All");
         Button avgBtn = new Button("Average Rating");
+        // these change or replace the table, so only one of them runs at a time
+        editButtons.addAll(List.of(addBtn, updateBtn, deleteBtn, showAllBtn));
 
         addBtn.setOnAction(e -> {
             try {
@@ -166,11 +255,15 @@ public class VideoGameManagerGUI extends Application {
                     return;
                 }
 
-                if (db.addGame(title, genre, year, price, rating)) {
-                    refreshTable();
-                    clear(titleField, genreField, yearField, priceField, ratingField);
-                    statusLabel.setText("Game Added!");
-                }
+                runDb("Adding game...", true, async.insertGame(title, genre, year, price, rating), id -> {
+                    if (id > 0) {
+                        rowAdded(new VideoGame(id, title, genre, year, price, rating));
+                        clear(titleField, genreField, yearField, priceField, ratingField);
+                        statusLabel.setText("Game Added!");
+                    } else {
+                        statusLabel.setText("Add Failed.");
+                    }
+                });
 
             } catch (Exception ex) {
                 statusLabel.setText("Invalid input. Check your fields.");
@@ -210,17 +303,17 @@ public class VideoGameManagerGUI extends Application {
                     if (parsed >= 0 && parsed <= 10) rating = parsed;
                 }
 
-                boolean success = db.updateGamePartial(
-                        selected.getGameID(),
-                        title, genre, year, price, rating
-                );
+                int id = selected.getGameID();
+                CompletableFuture<VideoGame> work = async.updateGamePartialAndGet(id, title, genre, year, price, rating);
 
-                if (success) {
-                    refreshTable();
-                    statusLabel.setText("Game Updated!");
-                } else {
-                    statusLabel.setText("Update Failed.");
-                }
+                runDb("Updating game...", true, work, updated -> {
+                    if (updated != null) {
+                        replaceRow(selected, updated);
+                        statusLabel.setText("Game Updated!");
+                    } else {
+                        statusLabel.setText("Update Failed.");
+                    }
+                });
 
             } catch (Exception ex) {
                 statusLabel.setText("Invalid input.");
@@ -231,14 +324,20 @@ public class VideoGameManagerGUI extends Application {
             VideoGame selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) { statusLabel.setText("Select game first."); return; }
 
-            db.deleteGame(selected.getGameID());
-            refreshTable();
-            statusLabel.setText("Game Deleted.");
+            runDb("Deleting game...", true, async.deleteGame(selected.getGameID()), success -> {
+                if (success) {
+                    rowDeleted(selected);
+                    statusLabel.setText("Game Deleted.");
+                } else {
+                    statusLabel.setText("Delete Failed.");
+                }
+            });
         });
 
         showAllBtn.setOnAction(e -> refreshTable());
 
-        avgBtn.setOnAction(e -> statusLabel.setText("Average Rating: " + String.format("%.2f", db.calculateAverageRating())));
+        avgBtn.setOnAction(e -> runDb("Calculating...", false, async.calculateAverageRating(),
+                avg -> statusLabel.setText("Average Rating: " + String.format("%.2f", avg))));
 
         VBox v = new VBox(8, titleField, genreField, yearField, priceField, ratingField, addBtn, updateBtn, deleteBtn, showAllBtn, avgBtn);
         v.setPadding(new Insets(10));
@@ -247,9 +346,206 @@ public class VideoGameManagerGUI extends Application {
 
     /**
      * Method Name: refreshTable
-     * Purpose: Reloads the TableView with the most current database data.
+     * Purpose: Reloads the TableView with the most current database data on a worker thread.
+     * Small tables are loaded whole, large ones get a PagedGameList that reads only the pages on screen,
+     * also on worker threads.
+     * Only used at startup and when the user asks for it, edits patch the table in place instead.
+     */
+    private void refreshTable() {
+        CompletableFuture<List<VideoGame>> work = async.call("loadTable", () -> {
+            int count = db.countGames();
+            if (count > PAGED_THRESHOLD) {
+                // pages are read on worker threads too; rows show blank until their page arrives
+                return new PagedGameList(async, count, PAGE_SIZE, MAX_PAGES, Platform::runLater, table::refresh);
+            }
+            return db.getAllGames();
+        });
+
+        runDb("Loading games...", true, work, rows -> {
+            if (rows instanceof PagedGameList) {
+                pagedData = (PagedGameList) rows;
+                data.clear();
+                titleIndex = new TitleIndex();
+            } else {
+                pagedData = null;
+                data.setAll(rows);
+                indexTitles(rows);
+            }
+            showItems();
+            table.refresh();
+            statusLabel.setText(rows.size() + " game(s) loaded.");
+        });
+    }
+
+    /**
+     * Method Name: indexTitles
+     * Purpose: Builds the title search index of a freshly loaded table on a worker thread. Edits wait
+     * for it so none are missed by the new index.
+     * @param rows the rows now in data
+     */
+    private void indexTitles(List<VideoGame> rows) {
+        runDb("Indexing titles...", true, async.call(null, () -> TitleIndex.of(rows)), index -> {
+            titleIndex = index;
+            if (searching()) showItems();
+        });
+    }
+
+    /**
+     * Method Name: runDb
+     * Purpose: Runs database work off the JavaFX thread. Shows the progress spinner while anything is running,
+     * disables the edit buttons while an edit is running, and hands the result back on the JavaFX thread.
+     * @param message status text shown while the work runs
+     * @param blocksEdits true if the edit buttons should be disabled until the work finishes
+     * @param work the running database call
+     * @param onDone what to do with the result, called on the JavaFX thread
+     */
+    private <T> void runDb(String message, boolean blocksEdits, CompletableFuture<T> work, Consumer<T> onDone) {
+        tasksRunning++;
+        if (blocksEdits) editsRunning++;
+        updateBusy();
+        statusLabel.setText(message);
+
+        work.whenComplete((result, error) -> Platform.runLater(() -> {
+            tasksRunning--;
+            if (blocksEdits) editsRunning--;
+            updateBusy();
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                statusLabel.setText("Database error: " + cause.getMessage());
+            } else {
+                onDone.accept(result);
+            }
+        }));
+    }
+
+    /**
+     * Method Name: updateBusy
+     * Purpose: Shows or hides the spinner and enables or disables the edit buttons.
      */
-    private void refreshTable() { data.setAll(db.getAllGames()); table.refresh(); }
+    private void updateBusy() {
+        progress.setVisible(tasksRunning > 0);
+        for (Button b : editButtons) b.setDisable(editsRunning > 0);
+    }
+
+    /**
+     * Method Name: reloadPaged
+     * Purpose: Recounts a paged table on a worker thread after an edit and then re-reads the pages on screen.
+     */
+    private void reloadPaged() {
+        PagedGameList paged = pagedData;
+        runDb("Refreshing...", false, async.countGames(), count -> {
+            if (paged == pagedData) {
+                paged.reload(count);
+                showItems();
+            }
+        });
+    }
+
+    /**
+     * Method Name: showItems
+     * Purpose: Points the table at the in-memory list or the paged list, whichever is in use, or at the
+     * matches of the title search when there is text in the search box. Small tables are searched in the
+     * in-memory title index, paged ones by the database.
+     */
+    private void showItems() {
+        String text = searchField.getText().trim();
+        if (text.isEmpty()) {
+            table.setItems(pagedData == null ? data : FXCollections.observableList(pagedData));
+        } else if (pagedData == null) {
+            showMatches(titleIndex.search(text, SEARCH_LIMIT));
+        } else {
+            runDb("Searching...", false, async.searchTitles(text, SEARCH_LIMIT), found -> {
+                // a newer search may have started while this one ran
+                if (text.equals(searchField.getText().trim())) showMatches(found);
+            });
+        }
+    }
+
+    /**
+     * Method Name: showMatches
+     * Purpose: Shows search results in the table.
+     * @param found the matching games
+     */
+    private void showMatches(List<VideoGame> found) {
+        table.setItems(FXCollections.observableArrayList(found));
+        statusLabel.setText(found.size() + (found.size() == SEARCH_LIMIT ? "+" : "") + " match(es).");
+    }
+
+    /**
+     * Method Name: searching
+     * @return true if the table shows title search results
+     */
+    private boolean searching() {
+        return !searchField.getText().isBlank();
+    }
+
+    /**
+     * Method Name: rowAdded
+     * Purpose: Shows a newly inserted game without reloading the table.
+     * @param game the game with the id the database gave it
+     */
+    private void rowAdded(VideoGame game) {
+        if (pagedData != null) {
+            // only the count and the pages on screen are read again
+            reloadPaged();
+        } else {
+            data.add(game);
+            titleIndex.added(game);
+            if (searching()) showItems();
+        }
+    }
+
+    /**
+     * Method Name: rowDeleted
+     * Purpose: Removes a deleted game from the table without reloading the table.
+     * @param game the row that was deleted
+     */
+    private void rowDeleted(VideoGame game) {
+        if (pagedData != null) {
+            reloadPaged();
+            return;
+        }
+        int index = rowIndex(game);
+        if (index >= 0) data.remove(index);
+        titleIndex.removed(game);
+        if (searching()) showItems();
+    }
+
+    /**
+     * Method Name: rowIndex
+     * Purpose: Finds where a game sits in the table's list. The selected index is checked first
+     * so the usual case does not have to search the whole list.
+     * @param game a game shown in the table
+     * @return its index in data, or -1 if it is not there
+     */
+    private int rowIndex(VideoGame game) {
+        int selected = table.getSelectionModel().getSelectedIndex();
+        if (selected >= 0 && selected < data.size() && data.get(selected) == game) {
+            return selected;
+        }
+        return data.indexOf(game);
+    }
+
+    /**
+     * Method Name: replaceRow
+     * Purpose: Swaps one row of the table for its updated version without reloading the rest.
+     * @param old the row currently shown
+     * @param updated the row read back from the database
+     */
+    private void replaceRow(VideoGame old, VideoGame updated) {
+        if (pagedData != null) {
+            reloadPaged();
+            return;
+        }
+        int index = rowIndex(old);
+        if (index >= 0) data.set(index, updated);
+        titleIndex.added(updated); // replaces the old title of the same id
+        if (searching()) {
+            showItems();
+        } else if (index >= 0) {
+            table.getSelectionModel().select(index);
+        }
+    }
 
     /**
      * Method Name: clear
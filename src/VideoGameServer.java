@@ -0,0 +1,638 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: VideoGameServer
+ *
+ * Description:
+ * Headless mode: serves a ConcurrentVideoGameManager over a JSON REST API on the JDK's built-in HTTP server,
+ * so the catalog can be scripted and put behind a load balancer. Every request runs on its own virtual
+ * thread on Java 21 and newer, on a pool of daemon threads before that (see WorkerThreads).
+ * Responses are written by a JsonWriter kept per thread, so a response only allocates what the HTTP server
+ * itself needs.
+ *
+ * GET    /games/{id}             one game, 404 if there is none
+ * GET    /games?genre=&title=&minYear=&maxYear=&minPrice=&maxPrice=&minRating=&maxRating=
+ *               &orderBy=&desc=&limit=&offset=     matching games, at most 1000 (100 unless limit is given)
+ * POST   /games                  adds the game in the JSON body, 409 if its gameID is taken
+ * PUT    /games/{id}             changes the fields given in the JSON body
+ * DELETE /games/{id}             removes a game
+ * POST   /games/import           adds every line of an id,title,genre,year,price,rating text body
+ * GET    /average-rating         average rating and number of games
+ * GET    /stats?genre=|year=     totals of the catalog, one genre or one release year
+ *
+ * Bad input gets 400 with {"error": "..."}. An unexpected failure is logged to stderr and answered with a
+ * 500 that does not describe it.
+ **/
+public class VideoGameServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_JSON_BODY = 64 << 10;
+    // writers that grew past this for one huge response are dropped instead of kept by their thread
+    private static final int MAX_KEPT_WRITER = 1 << 20;
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    static {
+        // the server writes headers and body separately; without TCP_NODELAY each response waits ~40 ms for
+        // a delayed ACK. Read once when the JDK server classes load, so it must be set before the first create()
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ConcurrentVideoGameManager manager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor that binds the port; call start() to begin serving
+     * @param manager catalog to serve
+     * @param port port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public VideoGameServer(ConcurrentVideoGameManager manager, int port) throws IOException {
+        this.manager = manager;
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = WorkerThreads.newExecutor("vgm-http", Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+        server.setExecutor(executor);
+        server.createContext("/games", guarded(this::handleGames));
+        server.createContext("/average-rating", guarded(this::handleAverageRating));
+        server.createContext("/stats", guarded(this::handleStats));
+    }
+
+    /**
+     * start
+     * Purpose: Begins accepting requests in the background.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * stop
+     * Purpose: Stops accepting requests, waits up to a second for the ones running, then stops the workers.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     *
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Starts the server and keeps running until the process is stopped.
+     * Usage: java VideoGameServer [port] [catalog file...]
+     * Catalog files ending in .vgms are read as snapshots, any other file as id,title,genre,year,price,rating text.
+     * @param args port and files to load
+     * @throws IOException if the port cannot be bound or a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+        for (int i = 1; i < args.length; i++) {
+            Path file = Paths.get(args[i]);
+            if (file.getFileName().toString().endsWith(".vgms")) {
+                System.out.println(manager.importGames(CatalogSnapshot.read(file)) + " game(s) loaded from " + file);
+            } else {
+                ImportResult result = new GameImporter().importFile(file, manager::addGame);
+                System.out.println(result);
+            }
+        }
+        VideoGameServer server = new VideoGameServer(manager, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+        System.out.println("Serving " + manager.size() + " game(s) on http://localhost:" + server.getPort() + "/games");
+    }
+
+    /**
+     * guarded
+     * Purpose: Wraps a handler so a bad request gets a 400 with the reason, any other failure is logged and gets
+     * a plain 500, and the exchange is always closed.
+     * @param handler handler for one context
+     * @return the handler to register
+     */
+    private static HttpHandler guarded(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (IllegalArgumentException e) {
+                error(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                // the details stay in the server log, the client only learns that the request failed
+                System.err.println(exchange.getRequestMethod() + " " + exchange.getRequestURI() + " failed:");
+                e.printStackTrace();
+                error(exchange, 500, "internal server error");
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private void handleGames(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals("/games") || path.equals("/games/")) {
+            if (method.equals("GET")) {
+                listGames(exchange);
+            } else if (method.equals("POST")) {
+                addGame(exchange);
+            } else {
+                notAllowed(exchange, "GET, POST");
+            }
+        } else if (path.equals("/games/import")) {
+            if (method.equals("POST")) {
+                importGames(exchange);
+            } else {
+                notAllowed(exchange, "POST");
+            }
+        } else {
+            int id = parseId(path);
+            if (method.equals("GET")) {
+                getGame(exchange, id);
+            } else if (method.equals("PUT")) {
+                updateGame(exchange, id);
+            } else if (method.equals("DELETE")) {
+                if (manager.removeGame(id)) {
+                    // a response without a body ends the exchange right away, and the JDK server drops the
+                    // keep-alive connection if the request body has not been read to its end by then
+                    exchange.getRequestBody().close();
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    error(exchange, 404, "no game with id " + id);
+                }
+            } else {
+                notAllowed(exchange, "GET, PUT, DELETE");
+            }
+        }
+    }
+
+    private void getGame(HttpExchange exchange, int id) throws IOException {
+        VideoGame game = manager.getGame(id);
+        if (game == null) {
+            error(exchange, 404, "no game with id " + id);
+        } else {
+            send(exchange, 200, writer().game(game));
+        }
+    }
+
+    private void listGames(HttpExchange exchange) throws IOException {
+        Map<String, String> params = queryParams(exchange);
+        GameQuery query = new GameQuery();
+        for (Map.Entry<String, String> p : params.entrySet()) {
+            String value = p.getValue();
+            switch (p.getKey()) {
+                case "genre":
+                    query.where(GameColumn.GENRE, GameQuery.Op.EQ, value);
+                    break;
+                case "title":
+                    query.contains(GameColumn.TITLE, value);
+                    break;
+                case "minYear":
+                    query.where(GameColumn.RELEASE_YEAR, GameQuery.Op.GE, parseInt(p.getKey(), value));
+                    break;
+                case "maxYear":
+                    query.where(GameColumn.RELEASE_YEAR, GameQuery.Op.LE, parseInt(p.getKey(), value));
+                    break;
+                case "minPrice":
+                    query.where(GameColumn.PRICE, GameQuery.Op.GE, parseDouble(p.getKey(), value));
+                    break;
+                case "maxPrice":
+                    query.where(GameColumn.PRICE, GameQuery.Op.LE, parseDouble(p.getKey(), value));
+                    break;
+                case "minRating":
+                    query.where(GameColumn.RATING, GameQuery.Op.GE, parseDouble(p.getKey(), value));
+                    break;
+                case "maxRating":
+                    query.where(GameColumn.RATING, GameQuery.Op.LE, parseDouble(p.getKey(), value));
+                    break;
+                case "orderBy":
+                case "desc":
+                case "limit":
+                case "offset":
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown parameter " + p.getKey());
+            }
+        }
+        if (params.containsKey("orderBy")) {
+            query.orderBy(column(params.get("orderBy")), !Boolean.parseBoolean(params.get("desc")));
+        }
+        int limit = params.containsKey("limit") ? parseInt("limit", params.get("limit")) : DEFAULT_LIMIT;
+        query.limit(Math.max(0, Math.min(MAX_LIMIT, limit)));
+        if (params.containsKey("offset")) {
+            query.offset(parseInt("offset", params.get("offset")));
+        }
+
+        List<VideoGame> games = manager.query(query);
+        JsonWriter json = writer().beginObject().name("count").value(games.size()).name("games").beginArray();
+        for (VideoGame game : games) {
+            json.game(game);
+        }
+        send(exchange, 200, json.endArray().endObject());
+    }
+
+    private void addGame(HttpExchange exchange) throws IOException {
+        Map<String, Object> fields = readJson(exchange);
+        if (!(fields.get("gameID") instanceof Double)) {
+            throw new IllegalArgumentException("gameID is required");
+        }
+        for (String required : new String[]{"title", "genre", "releaseYear", "price", "rating"}) {
+            if (fields.get(required) == null) {
+                throw new IllegalArgumentException(required + " is required");
+            }
+        }
+        VideoGame game = new VideoGame(wholeNumber(fields, "gameID"), "?", "?", 0, 0, 0);
+        apply(fields, game);
+        if (!manager.addGame(game)) {
+            error(exchange, 409, "a game with id " + game.getGameID() + " already exists");
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", "/games/" + game.getGameID());
+        send(exchange, 201, writer().game(game));
+    }
+
+    private void updateGame(HttpExchange exchange, int id) throws IOException {
+        Map<String, Object> fields = readJson(exchange);
+        if (fields.containsKey("gameID") && !Double.valueOf(id).equals(fields.get("gameID"))) {
+            throw new IllegalArgumentException("gameID cannot be changed");
+        }
+        // check every field before changing anything, so a bad field leaves the game as it was
+        apply(fields, new VideoGame(id, "?", "?", 0, 0, 0));
+        VideoGame game = manager.updateGame(id, copy -> apply(fields, copy));
+        if (game == null) {
+            error(exchange, 404, "no game with id " + id);
+        } else {
+            send(exchange, 200, writer().game(game));
+        }
+    }
+
+    private void importGames(HttpExchange exchange) throws IOException {
+        ImportResult result;
+        try (InputStream body = exchange.getRequestBody()) {
+            result = new GameImporter().importChannel(Channels.newChannel(body), manager::addGame);
+        }
+        JsonWriter json = writer().beginObject()
+                .name("linesRead").value(result.getLinesRead())
+                .name("added").value(result.getAdded())
+                .name("rejected").value(result.getRejected())
+                .name("duplicates").value(result.getDuplicates())
+                .name("errors").beginArray();
+        for (String message : result.getErrors()) {
+            json.value(message);
+        }
+        send(exchange, 200, json.endArray().endObject());
+    }
+
+    private void handleAverageRating(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            notAllowed(exchange, "GET");
+            return;
+        }
+        ConcurrentVideoGameManager.Totals totals = manager.overall();
+        send(exchange, 200, writer().beginObject()
+                .name("averageRating").value(totals.getAverageRating())
+                .name("count").value(totals.getCount())
+                .endObject());
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            notAllowed(exchange, "GET");
+            return;
+        }
+        Map<String, String> params = queryParams(exchange);
+        ConcurrentVideoGameManager.Totals totals;
+        if (params.containsKey("genre")) {
+            totals = manager.genre(params.get("genre"));
+        } else if (params.containsKey("year")) {
+            totals = manager.year(parseInt("year", params.get("year")));
+        } else {
+            totals = manager.overall();
+        }
+        send(exchange, 200, writer().beginObject()
+                .name("name").value(totals.getName())
+                .name("count").value(totals.getCount())
+                .name("averageRating").value(totals.getAverageRating())
+                .name("averagePrice").value(totals.getAveragePrice())
+                .name("minRating").value(totals.getMinRating())
+                .name("maxRating").value(totals.getMaxRating())
+                .name("minPrice").value(totals.getMinPrice())
+                .name("maxPrice").value(totals.getMaxPrice())
+                .endObject());
+    }
+
+    /**
+     * sets the fields present in the body on the game, checked the way the menu checks typed values
+     */
+    private static void apply(Map<String, Object> fields, VideoGame game) {
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            switch (field.getKey()) {
+                case "gameID":
+                    break;
+                case "title":
+                    game.setTitle(text(fields, "title"));
+                    break;
+                case "genre":
+                    game.setGenre(text(fields, "genre"));
+                    break;
+                case "releaseYear":
+                    int year = wholeNumber(fields, "releaseYear");
+                    if (year < 1950) {
+                        throw new IllegalArgumentException("releaseYear cannot be before 1950");
+                    }
+                    game.setReleaseYear(year);
+                    break;
+                case "price":
+                    double price = number(fields, "price");
+                    if (price < 0) {
+                        throw new IllegalArgumentException("price cannot be negative");
+                    }
+                    game.setPrice(price);
+                    break;
+                case "rating":
+                    double rating = number(fields, "rating");
+                    if (rating < 0 || rating > 10) {
+                        throw new IllegalArgumentException("rating must be between 0 and 10");
+                    }
+                    game.setRating(rating);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown field " + field.getKey());
+            }
+        }
+    }
+
+    private static String text(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            throw new IllegalArgumentException(name + " must be non-blank text");
+        }
+        return ((String) value).trim();
+    }
+
+    private static double number(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof Double) || !Double.isFinite((Double) value)) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+        return (Double) value;
+    }
+
+    private static int wholeNumber(Map<String, Object> fields, String name) {
+        double value = number(fields, name);
+        if (value != (int) value) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+        return (int) value;
+    }
+
+    private static int parseId(String path) {
+        int from = "/games/".length();
+        int to = path.endsWith("/") ? path.length() - 1 : path.length();
+        try {
+            return Integer.parseInt(path, from, to, 10);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("not a game id: " + path.substring(Math.min(from, path.length())));
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+    }
+
+    private static double parseDouble(String name, String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static GameColumn column(String name) {
+        for (GameColumn column : GameColumn.values()) {
+            if (column.name().replace("_", "").equalsIgnoreCase(name) || column.getSqlName().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("cannot order by " + name);
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_JSON_BODY + 1);
+        }
+        if (body.length > MAX_JSON_BODY) {
+            throw new IllegalArgumentException("body is larger than " + MAX_JSON_BODY + " bytes");
+        }
+        return new FlatJsonParser(new String(body, StandardCharsets.UTF_8)).parseObject();
+    }
+
+    private static JsonWriter writer() {
+        return WRITERS.get().reset();
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            json.writeTo(out);
+        }
+        if (json.capacity() > MAX_KEPT_WRITER) {
+            WRITERS.remove();
+        }
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, writer().beginObject().name("error").value(message).endObject());
+    }
+
+    private static void notAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        error(exchange, 405, exchange.getRequestMethod() + " is not allowed here");
+    }
+
+    /**
+     * Reads one JSON object whose values are strings, numbers, booleans or null, which is all a game needs.
+     * Numbers come back as Double.
+     */
+    private static final class FlatJsonParser {
+        private final String text;
+        private int pos;
+
+        FlatJsonParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> parseObject() {
+            Map<String, Object> fields = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+            } else {
+                do {
+                    String name = string();
+                    expect(':');
+                    fields.put(name, value());
+                } while (next(',', '}') == ',');
+            }
+            if (peek() != 0) {
+                throw fail("unexpected text after the object");
+            }
+            return fields;
+        }
+
+        private Object value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (text.startsWith("true", pos)) {
+                pos += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", pos)) {
+                pos += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            }
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            try {
+                return Double.parseDouble(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw fail("expected a value");
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) {
+                    throw fail("unterminated string");
+                }
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    throw fail("unterminated string");
+                }
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw fail("bad \\u escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                        } catch (NumberFormatException ex) {
+                            throw fail("bad \\u escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(e);
+                        break;
+                }
+            }
+        }
+
+        private char next(char a, char b) {
+            char c = peek();
+            if (c != a && c != b) {
+                throw fail("expected '" + a + "' or '" + b + "'");
+            }
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw fail("expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        /** skips white space and returns the next char, or 0 at the end */
+        private char peek() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private IllegalArgumentException fail(String message) {
+            return new IllegalArgumentException("bad JSON at " + pos + ": " + message);
+        }
+    }
+}
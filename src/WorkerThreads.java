@@ -0,0 +1,57 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Class Name: WorkerThreads
+ *
+ * Description:
+ * Creates the executors used for blocking work such as JDBC calls and HTTP requests.
+ * On Java 21 and newer every task gets its own virtual thread. The project still builds for Java 17,
+ * so the virtual thread executor is looked up at runtime and a pool of daemon threads is used when it is missing.
+ **/
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * newExecutor
+     * Purpose: Returns a virtual-thread-per-task executor if the running JVM has one,
+     * otherwise a fixed pool of daemon platform threads.
+     * @param name prefix for the thread names
+     * @param fallbackThreads pool size used when virtual threads are not available
+     * @return an executor the caller must shut down
+     */
+    public static ExecutorService newExecutor(String name, int fallbackThreads) {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(fallbackThreads, daemonFactory(name));
+        }
+    }
+
+    /**
+     * daemonFactory
+     * Purpose: Makes numbered daemon threads so background work never keeps the JVM alive on exit.
+     * @param name prefix for the thread names
+     * @return the thread factory
+     */
+    public static ThreadFactory daemonFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread t = new Thread(task, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class checks that CachingVideoGameDAO answers repeated reads from memory and never serves data
+ * made stale by its own writes or by another connection
+ * */
+
+public class CachingVideoGameDAOTest {
+
+    private File dbFile;
+    private CachingVideoGameDAO dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbFile = File.createTempFile("videogames", ".db");
+        dbFile.deleteOnExit();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)");
+        }
+        dao = new CachingVideoGameDAO(2, 100);
+        dao.setVersionCheckMillis(0);
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dao.close();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+
+    @Test
+    void testRepeatedReadsHitAndWritesInvalidateWhatTheyTouch() {
+        int halo = dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.0);
+        int zelda = dao.insertGame("Zelda", "Adventure", 2017, 59.99, 10.0);
+
+        assertEquals(9.5, dao.calculateAverageRating(), 1e-9);
+        assertEquals(9.5, dao.calculateAverageRating(), 1e-9);
+        assertEquals("Halo", dao.getGame(halo).getTitle());
+        assertEquals("Zelda", dao.getGame(zelda).getTitle());
+        assertSame(dao.getGame(halo), dao.getGame(halo));
+        assertEquals(1, dao.getResultHits());
+        assertEquals(2, dao.getRowHits());
+
+        // the update drops Halo and the average, Zelda stays cached
+        assertTrue(dao.updateGamePartial(halo, null, null, null, null, 7.0));
+        assertEquals(8.5, dao.calculateAverageRating(), 1e-9);
+        assertEquals(7.0, dao.getGame(halo).getRating());
+        dao.getGame(zelda);
+        assertEquals(3, dao.getRowHits());
+
+        List<VideoGame> all = dao.getAllGames();
+        all.clear();
+        assertEquals(2, dao.getAllGames().size(), "callers get copies of cached lists");
+        assertTrue(dao.deleteGame(zelda));
+        assertNull(dao.getGame(zelda));
+        assertEquals(1, dao.getAllGames().size());
+        assertEquals(1, dao.countGames());
+        assertTrue(dao.getInvalidations() >= 4);
+
+        // capacity is two rows, so a third pushes out the least recently used
+        int tetris = dao.insertGame("Tetris", "Puzzle", 1984, 4.99, 8.0);
+        int doom = dao.insertGame("Doom", "Shooter", 1993, 9.99, 9.0);
+        dao.getGame(halo);
+        dao.getGame(tetris);
+        dao.getGame(doom);
+        assertEquals(1, dao.getRowEvictions());
+        assertTrue(dao.getHitRatio() > 0 && dao.getHitRatio() < 1);
+    }
+
+    @Test
+    void testWritesFromAnotherConnectionAreNoticed() throws Exception {
+        dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.0);
+        assertEquals(1, dao.countGames());
+        assertEquals(9.0, dao.calculateAverageRating(), 1e-9);
+
+        try (Connection other = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = other.createStatement()) {
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Zelda', 'Adventure', 2017, 59.99, 10)");
+        }
+
+        assertEquals(2, dao.countGames());
+        assertEquals(9.5, dao.calculateAverageRating(), 1e-9);
+        assertEquals(1, dao.getExternalChanges());
+
+        // with a long check interval the stale count is served until the interval passes
+        dao.setVersionCheckMillis(60_000);
+        dao.countGames();
+        try (Connection other = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = other.createStatement()) {
+            stmt.execute("DELETE FROM videogames");
+        }
+        assertEquals(2, dao.countGames());
+        dao.setVersionCheckMillis(0);
+        assertEquals(0, dao.countGames());
+    }
+
+    @Test
+    void testCacheHitsDoNotWaitForBulkWrite() throws Exception {
+        dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.0);
+        assertEquals(1, dao.countGames());
+
+        List<VideoGame> games = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            games.add(new VideoGame(0, "Bulk " + i, "Filler", 2020, 1, 1));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (Connection other = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = other.createStatement()) {
+            // with another connection holding the write lock, the bulk write waits inside the DAO's lock
+            stmt.execute("BEGIN IMMEDIATE");
+            Future<BulkResult> bulk = pool.submit(() -> dao.addGames(games));
+            Thread.sleep(200);
+            assertFalse(bulk.isDone());
+
+            // the version check interval is 0, so this checks for outside writes and is still a hit
+            Future<Integer> hit = pool.submit(() -> dao.countGames());
+            assertEquals(1, hit.get(2, TimeUnit.SECONDS));
+            assertFalse(bulk.isDone());
+
+            stmt.execute("ROLLBACK");
+            assertEquals(10, bulk.get(10, TimeUnit.SECONDS).getSucceeded());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(11, dao.countGames());
+        assertEquals(0, dao.getExternalChanges());
+    }
+}
@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class checks that CatalogSnapshot gives back exactly the games it saved and rejects damaged files
+ * */
+
+public class CatalogSnapshotTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshots");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void testRoundTripKeepsEveryField() throws IOException {
+        GameStore store = new GameStore();
+        String[] genres = {"Shooter", "RPG", " rpg ", "Jeu de rôle"};
+        Random random = new Random(5);
+        for (int id = 1; id <= 2000; id++) {
+            store.put(id * 7, new VideoGame(id * 7, "Game " + id, genres[random.nextInt(genres.length)],
+                    1980 + random.nextInt(45), random.nextInt(7000) / 100.0, random.nextDouble() * 10));
+        }
+        store.put(0, new VideoGame(0, "ゼルダの伝説 \"quoted\", with commas", "RPG", 1986, -0.0, Double.NaN));
+        store.put(-5, new VideoGame(-5, null, "Shooter", Integer.MIN_VALUE, Double.MAX_VALUE, Double.MIN_VALUE));
+        store.put(Integer.MAX_VALUE, new VideoGame(Integer.MAX_VALUE, "", "Puzzle", 2024, 1e-300, 10));
+        store.put(9, new VideoGame(9, "x".repeat(3000), "Puzzle", 2024, 1, 2));
+
+        Path file = dir.resolve("catalog.vgms");
+        CatalogSnapshot.write(file, store);
+        List<VideoGame> loaded = CatalogSnapshot.read(file);
+
+        assertEquals(store.size(), loaded.size());
+        int previous = Integer.MIN_VALUE;
+        for (VideoGame game : loaded) {
+            assertTrue(game.getGameID() > previous, "written in id order");
+            previous = game.getGameID();
+            VideoGame saved = store.get(game.getGameID());
+            assertEquals(saved.getTitle(), game.getTitle());
+            assertEquals(saved.getGenre(), game.getGenre());
+            assertEquals(saved.getReleaseYear(), game.getReleaseYear());
+            assertEquals(Double.doubleToRawLongBits(saved.getPrice()), Double.doubleToRawLongBits(game.getPrice()));
+            assertEquals(Double.doubleToRawLongBits(saved.getRating()), Double.doubleToRawLongBits(game.getRating()));
+        }
+        assertFalse(Files.exists(dir.resolve("catalog.vgms.tmp")));
+
+        GameStore empty = new GameStore();
+        CatalogSnapshot.write(file, empty);
+        assertEquals(0, CatalogSnapshot.read(file).size());
+    }
+
+    @Test
+    void testDamagedSnapshotsAreRejected() throws IOException {
+        GameStore store = new GameStore();
+        for (int id = 1; id <= 100; id++) {
+            store.put(id, new VideoGame(id, "Game " + id, "RPG", 2000, 10, 5));
+        }
+        Path file = dir.resolve("catalog.vgms");
+        CatalogSnapshot.write(file, store);
+        byte[] good = Files.readAllBytes(file);
+
+        // every single flipped byte is caught, by the header checks or by the checksum
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            byte[] bad = good.clone();
+            int at = i < CatalogSnapshot.HEADER_SIZE ? i : random.nextInt(bad.length);
+            bad[at] ^= (byte) (1 + random.nextInt(255));
+            if (at >= 28 && at < 32) {
+                continue; // reserved bytes are not read
+            }
+            Files.write(file, bad);
+            assertThrows(IOException.class, () -> CatalogSnapshot.read(file), "byte " + at);
+        }
+
+        byte[] truncated = new byte[good.length - 1];
+        System.arraycopy(good, 0, truncated, 0, truncated.length);
+        Files.write(file, truncated);
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+
+        Files.write(file, "1,Halo,Shooter,2001,59.99,9.5\n".getBytes());
+        IOException e = assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+        assertTrue(e.getMessage().startsWith("Not a catalog snapshot"));
+
+        // a correct checksum over a header that lies about the game count
+        byte[] lying = good.clone();
+        ByteBuffer.wrap(lying).order(ByteOrder.LITTLE_ENDIAN).putInt(8, 1_000_000);
+        Files.write(file, lying);
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+    }
+
+    @Test
+    void testManagerLoadReplacesCatalogOnlyWhenTheFileIsGood() throws IOException {
+        VideoGameManager manager = new VideoGameManager();
+        manager.videogames.setVerify(true);
+        List<VideoGame> games = new ArrayList<>();
+        games.add(new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.0));
+        games.add(new VideoGame(2, "Zelda", "Adventure", 2017, 59.99, 10.0));
+        manager.videogames.putAll(games);
+        Path file = dir.resolve("catalog.vgms");
+        manager.writeSnapshot(file);
+
+        manager.videogames.remove(1);
+        manager.videogames.put(3, new VideoGame(3, "Tetris", "Puzzle", 1984, 4.99, 8.0));
+        assertEquals(2, manager.readSnapshot(file));
+        assertEquals("Halo", manager.videogames.get(1).getTitle());
+        assertNull(manager.videogames.get(3));
+        assertEquals("Average Rating of All Games: 9.50\n", manager.calculateAverageRating());
+        assertEquals(1, manager.findGames(new GameCriteria().genre("shooter")).size());
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> manager.readSnapshot(file));
+        assertEquals(2, manager.videogames.size());
+    }
+}
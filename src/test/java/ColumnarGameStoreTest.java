@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class checks ColumnarGameStore against the object store (IntGameMap) it is an alternative to
+ * */
+
+public class ColumnarGameStoreTest {
+
+    private static final String[] GENRES = {"Shooter", "RPG", "Racing", "Puzzle"};
+
+    @Test
+    void testCrudAndScansMatchObjectStore() {
+        Random random = new Random(7);
+        IntGameMap objects = new IntGameMap();
+        ColumnarGameStore columns = new ColumnarGameStore();
+        for (int id = 1; id <= 5000; id++) {
+            VideoGame game = new VideoGame(id, "Game " + id, GENRES[random.nextInt(GENRES.length)],
+                    1990 + random.nextInt(35), random.nextInt(7000) / 100.0, random.nextInt(101) / 10.0);
+            objects.put(id, game);
+            assertTrue(columns.add(game));
+        }
+        assertFalse(columns.add(objects.get(1)));
+
+        // enough removes to trigger compaction part way through
+        for (int i = 0; i < 3000; i++) {
+            int id = 1 + random.nextInt(5000);
+            if (random.nextBoolean()) {
+                assertEquals(objects.remove(id) != null, columns.remove(id));
+            } else if (objects.containsKey(id)) {
+                objects.get(id).setRating(2.5);
+                objects.get(id).setGenre("Indie");
+                assertTrue(columns.update(id, null, "Indie", null, null, 2.5));
+            }
+        }
+        assertEquals(objects.size(), columns.size());
+
+        double total = 0;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        int indie = 0;
+        int filtered = 0;
+        for (VideoGame game : objects.values()) {
+            total += game.getRating();
+            maxPrice = Math.max(maxPrice, game.getPrice());
+            if (game.getGenre().equals("Indie")) indie++;
+            if (game.getGenre().equals("RPG") && game.getReleaseYear() >= 2000 && game.getPrice() <= 30) filtered++;
+            assertEquals(game.toString(), columns.get(game.getGameID()).toString());
+        }
+        assertEquals(total / objects.size(), columns.averageRating(), 1e-9);
+        assertEquals(maxPrice, columns.maxPrice());
+        assertEquals(indie, columns.countGenre("Indie"));
+        assertEquals(filtered, columns.countWhere("RPG", 2000, Integer.MAX_VALUE, 0, 30, 0, 10));
+
+        columns.compact();
+        assertEquals(total / objects.size(), columns.averageRating(), 1e-9);
+        assertNull(columns.get(-1));
+        assertEquals(0, columns.countGenre("Nothing"));
+    }
+
+    @Test
+    void testCompactDropsTitlesAndGenresNoGameUses() {
+        ColumnarGameStore columns = new ColumnarGameStore();
+        for (int id = 1; id <= 100; id++) {
+            assertTrue(columns.add(new VideoGame(id, "Game " + id, "Genre " + (id % 10), 2000, 9.99, 5.0)));
+        }
+        // genre 0 goes with the removed games and genre 1 with the update, titles 1 to 50 with both
+        for (int id = 1; id <= 40; id++) {
+            assertTrue(columns.remove(id));
+        }
+        for (int id = 41; id <= 100; id++) {
+            if (id % 10 == 0) {
+                assertTrue(columns.remove(id));
+            } else if (id <= 50 || id % 10 == 1) {
+                assertTrue(columns.update(id, id <= 50 ? "Renamed" : null, id % 10 == 1 ? "Genre 2" : null,
+                        null, null, null));
+            }
+        }
+        int live = 0;
+        for (int id = 51; id <= 100; id++) {
+            if (id % 10 != 0) live++;
+        }
+        // the removes compacted on their own along the way, but the last remove and update came after that
+        assertEquals(live + 2, columns.distinctTitles());
+        assertTrue(columns.genres().contains("Genre 0"));
+        assertTrue(columns.genres().contains("Genre 1"));
+
+        columns.compact();
+        assertEquals(live + 9, columns.size());
+        // the titles of ids 51 to 99 that are left, plus "Renamed"
+        assertEquals(live + 1, columns.distinctTitles());
+        assertEquals(8, columns.genres().size());
+        assertFalse(columns.genres().contains("Genre 0"));
+        assertFalse(columns.genres().contains("Genre 1"));
+        assertEquals(0, columns.countGenre("Genre 1"));
+        assertEquals(6 + 6, columns.countGenre("Genre 2"));
+        assertEquals("Renamed", columns.get(45).getTitle());
+        assertEquals("Genre 2", columns.get(71).getGenre());
+        assertEquals("Game 99", columns.get(99).getTitle());
+
+        // a dropped value gets a new code when it comes back
+        assertTrue(columns.add(new VideoGame(1, "Game 1", "Genre 0", 2000, 9.99, 5.0)));
+        assertEquals("Genre 0", columns.get(1).getGenre());
+        assertEquals(1, columns.countGenre("Genre 0"));
+        assertEquals(live + 2, columns.distinctTitles());
+    }
+}
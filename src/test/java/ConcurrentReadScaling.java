@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Measures how ConcurrentVideoGameManager reads scale with threads: each thread looks up games by id and
+ * reads the overall and genre totals for a fixed time, while one extra thread keeps updating games.
+ * Reads never lock, so reads per second should grow with the thread count up to the number of cores.
+ * Not a JUnit test, run it by hand, for example:
+ *   java ConcurrentReadScaling 1000000 1 2 4 8
+ * */
+
+public class ConcurrentReadScaling {
+
+    private static final long MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length == 0 ? 1_000_000 : Integer.parseInt(args[0]);
+        ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+        List<VideoGame> batch = new ArrayList<>();
+        for (int id = 0; id < games; id++) {
+            batch.add(new VideoGame(id, "Game " + id, "Genre " + id % 20, 1980 + id % 45, id % 60, id % 11));
+        }
+        manager.importGames(batch);
+        System.out.println(Runtime.getRuntime().availableProcessors() + " core(s), " + games + " games");
+
+        int[] threadCounts = args.length <= 1 ? new int[]{1, 2, 4, 8} : new int[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            threadCounts[i - 1] = Integer.parseInt(args[i]);
+        }
+        double single = 0;
+        for (int threads : threadCounts) {
+            double perSecond = run(manager, games, threads);
+            if (single == 0) {
+                single = perSecond;
+            }
+            System.out.printf("%2d reader(s): %,14.0f reads/s  %.2fx  (%d of %d aggregate reads retried)%n",
+                    threads, perSecond, perSecond / single, manager.getOptimisticRetries(), manager.getOptimisticReads());
+        }
+    }
+
+    private static double run(ConcurrentVideoGameManager manager, int games, int threads) throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        CountDownLatch go = new CountDownLatch(1);
+        long[] stopAt = new long[1];
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            Thread reader = new Thread(() -> {
+                awaitQuietly(go);
+                long count = 0;
+                int id = seed * 7919;
+                double sink = 0;
+                while (System.nanoTime() < stopAt[0]) {
+                    for (int i = 0; i < 1000; i++) {
+                        id = (id + 104729) % games;
+                        sink += manager.getGame(id).getRating();
+                        sink += i % 2 == 0 ? manager.overall().getAverageRating() : manager.genre("genre 3").getCount();
+                    }
+                    count += 2000;
+                }
+                reads.add(count + (sink == -1 ? 1 : 0));
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        Thread writer = new Thread(() -> {
+            awaitQuietly(go);
+            for (int id = 0; System.nanoTime() < stopAt[0]; id = (id + 1) % games) {
+                manager.updateGame(id, game -> game.setPrice(game.getPrice() + 1));
+                if (id % 100 == 0) {
+                    Thread.yield();
+                }
+            }
+        });
+        writer.start();
+        long start = System.nanoTime();
+        stopAt[0] = start + MILLIS * 1_000_000;
+        go.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        writer.join();
+        return reads.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
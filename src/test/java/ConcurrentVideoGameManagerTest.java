@@ -0,0 +1,157 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class stresses ConcurrentVideoGameManager from many threads: no update or insert may be lost
+ * and aggregate reads must never see a write half done
+ * */
+
+public class ConcurrentVideoGameManagerTest {
+
+    private static final int THREADS = 8;
+
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void testConcurrentUpdatesAreNeverLost() throws InterruptedException {
+        ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+        for (int id = 0; id < 100; id++) {
+            assertTrue(manager.addGame(new VideoGame(id, "Game " + id, "Puzzle", 2000, 0, 5)));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = start(() -> {
+            while (!done.get()) {
+                ConcurrentVideoGameManager.Totals totals = manager.overall();
+                assertEquals(100, totals.getCount());
+                assertEquals(500.0, totals.getRatingSum());
+                assertEquals(Math.rint(totals.getPriceSum()), totals.getPriceSum());
+            }
+        });
+        runTogether(t -> {
+            for (int i = 0; i < 2000; i++) {
+                manager.updateGame((t * 7 + i) % 100, game -> game.setPrice(game.getPrice() + 1));
+            }
+        });
+        done.set(true);
+        reader.join();
+        assertNoFailures();
+
+        for (int id = 0; id < 100; id++) {
+            assertEquals(THREADS * 20, manager.getGame(id).getPrice(), "game " + id);
+        }
+        assertEquals(THREADS * 2000, manager.overall().getPriceSum());
+        manager.verify();
+    }
+
+    @Test
+    void testOnlyOneSessionAddsEachId() throws InterruptedException {
+        ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+        AtomicInteger added = new AtomicInteger();
+        runTogether(t -> {
+            for (int id = 0; id < 1000; id++) {
+                if (manager.addGame(new VideoGame(id, "Session " + t, "Shooter", 2001, t, 9))) {
+                    added.incrementAndGet();
+                }
+            }
+        });
+        assertNoFailures();
+        assertEquals(1000, added.get());
+        assertEquals(1000, manager.size());
+        assertEquals(1000, manager.overall().getCount());
+        manager.verify();
+    }
+
+    @Test
+    void testSessionsAndImporterShareTheCatalog() throws InterruptedException {
+        ConcurrentVideoGameManager manager = new ConcurrentVideoGameManager();
+        for (int id = 0; id < 1000; id++) {
+            manager.addGame(new VideoGame(id, "Game " + id, "RPG", 2010, 10, 5));
+        }
+        List<VideoGame> file = new ArrayList<>();
+        for (int id = 1000; id < 21000; id++) {
+            file.add(new VideoGame(id, "Imported " + id, id % 2 == 0 ? "RPG" : "Racing", 2020, 15, 5));
+        }
+        Thread importer = start(() -> assertEquals(20000, manager.importGames(file)));
+        runTogether(t -> {
+            for (int i = 0; i < 20000; i++) {
+                if (t == 0) {
+                    // one session keeps repricing while the others read; every total is a whole write
+                    manager.updateGame(i % 1000, game -> game.setPrice(game.getPrice() == 10 ? 20 : 10));
+                } else {
+                    ConcurrentVideoGameManager.Totals totals = t % 2 == 0 ? manager.overall() : manager.genre("rpg");
+                    assertEquals(5.0 * totals.getCount(), totals.getRatingSum());
+                    assertEquals(0, totals.getPriceSum() % 5);
+                    assertTrue(totals.getMinPrice() >= 10 && totals.getMaxPrice() <= 20);
+                    if (i % 2000 == 0) {
+                        assertEquals(1000, manager.findGames(new GameCriteria().genre("RPG").yearBetween(2010, 2010)).size());
+                    }
+                }
+            }
+        });
+        importer.join();
+        assertNoFailures();
+        assertEquals(21000, manager.size());
+        assertEquals(11000, manager.genre("RPG").getCount());
+        assertTrue(manager.getOptimisticReads() > manager.getOptimisticRetries());
+        manager.verify();
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * runs the worker on every thread at once and waits for all of them
+     */
+    private void runTogether(Worker worker) throws InterruptedException {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(start(() -> {
+                go.await();
+                worker.run(thread);
+            }));
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private Thread start(Body body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void assertNoFailures() {
+        Throwable first = failures.peek();
+        if (first != null) {
+            fail(failures.size() + " thread(s) failed", first);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for GameImporter: a file split into many small chunks and parsed in parallel
+ * gives exactly the same games, counts and error report as reading it line by line
+ * */
+
+public class GameImporterTest {
+
+    private File file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = File.createTempFile("import", ".txt");
+        file.deleteOnExit();
+    }
+
+    @AfterEach
+    void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    void testParallelImportMatchesSequentialImport() throws Exception {
+        writeMessyFile(new Random(3), 3000);
+        for (int maxErrors : new int[]{1000, 7}) {
+            GameImporter importer = new GameImporter(64, maxErrors);
+            Map<Integer, VideoGame> sequential = new LinkedHashMap<>();
+            ImportResult expected = importer.importFile(file.toPath(), sink(sequential));
+            assertTrue(expected.getDuplicates() > 0 && expected.getRejected() > 0, expected.toString());
+
+            // 256 byte chunks put dozens of chunk boundaries among the duplicates and bad lines
+            Map<Integer, VideoGame> parallel = new LinkedHashMap<>();
+            ImportResult actual = importer.importFileParallel(file.toPath(), 4, 256, sink(parallel));
+
+            assertEquals(expected.getLinesRead(), actual.getLinesRead());
+            assertEquals(expected.getAdded(), actual.getAdded());
+            assertEquals(expected.getRejected(), actual.getRejected());
+            assertEquals(expected.getDuplicates(), actual.getDuplicates());
+            assertEquals(expected.getBytesRead(), actual.getBytesRead());
+            assertEquals(expected.getErrors(), actual.getErrors());
+            assertEquals(expected.getErrorsDropped(), actual.getErrorsDropped());
+            assertEquals(describe(sequential), describe(parallel));
+        }
+    }
+
+    @Test
+    void testDuplicateNearChunkBoundaryKeepsFirstLine() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            // every line repeats the id of the line before it, so every boundary splits a pair
+            int id = (i + 1) / 2;
+            text.append(id).append(",Game ").append(i).append(",RPG,2000,9.99,").append(i % 10).append('\n');
+        }
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+
+        Map<Integer, VideoGame> games = new LinkedHashMap<>();
+        ImportResult result = new GameImporter(64, 1000).importFileParallel(file.toPath(), 8, 100, sink(games));
+        assertEquals(100, result.getAdded());
+        assertEquals(100, result.getDuplicates());
+        for (int id = 1; id <= 100; id++) {
+            assertEquals("Game " + (2 * id - 1), games.get(id).getTitle());
+        }
+        assertEquals("Line 2: Duplicate ID found, skipping: 1", result.getErrors().get(0));
+        assertEquals("Line 200: Duplicate ID found, skipping: 100", result.getErrors().get(99));
+    }
+
+    /**
+     * writes valid lines mixed with duplicates, bad lines, blank lines, quoted titles and CRLF endings,
+     * starting with a byte order mark and ending without a newline
+     */
+    private void writeMessyFile(Random random, int lines) throws IOException {
+        StringBuilder text = new StringBuilder("\uFEFF");
+        for (int i = 1; i <= lines; i++) {
+            int id = random.nextInt(10) == 0 ? 1 + random.nextInt(i) : i;
+            switch (random.nextInt(12)) {
+                case 0:
+                    text.append(id).append(",Broken,RPG,2000,9.99");
+                    break;
+                case 1:
+                    text.append(id).append(",Bad year,RPG,twenty,9.99,5");
+                    break;
+                case 2:
+                    text.append("   ");
+                    break;
+                case 3:
+                    text.append(id).append(",\"Quoted, \"\"title\"\"\",Puzzle,1999,0.99,7.5\r");
+                    break;
+                default:
+                    text.append(id).append(",Game ").append(i).append(",Shooter,").append(1980 + random.nextInt(40))
+                            .append(',').append(random.nextInt(6000) / 100.0).append(',').append(random.nextInt(11));
+            }
+            if (i < lines) {
+                text.append('\n');
+            }
+        }
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static GameImporter.GameSink sink(Map<Integer, VideoGame> games) {
+        return game -> games.putIfAbsent(game.getGameID(), game) == null;
+    }
+
+    private static List<String> describe(Map<Integer, VideoGame> games) {
+        List<String> rows = new ArrayList<>();
+        for (VideoGame game : games.values()) {
+            rows.add(game.getGameID() + "|" + game.getTitle() + "|" + game.getGenre() + "|" + game.getReleaseYear()
+                    + "|" + game.getPrice() + "|" + game.getRating());
+        }
+        return rows;
+    }
+}
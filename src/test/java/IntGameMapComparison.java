@@ -0,0 +1,85 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Compares IntGameMap with the HashMap<Integer, VideoGame> it replaced: heap used by the map itself
+ * (the games are shared and not counted) and time for put, get and remove of every id.
+ * Not a JUnit test, run it by hand with a large heap, for example:
+ *   java -Xmx4g IntGameMapComparison 1000000 10000000
+ * */
+
+public class IntGameMapComparison {
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[]{1_000_000, 10_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        for (int n : sizes) {
+            compare(n);
+        }
+    }
+
+    private static void compare(int n) {
+        Random random = new Random(42);
+        int[] ids = new int[n];
+        VideoGame[] games = new VideoGame[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = random.nextInt(Integer.MAX_VALUE);
+            games[i] = new VideoGame(ids[i], "Title", "Genre", 2000, 9.99, 5.0);
+        }
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Map<Integer, VideoGame> hashMap = new HashMap<>();
+        for (int i = 0; i < n; i++) hashMap.put(ids[i], games[i]);
+        long hashPut = System.nanoTime() - start;
+        long hashBytes = usedHeap() - before;
+
+        start = System.nanoTime();
+        long hits = 0;
+        for (int i = 0; i < n; i++) if (hashMap.get(ids[i]) != null) hits++;
+        long hashGet = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) hashMap.remove(ids[i]);
+        long hashRemove = System.nanoTime() - start;
+        hashMap = null;
+
+        before = usedHeap();
+        start = System.nanoTime();
+        IntGameMap intMap = new IntGameMap();
+        for (int i = 0; i < n; i++) intMap.put(ids[i], games[i]);
+        long intPut = System.nanoTime() - start;
+        long intBytes = usedHeap() - before;
+
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) if (intMap.get(ids[i]) != null) hits++;
+        long intGet = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < n; i++) intMap.remove(ids[i]);
+        long intRemove = System.nanoTime() - start;
+
+        System.out.printf("%,d games (%d hits)%n", n, hits);
+        System.out.printf("  HashMap    : %,6d MB  put %5.1f ns  get %5.1f ns  remove %5.1f ns%n",
+                hashBytes >> 20, (double) hashPut / n, (double) hashGet / n, (double) hashRemove / n);
+        System.out.printf("  IntGameMap : %,6d MB  put %5.1f ns  get %5.1f ns  remove %5.1f ns%n",
+                intBytes >> 20, (double) intPut / n, (double) intGet / n, (double) intRemove / n);
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
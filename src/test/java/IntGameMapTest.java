@@ -0,0 +1,167 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for IntGameMap: removing from probe runs that collide or wrap around the end of
+ * the table must shift the later entries back so every game can still be found, and random puts, removes and
+ * resizes must leave the same contents as a HashMap
+ * */
+
+public class IntGameMapTest {
+
+    /** a map built for one game has 16 slots */
+    private static final int MASK = 15;
+
+    @Test
+    void testRemoveFromRunThatWrapsAroundTheTable() {
+        IntGameMap map = new IntGameMap(1);
+        Set<Integer> used = new HashSet<>();
+        int a = idWithHome(14, used);
+        int b = idWithHome(14, used);
+        int c = idWithHome(15, used);
+        int d = idWithHome(15, used);
+        int e = idWithHome(0, used);
+        for (int id : new int[]{a, b, c, d, e}) {
+            assertNull(map.put(id, game(id)));
+        }
+        // slots 14 and 15 hold a and b, so c, d and e wrapped around to slots 0, 1 and 2
+        assertArrayEquals(new int[]{c, d, e, a, b}, map.keys());
+
+        assertEquals(a, map.remove(a).getGameID());
+        // b moves into slot 14, c back to 15, d to 0 and e to 1
+        assertArrayEquals(new int[]{d, e, b, c}, map.keys());
+        assertAllFound(map, b, c, d, e);
+        assertNull(map.get(a));
+
+        assertEquals(c, map.remove(c).getGameID());
+        assertArrayEquals(new int[]{e, b, d}, map.keys());
+        assertAllFound(map, b, d, e);
+
+        assertEquals(b, map.remove(b).getGameID());
+        assertAllFound(map, d, e);
+        assertNull(map.remove(b));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testRemoveFromCollidingRunKeepsEntriesThatCannotMove() {
+        IntGameMap map = new IntGameMap(1);
+        Set<Integer> used = new HashSet<>();
+        int a = idWithHome(3, used);
+        int b = idWithHome(3, used);
+        int c = idWithHome(5, used);
+        int d = idWithHome(3, used);
+        int e = idWithHome(6, used);
+        // slots 3 to 7 hold a, b, c, d, e
+        for (int id : new int[]{a, b, c, d, e}) {
+            map.put(id, game(id));
+        }
+        assertArrayEquals(new int[]{a, b, c, d, e}, map.keys());
+
+        // d moves into the gap at 4, c stays at its home slot 5, e moves up to 6 and 7 is freed
+        map.remove(b);
+        assertArrayEquals(new int[]{a, d, c, e}, map.keys());
+        assertAllFound(map, a, c, d, e);
+
+        // an id that is not in the map but probes through the run finds nothing and changes nothing
+        int missing = idWithHome(3, used);
+        assertNull(map.remove(missing));
+        assertArrayEquals(new int[]{a, d, c, e}, map.keys());
+
+        map.remove(a);
+        assertArrayEquals(new int[]{d, c, e}, map.keys());
+        assertAllFound(map, c, d, e);
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testRandomChangesMatchHashMap() {
+        Random random = new Random(11);
+        IntGameMap map = new IntGameMap(1);
+        Map<Integer, VideoGame> expected = new HashMap<>();
+        for (int step = 0; step < 200_000; step++) {
+            // a small key range keeps the table crowded, so most removes land inside probe runs
+            int id = random.nextInt(3000) - 1000;
+            int op = random.nextInt(100);
+            if (op < 45) {
+                VideoGame game = game(id);
+                assertSame(expected.put(id, game), map.put(id, game));
+            } else if (op < 55) {
+                VideoGame game = game(id);
+                assertSame(expected.putIfAbsent(id, game), map.putIfAbsent(id, game));
+            } else if (op < 97) {
+                assertSame(expected.remove(id), map.remove(id));
+            } else if (op < 98) {
+                map.ensureCapacity(random.nextInt(4000));
+            } else if (random.nextInt(200) == 0) {
+                expected.clear();
+                map.clear();
+            } else {
+                assertSame(expected.get(id), map.get(id));
+            }
+            assertEquals(expected.size(), map.size());
+            if (step % 5000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+        for (int id = -1000; id < 2000; id++) {
+            assertEquals(expected.containsKey(id), map.containsKey(id));
+        }
+    }
+
+    private static void assertSameContents(Map<Integer, VideoGame> expected, IntGameMap map) {
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        List<Integer> sorted = new ArrayList<>(expected.keySet());
+        sorted.sort(null);
+        assertEquals(sorted.size(), keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(sorted.get(i).intValue(), keys[i]);
+            assertSame(expected.get(keys[i]), map.get(keys[i]));
+        }
+        int[] seen = {0};
+        map.forEach((id, game) -> {
+            assertSame(expected.get(id), game);
+            seen[0]++;
+        });
+        assertEquals(expected.size(), seen[0]);
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    private static void assertAllFound(IntGameMap map, int... ids) {
+        for (int id : ids) {
+            assertEquals(id, map.get(id).getGameID(), "id " + id);
+        }
+    }
+
+    /**
+     * finds an unused id whose home slot in a 16 slot table is the given one, using the same hash as IntGameMap
+     */
+    private static int idWithHome(int home, Set<Integer> used) {
+        for (int id = 1; ; id++) {
+            int h = id * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & MASK) == home && used.add(id)) {
+                return id;
+            }
+        }
+    }
+
+    private static VideoGame game(int id) {
+        return new VideoGame(id, "Game " + id, "RPG", 2000, 9.99, 5.0);
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for LatencyHistogram, the operation metrics VideoGameDAO and VideoGameManager
+ * record, and their publication over JMX
+ * */
+
+public class MetricsRegistryTest {
+
+    @Test
+    void testHistogramPercentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(7);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // 1 microsecond to about 1 second, spread over every power of two
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double fraction : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            long reported = histogram.percentile(fraction);
+            assertTrue(reported >= exact && reported <= exact * 1.07, fraction + ": " + reported + " vs " + exact);
+        }
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(0.99));
+    }
+
+    @Test
+    void testBucketsCoverEveryDuration() {
+        int previous = -1;
+        for (long value = 0; value < 1L << 20; value++) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(bucket == previous || bucket == previous + 1, "gap at " + value);
+            assertTrue(LatencyHistogram.highestValue(bucket) >= value);
+            previous = bucket;
+        }
+        assertEquals(LatencyHistogram.bucket((1L << 41) - 1), LatencyHistogram.bucket(Long.MAX_VALUE));
+        assertTrue(LatencyHistogram.bucket(1L << 40) < LatencyHistogram.bucket((1L << 41) - 1));
+    }
+
+    @Test
+    void testDaoRecordsCallsRowsAndSwallowedErrors() throws Exception {
+        File dbFile = File.createTempFile("videogames", ".db");
+        dbFile.deleteOnExit();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)");
+        }
+        MetricsRegistry metrics = new MetricsRegistry();
+        VideoGameDAO dao = new VideoGameDAO(metrics);
+        try {
+            assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+            assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+            assertTrue(dao.addGame("Zelda", "Adventure", 2017, 59.99, 10.0));
+            // NOT NULL violation: the DAO returns -1, the metrics keep the reason
+            assertEquals(-1, dao.insertGame(null, "Shooter", 2001, 1, 1));
+            assertEquals(2, dao.getAllGames().size());
+            assertEquals(9.75, dao.calculateAverageRating(), 1e-9);
+            assertTrue(dao.updateGamePartial(1, null, null, null, 19.99, null));
+            assertTrue(dao.deleteGame(2));
+            assertTrue(dao.deleteGame(2));
+        } finally {
+            dao.close();
+            dbFile.delete();
+        }
+
+        OperationMetrics add = metrics.operation("dao.add");
+        assertEquals(3, add.getCount());
+        assertEquals(1, add.getErrors());
+        assertTrue(add.getLastError().contains("NOT NULL"), add.getLastError());
+        assertEquals(2, add.getRowsReturned());
+        assertTrue(add.getP99Micros() > 0 && add.getP99Micros() <= add.getMaxMicros());
+
+        assertEquals(1, metrics.operation("dao.connect").getCount());
+        assertEquals(2, metrics.operation("dao.getAllGames").getRowsReturned());
+        assertEquals(2, metrics.operation("dao.average").getRowsScanned());
+        assertEquals(1, metrics.operation("dao.updatePartial").getRowsReturned());
+        // the second delete found nothing
+        assertEquals(2, metrics.operation("dao.delete").getCount());
+        assertEquals(1, metrics.operation("dao.delete").getRowsReturned());
+
+        String dump = metrics.dump();
+        assertTrue(dump.contains("dao.add"));
+        assertFalse(dump.contains("dao.query"), "operations never called are left out");
+    }
+
+    @Test
+    void testSharedRegistryIsPublishedOverJmx() throws Exception {
+        VideoGameManager manager = new VideoGameManager();
+        manager.videogames.put(1, new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.5));
+        long before = MetricsRegistry.shared().operation("manager.average").getCount();
+        manager.calculateAverageRating();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Operation,name=manager.average");
+        assertTrue(server.isRegistered(name));
+        assertEquals(before + 1, (Long) server.getAttribute(name, "Count"));
+        assertEquals("manager.average", server.getAttribute(name, "Name"));
+    }
+}
@@ -0,0 +1,245 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class checks that MutationJournal brings a GameStore back after a crash, including a torn last record
+ * */
+
+public class MutationJournalTest {
+
+    private Path dir;
+    private final List<MutationJournal> open = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("datadir");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (MutationJournal journal : open) {
+            journal.close();
+        }
+        try (var files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void testChangesSurviveACrash() throws IOException {
+        GameStore store = new GameStore();
+        MutationJournal journal = open(dir.resolve("live"), store);
+        Random random = new Random(9);
+        for (int i = 0; i < 3000; i++) {
+            int id = random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0:
+                    store.remove(id);
+                    break;
+                case 1:
+                    store.update(id, game -> game.setPrice(random.nextInt(100)));
+                    break;
+                default:
+                    store.put(id, new VideoGame(id, "Game " + i + (i % 50 == 0 ? " ☆" : ""), "RPG", 2000 + i % 20, i, i % 10));
+                    break;
+            }
+            if (i == 1500) {
+                store.clear();
+            }
+        }
+        journal.sync();
+
+        // the process dies here: only what is on disk is left
+        Path crashed = copy(dir.resolve("live"), dir.resolve("crashed"));
+        GameStore restored = new GameStore();
+        MutationJournal reopened = open(crashed, restored);
+        assertTrue(reopened.getReplayed() > 3000);
+        assertEquals(0, reopened.getDiscardedBytes());
+        assertEquals(contents(store), contents(restored));
+    }
+
+    @Test
+    void testReplayStopsCleanlyAtATornTail() throws IOException {
+        GameStore store = new GameStore();
+        MutationJournal journal = open(dir.resolve("live"), store);
+        for (int id = 1; id <= 10; id++) {
+            store.put(id, new VideoGame(id, "Game " + id, "Shooter", 2001, 10, 5));
+        }
+        journal.sync();
+        String before = contents(store);
+        store.put(11, new VideoGame(11, "Half written", "Shooter", 2001, 10, 5));
+        journal.sync();
+
+        Path crashed = copy(dir.resolve("live"), dir.resolve("crashed"));
+        Path log = crashed.resolve(MutationJournal.JOURNAL_FILE);
+        long fullSize = Files.size(log);
+        try (var channel = java.nio.channels.FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(fullSize - 5);
+        }
+
+        GameStore restored = new GameStore();
+        MutationJournal reopened = open(crashed, restored);
+        assertEquals(10, reopened.getReplayed());
+        assertTrue(reopened.getDiscardedBytes() > 0);
+        assertEquals(before, contents(restored));
+
+        // the torn bytes were cut off, so new records follow the last good one
+        restored.put(12, new VideoGame(12, "After the crash", "Puzzle", 2024, 1, 1));
+        reopened.close();
+        open.remove(reopened);
+        GameStore again = new GameStore();
+        assertEquals(11, open(crashed, again).getReplayed());
+        assertEquals(contents(restored), contents(again));
+
+        // garbage after the last record is a torn tail too
+        Files.write(log, new byte[]{42, 0, 0, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+        open.get(open.size() - 1).close();
+        open.remove(open.size() - 1);
+        GameStore third = new GameStore();
+        assertEquals(7, open(crashed, third).getDiscardedBytes());
+        assertEquals(contents(again), contents(third));
+    }
+
+    @Test
+    void testCheckpointEmptiesTheJournalAndOldJournalReplaysHarmlessly() throws IOException {
+        JournalConfig config = new JournalConfig();
+        config.setCheckpointBytes(2000);
+        GameStore store = new GameStore();
+        MutationJournal journal = MutationJournal.open(dir.resolve("live"), store, config);
+        open.add(journal);
+        for (int id = 1; id <= 50; id++) {
+            store.put(id, new VideoGame(id, "Game " + id, "Racing", 1999, id, 7));
+        }
+        store.remove(3);
+        assertTrue(journal.isCheckpointDue());
+        journal.sync();
+        Path oldJournal = dir.resolve("old.log");
+        Files.copy(dir.resolve("live").resolve(MutationJournal.JOURNAL_FILE), oldJournal);
+
+        journal.checkpoint();
+        assertEquals(0, journal.size());
+        assertFalse(journal.isCheckpointDue());
+        store.remove(4);
+        journal.sync();
+
+        Path crashed = copy(dir.resolve("live"), dir.resolve("crashed"));
+        GameStore restored = new GameStore();
+        assertEquals(1, open(crashed, restored).getReplayed());
+        assertEquals(contents(store), contents(restored));
+
+        // a crash between the snapshot and emptying the journal replays the old journal onto the new snapshot
+        Path midway = dir.resolve("midway");
+        Files.createDirectories(midway);
+        Files.copy(crashed.resolve(MutationJournal.SNAPSHOT_FILE), midway.resolve(MutationJournal.SNAPSHOT_FILE));
+        Files.copy(oldJournal, midway.resolve(MutationJournal.JOURNAL_FILE));
+        GameStore replayedTwice = new GameStore();
+        open(midway, replayedTwice);
+        assertNotNull(replayedTwice.get(4));
+        replayedTwice.remove(4);
+        assertEquals(contents(store), contents(replayedTwice));
+    }
+
+    @Test
+    void testFailedCheckpointKeepsTheJournal() throws IOException {
+        GameStore store = new GameStore();
+        Path live = dir.resolve("live");
+        MutationJournal journal = open(live, store);
+        for (int id = 1; id <= 20; id++) {
+            store.put(id, new VideoGame(id, "Game " + id, "Racing", 1999, id, 7));
+        }
+        journal.sync();
+        long size = journal.size();
+        long onDisk = Files.size(live.resolve(MutationJournal.JOURNAL_FILE));
+
+        // a non-empty directory where the snapshot goes makes the move into place fail
+        Path blocker = live.resolve(MutationJournal.SNAPSHOT_FILE);
+        Files.createDirectories(blocker);
+        Files.writeString(blocker.resolve("keep"), "x");
+        assertThrows(IOException.class, journal::checkpoint);
+        assertEquals(size, journal.size());
+        assertEquals(onDisk, Files.size(live.resolve(MutationJournal.JOURNAL_FILE)));
+
+        Files.delete(blocker.resolve("keep"));
+        Files.delete(blocker);
+        Path crashed = copy(live, dir.resolve("crashed"));
+        GameStore restored = new GameStore();
+        assertEquals(20, open(crashed, restored).getReplayed());
+        assertEquals(contents(store), contents(restored));
+
+        journal.checkpoint();
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void testManagerKeepsItsCatalogInTheDataDirectory() throws IOException {
+        VideoGameManager manager = new VideoGameManager();
+        assertEquals(0, manager.openDataDir(dir, new JournalConfig()));
+        manager.videogames.put(1, new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.0));
+        manager.videogames.put(2, new VideoGame(2, "Zelda", "Adventure", 2017, 59.99, 10.0));
+        manager.videogames.update(1, game -> game.setRating(8.0));
+        assertNull(manager.maintainJournal());
+        manager.closeDataDir();
+        assertEquals(0, Files.size(dir.resolve(MutationJournal.JOURNAL_FILE)));
+
+        VideoGameManager restarted = new VideoGameManager();
+        assertEquals(2, restarted.openDataDir(dir, new JournalConfig()));
+        assertEquals("Average Rating of All Games: 9.00\n", restarted.calculateAverageRating());
+
+        // a loaded snapshot is checkpointed instead of journaled
+        Path other = Files.createTempFile(dir, "other", ".vgms");
+        GameStore three = new GameStore();
+        for (int id = 1; id <= 3; id++) {
+            three.put(id, new VideoGame(id, "Game " + id, "Puzzle", 2000, 1, 1));
+        }
+        CatalogSnapshot.write(other, three);
+        assertEquals(3, restarted.readSnapshot(other));
+        assertEquals(0, restarted.journal.size());
+        restarted.closeDataDir();
+
+        VideoGameManager third = new VideoGameManager();
+        assertEquals(3, third.openDataDir(dir, new JournalConfig()));
+        third.closeDataDir();
+    }
+
+    private MutationJournal open(Path dataDir, GameStore store) throws IOException {
+        MutationJournal journal = MutationJournal.open(dataDir, store, new JournalConfig());
+        open.add(journal);
+        return journal;
+    }
+
+    private static Path copy(Path from, Path to) throws IOException {
+        Files.createDirectories(to);
+        try (var files = Files.list(from)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, to.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return to;
+    }
+
+    private static String contents(GameStore store) {
+        List<String> games = new ArrayList<>();
+        for (VideoGame game : store.values()) {
+            games.add(game.toString());
+        }
+        games.sort(null);
+        return String.join("\n", games);
+    }
+}
@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for PagedGameList: rows are blank until their page arrives from a worker
+ * thread, jumps land on the same rows as sorting the whole table, and pages read for an old order are dropped
+ * */
+
+public class PagedGameListTest {
+
+    private File dbFile;
+    private VideoGameDAO dao;
+    private AsyncVideoGameDAO async;
+    // stands in for the JavaFX thread: pages are handed over only when the test runs these
+    private final LinkedBlockingQueue<Runnable> guiThread = new LinkedBlockingQueue<>();
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private List<VideoGame> games;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbFile = File.createTempFile("paged", ".db");
+        dbFile.deleteOnExit();
+        dao = new VideoGameDAO(new MetricsRegistry());
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+        Random random = new Random(5);
+        List<VideoGame> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(new VideoGame(0, "Game " + random.nextInt(300), "RPG", 2000, random.nextInt(50), 5));
+        }
+        assertEquals(1000, dao.addGames(rows).getSucceeded());
+        games = new ArrayList<>(dao.getAllGames());
+        async = new AsyncVideoGameDAO(dao);
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+        dao.close();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+
+    @Test
+    void testRowsArriveFromWorkerAndJumpsMatchFullSort() throws Exception {
+        PagedGameList list = new PagedGameList(async, games.size(), 50, 4, guiThread::add, refreshes::incrementAndGet);
+        list.setOrder(GameColumn.TITLE, true);
+        games.sort(Comparator.comparing(VideoGame::getTitle).thenComparing(VideoGame::getGameID));
+
+        // nothing is read on the calling thread; the rows are placeholders until the page is handed over
+        assertNull(list.get(0));
+        assertNull(list.get(10));
+        assertNull(list.get(730));
+        assertEquals(2, list.loadingPages());
+        deliverPages(list);
+        assertEquals(2, refreshes.get());
+
+        assertEquals(games.get(0).getGameID(), list.get(0).getGameID());
+        // page 14 was asked for before page 0 arrived, so it was found by stepping over the title index
+        for (int index = 700; index < 750; index++) {
+            assertEquals(games.get(index).getGameID(), list.get(index).getGameID(), "row " + index);
+        }
+        // the page after a known one starts at its last row
+        assertNull(list.get(750));
+        deliverPages(list);
+        assertEquals(games.get(750).getGameID(), list.get(750).getGameID());
+        assertEquals(3, list.getPageLoads());
+    }
+
+    @Test
+    void testPagesOfAnOldOrderAreDropped() throws Exception {
+        PagedGameList list = new PagedGameList(async, games.size(), 50, 4, guiThread::add, refreshes::incrementAndGet);
+        assertNull(list.get(500));
+        list.setOrder(GameColumn.PRICE, false);
+        assertEquals(0, list.loadingPages());
+
+        assertNull(list.get(999));
+        deliverPages(list);
+        games.sort(Comparator.comparing(VideoGame::getPrice).reversed()
+                .thenComparing(Comparator.comparing(VideoGame::getGameID).reversed()));
+        assertEquals(games.get(999).getGameID(), list.get(999).getGameID());
+        assertEquals(1, list.loadedPages());
+
+        // a reload after an edit forgets every page
+        list.reload(998);
+        assertEquals(0, list.loadedPages());
+        assertEquals(998, list.size());
+    }
+
+    /**
+     * runs the handed over work, like the JavaFX thread would, until no page is being read
+     */
+    private void deliverPages(PagedGameList list) throws InterruptedException {
+        while (list.loadingPages() > 0) {
+            Runnable work = guiThread.poll(5, TimeUnit.SECONDS);
+            assertNotNull(work, "a page never arrived");
+            work.run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for SchemaManager: new and old database files are brought to the latest
+ * version and the common queries switch from scanning the table to searching an index
+ * */
+
+public class SchemaManagerTest {
+
+    private File dbFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbFile = File.createTempFile("schema", ".db");
+        dbFile.deleteOnExit();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+
+    @Test
+    void testConnectCreatesTableOnEmptyFile() throws Exception {
+        VideoGameDAO dao = new VideoGameDAO(new MetricsRegistry());
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+        try {
+            assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+            assertEquals(1, dao.countGames());
+        } finally {
+            dao.close();
+        }
+        try (Connection conn = open()) {
+            assertEquals(SchemaManager.getLatestVersion(), SchemaManager.getVersion(conn));
+            assertEquals(0, SchemaManager.migrate(conn), "already up to date");
+        }
+    }
+
+    @Test
+    void testMigrationTurnsScansIntoIndexSearches() throws Exception {
+        // a file from before migrations: the table, some rows and no indexes
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)");
+            conn.setAutoCommit(false);
+            String[] genres = {"RPG", "Shooter", "Racing", "Puzzle", "Sports", "Horror", "Strategy", "Party"};
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < 5000; i++) {
+                    insert.setString(1, "Game " + i);
+                    insert.setString(2, genres[i % genres.length]);
+                    insert.setInt(3, 1980 + i % 45);
+                    insert.setDouble(4, i % 70);
+                    insert.setDouble(5, (i % 101) / 10.0);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+
+        String byGenre = new GameQuery().where(GameColumn.GENRE, GameQuery.Op.EQ, "RPG")
+                .orderBy(GameColumn.RATING, false).limit(10).toSql();
+        String byYear = new GameQuery().between(GameColumn.RELEASE_YEAR, 2000, 2004).toCountSql();
+        // ranges are shown sorted by the same column, as the GUI does; a wide range ordered by gameid is
+        // still cheapest as a scan in rowid order
+        String byRating = new GameQuery().where(GameColumn.RATING, GameQuery.Op.GE, 9.5)
+                .orderBy(GameColumn.RATING, false).toSql();
+        String byPrice = new GameQuery().where(GameColumn.PRICE, GameQuery.Op.LT, 5).orderBy(GameColumn.PRICE, true).toSql();
+        try (Connection conn = open()) {
+            assertEquals(0, SchemaManager.getVersion(conn));
+            for (String sql : new String[] {byGenre, byYear, byRating, byPrice}) {
+                assertTrue(plan(conn, sql).startsWith("SCAN videogames"), sql + " -> " + plan(conn, sql));
+            }
+            assertEquals("SCAN videogames", plan(conn, "SELECT AVG(rating) FROM videogames"));
+
+            assertEquals(SchemaManager.getLatestVersion(), SchemaManager.migrate(conn));
+
+            assertTrue(plan(conn, byGenre).startsWith("SEARCH videogames USING INDEX idx_videogames_genre_rating (genre=?)"),
+                    plan(conn, byGenre));
+            // the count only needs releaseyear, which the index holds
+            assertTrue(plan(conn, byYear).startsWith("SEARCH videogames USING COVERING INDEX idx_videogames_year"),
+                    plan(conn, byYear));
+            assertTrue(plan(conn, byRating).startsWith("SEARCH videogames USING INDEX idx_videogames_rating (rating>?)"),
+                    plan(conn, byRating));
+            assertTrue(plan(conn, byPrice).startsWith("SEARCH videogames USING INDEX idx_videogames_price (price<?)"),
+                    plan(conn, byPrice));
+            assertTrue(plan(conn, "SELECT AVG(rating) FROM videogames").startsWith("SCAN videogames USING COVERING INDEX"));
+
+            // a page of the table view in any order seeks to its first row and reads on, with no sorting
+            for (String column : new String[] {"title", "genre", "releaseyear"}) {
+                String page = "SELECT * FROM videogames WHERE (" + column + ", gameid) > (?, ?) ORDER BY " + column
+                        + ", gameid LIMIT ? OFFSET ?";
+                assertTrue(plan(conn, page).startsWith("SEARCH videogames USING INDEX idx_videogames_"), plan(conn, page));
+                assertFalse(plan(conn, page).contains("TEMP B-TREE"), plan(conn, page));
+            }
+            // the rows without a value in a nullable column are paged on their own, also with a seek
+            for (String column : new String[] {"releaseyear", "price", "rating"}) {
+                String nulls = "SELECT * FROM videogames WHERE " + column + " IS NULL AND gameid > ? ORDER BY " + column
+                        + ", gameid LIMIT ? OFFSET ?";
+                assertTrue(plan(conn, nulls).startsWith("SEARCH videogames USING INDEX idx_videogames_"), plan(conn, nulls));
+                assertFalse(plan(conn, nulls).contains("TEMP B-TREE"), plan(conn, nulls));
+            }
+
+            // ANALYZE ran, so the planner has statistics for every index
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sqlite_stat1 WHERE tbl = 'videogames'")) {
+                assertEquals(7, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void testNewerSchemaIsRefused() throws Exception {
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + (SchemaManager.getLatestVersion() + 1));
+        }
+        VideoGameDAO dao = new VideoGameDAO(new MetricsRegistry());
+        assertFalse(dao.connectToDatabase(dbFile.getAbsolutePath()));
+        dao.close();
+    }
+
+    private Connection open() throws Exception {
+        return DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+    }
+
+    /**
+     * the EXPLAIN QUERY PLAN lines of a statement joined with "; ", parameters left unbound
+     */
+    private static String plan(Connection conn, String sql) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                lines.add(rs.getString("detail"));
+            }
+        }
+        return String.join("; ", lines);
+    }
+}
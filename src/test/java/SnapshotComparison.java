@@ -0,0 +1,74 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * Compares loading a catalog from a text file (GameImporter, the same path as addGame2) with loading the
+ * same games from a CatalogSnapshot. Both end with a filled GameStore, so the times are startup times.
+ * Not a JUnit test, run it by hand with a large heap, for example:
+ *   java -Xmx4g SnapshotComparison 5000000
+ * */
+
+public class SnapshotComparison {
+
+    private static final String[] GENRES = {"Shooter", "RPG", "Racing", "Puzzle", "Platformer",
+            "Sports", "Strategy", "Adventure", "Fighting", "Simulation"};
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length == 0 ? 5_000_000 : Integer.parseInt(args[0]);
+        Path dir = Files.createTempDirectory("snapshot-comparison");
+        Path text = dir.resolve("games.txt");
+        Path snapshot = dir.resolve("games.vgms");
+        try {
+            writeText(text, n);
+
+            long start = System.nanoTime();
+            GameStore fromText = new GameStore();
+            fromText.ensureCapacity(n);
+            new GameImporter().importFile(text, game -> fromText.putIfAbsent(game.getGameID(), game) == null);
+            long textTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CatalogSnapshot.write(snapshot, fromText);
+            long writeTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<VideoGame> games = CatalogSnapshot.read(snapshot);
+            long readTime = System.nanoTime() - start;
+            GameStore fromSnapshot = new GameStore();
+            fromSnapshot.putAll(games);
+            long snapshotTime = System.nanoTime() - start;
+
+            System.out.printf("%,d games, text %,d MB, snapshot %,d MB%n", fromSnapshot.size(),
+                    Files.size(text) >> 20, Files.size(snapshot) >> 20);
+            System.out.printf("  text import   : %,7d ms%n", textTime / 1_000_000);
+            System.out.printf("  snapshot save : %,7d ms%n", writeTime / 1_000_000);
+            System.out.printf("  snapshot load : %,7d ms (%,d ms reading the file)%n",
+                    snapshotTime / 1_000_000, readTime / 1_000_000);
+        } finally {
+            Files.deleteIfExists(text);
+            Files.deleteIfExists(snapshot);
+            Files.delete(dir);
+        }
+    }
+
+    private static void writeText(Path file, int n) throws IOException {
+        Random random = new Random(1);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int id = 1; id <= n; id++) {
+                out.write(id + ",Game Title Number " + id + "," + GENRES[random.nextInt(GENRES.length)] + ","
+                        + (1980 + random.nextInt(45)) + "," + random.nextInt(7000) / 100.0 + ","
+                        + random.nextInt(101) / 10.0 + "\n");
+            }
+        }
+    }
+}
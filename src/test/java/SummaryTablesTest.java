@@ -0,0 +1,219 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for SummaryTables: the triggers keep the genre and year summaries equal to
+ * aggregating every row, the DAO reads them with a key lookup, and verify/rebuild find and repair drift
+ * */
+
+public class SummaryTablesTest {
+
+    private File dbFile;
+    private VideoGameDAO dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbFile = File.createTempFile("summary", ".db");
+        dbFile.deleteOnExit();
+        dao = new VideoGameDAO(new MetricsRegistry());
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dao.close();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+
+    @Test
+    void testTriggersFollowInsertsUpdatesAndDeletes() {
+        assertEquals(0, dao.getOverallSummary().getCount());
+        assertNull(dao.getGenreSummary("Shooter"));
+
+        int halo = dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.5);
+        int doom = dao.insertGame("Doom", "Shooter", 1993, 4.99, 8.0);
+        int zelda = dao.insertGame("Zelda", "Adventure", 2017, 59.99, 10.0);
+        dao.insertGame("Tetris", "Puzzle", 1984, 0.99, 7.0);
+
+        GameStats shooter = dao.getGenreSummary("Shooter");
+        assertEquals(2, shooter.getCount());
+        assertEquals(8.75, shooter.getAverageRating(), 1e-9);
+        assertEquals(8.0, shooter.getMinRating());
+        assertEquals(59.99, shooter.getMaxPrice());
+        assertEquals(8.625, dao.calculateAverageRating(), 1e-9);
+
+        // Doom held the lowest rating and price of Shooter and leaves it for Adventure
+        assertTrue(dao.updateGame(doom, "Doom", "Adventure", 1993, 4.99, 8.0));
+        shooter = dao.getGenreSummary("Shooter");
+        assertEquals(1, shooter.getCount());
+        assertEquals(9.5, shooter.getMinRating());
+        assertEquals(59.99, shooter.getMinPrice());
+        assertEquals(2, dao.getGenreSummary("Adventure").getCount());
+        assertEquals(8.0, dao.getGenreSummary("Adventure").getMinRating());
+
+        // the top rating drops; the maximum has to be looked up again
+        assertTrue(dao.updateGamePartial(zelda, null, null, null, null, 6.0));
+        assertEquals(8.0, dao.getGenreSummary("Adventure").getMaxRating());
+        assertEquals(6.0, dao.getYearSummary(2017).getMinRating());
+
+        // the last game of a group takes the group with it
+        assertTrue(dao.deleteGame(halo));
+        assertNull(dao.getGenreSummary("Shooter"));
+        assertNull(dao.getYearSummary(2001));
+
+        Map<String, GameStats> genres = dao.getGenreSummaries();
+        assertEquals(List.of("Adventure", "Puzzle"), new ArrayList<>(genres.keySet()));
+        assertEquals(List.of(1984, 1993, 2017), new ArrayList<>(dao.getYearSummaries().keySet()));
+        GameStats overall = dao.getOverallSummary();
+        assertEquals(3, overall.getCount());
+        assertEquals(0.99, overall.getMinPrice());
+        assertEquals(8.0, overall.getMaxRating());
+        assertEquals(7.0, dao.calculateAverageRating(), 1e-9);
+        assertEquals(List.of(), dao.verifySummaries());
+    }
+
+    @Test
+    void testRandomChangesMatchAggregatingEveryRow() {
+        Random random = new Random(11);
+        String[] genres = {"RPG", "Shooter", "Racing", "Puzzle"};
+        List<VideoGame> games = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            games.add(new VideoGame(0, "Game " + i, genres[random.nextInt(genres.length)], 1990 + random.nextInt(10),
+                    random.nextInt(7000) / 100.0, random.nextInt(101) / 10.0));
+        }
+        assertEquals(500, dao.addGames(games).getSucceeded());
+        for (int i = 0; i < 400; i++) {
+            int id = 1 + random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0:
+                    dao.updateGamePartial(id, null, genres[random.nextInt(genres.length)], null, null, null);
+                    break;
+                case 1:
+                    dao.updateGamePartial(id, null, null, 1990 + random.nextInt(10), random.nextInt(7000) / 100.0,
+                            random.nextInt(101) / 10.0);
+                    break;
+                default:
+                    dao.deleteGame(id);
+            }
+        }
+        assertEquals(List.of(), dao.verifySummaries());
+
+        double sum = 0;
+        int count = 0;
+        for (VideoGame game : dao.getAllGames()) {
+            sum += game.getRating();
+            count++;
+        }
+        assertEquals(count, dao.getOverallSummary().getCount());
+        assertEquals(sum / count, dao.calculateAverageRating(), 1e-9);
+    }
+
+    @Test
+    void testVerifyReportsDriftAndRebuildRepairsIt() throws Exception {
+        dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.5);
+        dao.insertGame("Zelda", "Adventure", 2017, 59.99, 10.0);
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            // a bulk load by another tool with the triggers dropped, and a hand edit
+            stmt.execute("DROP TRIGGER genre_summary_insert");
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Doom', 'Shooter', 2001, 4.99, 8.0)");
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Myst', 'Puzzle', 1993, 9.99, 7.0)");
+            stmt.execute("UPDATE genre_summary SET rating_sum = 0 WHERE genre = 'Adventure'");
+        }
+
+        List<String> problems = dao.verifySummaries();
+        assertEquals(3, problems.size(), problems.toString());
+        assertTrue(problems.contains("genre_summary Puzzle: missing"), problems.toString());
+        // year_summary still had its trigger
+        assertTrue(problems.stream().allMatch(line -> line.startsWith("genre_summary")), problems.toString());
+
+        assertTrue(dao.rebuildSummaries());
+        assertEquals(List.of(), dao.verifySummaries());
+        assertEquals(2, dao.getGenreSummary("Shooter").getCount());
+        assertEquals(8.625, dao.calculateAverageRating(), 1e-9);
+    }
+
+    @Test
+    void testMissingRatingsGenresAndPricesMatchAggregatingEveryRow() throws Exception {
+        dao.close();
+        dbFile.delete();
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            // a table from before migrations, which let genre be NULL
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT, releaseyear INTEGER, price REAL, rating REAL)");
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES "
+                    + "('Halo', 'Shooter', 2001, 59.99, 9.0), ('Doom', 'Shooter', 1993, NULL, NULL), ('Myst', NULL, 1993, 9.99, 4.0)");
+        }
+        dao = new VideoGameDAO(new MetricsRegistry());
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath()));
+
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            // the genre triggers skip a row without a genre instead of failing the insert
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Tetris', NULL, 1984, 0.99, 8.0)");
+            stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Zelda', 'Adventure', 2017, NULL, 10.0)");
+            stmt.execute("UPDATE videogames SET genre = NULL WHERE title = 'Halo'");
+            stmt.execute("UPDATE videogames SET genre = 'Puzzle' WHERE title = 'Myst'");
+        }
+        assertEquals(List.of(), dao.verifySummaries());
+
+        GameStats shooter = dao.getGenreSummary("Shooter");
+        assertEquals(1, shooter.getCount());
+        assertTrue(Double.isNaN(shooter.getAverageRating()), "Doom has no rating");
+        GameStats year1993 = dao.getYearSummary(1993);
+        assertEquals(2, year1993.getCount());
+        assertEquals(4.0, year1993.getAverageRating(), 1e-9);
+        assertEquals(9.99, year1993.getAveragePrice(), 1e-9);
+
+        try (Connection conn = open(); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT AVG(rating), AVG(price) FROM videogames WHERE genre IS NOT NULL")) {
+            assertEquals(rs.getDouble(1), dao.calculateAverageRating(), 1e-9);
+            assertEquals(rs.getDouble(2), dao.getOverallSummary().getAveragePrice(), 1e-9);
+        }
+        assertEquals(7.0, dao.calculateAverageRating(), 1e-9);
+    }
+
+    @Test
+    void testSummaryReadsAreKeyLookups() throws Exception {
+        try (Connection conn = open()) {
+            assertTrue(plan(conn, "SELECT genre, game_count FROM genre_summary WHERE genre = ?")
+                    .startsWith("SEARCH genre_summary USING INDEX sqlite_autoindex_genre_summary_1 (genre=?)"));
+            assertTrue(plan(conn, "SELECT releaseyear, game_count FROM year_summary WHERE releaseyear = ?")
+                    .startsWith("SEARCH year_summary USING INTEGER PRIMARY KEY (rowid=?)"));
+        }
+    }
+
+    private Connection open() throws Exception {
+        return DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+    }
+
+    /**
+     * the EXPLAIN QUERY PLAN lines of a statement joined with "; ", parameters left unbound
+     */
+    private static String plan(Connection conn, String sql) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                lines.add(rs.getString("detail"));
+            }
+        }
+        return String.join("; ", lines);
+    }
+}
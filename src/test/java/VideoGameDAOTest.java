@@ -0,0 +1,477 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class performs tests for the methods from VideoGameDAO against a temporary SQLite file
+ * */
+
+public class VideoGameDAOTest {
+
+    private File dbFile;
+    private VideoGameDAO dao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbFile = File.createTempFile("videogames", ".db");
+        dbFile.deleteOnExit();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE videogames (gameid INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "genre TEXT NOT NULL, releaseyear INTEGER, price REAL, rating REAL)");
+        }
+
+        DatabaseConfig config = new DatabaseConfig();
+        config.setReadPoolSize(4);
+        config.setBusyTimeoutMillis(200);
+        dao = new VideoGameDAO();
+        assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath(), config));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dao.close();
+        new File(dbFile.getAbsolutePath() + "-wal").delete();
+        new File(dbFile.getAbsolutePath() + "-shm").delete();
+        dbFile.delete();
+    }
+
+    @Test
+    void testOpensInWalMode() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertEquals("wal", rs.getString(1));
+        }
+    }
+
+    @Test
+    void testReadsContinueDuringLongWriteTransaction() throws Exception {
+        assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+        assertTrue(dao.addGame("Zelda", "Adventure", 2017, 59.99, 10.0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (Connection writer = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = writer.createStatement()) {
+            // hold the write lock with uncommitted rows, like a bulk load in progress
+            stmt.execute("BEGIN IMMEDIATE");
+            for (int i = 0; i < 5000; i++) {
+                stmt.execute("INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES ('Bulk', 'Filler', 2020, 1, 1)");
+            }
+
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                reads.add(pool.submit(() -> {
+                    assertEquals(9.75, dao.calculateAverageRating(), 0.0001);
+                    return dao.getAllGames().size();
+                }));
+            }
+            for (Future<Integer> read : reads) {
+                // readers see the last committed snapshot instead of waiting for the writer
+                assertEquals(2, read.get(5, TimeUnit.SECONDS));
+            }
+
+            stmt.execute("COMMIT");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(5002, dao.getAllGames().size());
+    }
+
+    @Test
+    void testStatementCacheCountsIncludeReadConnections() {
+        int id = dao.insertGame("Halo", "Shooter", 2001, 59.99, 9.5);
+        long hits = dao.getStatementCacheHits();
+        long misses = dao.getStatementCacheMisses();
+        // four read connections, each prepares the statement once and then reuses it
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Halo", dao.getGame(id).getTitle());
+        }
+        assertTrue(dao.getStatementCacheMisses() - misses <= 4);
+        assertTrue(dao.getStatementCacheHits() - hits >= 16);
+    }
+
+    @Test
+    void testClosingPoolWakesWaitingBorrowers() throws Exception {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setReadPoolSize(1);
+        ReadConnectionPool pool = new ReadConnectionPool("jdbc:sqlite:" + dbFile.getAbsolutePath(), config, 4);
+        ExecutorService waiter = Executors.newSingleThreadExecutor();
+        try {
+            pool.borrow();
+            Future<StatementCache> waiting = waiter.submit(pool::borrow);
+            Thread.sleep(200);
+            assertFalse(waiting.isDone());
+
+            pool.close();
+            Exception e = assertThrows(Exception.class, () -> waiting.get(2, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof java.sql.SQLException, e.toString());
+        } finally {
+            waiter.shutdownNow();
+        }
+    }
+
+    @Test
+    void testClosingPoolLetsBorrowedReadsFinish() throws Exception {
+        DatabaseConfig config = new DatabaseConfig();
+        config.setReadPoolSize(2);
+        ReadConnectionPool pool = new ReadConnectionPool("jdbc:sqlite:" + dbFile.getAbsolutePath(), config, 4);
+        StatementCache borrowed = pool.borrow();
+        StatementCache idle = pool.borrow();
+        pool.release(idle);
+
+        // another thread closes the pool, for example a reconnect, while a read is running
+        Thread closer = new Thread(pool::close);
+        closer.start();
+        closer.join();
+        assertTrue(idle.getConnection().isClosed());
+        assertFalse(borrowed.getConnection().isClosed());
+        try (ResultSet rs = borrowed.prepare("SELECT COUNT(*) FROM videogames").executeQuery()) {
+            assertEquals(0, rs.getInt(1));
+        }
+
+        pool.release(borrowed);
+        assertTrue(borrowed.getConnection().isClosed());
+        assertThrows(java.sql.SQLException.class, pool::borrow);
+    }
+
+    @Test
+    void testBulkAddReportsBadRowsAndKeepsTheRest() {
+        List<VideoGame> games = new ArrayList<>();
+        games.add(new VideoGame(0, "Halo", "Shooter", 2001, 59.99, 9.5));
+        games.add(new VideoGame(0, null, "Shooter", 2001, 59.99, 9.5));
+        games.add(new VideoGame(0, "Zelda", "Adventure", 2017, 59.99, 10.0));
+        dao.setBatchSize(2);
+
+        BulkResult result = dao.addGames(games);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        int[] ids = result.getGeneratedIds();
+        assertTrue(ids[0] > 0);
+        assertEquals(-1, ids[1]);
+        assertTrue(ids[2] > ids[0]);
+        assertEquals(2, dao.getAllGames().size());
+    }
+
+    @Test
+    void testBulkUpdateReportsMissingIdsAndReplaysAFailedBatch() {
+        int[] ids = dao.addGames(Arrays.asList(new VideoGame(0, "Halo", "Shooter", 2001, 59.99, 9.5),
+                new VideoGame(0, "Myst", "Puzzle", 1993, 9.99, 8.0),
+                new VideoGame(0, "Doom", "Shooter", 1993, 4.99, 9.0))).getGeneratedIds();
+        dao.setBatchSize(2);
+
+        // the second batch fails on the missing title and is replayed row by row, where the unknown id
+        // in it must still be reported as missing rather than as written
+        BulkResult result = dao.updateGames(Arrays.asList(
+                new VideoGame(ids[0], "Halo 2", "Shooter", 2004, 49.99, 9.0),
+                new VideoGame(9999, "Ghost", "Shooter", 2000, 1, 1),
+                new VideoGame(ids[1], null, "Puzzle", 1993, 9.99, 8.0),
+                new VideoGame(8888, "Ghost", "Shooter", 2000, 1, 1),
+                new VideoGame(ids[2], "Doom II", "Shooter", 1994, 4.99, 8.5)));
+
+        assertEquals(2, result.getSucceeded());
+        assertFalse(result.isComplete());
+        assertEquals("2 row(s) written, 3 failed", result.toString());
+        List<BulkResult.Failure> failures = result.getFailures();
+        assertEquals(3, failures.size());
+        assertEquals(1, failures.get(0).getIndex());
+        assertEquals("No game with that ID", failures.get(0).getMessage());
+        assertEquals(2, failures.get(1).getIndex());
+        assertTrue(failures.get(1).getMessage().contains("NOT NULL"), failures.get(1).getMessage());
+        assertEquals(3, failures.get(2).getIndex());
+        assertEquals("Row 3: No game with that ID", failures.get(2).toString());
+        assertEquals(0, result.getGeneratedIds().length);
+
+        assertEquals("Halo 2", dao.getGame(ids[0]).getTitle());
+        assertEquals("Myst", dao.getGame(ids[1]).getTitle());
+        assertEquals("Doom II", dao.getGame(ids[2]).getTitle());
+        assertEquals(3, dao.getAllGames().size());
+    }
+
+    @Test
+    void testBulkDeleteReportsMissingIdsAndReplaysAFailedBatch() throws Exception {
+        int[] ids = dao.addGames(Arrays.asList(new VideoGame(0, "Halo", "Shooter", 2001, 59.99, 9.5),
+                new VideoGame(0, "Locked", "Puzzle", 1993, 9.99, 8.0),
+                new VideoGame(0, "Doom", "Shooter", 1993, 4.99, 9.0))).getGeneratedIds();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TRIGGER keep_locked BEFORE DELETE ON videogames WHEN old.title = 'Locked' "
+                    + "BEGIN SELECT RAISE(ABORT, 'game is locked'); END");
+        }
+        dao.setBatchSize(2);
+
+        BulkResult result = dao.deleteGames(Arrays.asList(ids[1], 9999, ids[0], ids[2], 8888));
+
+        assertEquals(2, result.getSucceeded());
+        List<BulkResult.Failure> failures = result.getFailures();
+        assertEquals(3, failures.size());
+        assertEquals(0, failures.get(0).getIndex());
+        assertTrue(failures.get(0).getMessage().contains("game is locked"), failures.get(0).getMessage());
+        assertEquals(1, failures.get(1).getIndex());
+        assertEquals("No game with that ID", failures.get(1).getMessage());
+        assertEquals(4, failures.get(2).getIndex());
+        assertEquals("No game with that ID", failures.get(2).getMessage());
+
+        assertNull(dao.getGame(ids[0]));
+        assertNull(dao.getGame(ids[2]));
+        assertEquals(1, dao.getAllGames().size());
+        assertEquals("Locked", dao.getAllGames().get(0).getTitle());
+
+        BulkResult empty = dao.deleteGames(new ArrayList<>());
+        assertTrue(empty.isComplete());
+        assertEquals(0, empty.getSucceeded());
+    }
+
+    @Test
+    void testSearchTitlesPutsPrefixMatchesFirstAndEscapesWildcards() {
+        dao.insertGame("Super Mario 64", "Platformer", 1996, 39.99, 9.8);
+        dao.insertGame("Mario Kart", "Racing", 1992, 29.99, 8.5);
+        dao.insertGame("100% Orange Juice", "Party", 2014, 9.99, 7.0);
+        dao.insertGame("100 Boxes", "Puzzle", 2015, 4.99, 6.0);
+
+        List<VideoGame> found = dao.searchTitles("mario", 10);
+        assertEquals(2, found.size());
+        assertEquals("Mario Kart", found.get(0).getTitle());
+        assertEquals("Super Mario 64", found.get(1).getTitle());
+
+        found = dao.searchTitles("100%", 10);
+        assertEquals(1, found.size());
+        assertEquals("100% Orange Juice", found.get(0).getTitle());
+        assertEquals(1, dao.searchTitles("mario", 1).size());
+    }
+
+    @Test
+    void testQueryGivesTheSameRowsInSqliteAndInMemory() {
+        String[] genres = {"RPG", "Shooter", "Racing"};
+        java.util.Random random = new java.util.Random(11);
+        List<VideoGame> games = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            games.add(new VideoGame(0, (i % 7 == 0 ? "Super " : "") + "Game_" + i, genres[random.nextInt(3)],
+                    1990 + random.nextInt(30), random.nextInt(40) * 1.25, random.nextInt(11)));
+        }
+        int[] ids = dao.addGames(games).getGeneratedIds();
+        GameStore store = new GameStore();
+        for (int i = 0; i < games.size(); i++) {
+            VideoGame g = games.get(i);
+            store.put(ids[i], new VideoGame(ids[i], g.getTitle(), g.getGenre(), g.getReleaseYear(), g.getPrice(), g.getRating()));
+        }
+
+        List<GameQuery> queries = List.of(
+                new GameQuery(),
+                new GameQuery().where(GameColumn.GENRE, GameQuery.Op.EQ, "RPG").orderBy(GameColumn.RATING, false).limit(10),
+                new GameQuery().between(GameColumn.RELEASE_YEAR, 2000, 2009).where(GameColumn.PRICE, GameQuery.Op.LT, 20)
+                        .orderBy(GameColumn.PRICE, true).orderBy(GameColumn.TITLE, false),
+                new GameQuery().contains(GameColumn.TITLE, "super").where(GameColumn.RATING, GameQuery.Op.GT, 5)
+                        .orderBy(GameColumn.RELEASE_YEAR, true).offset(3).limit(5),
+                new GameQuery().contains(GameColumn.TITLE, "_1").where(GameColumn.GENRE, GameQuery.Op.NE, "Racing"),
+                new GameQuery().where(GameColumn.ID, GameQuery.Op.EQ, ids[42]),
+                new GameQuery().where(GameColumn.RATING, GameQuery.Op.EQ, 10).where(GameColumn.RATING, GameQuery.Op.LT, 3));
+
+        for (GameQuery query : queries) {
+            List<String> expected = new ArrayList<>();
+            for (VideoGame game : store.query(query)) expected.add(game.toString());
+            List<String> actual = new ArrayList<>();
+            for (VideoGame game : dao.query(query)) actual.add(game.toString());
+            assertEquals(expected, actual, query.toString());
+            assertEquals(store.count(query), dao.count(query), query.toString());
+        }
+
+        // only the selected columns are read
+        VideoGame titleOnly = dao.query(new GameQuery().select(GameColumn.TITLE).orderBy(GameColumn.ID, true).limit(1)).get(0);
+        assertEquals("Super Game_0", titleOnly.getTitle());
+        assertNull(titleOnly.getGenre());
+        assertEquals(0, titleOnly.getReleaseYear());
+    }
+
+    @Test
+    void testPagesAndJumpsKeepRowsWithoutAValue() throws Exception {
+        Random random = new Random(9);
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO videogames(title, genre, releaseyear, price, rating) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < 120; i++) {
+                stmt.setString(1, "Game " + random.nextInt(40));
+                stmt.setString(2, "RPG");
+                // a NULL reads back as 0, so real zeros are mixed in to tell them apart
+                stmt.setObject(3, random.nextInt(4) == 0 ? null : 1990 + random.nextInt(5));
+                stmt.setObject(4, random.nextInt(4) == 0 ? null : random.nextInt(3) * 1.0);
+                stmt.setObject(5, random.nextInt(3) == 0 ? null : random.nextInt(3) * 1.0);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        for (GameColumn column : new GameColumn[] {GameColumn.RELEASE_YEAR, GameColumn.PRICE, GameColumn.RATING, GameColumn.TITLE}) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                List<Integer> expected = new ArrayList<>();
+                String dir = ascending ? "" : " DESC";
+                try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
+                     Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT gameid FROM videogames ORDER BY " + column.getSqlName()
+                             + dir + ", gameid" + dir)) {
+                    while (rs.next()) {
+                        expected.add(rs.getInt(1));
+                    }
+                }
+
+                List<VideoGame> paged = new ArrayList<>();
+                VideoGame after = null;
+                List<VideoGame> page;
+                do {
+                    page = dao.getGamesPage(column, ascending, after, 7);
+                    paged.addAll(page);
+                    after = page.isEmpty() ? after : page.get(page.size() - 1);
+                } while (!page.isEmpty());
+                List<Integer> ids = new ArrayList<>();
+                for (VideoGame game : paged) {
+                    ids.add(game.getGameID());
+                }
+                assertEquals(expected, ids, column + (ascending ? " ascending" : " descending"));
+
+                // jumps from any row, across the rows without a value, land where the full order says
+                for (int from = 0; from < paged.size(); from += 13) {
+                    for (int offset : new int[] {0, 5, 40}) {
+                        int at = from + 1 + offset;
+                        VideoGame found = dao.getGameAt(column, ascending, paged.get(from), offset);
+                        if (at < expected.size()) {
+                            assertEquals(expected.get(at), found.getGameID(), column + " from " + from + " +" + offset);
+                        } else {
+                            assertNull(found);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTopKPerGroupMatchesInMemoryTopK() {
+        List<VideoGame> games = new ArrayList<>();
+        String[] genres = {"RPG", "Shooter", "Racing", "Puzzle"};
+        for (int i = 0; i < 200; i++) {
+            games.add(new VideoGame(0, "Game " + i, genres[i % 4], 2000 + i % 5, (i * 7) % 30, (i * 3) % 11));
+        }
+        int[] ids = dao.addGames(games).getGeneratedIds();
+        List<VideoGame> stored = new ArrayList<>();
+        for (int i = 0; i < games.size(); i++) {
+            VideoGame g = games.get(i);
+            stored.add(new VideoGame(ids[i], g.getTitle(), g.getGenre(), g.getReleaseYear(), g.getPrice(), g.getRating()));
+        }
+
+        assertEquals(text(TopK.perGroup(stored, GameColumn.GENRE, GameColumn.RATING, false, 3)),
+                text(dao.topKPerGroup(GameColumn.GENRE, GameColumn.RATING, false, 3)));
+        assertEquals(text(TopK.perGroup(stored, GameColumn.RELEASE_YEAR, GameColumn.PRICE, true, 5)),
+                text(dao.topKPerGroup(GameColumn.RELEASE_YEAR, GameColumn.PRICE, true, 5)));
+        assertEquals(3, dao.topKPerGroup(GameColumn.GENRE, GameColumn.RATING, false, 3).get("RPG").size());
+    }
+
+    @Test
+    void testTracerKeepsRecentStatementsWithRowsAndParameters() {
+        assertEquals("SQL tracing is off\n", dao.dumpSqlTrace());
+        ByteArrayOutputStream slowLog = new ByteArrayOutputStream();
+        dao.setTracer(new SqlTracer(4, 60_000, new PrintStream(slowLog, true)));
+
+        assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+        assertTrue(dao.addGame("Zelda", "Adventure", 2017, 59.99, 10.0));
+        assertTrue(dao.updateGamePartial(1, null, null, null, 19.99, 9.0));
+        assertEquals(2, dao.getAllGames().size());
+        assertNull(dao.getGame(99));
+        dao.addGames(List.of(new VideoGame(0, "A", "RPG", 2000, 1, 1), new VideoGame(0, "B", "RPG", 2000, 1, 1)));
+
+        List<SqlTracer.Entry> recent = dao.getTracer().recent();
+        // 6 statements ran, the ring keeps the last 4
+        assertEquals(6, dao.getTracer().getStatementCount());
+        assertEquals(4, recent.size());
+        SqlTracer.Entry partial = recent.get(0);
+        assertEquals("UPDATE videogames SET price=?, rating=? WHERE gameid=?", partial.getSql());
+        assertEquals(3, partial.getParameters());
+        assertEquals(1, partial.getRows());
+        assertEquals(2, recent.get(1).getRows());
+        assertEquals(0, recent.get(2).getRows());
+        assertEquals(2, recent.get(3).getExecutions());
+        assertEquals(2, recent.get(3).getRows());
+        assertFalse(recent.get(3).isSlow());
+        assertEquals(0, slowLog.size(), "nothing was over a minute");
+        assertTrue(dao.dumpSqlTrace().contains("batch of 2"));
+
+        dao.setTracer(null);
+        dao.getAllGames();
+        assertEquals("SQL tracing is off\n", dao.dumpSqlTrace());
+    }
+
+    @Test
+    void testTraceStartsOverOnAnotherFile() throws Exception {
+        dao.setTracer(new SqlTracer(16, 60_000));
+        assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+        assertEquals(1, dao.getTracer().getStatementCount());
+
+        File other = File.createTempFile("other", ".db");
+        other.deleteOnExit();
+        DatabaseConfig config = new DatabaseConfig();
+        try {
+            assertTrue(dao.connectToDatabase(other.getAbsolutePath(), config));
+            assertNull(dao.getTracer());
+            assertEquals("SQL tracing is off\n", dao.dumpSqlTrace());
+
+            config.setTraceCapacity(8);
+            assertTrue(dao.connectToDatabase(dbFile.getAbsolutePath(), config));
+            assertEquals(0, dao.getTracer().getStatementCount());
+            assertFalse(dao.dumpSqlTrace().contains("INSERT"));
+        } finally {
+            dao.close();
+            new File(other.getAbsolutePath() + "-wal").delete();
+            new File(other.getAbsolutePath() + "-shm").delete();
+            other.delete();
+        }
+    }
+
+    @Test
+    void testSlowQueryLogShowsQueryPlan() {
+        assertTrue(dao.addGame("Halo", "Shooter", 2001, 59.99, 9.5));
+        ByteArrayOutputStream slowLog = new ByteArrayOutputStream();
+        // a threshold of 0 treats every statement as slow
+        dao.setTracer(new SqlTracer(16, 0, new PrintStream(slowLog, true)));
+
+        dao.getGame(1);
+        dao.query(new GameQuery().contains(GameColumn.TITLE, "alo"));
+
+        List<SqlTracer.Entry> recent = dao.getTracer().recent();
+        assertEquals(2, dao.getTracer().getSlowCount());
+        assertTrue(recent.get(0).getPlan().get(0).startsWith("SEARCH videogames USING INTEGER PRIMARY KEY"),
+                recent.get(0).getPlan().toString());
+        // a title containing some text cannot use an index, so the query reads the whole table
+        assertTrue(recent.get(1).getPlan().get(0).startsWith("SCAN videogames"), recent.get(1).getPlan().toString());
+        String logged = slowLog.toString();
+        assertTrue(logged.contains(" SLOW ") && logged.contains("plan: SCAN videogames"), logged);
+    }
+
+    private static String text(java.util.Map<Object, List<VideoGame>> groups) {
+        StringBuilder sb = new StringBuilder();
+        groups.forEach((group, games) -> sb.append(group).append(' ').append(games).append('\n'));
+        return sb.toString();
+    }
+}
@@ -1,9 +1,15 @@
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PrintWriter;
 import java.io.IOException;
+import java.io.PrintStream;
 
 /*
  * Marvin Philippe
@@ -22,6 +28,8 @@ public class VideoGameManagerTest {
     @BeforeEach
     void setUp() {
         manager = new VideoGameManager();
+        // cross-check the running aggregates with a full scan after every change
+        manager.videogames.setVerify(true);
     }
 
     @Test
@@ -79,6 +87,123 @@ public class VideoGameManagerTest {
         assertTrue(manager.videogames.containsKey(2));
     }
 
+    @Test
+    void testAddGame2QuotedTitlesAndRejects() throws Exception {
+        File tempFile = File.createTempFile("games", ".txt");
+        tempFile.deleteOnExit();
+
+        try (PrintWriter writer = new PrintWriter(tempFile)) {
+            writer.println("1,\"Command & Conquer, Red Alert\",Strategy,1996,9.99,8.7");
+            writer.println("2,\"The \"\"Best\"\" Game\",Puzzle, 2020 , 4.50 ,7");
+            writer.println("3,Broken,Line,2020");
+            writer.println("4,Bad Year,Racing,20x1,9.99,5.0");
+            writer.println("1,Duplicate,Shooter,2001,1.00,1.0");
+        }
+
+        String[] result = addGame2Printing(tempFile);
+
+        assertEquals("2 game(s) added successfully from file.\n", result[0]);
+        assertTrue(result[1].contains("Read 5 line(s): 2 added, 2 rejected, 1 duplicate(s)"), result[1]);
+        assertTrue(result[1].contains("Line 3: Invalid line format, skipping: 3,Broken,Line,2020"), result[1]);
+        assertTrue(result[1].contains("Line 4: Invalid data type in line, skipping: 4,Bad Year"), result[1]);
+        assertEquals(2, manager.videogames.size());
+        assertEquals("Command & Conquer, Red Alert", manager.videogames.get(1).getTitle());
+        assertEquals("The \"Best\" Game", manager.videogames.get(2).getTitle());
+        assertEquals(2020, manager.videogames.get(2).getReleaseYear());
+        assertEquals(4.5, manager.videogames.get(2).getPrice());
+        assertEquals(7.0, manager.videogames.get(2).getRating());
+    }
+
+    @Test
+    void testAddGame2RejectsNonFiniteNumbersAndTrailingComma() throws Exception {
+        File tempFile = File.createTempFile("games", ".txt");
+        tempFile.deleteOnExit();
+
+        // Double.parseDouble took all of these and split(",") dropped the empty last field, the importer does not
+        try (PrintWriter writer = new PrintWriter(tempFile)) {
+            writer.println("1,Halo,Shooter,2001,NaN,9.5");
+            writer.println("2,Myst,Puzzle,1993,9.99,Infinity");
+            writer.println("3,Doom,Shooter,1993,-Infinity,9.0");
+            writer.println("4,Zelda,Adventure,2017,59.99,10.0,");
+            writer.println("5,Tetris,Puzzle,1984,1.99,9.0");
+        }
+
+        String[] result = addGame2Printing(tempFile);
+
+        assertEquals("1 game(s) added successfully from file.\n", result[0]);
+        assertTrue(result[1].contains("Read 5 line(s): 1 added, 4 rejected, 0 duplicate(s)"), result[1]);
+        assertTrue(result[1].contains("Line 1: Invalid data type in line, skipping: 1,Halo"), result[1]);
+        assertTrue(result[1].contains("Line 2: Invalid data type in line, skipping: 2,Myst"), result[1]);
+        assertTrue(result[1].contains("Line 3: Invalid data type in line, skipping: 3,Doom"), result[1]);
+        assertTrue(result[1].contains("Line 4: Invalid line format, skipping: 4,Zelda,Adventure,2017,59.99,10.0,"),
+                result[1]);
+        assertEquals(1, manager.videogames.size());
+        assertEquals("Tetris", manager.videogames.get(5).getTitle());
+    }
+
+    @Test
+    void testAddGame2ReportsFirstRejectsAndCountsTheRest() throws Exception {
+        File tempFile = File.createTempFile("games", ".txt");
+        tempFile.deleteOnExit();
+
+        try (PrintWriter writer = new PrintWriter(tempFile)) {
+            writer.println("1,\"Command & Conquer, Red Alert\",Strategy,1996,9.99,8.7");
+            for (int i = 0; i < 150; i++) {
+                writer.println("Broken line " + i);
+            }
+            writer.println("1,Duplicate,Shooter,2001,1.00,1.0");
+            writer.println("2,Bad Year,Racing,20x1,9.99,5.0");
+            writer.println("3,Halo,Shooter,2001,59.99,9.5");
+        }
+
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+        String result;
+        try {
+            result = manager.addGame2(new Scanner(tempFile.getAbsolutePath() + "\n"));
+        } finally {
+            System.setOut(console);
+        }
+
+        assertEquals("2 game(s) added successfully from file.\n", result);
+        assertEquals("Command & Conquer, Red Alert", manager.videogames.get(1).getTitle());
+        assertEquals("Halo", manager.videogames.get(3).getTitle());
+        String printed = out.toString();
+        // the report keeps the first 100 errors; the other 52 are only counted
+        assertTrue(printed.contains("Line 2: Invalid line format, skipping: Broken line 0"), printed);
+        assertTrue(printed.contains("Line 101: Invalid line format, skipping: Broken line 99"), printed);
+        assertFalse(printed.contains("Broken line 100"), printed);
+        assertFalse(printed.contains("Duplicate ID found"), printed);
+        assertTrue(printed.contains("... and 52 more line(s) skipped"), printed);
+        assertTrue(printed.contains("Read 154 line(s): 2 added, 151 rejected, 1 duplicate(s)"), printed);
+    }
+
+    @Test
+    void testViewAllGamesListsByID() {
+        int[] ids = {900, 17, 123456, 3, 64, 1000, 2};
+        for (int id : ids) {
+            manager.videogames.put(id, new VideoGame(id, "Game " + id, "RPG", 2000, 9.99, 5.0));
+        }
+
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+        try {
+            assertEquals("Displayed all games.\n", manager.viewAllGames());
+        } finally {
+            System.setOut(console);
+        }
+
+        List<Integer> listed = new ArrayList<>();
+        for (String line : out.toString().split("\\R")) {
+            if (line.contains("Game ")) {
+                listed.add(Integer.parseInt(line.substring(line.indexOf("Game ") + 5).split("\\D")[0]));
+            }
+        }
+        assertEquals(List.of(2, 3, 17, 64, 900, 1000, 123456), listed);
+    }
+
     @Test
     void testUpdateGame() {
         // Add an existing game
@@ -93,4 +218,197 @@ public class VideoGameManagerTest {
         assertTrue(result.contains("successfully"));
         assertEquals("Halo 2", manager.videogames.get(1).toString().contains("Halo 2") ? "Halo 2" : "");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAggregatesFollowGenreMovesAndRemovals() {
+        manager.videogames.put(1, new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.5));
+        manager.videogames.put(2, new VideoGame(2, "Doom", "shooter ", 1993, 4.99, 8.0));
+        manager.videogames.put(3, new VideoGame(3, "Zelda", "Adventure", 2017, 59.99, 10.0));
+
+        GameStats shooters = manager.videogames.aggregates().genre("SHOOTER");
+        assertEquals(2, shooters.getCount());
+        assertEquals(8.0, shooters.getMinRating());
+        assertEquals(59.99, shooters.getMaxPrice());
+
+        // move Doom to Adventure through the menu
+        String result = manager.updateGame(new Scanner("2\n2\nAdventure\n"));
+        assertTrue(result.contains("successfully"));
+        assertEquals(1, manager.videogames.aggregates().genre("Shooter").getCount());
+        assertEquals(9.5, manager.videogames.aggregates().genre("Shooter").getMinRating());
+        assertEquals(2, manager.videogames.aggregates().genre("adventure").getCount());
+
+        manager.removeGame(new Scanner("3\nyes\n"));
+        GameStats adventure = manager.videogames.aggregates().genre("Adventure");
+        assertEquals(1, adventure.getCount());
+        assertEquals(8.0, adventure.getMaxRating());
+        assertEquals(4.99, adventure.getMaxPrice());
+        assertNull(manager.videogames.aggregates().year(2017));
+        assertEquals(8.75, manager.videogames.aggregates().overall().getAverageRating(), 1e-9);
+        assertTrue(manager.viewStatistics().contains("1993"));
+    }
+
+    @Test
+    void testFindGamesUsesMostSelectiveIndex() {
+        manager.videogames.put(1, new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.5));
+        manager.videogames.put(2, new VideoGame(2, "Doom", "Shooter", 1993, 4.99, 8.0));
+        manager.videogames.put(3, new VideoGame(3, "Zelda", "Adventure", 2017, 59.99, 10.0));
+        manager.videogames.put(4, new VideoGame(4, "Quake", "shooter", 1996, 9.99, 8.5));
+        manager.videogames.put(5, new VideoGame(5, "Myst", "Adventure", 1993, 19.99, 7.0));
+
+        GameCriteria cheapShooters = new GameCriteria().genre("SHOOTER").priceBetween(0, 10);
+        assertEquals("price", manager.videogames.indexes().plan(cheapShooters, 5).getIndex());
+        assertEquals(List.of(2, 4), ids(manager.findGames(cheapShooters)));
+
+        GameCriteria nineties = new GameCriteria().yearBetween(1990, 1999).ratingBetween(7.5, 10);
+        assertEquals(List.of(2, 4), ids(manager.findGames(nineties)));
+        assertEquals("scan", manager.videogames.indexes().plan(new GameCriteria(), 5).getIndex());
+        assertTrue(manager.findGames(new GameCriteria().genre("Racing")).isEmpty());
+
+        // move Quake out of the nineties and out of the shooters
+        manager.updateGame(new Scanner("4\n3\n2005\n"));
+        manager.updateGame(new Scanner("4\n2\nArena\n"));
+        assertEquals(List.of(2), ids(manager.findGames(nineties)));
+        assertEquals(List.of(2), ids(manager.findGames(cheapShooters)));
+        assertEquals(List.of(4), ids(manager.findGames(new GameCriteria().genre("arena"))));
+
+        manager.removeGame(new Scanner("2\nyes\n"));
+        assertTrue(manager.findGames(cheapShooters).isEmpty());
+    }
+
+    @Test
+    void testSearchTitlesFollowsUpdatesAndRemovals() {
+        manager.videogames.put(1, new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.5));
+        manager.videogames.put(2, new VideoGame(2, "Halo 2", "Shooter", 2004, 59.99, 9.0));
+        manager.videogames.put(3, new VideoGame(3, "Super Mario Galaxy", "Platformer", 2007, 49.99, 9.7));
+        manager.videogames.put(4, new VideoGame(4, "STRASSE Racer", "Racing", 2010, 9.99, 6.0));
+
+        assertEquals(List.of(1, 2), ids(manager.searchTitles("hAL", 10)));
+        assertEquals(List.of(3), ids(manager.searchTitles("mario gal", 10)));
+        assertEquals(List.of(4), ids(manager.searchTitles("Straße", 10)));
+        assertEquals(List.of(1), ids(manager.searchTitles("halo", 1)));
+        // prefix matches come before titles that only contain the text
+        manager.videogames.put(5, new VideoGame(5, "Galaxy Quest", "Adventure", 2015, 19.99, 7.0));
+        assertEquals(List.of(5, 3), ids(manager.searchTitles("galaxy", 10)));
+
+        manager.updateGame(new Scanner("2\n1\nReach\n"));
+        assertEquals(List.of(1), ids(manager.searchTitles("halo", 10)));
+        assertEquals(List.of(2), ids(manager.searchTitles("EAC", 10)));
+
+        manager.removeGame(new Scanner("3\nyes\n"));
+        assertEquals(List.of(5), ids(manager.searchTitles("galaxy", 10)));
+        assertTrue(manager.searchTitles("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchTitlesReturnsFirstSubstringMatchesInTitleOrder() {
+        String[] words = {"Zeta", "alpha", "Mango", "delta", "Omega", "beta"};
+        List<VideoGame> containing = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            // titles repeat, and some differ only in case, so ties must come out in id order
+            String word = words[id % words.length];
+            String title = (id % 4 == 0 ? word.toUpperCase() : word) + " Quest " + (id % 50);
+            VideoGame game = new VideoGame(id, title, "RPG", 2000, 9.99, 5.0);
+            manager.videogames.put(id, game);
+            containing.add(game);
+        }
+        manager.videogames.put(301, new VideoGame(301, "Quest for Glory", "RPG", 1989, 9.99, 8.0));
+        containing.sort(Comparator.comparing((VideoGame g) -> TitleIndex.fold(g.getTitle()))
+                .thenComparingInt(VideoGame::getGameID));
+
+        for (int limit : new int[]{1, 7, 40, 400}) {
+            List<Integer> expected = new ArrayList<>();
+            expected.add(301);
+            for (VideoGame game : containing.subList(0, Math.min(limit - 1, containing.size()))) {
+                expected.add(game.getGameID());
+            }
+            assertEquals(expected, ids(manager.searchTitles("quest", limit)), "limit " + limit);
+        }
+    }
+
+    @Test
+    void testTopKStaysCurrentThroughChanges() {
+        String[] genres = {"Shooter", "RPG"};
+        for (int id = 1; id <= 40; id++) {
+            manager.videogames.put(id, new VideoGame(id, "Game " + id, genres[id % 2], 2000 + id % 3, id, id % 10));
+        }
+        Map<Object, List<VideoGame>> best = manager.topK(GameColumn.GENRE, GameColumn.RATING, false, 2);
+        // ratings 9 tie in each genre, the lower id comes first
+        assertEquals(List.of(9, 19), ids(best.get("RPG")));
+        assertEquals(List.of(8, 18), ids(best.get("Shooter")));
+        assertEquals(List.of(1, 4), ids(manager.topK(GameColumn.RELEASE_YEAR, GameColumn.PRICE, true, 2).get(2001)));
+
+        // setVerify checks every tracker against a full ranking after each change below
+        manager.updateGame(new Scanner("2\n5\n10\n"));
+        assertEquals(List.of(2, 8), ids(manager.topK(GameColumn.GENRE, GameColumn.RATING, false, 2).get("Shooter")));
+        TopKTracker tracker = manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 2);
+        for (int id : new int[]{2, 8, 18, 28, 38}) {
+            manager.videogames.remove(id);
+        }
+        assertEquals(List.of(6, 16), ids(tracker.top("Shooter")));
+        assertTrue(tracker.getRebuilds() > 0);
+    }
+
+    @Test
+    void testTopKDoesNotLetInGamesBelowOnesLeftOut() {
+        // k = 2 keeps the best 4 of 6; 6 and 5 are left out
+        for (int id = 1; id <= 6; id++) {
+            manager.videogames.put(id, new VideoGame(id, "Game " + id, "RPG", 2000, id, 11 - id));
+        }
+        TopKTracker tracker = manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 2);
+        manager.videogames.remove(1);
+        // rated 1, below the 6 and 5 that were left out, so it must not take the free place
+        manager.videogames.put(7, new VideoGame(7, "Game 7", "RPG", 2000, 7, 1));
+        manager.videogames.remove(2);
+        manager.videogames.remove(3);
+        assertEquals(List.of(4, 5), ids(tracker.top("RPG")));
+    }
+
+    @Test
+    void testTopKDropsTheLeastRecentlyUsedTracker() {
+        for (int id = 1; id <= 20; id++) {
+            manager.videogames.put(id, new VideoGame(id, "Game " + id, "RPG", 2000, id, id % 10));
+        }
+        TopKTracker first = manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 1);
+        TopKTracker second = manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 2);
+        // eight trackers are kept, asking for the first one again makes the second the least recently used
+        for (int k = 3; k <= 8; k++) {
+            manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, k);
+        }
+        assertSame(first, manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 1));
+        manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.PRICE, false, 1);
+
+        assertSame(first, manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 1));
+        assertFalse(manager.videogames.removeListener(second));
+        assertNotSame(second, manager.videogames.trackTopK(GameColumn.GENRE, GameColumn.RATING, false, 2));
+
+        // the dropped tracker no longer follows changes, the kept ones still do
+        manager.videogames.put(21, new VideoGame(21, "Game 21", "RPG", 2000, 21, 10));
+        assertEquals(List.of(21), ids(first.top("RPG")));
+        assertEquals(List.of(9, 19), ids(second.top("RPG")));
+        assertEquals(List.of(21, 9), ids(manager.topK(GameColumn.GENRE, GameColumn.RATING, false, 2).get("RPG")));
+    }
+
+    /**
+     * runs addGame2 on the file with the console captured
+     * @return what addGame2 returned, then what it printed
+     */
+    private String[] addGame2Printing(File file) {
+        PrintStream console = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(out, true));
+        try {
+            String result = manager.addGame2(new Scanner(file.getAbsolutePath() + "\n"));
+            return new String[]{result, out.toString()};
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static List<Integer> ids(List<VideoGame> games) {
+        List<Integer> ids = new ArrayList<>();
+        for (VideoGame game : games) {
+            ids.add(game.getGameID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,165 @@
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Marvin Philippe
+ *
+ * CEN-3024C-13950
+ *
+ * 10/18/2026
+ *
+ * This class drives VideoGameServer over HTTP: every endpoint, the errors it answers with, and the JSON
+ * JsonWriter produces
+ * */
+
+public class VideoGameServerTest {
+
+    private ConcurrentVideoGameManager manager;
+    private VideoGameServer server;
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manager = new ConcurrentVideoGameManager();
+        server = new VideoGameServer(manager, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testCrudQueryAndAverageRating() throws Exception {
+        HttpResponse<String> created = send("POST", "/games",
+                "{\"gameID\": 1, \"title\": \"Halo\", \"genre\": \"Shooter\", \"releaseYear\": 2001, \"price\": 59.99, \"rating\": 9}");
+        assertEquals(201, created.statusCode());
+        assertEquals("/games/1", created.headers().firstValue("Location").orElse(null));
+        assertEquals("{\"gameID\":1,\"title\":\"Halo\",\"genre\":\"Shooter\",\"releaseYear\":2001,\"price\":59.99,\"rating\":9}",
+                created.body());
+        assertEquals(409, send("POST", "/games",
+                "{\"gameID\": 1, \"title\": \"Again\", \"genre\": \"Shooter\", \"releaseYear\": 2001, \"price\": 1, \"rating\": 1}").statusCode());
+
+        HttpResponse<String> imported = send("POST", "/games/import",
+                "2,Zelda,Adventure,2017,59.99,10\n3,Tetris,Puzzle,1984,4.99,8\n1,Duplicate,Shooter,2001,1,1\nbad line\n");
+        assertEquals(200, imported.statusCode());
+        assertTrue(imported.body().startsWith("{\"linesRead\":4,\"added\":2,\"rejected\":1,\"duplicates\":1,\"errors\":["),
+                imported.body());
+
+        assertEquals(200, send("GET", "/games/2", null).statusCode());
+        assertEquals("{\"averageRating\":9,\"count\":3}", send("GET", "/average-rating", null).body());
+
+        HttpResponse<String> updated = send("PUT", "/games/3", "{\"price\": 2.5, \"title\": \"Tetris \\\"DX\\\"\"}");
+        assertEquals(200, updated.statusCode());
+        assertTrue(updated.body().contains("\"title\":\"Tetris \\\"DX\\\"\",") && updated.body().contains("\"price\":2.5,"),
+                updated.body());
+        assertEquals(2.5, manager.getGame(3).getPrice());
+
+        assertEquals("{\"count\":2,\"games\":[{\"gameID\":2,\"title\":\"Zelda\",\"genre\":\"Adventure\",\"releaseYear\":2017,"
+                        + "\"price\":59.99,\"rating\":10},{\"gameID\":1,\"title\":\"Halo\",\"genre\":\"Shooter\",\"releaseYear\":2001,"
+                        + "\"price\":59.99,\"rating\":9}]}",
+                send("GET", "/games?minPrice=50&orderBy=rating&desc=true", null).body());
+        assertEquals(1, countOf(send("GET", "/games?title=tet", null).body()));
+        assertEquals(1, countOf(send("GET", "/games?genre=Adventure", null).body()));
+        assertTrue(send("GET", "/stats?genre=puzzle", null).body().startsWith("{\"name\":\"Puzzle\",\"count\":1,"));
+
+        assertEquals(204, send("DELETE", "/games/3", null).statusCode());
+        assertEquals(404, send("DELETE", "/games/3", null).statusCode());
+        assertEquals(404, send("GET", "/games/3", null).statusCode());
+        assertEquals(2, manager.size());
+        manager.verify();
+    }
+
+    @Test
+    void testBadRequestsAreRejectedWithoutChangingAnything() throws Exception {
+        manager.addGame(new VideoGame(1, "Halo", "Shooter", 2001, 59.99, 9.0));
+
+        assertEquals(400, send("GET", "/games/abc", null).statusCode());
+        assertEquals(400, send("GET", "/games?minYear=soon", null).statusCode());
+        assertEquals(400, send("GET", "/games?orderBy=color", null).statusCode());
+        assertEquals(400, send("POST", "/games", "{\"gameID\": 2, \"title\": \"No genre\"").statusCode());
+        assertEquals(400, send("POST", "/games", "{\"title\": \"No id\", \"genre\": \"RPG\", \"releaseYear\": 2000, \"price\": 1, \"rating\": 1}").statusCode());
+        HttpResponse<String> rating = send("PUT", "/games/1", "{\"price\": 10, \"rating\": 11}");
+        assertEquals(400, rating.statusCode());
+        assertEquals("{\"error\":\"rating must be between 0 and 10\"}", rating.body());
+        assertEquals(59.99, manager.getGame(1).getPrice(), "a rejected update changes nothing");
+        assertEquals(404, send("PUT", "/games/7", "{\"price\": 10}").statusCode());
+        HttpResponse<String> patch = send("PATCH", "/games/1", "{}");
+        assertEquals(405, patch.statusCode());
+        assertEquals("GET, PUT, DELETE", patch.headers().firstValue("Allow").orElse(null));
+        assertEquals(1, manager.size());
+    }
+
+    @Test
+    void testFailuresAreLoggedButNotSentToTheClient() throws Exception {
+        server.stop();
+        manager = new ConcurrentVideoGameManager() {
+            @Override
+            public VideoGame getGame(int id) {
+                throw new IllegalStateException("secret file /home/games.db is locked");
+            }
+
+            @Override
+            public Totals overall() {
+                throw new IllegalStateException("secret summary table is corrupt");
+            }
+        };
+        server = new VideoGameServer(manager, 0);
+        server.start();
+
+        PrintStream console = System.err;
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(log, true));
+        List<HttpResponse<String>> failed = new ArrayList<>();
+        try {
+            for (String path : new String[]{"/games/1", "/average-rating", "/stats"}) {
+                failed.add(send("GET", path, null));
+            }
+        } finally {
+            System.setErr(console);
+        }
+        for (HttpResponse<String> response : failed) {
+            assertEquals(500, response.statusCode());
+            assertEquals("{\"error\":\"internal server error\"}", response.body());
+        }
+        assertTrue(log.toString().contains("GET /games/1 failed"), log.toString());
+        assertTrue(log.toString().contains("secret file /home/games.db is locked"), log.toString());
+        assertTrue(log.toString().contains("GET /average-rating failed"), log.toString());
+        assertTrue(log.toString().contains("GET /stats failed"), log.toString());
+        assertTrue(log.toString().contains("secret summary table is corrupt"), log.toString());
+    }
+
+    @Test
+    void testJsonWriterEscapesTextAndWritesShortNumbers() {
+        JsonWriter json = new JsonWriter(16);
+        json.beginObject()
+                .name("text").value("quote \" slash \\ tab \t é ☆ 😀")
+                .name("numbers").beginArray().value(0.1).value(-2.5).value(1e-9).value(123456789012L).value(Double.NaN).endArray()
+                .name("empty").beginObject().endObject()
+                .name("none").value((String) null)
+                .endObject();
+        assertEquals("{\"text\":\"quote \\\" slash \\\\ tab \\u0009 é ☆ 😀\",\"numbers\":[0.1,-2.5,1.0E-9,123456789012,null],"
+                + "\"empty\":{},\"none\":null}", json.toString());
+        assertEquals("[59.99,4.99,0.05,100]", new JsonWriter().beginArray().value(59.99).value(4.99).value(0.05).value(100.0).endArray().toString());
+        assertEquals("{}", json.reset().beginObject().endObject().toString());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int countOf(String body) {
+        return Integer.parseInt(body.substring("{\"count\":".length(), body.indexOf(',')));
+    }
+}